@@ -0,0 +1,34 @@
+#!/usr/bin/env bash
+# Sobe 3 instâncias locais em modo cluster (portas 8081-8083, perfil
+# cluster-local) para testar o encaminhamento por owner.
+#
+#   ./mvnw -DskipTests package && scripts/run-local-cluster.sh
+#   curl -i localhost:8081/packages/user/<endereço>   # header X-Cluster-Node = nó dono
+#
+# Ctrl+C derruba todas; derrubar uma só (kill <pid>) mostra o rebalanceamento.
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$(ls "$ROOT"/target/conectabrasil-*.jar 2>/dev/null | grep -v plain | head -n 1 || true)"
+if [[ -z "$JAR" ]]; then
+  echo "JAR não encontrado em target/ (rode ./mvnw -DskipTests package)" >&2
+  exit 1
+fi
+
+pids=()
+trap 'kill "${pids[@]}" 2>/dev/null || true' EXIT INT TERM
+
+for n in 1 2 3; do
+  mkdir -p "$ROOT/data/node$n"
+  java -jar "$JAR" \
+    --spring.profiles.active=cluster-local \
+    --server.port="808$n" \
+    --cluster.self-id="node$n" \
+    --snapshot.path="$ROOT/data/node$n/state.snap" \
+    --webhooks.spill-directory="$ROOT/data/node$n/webhook-spill" \
+    > "$ROOT/data/node$n/app.log" 2>&1 &
+  pids+=("$!")
+  echo "node$n: pid ${pids[-1]}, http://localhost:808$n (log em data/node$n/app.log)"
+done
+
+wait
@@ -0,0 +1,58 @@
+#!/usr/bin/env bash
+# Compara o startup do build JVM com a imagem nativa:
+#   - tempo até o primeiro GET /health com HTTP 200
+#   - RSS do processo logo após ficar saudável
+#
+# Pré-requisitos:
+#   ./mvnw -DskipTests package                   -> target/conectabrasil-*.jar
+#   ./mvnw -Pnative -DskipTests native:compile   -> target/conectabrasil
+#
+# Uso: scripts/startup-benchmark.sh [rodadas] [porta]
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${2:-18080}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$(ls "$ROOT"/target/conectabrasil-*.jar 2>/dev/null | grep -v plain | head -n 1 || true)"
+NATIVE="$ROOT/target/conectabrasil"
+
+now_ms() { date +%s%3N; }
+
+rss_kb() { awk '/^VmRSS:/ { print $2 }' "/proc/$1/status" 2>/dev/null || echo 0; }
+
+measure() {
+  local label="$1"; shift
+  local total_ms=0 total_rss=0
+  for run in $(seq 1 "$RUNS"); do
+    local start pid elapsed rss
+    start="$(now_ms)"
+    "$@" --server.port="$PORT" >/dev/null 2>&1 &
+    pid=$!
+    until curl -fs "http://localhost:$PORT/health" >/dev/null 2>&1; do
+      if ! kill -0 "$pid" 2>/dev/null; then
+        echo "$label: processo terminou antes de ficar saudável" >&2
+        exit 1
+      fi
+      sleep 0.02
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss="$(rss_kb "$pid")"
+    kill "$pid"; wait "$pid" 2>/dev/null || true
+    printf '%-7s rodada %d: %5d ms até /health, RSS %6d KB\n' "$label" "$run" "$elapsed" "$rss"
+    total_ms=$(( total_ms + elapsed ))
+    total_rss=$(( total_rss + rss ))
+  done
+  printf '%-7s média : %5d ms até /health, RSS %6d KB\n\n' "$label" $(( total_ms / RUNS )) $(( total_rss / RUNS ))
+}
+
+if [[ -n "$JAR" ]]; then
+  measure jvm java -XX:+UseSerialGC -jar "$JAR"
+else
+  echo "JAR não encontrado em target/ (rode ./mvnw -DskipTests package)" >&2
+fi
+
+if [[ -x "$NATIVE" ]]; then
+  measure native "$NATIVE"
+else
+  echo "Imagem nativa não encontrada (rode ./mvnw -Pnative -DskipTests native:compile)" >&2
+fi
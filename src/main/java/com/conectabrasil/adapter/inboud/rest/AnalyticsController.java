@@ -0,0 +1,44 @@
+package com.conectabrasil.adapter.inboud.rest;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.conectabrasil.application.analytics.AnalyticsMetric;
+import com.conectabrasil.application.analytics.AnalyticsSummary;
+import com.conectabrasil.application.analytics.AnalyticsSummary.HourlyPoint;
+import com.conectabrasil.application.analytics.SalesAnalytics;
+
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+    private final SalesAnalytics analytics;
+
+    public AnalyticsController(SalesAnalytics analytics) {
+        this.analytics = analytics;
+    }
+
+    /**
+     * Totais, últimas 24h, ordens ativas e vendas por pacote.
+     */
+    @GetMapping("/summary")
+    public AnalyticsSummary summary() {
+        return analytics.summary();
+    }
+
+    /**
+     * Série horária de uma métrica (purchases, grants, revenue, starts,
+     * pauses, expirations, peak-active).
+     */
+    @GetMapping("/hourly")
+    public List<HourlyPoint> hourly(
+            @RequestParam(required = false) String metric,
+            @RequestParam(defaultValue = "24") int hours,
+            @RequestParam(required = false) Long packageId) {
+        return analytics.hourly(AnalyticsMetric.parse(metric), hours, packageId);
+    }
+}
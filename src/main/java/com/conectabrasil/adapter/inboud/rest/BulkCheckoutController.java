@@ -0,0 +1,51 @@
+package com.conectabrasil.adapter.inboud.rest;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.conectabrasil.adapter.inboud.rest.dto.BulkGrantRequest;
+import com.conectabrasil.adapter.inboud.rest.dto.BulkPurchaseRequest;
+import com.conectabrasil.adapter.inboud.rest.dto.BulkResponse;
+import com.conectabrasil.adapter.inboud.rest.dto.GrantResponse;
+import com.conectabrasil.adapter.inboud.rest.dto.PurchaseResponse;
+import com.conectabrasil.application.usecase.CreateBulkGrantUseCase;
+import com.conectabrasil.application.usecase.CreateBulkGrantUseCase.GrantIntent;
+import com.conectabrasil.application.usecase.CreateBulkPurchaseUseCase;
+import com.conectabrasil.application.usecase.CreateBulkPurchaseUseCase.PurchaseIntent;
+
+@RestController
+@RequestMapping
+public class BulkCheckoutController {
+    private final CreateBulkPurchaseUseCase bulkPurchases;
+    private final CreateBulkGrantUseCase bulkGrants;
+
+    public BulkCheckoutController(CreateBulkPurchaseUseCase bulkPurchases, CreateBulkGrantUseCase bulkGrants) {
+        this.bulkPurchases = bulkPurchases;
+        this.bulkGrants = bulkGrants;
+    }
+
+    @PostMapping("/purchases/bulk")
+    public BulkResponse<PurchaseResponse> purchases(@RequestBody BulkPurchaseRequest req) {
+        List<PurchaseIntent> intents = req.items() == null ? List.of()
+                : req.items().stream()
+                        .map(item -> item == null ? null : new PurchaseIntent(item.userId(), item.packageId()))
+                        .toList();
+        return BulkResponse.from(bulkPurchases.execute(intents),
+                result -> PurchaseResponse.from(result.getPurchase(), result.getUnsignedXdr()));
+    }
+
+    @PostMapping("/grants/bulk")
+    public BulkResponse<GrantResponse> grants(@RequestBody BulkGrantRequest req) {
+        List<GrantIntent> intents = req.items() == null ? List.of()
+                : req.items().stream()
+                        .map(item -> item == null ? null
+                                : new GrantIntent(item.callerUserId(), item.ownerUserId(), item.orderId()))
+                        .toList();
+        return BulkResponse.from(bulkGrants.execute(intents),
+                result -> GrantResponse.from(result.getGrant(), result.getUnsignedXdr()));
+    }
+}
@@ -0,0 +1,82 @@
+package com.conectabrasil.adapter.inboud.rest;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.conectabrasil.infrastructure.resilience.Bulkhead;
+import com.conectabrasil.infrastructure.resilience.PathClass;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Aplica o bulkhead da classe de caminho e marca a thread com a PathClass.
+ * Leituras são descartadas antes mesmo de disputar o orçamento quando o
+ * checkout está sob pressão.
+ */
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String HELD_ATTRIBUTE = BulkheadInterceptor.class.getName() + ".held";
+
+    private final Bulkhead bulkhead;
+    private final Bulkhead checkout;
+    private final double shedReadsAboveCheckoutUsage;
+
+    public BulkheadInterceptor(Bulkhead bulkhead, Bulkhead checkout, double shedReadsAboveCheckoutUsage) {
+        this.bulkhead = bulkhead;
+        this.checkout = checkout;
+        this.shedReadsAboveCheckoutUsage = shedReadsAboveCheckoutUsage;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // redispatch de resposta assíncrona: o orçamento já foi cobrado e liberado
+            return true;
+        }
+        if (bulkhead.getPathClass() == PathClass.READ && checkout != null
+                && checkout.getSaturation() >= shedReadsAboveCheckoutUsage) {
+            bulkhead.recordRejection();
+            return reject(response);
+        }
+        if (!bulkhead.tryAcquire()) {
+            return reject(response);
+        }
+        request.setAttribute(HELD_ATTRIBUTE, bulkhead);
+        PathClass.set(bulkhead.getPathClass());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        releaseIfHeld(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        releaseIfHeld(request);
+    }
+
+    private void releaseIfHeld(HttpServletRequest request) {
+        if (request.getAttribute(HELD_ATTRIBUTE) == bulkhead) {
+            request.removeAttribute(HELD_ATTRIBUTE);
+            bulkhead.release();
+        }
+        PathClass.clear();
+    }
+
+    private boolean reject(HttpServletResponse response) throws Exception {
+        String name = bulkhead.getPathClass().name().toLowerCase();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader("Retry-After", "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"result\":\"error\",\"error\":\"Serviço ocupado (" + name
+                + "), tente novamente\"}");
+        return false;
+    }
+}
@@ -0,0 +1,45 @@
+package com.conectabrasil.adapter.inboud.rest;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.conectabrasil.infrastructure.cluster.ClusterBus;
+import com.conectabrasil.infrastructure.cluster.ClusterMembership;
+import com.conectabrasil.infrastructure.cluster.ClusterMessage;
+import com.conectabrasil.infrastructure.cluster.HttpPeerClusterBus;
+
+/**
+ * Entrada do HttpPeerClusterBus: lotes de mensagens enviados pelos outros nós.
+ * Exige o segredo do cluster (cluster.secret) no X-Cluster-Token.
+ */
+@RestController
+public class ClusterBusController {
+
+    private final ClusterBus bus;
+    private final ClusterMembership cluster;
+
+    public ClusterBusController(ClusterBus bus, ClusterMembership cluster) {
+        this.bus = bus;
+        this.cluster = cluster;
+    }
+
+    @PostMapping(HttpPeerClusterBus.PATH)
+    public ResponseEntity<Map<String, Object>> receive(
+            @RequestHeader(value = ClusterMembership.TOKEN_HEADER, required = false) String token,
+            @RequestBody List<ClusterMessage> messages) {
+        if (!(bus instanceof HttpPeerClusterBus peerBus)) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!cluster.isPeerToken(token)) {
+            return ResponseEntity.status(403).body(Map.of("error", "Token de cluster inválido"));
+        }
+        peerBus.receive(messages);
+        return ResponseEntity.ok(Map.of("received", messages.size()));
+    }
+}
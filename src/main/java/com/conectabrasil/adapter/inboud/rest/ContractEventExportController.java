@@ -0,0 +1,201 @@
+package com.conectabrasil.adapter.inboud.rest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.conectabrasil.application.export.ContractEventExporter;
+import com.conectabrasil.application.export.ContractEventExporter.EventSink;
+import com.conectabrasil.application.export.EventExportConfig;
+import com.conectabrasil.application.export.ExportRange;
+import com.conectabrasil.infrastructure.stellar.ContractEventDecoder.DecodedEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Exportação do histórico de compras/grants do contrato em CSV ou NDJSON.
+ *
+ * A resposta é escrita em streaming, página a página do getEvents. Cada linha
+ * traz o id do evento: para continuar uma exportação interrompida (ou que
+ * atingiu o limit), repita a chamada com cursor = último id recebido.
+ *
+ * A vaga de exportação é reservada antes de responder (para o 503 sair
+ * limpo) e devolvida uma única vez: ao fim do streaming ou, se o corpo nunca
+ * rodar (timeout, cliente desconectou antes), no fim do processamento
+ * assíncrono.
+ */
+@RestController
+public class ContractEventExportController {
+
+    private static final String[] CSV_COLUMNS = { "id", "ledger", "ledger_closed_at", "transaction_hash", "type",
+            "accounts", "topics", "value" };
+    private static final String EXPORT_PERMIT = ContractEventExportController.class.getName() + ".permit";
+
+    private final ContractEventExporter exporter;
+    private final EventExportConfig config;
+    private final ObjectMapper objectMapper;
+
+    public ContractEventExportController(ContractEventExporter exporter, EventExportConfig config,
+            ObjectMapper objectMapper) {
+        this.exporter = exporter;
+        this.config = config;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping("/exports/contract-events")
+    public ResponseEntity<?> export(
+            @RequestParam(required = false) Long startLedger,
+            @RequestParam(required = false) Long endLedger,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Long limit,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletRequest request) {
+        String normalized = format.toLowerCase(Locale.ROOT);
+        if (!normalized.equals("csv") && !normalized.equals("ndjson")) {
+            return ResponseEntity.badRequest().body("format deve ser csv ou ndjson");
+        }
+        ExportRange range;
+        try {
+            range = ExportRange.of(startLedger, endLedger, cursor, limit, config.getMaxEvents());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        exporter.acquire(); // 503 com Retry-After se já há exportações demais
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                exporter.release();
+            }
+        };
+        try {
+            WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(EXPORT_PERMIT,
+                    new CallableProcessingInterceptor() {
+                        @Override
+                        public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                            release.run();
+                        }
+                    });
+        } catch (RuntimeException e) {
+            release.run();
+            throw e;
+        }
+        boolean csv = normalized.equals("csv");
+        StreamingResponseBody body = out -> {
+            try (ClosableSink sink = csv ? new CsvSink(out) : new NdjsonSink(out)) {
+                exporter.export(range, sink);
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("Erro ao exportar eventos do contrato: " + e.getMessage(), e);
+            } finally {
+                release.run();
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"contract-events." + normalized + "\"")
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    private interface ClosableSink extends EventSink, AutoCloseable {
+        @Override
+        void close() throws IOException;
+    }
+
+    private final class CsvSink implements ClosableSink {
+        private final Writer writer;
+
+        CsvSink(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(String.join(",", CSV_COLUMNS));
+            writer.write('\n');
+        }
+
+        @Override
+        public void write(DecodedEvent event) throws IOException {
+            cell(event.id(), false);
+            cell(Long.toString(event.ledger()), true);
+            cell(event.ledgerClosedAt(), true);
+            cell(event.transactionHash(), true);
+            cell(event.type(), true);
+            cell(String.join(" ", event.accounts()), true);
+            cell(objectMapper.writeValueAsString(event.topics()), true);
+            cell(objectMapper.writeValueAsString(event.value()), true);
+            writer.write('\n');
+        }
+
+        private void cell(String value, boolean separator) throws IOException {
+            if (separator) {
+                writer.write(',');
+            }
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                    && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private final class NdjsonSink implements ClosableSink {
+        private final JsonGenerator generator;
+
+        NdjsonSink(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            generator.setRootValueSeparator(new SerializedString("\n"));
+        }
+
+        @Override
+        public void write(DecodedEvent event) throws IOException {
+            generator.writeObject(event);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.writeRaw('\n');
+            generator.close();
+        }
+    }
+}
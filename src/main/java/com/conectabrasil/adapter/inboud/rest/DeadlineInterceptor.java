@@ -0,0 +1,69 @@
+package com.conectabrasil.adapter.inboud.rest;
+
+import java.util.List;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import com.conectabrasil.infrastructure.resilience.DeadlineConfig;
+import com.conectabrasil.infrastructure.resilience.RequestDeadline;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Define o prazo da requisição (RequestDeadline): o header do cliente
+ * (limitado a [min, max]) ou, sem ele, o orçamento do endpoint. Cada passo
+ * RPC consome do mesmo prazo, então os últimos recebem só o que sobrou.
+ */
+public class DeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    private final DeadlineConfig config;
+    private final List<DeadlineConfig.EndpointBudget> endpoints;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public DeadlineInterceptor(DeadlineConfig config) {
+        this.config = config;
+        this.endpoints = List.copyOf(config.getEndpoints().values());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC) {
+            RequestDeadline.start(budgetFor(request));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        RequestDeadline.clear();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        RequestDeadline.clear();
+    }
+
+    long budgetFor(HttpServletRequest request) {
+        String requested = request.getHeader(config.getHeader());
+        if (requested != null) {
+            try {
+                long millis = Long.parseLong(requested.trim());
+                return Math.max(config.getMinBudgetMs(), Math.min(config.getMaxBudgetMs(), millis));
+            } catch (NumberFormatException e) {
+                // header inválido: segue com o orçamento do endpoint
+            }
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (DeadlineConfig.EndpointBudget endpoint : endpoints) {
+            if (matcher.match(endpoint.getPattern(), path)) {
+                return endpoint.getBudgetMs();
+            }
+        }
+        return config.getDefaultBudgetMs();
+    }
+}
@@ -2,14 +2,34 @@ package com.conectabrasil.adapter.inboud.rest;
 
 import java.util.Map;
 
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 public class HealthController {
 
+    private final ApplicationAvailability availability;
+
+    public HealthController(ApplicationAvailability availability) {
+        this.availability = availability;
+    }
+
     @GetMapping("/health")
     public Map<String, Object> health() {
         return Map.of("status", "UP");
     }
+
+    /**
+     * Readiness: 503 até o warm-up terminar (ReadinessState.ACCEPTING_TRAFFIC).
+     */
+    @GetMapping("/health/ready")
+    public ResponseEntity<Map<String, Object>> ready() {
+        if (availability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC) {
+            return ResponseEntity.ok(Map.of("status", "UP"));
+        }
+        return ResponseEntity.status(503).body(Map.of("status", "OUT_OF_SERVICE"));
+    }
 }
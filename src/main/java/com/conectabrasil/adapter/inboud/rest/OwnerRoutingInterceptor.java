@@ -0,0 +1,126 @@
+package com.conectabrasil.adapter.inboud.rest;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.conectabrasil.infrastructure.cluster.ClusterConfig.Peer;
+import com.conectabrasil.infrastructure.cluster.ClusterMembership;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Modo cluster: requisições de um owner ({userAddress}/{ownerAddress}) que
+ * pertence a outro nó do anel são encaminhadas a ele e a resposta é copiada
+ * em streaming. Requisições já encaminhadas nunca são re-encaminhadas; se o
+ * dono não responder, este nó atende localmente (e o dono acumula falha).
+ */
+public class OwnerRoutingInterceptor implements HandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(OwnerRoutingInterceptor.class);
+
+    private final ClusterMembership cluster;
+    private final Counter forwarded;
+    private final Counter forwardFailures;
+
+    public OwnerRoutingInterceptor(ClusterMembership cluster, MeterRegistry meterRegistry) {
+        this.cluster = cluster;
+        this.forwarded = Counter.builder("cluster.forward").tag("outcome", "forwarded").register(meterRegistry);
+        this.forwardFailures = Counter.builder("cluster.forward").tag("outcome", "failed").register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        response.setHeader(ClusterMembership.NODE_HEADER, cluster.selfId());
+        if (request.getHeader(ClusterMembership.FORWARDED_BY_HEADER) != null) {
+            return true;
+        }
+        Peer owner = cluster.remoteOwnerOf(pathAddress(request));
+        if (owner == null) {
+            return true;
+        }
+        try {
+            forward(owner, request, response);
+            forwarded.increment();
+            cluster.reportSuccess(owner.getId());
+            return false;
+        } catch (Exception e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            forwardFailures.increment();
+            cluster.reportFailure(owner.getId());
+            log.warn("Encaminhamento para {} falhou ({}); atendendo localmente", owner.getId(), e.getMessage());
+            response.reset();
+            response.setHeader(ClusterMembership.NODE_HEADER, cluster.selfId());
+            return true;
+        }
+    }
+
+    private void forward(Peer owner, HttpServletRequest request, HttpServletResponse response) throws Exception {
+        String query = request.getQueryString();
+        Request.Builder builder = new Request.Builder()
+                .url(owner.getUrl() + request.getRequestURI() + (query != null ? "?" + query : ""))
+                .method(request.getMethod(), null)
+                .header(ClusterMembership.FORWARDED_BY_HEADER, cluster.selfId())
+                .header("X-Forwarded-For", forwardedFor(request));
+        if (request.getHeader("Accept") != null) {
+            builder.header("Accept", request.getHeader("Accept"));
+        }
+        if (cluster.secret() != null && !cluster.secret().isEmpty()) {
+            builder.header(ClusterMembership.TOKEN_HEADER, cluster.secret());
+        }
+
+        try (Response upstream = cluster.httpClient().newCall(builder.build()).execute()) {
+            response.setStatus(upstream.code());
+            for (String name : new String[] { "Content-Type", "Retry-After", ClusterMembership.NODE_HEADER }) {
+                String value = upstream.header(name);
+                if (value != null) {
+                    response.setHeader(name, value);
+                }
+            }
+            ResponseBody body = upstream.body();
+            if (body != null) {
+                try (InputStream in = body.byteStream()) {
+                    OutputStream out = response.getOutputStream();
+                    in.transferTo(out);
+                    out.flush();
+                }
+            }
+        }
+    }
+
+    private static String forwardedFor(HttpServletRequest request) {
+        String existing = request.getHeader("X-Forwarded-For");
+        return existing == null || existing.isBlank()
+                ? request.getRemoteAddr()
+                : existing + ", " + request.getRemoteAddr();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String pathAddress(HttpServletRequest request) {
+        Object vars = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (vars instanceof Map<?, ?> map) {
+            Map<String, String> pathVars = (Map<String, String>) map;
+            String address = pathVars.get("userAddress");
+            return address != null ? address : pathVars.get("ownerAddress");
+        }
+        return null;
+    }
+}
@@ -1,12 +1,22 @@
 package com.conectabrasil.adapter.inboud.rest;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.conectabrasil.adapter.inboud.rest.dto.UserPackagesPageResponse;
+import com.conectabrasil.application.catalog.CatalogQuery;
 import com.conectabrasil.application.usecase.GetAllPackagesUseCase;
 import com.conectabrasil.application.usecase.GetAllPackagesUseCase.GetAllPackagesResult;
+import com.conectabrasil.application.usecase.GetUserPackagesUseCase;
+import com.conectabrasil.application.usecase.GetUserPackagesUseCase.UserPackagesPage;
+import com.conectabrasil.infrastructure.resilience.RpcRejectedException;
 import com.conectabrasil.infrastructure.stellar.SorobanContractService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.util.List;
 
@@ -15,22 +25,60 @@ import java.util.List;
 public class PackageController {
 
     private final GetAllPackagesUseCase getAllPackagesUseCase;
+    private final GetUserPackagesUseCase getUserPackagesUseCase;
     private final SorobanContractService sorobanContractService;
+    private final ObjectMapper objectMapper;
 
     public PackageController(GetAllPackagesUseCase getAllPackagesUseCase,
-            SorobanContractService sorobanContractService) {
+            GetUserPackagesUseCase getUserPackagesUseCase,
+            SorobanContractService sorobanContractService,
+            ObjectMapper objectMapper) {
         this.getAllPackagesUseCase = getAllPackagesUseCase;
+        this.getUserPackagesUseCase = getUserPackagesUseCase;
         this.sorobanContractService = sorobanContractService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Endpoint para buscar todos os pacotes disponíveis
      * Invoca a função get_all_packages do contrato Stellar
      * 
+     * Com sort, order, popular, minPrice/maxPrice, minDuration/maxDuration ou
+     * limit a resposta sai dos índices do catálogo (JSON pré-serializado).
+     * 
      * @return Lista de pacotes disponíveis ou erro
      */
     @GetMapping
-    public ResponseEntity<?> getAllPackages() {
+    public ResponseEntity<?> getAllPackages(
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String order,
+            @RequestParam(required = false) Boolean popular,
+            @RequestParam(required = false) Long minPrice,
+            @RequestParam(required = false) Long maxPrice,
+            @RequestParam(required = false) Long minDuration,
+            @RequestParam(required = false) Long maxDuration,
+            @RequestParam(required = false) Integer limit) {
+        if (sort != null || order != null || popular != null || minPrice != null || maxPrice != null
+                || minDuration != null || maxDuration != null || limit != null) {
+            try {
+                boolean descending = "desc".equalsIgnoreCase(order);
+                if (order != null && !descending && !"asc".equalsIgnoreCase(order)) {
+                    throw new IllegalArgumentException("order inválido: " + order + " (use asc ou desc)");
+                }
+                CatalogQuery query = new CatalogQuery(CatalogQuery.Sort.parse(sort), descending, popular,
+                        minPrice, maxPrice, minDuration, maxDuration, limit);
+                return ResponseEntity.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(getAllPackagesUseCase.query(query));
+            } catch (RpcRejectedException e) {
+                throw e;
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(e.getMessage());
+            } catch (Exception e) {
+                return ResponseEntity.internalServerError().body("Erro ao buscar pacotes: " + e.getMessage());
+            }
+        }
+
         GetAllPackagesResult result = getAllPackagesUseCase.execute();
         
         if (result.isSuccess()) {
@@ -44,24 +92,88 @@ public class PackageController {
      * Endpoint para buscar pacotes de um usuário específico
      * Invoca a função get_user_packages do contrato Stellar
      * 
+     * Sem parâmetros devolve a lista completa (formato legado). Com cursor,
+     * limit, activeOnly ou packageId devolve uma página
+     * {"items": [...], "nextCursor": "..."}.
+     * 
      * @param userAddress Endereço Stellar do usuário
-     * @return Lista de pacotes do usuário ou erro
+     * @return Lista (ou página) de pacotes do usuário ou erro
      */
     @GetMapping("/user/{userAddress}")
-    public ResponseEntity<?> getUserPackages(@PathVariable String userAddress) {
+    public ResponseEntity<?> getUserPackages(@PathVariable String userAddress,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Boolean activeOnly,
+            @RequestParam(required = false) Long packageId) {
         try {
-            List<Object> userPackages = sorobanContractService.getUserPackages(userAddress);
+            if (cursor != null || limit != null || activeOnly != null || packageId != null) {
+                UserPackagesPage page = getUserPackagesUseCase.page(userAddress, cursor, limit,
+                        Boolean.TRUE.equals(activeOnly), packageId);
+                return ResponseEntity.ok(new UserPackagesPageResponse(page.getItems(), page.getNextCursor()));
+            }
+            List<Object> userPackages = getUserPackagesUseCase.all(userAddress);
             return ResponseEntity.ok(userPackages);
+        } catch (RpcRejectedException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body("Erro ao buscar pacotes do usuário: " + e.getMessage());
         }
     }
 
+    /**
+     * Exportação completa das ordens do usuário, escrita em streaming (JSON
+     * array ou NDJSON) sem montar a resposta inteira em memória.
+     * 
+     * @param format json (padrão) ou ndjson
+     */
+    @GetMapping("/user/{userAddress}/export")
+    public ResponseEntity<?> exportUserPackages(@PathVariable String userAddress,
+            @RequestParam(defaultValue = "json") String format) {
+        boolean ndjson = "ndjson".equalsIgnoreCase(format);
+        try {
+            List<Object> userPackages = getUserPackagesUseCase.all(userAddress);
+            StreamingResponseBody body = out -> {
+                try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                    if (ndjson) {
+                        generator.setRootValueSeparator(new SerializedString("\n"));
+                    } else {
+                        generator.writeStartArray();
+                    }
+                    int written = 0;
+                    for (Object order : userPackages) {
+                        generator.writeObject(order);
+                        if (++written % 256 == 0) {
+                            generator.flush();
+                        }
+                    }
+                    if (!ndjson) {
+                        generator.writeEndArray();
+                    }
+                }
+            };
+            return ResponseEntity.ok()
+                    .contentType(ndjson ? MediaType.parseMediaType("application/x-ndjson") : MediaType.APPLICATION_JSON)
+                    .body(body);
+        } catch (RpcRejectedException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body("Erro ao exportar pacotes do usuário: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/remaining/{ownerAddress}/{orderId}")
     public ResponseEntity<Object> getRemainingByOrder(@PathVariable String ownerAddress, @PathVariable long orderId) {
         try {
             Object remaining = sorobanContractService.getRemainingByOrder(ownerAddress, orderId);
             return ResponseEntity.ok(remaining);
+        } catch (RpcRejectedException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(0);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(0);
@@ -73,6 +185,14 @@ public class PackageController {
         try {
             Object result = sorobanContractService.startOrder(request.getOwnerAddress(), request.getOrderId());
             return ResponseEntity.ok(result);
+        } catch (RpcRejectedException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            java.util.Map<String, Object> errorResponse = new java.util.HashMap<>();
+            errorResponse.put("result", "error");
+            errorResponse.put("error", e.getMessage());
+            errorResponse.put("timestamp", System.currentTimeMillis());
+            return ResponseEntity.badRequest().body(errorResponse);
         } catch (Exception e) {
             java.util.Map<String, Object> errorResponse = new java.util.HashMap<>();
             errorResponse.put("result", "error");
@@ -88,6 +208,14 @@ public class PackageController {
         try {
             Object result = sorobanContractService.pauseOrder(request.getOwnerAddress(), request.getOrderId());
             return ResponseEntity.ok(result);
+        } catch (RpcRejectedException e) {
+            throw e;
+        } catch (IllegalArgumentException e) {
+            java.util.Map<String, Object> errorResponse = new java.util.HashMap<>();
+            errorResponse.put("result", "error");
+            errorResponse.put("error", e.getMessage());
+            errorResponse.put("timestamp", System.currentTimeMillis());
+            return ResponseEntity.badRequest().body(errorResponse);
         } catch (Exception e) {
             java.util.Map<String, Object> errorResponse = new java.util.HashMap<>();
             errorResponse.put("result", "error");
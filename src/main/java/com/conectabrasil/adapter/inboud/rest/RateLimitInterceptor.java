@@ -0,0 +1,114 @@
+package com.conectabrasil.adapter.inboud.rest;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.conectabrasil.infrastructure.ratelimit.TokenBucketRateLimiter;
+
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rate limit de um endpoint: um bucket por IP do cliente e, quando a rota tem
+ * {userAddress}/{ownerAddress}, outro por endereço. Responde 429 com Retry-After.
+ * Requisições isentas (encaminhadas por outro nó do cluster, já limitadas na
+ * entrada) passam direto.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final String endpoint;
+    private final TokenBucketRateLimiter byIp;
+    private final TokenBucketRateLimiter byAddress;
+    /** Proxies confiáveis no X-Forwarded-For; 0 ignora o header. */
+    private final int trustedProxyHops;
+    private final Counter rejectedByIp;
+    private final Counter rejectedByAddress;
+    private final Predicate<HttpServletRequest> exempt;
+
+    public RateLimitInterceptor(String endpoint, TokenBucketRateLimiter byIp, TokenBucketRateLimiter byAddress,
+            int trustedProxyHops, Counter rejectedByIp, Counter rejectedByAddress,
+            Predicate<HttpServletRequest> exempt) {
+        this.endpoint = endpoint;
+        this.byIp = byIp;
+        this.byAddress = byAddress;
+        this.trustedProxyHops = trustedProxyHops;
+        this.rejectedByIp = rejectedByIp;
+        this.rejectedByAddress = rejectedByAddress;
+        this.exempt = exempt;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        if (exempt.test(request)) {
+            return true;
+        }
+        long waitNanos = byIp.tryAcquire(clientIp(request));
+        if (waitNanos > 0) {
+            rejectedByIp.increment();
+            return reject(response, waitNanos);
+        }
+        String address = pathAddress(request);
+        if (address != null) {
+            waitNanos = byAddress.tryAcquire(address);
+            if (waitNanos > 0) {
+                rejectedByAddress.increment();
+                return reject(response, waitNanos);
+            }
+        }
+        return true;
+    }
+
+    public void sweep() {
+        long now = System.nanoTime();
+        byIp.sweep(now);
+        byAddress.sweep(now);
+    }
+
+    private boolean reject(HttpServletResponse response, long waitNanos) throws Exception {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"result\":\"error\",\"error\":\"Limite de requisições excedido para "
+                + endpoint + "\",\"retryAfterSeconds\":" + retryAfterSeconds + "}");
+        return false;
+    }
+
+    /**
+     * IP do cliente como visto pelo proxy confiável mais externo: a entrada que
+     * ele acrescentou ao X-Forwarded-For, contando trustedProxyHops da direita.
+     * O que vem antes dela é do cliente e não entra na chave.
+     */
+    private String clientIp(HttpServletRequest request) {
+        if (trustedProxyHops > 0) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (forwarded != null && !forwarded.isBlank()) {
+                String[] hops = forwarded.split(",");
+                String ip = hops[Math.max(0, hops.length - trustedProxyHops)].trim();
+                if (!ip.isEmpty()) {
+                    return ip;
+                }
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String pathAddress(HttpServletRequest request) {
+        Object vars = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (vars instanceof Map<?, ?> map) {
+            Map<String, String> pathVars = (Map<String, String>) map;
+            String address = pathVars.get("userAddress");
+            return address != null ? address : pathVars.get("ownerAddress");
+        }
+        return null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.conectabrasil.adapter.inboud.rest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.conectabrasil.infrastructure.resilience.DeadlineExceededException;
+import com.conectabrasil.infrastructure.resilience.RpcRejectedException;
+
+/**
+ * Converte erros de entrada (endereço inválido, conta inexistente, ids não
+ * numéricos) lançados pelos use cases em 400, e rejeições por sobrecarga do
+ * RPC em 503 com Retry-After e prazo esgotado em 504, em vez do 500 padrão.
+ *
+ * O corpo de erro é sempre JSON, mesmo quando o Accept pede só o formato
+ * binário (application/vnd.conectabrasil.unsigned-tx): com o Content-Type
+ * fixado o Spring não negocia e o cliente recebe o erro em vez de um 406.
+ */
+@RestControllerAdvice
+public class RestExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("result", "error");
+        errorResponse.put("error", e.getMessage());
+        errorResponse.put("timestamp", System.currentTimeMillis());
+        return ResponseEntity.badRequest().contentType(MediaType.APPLICATION_JSON).body(errorResponse);
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<Map<String, Object>> handleDeadlineExceeded(DeadlineExceededException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("result", "error");
+        errorResponse.put("error", e.getMessage());
+        errorResponse.put("timestamp", System.currentTimeMillis());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(RpcRejectedException.class)
+    public ResponseEntity<Map<String, Object>> handleRpcRejected(RpcRejectedException e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("result", "error");
+        errorResponse.put("error", e.getMessage());
+        errorResponse.put("timestamp", System.currentTimeMillis());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", Long.toString(e.getRetryAfterSeconds()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorResponse);
+    }
+}
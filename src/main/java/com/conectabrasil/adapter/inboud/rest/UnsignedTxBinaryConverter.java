@@ -0,0 +1,170 @@
+package com.conectabrasil.adapter.inboud.rest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import com.conectabrasil.adapter.inboud.rest.dto.GrantResponse;
+import com.conectabrasil.adapter.inboud.rest.dto.PurchaseResponse;
+
+/**
+ * Representação binária compacta de PurchaseResponse/GrantResponse, escolhida
+ * via {@code Accept: application/vnd.conectabrasil.unsigned-tx}.
+ * 
+ * Layout (big-endian):
+ * <pre>
+ * magic "CB" | versão u8 | tipo u8 (1=purchase, 2=grant) | createdAt i64 (epoch ms, -1 se nulo)
+ * campos de texto: u16 tamanho + UTF-8 (0xFFFF = nulo)
+ *   purchase: id, userId, packageId, txHash
+ *   grant:    id, callerUserId, ownerUserId, orderId, txHash
+ * xdr: u32 tamanho + bytes crus da transação (sem base64)
+ * </pre>
+ */
+public class UnsignedTxBinaryConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType("application/vnd.conectabrasil.unsigned-tx");
+
+    static final int VERSION = 1;
+    static final int TYPE_PURCHASE = 1;
+    static final int TYPE_GRANT = 2;
+
+    private static final int NULL_STRING = 0xFFFF;
+
+    public UnsignedTxBinaryConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PurchaseResponse.class == clazz || GrantResponse.class == clazz;
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        // só resposta; requisições continuam em JSON
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Formato binário disponível apenas para respostas", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(Object body, MediaType contentType) throws IOException {
+        return (long) encode(body).length;
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        outputMessage.getBody().write(encode(body));
+    }
+
+    static byte[] encode(Object body) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(512);
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeByte('C');
+        out.writeByte('B');
+        out.writeByte(VERSION);
+        if (body instanceof PurchaseResponse p) {
+            out.writeByte(TYPE_PURCHASE);
+            writeInstant(out, p.createdAt());
+            writeString(out, p.id());
+            writeString(out, p.userId());
+            writeString(out, p.packageId());
+            writeString(out, p.txHash());
+            writeXdr(out, p.unsignedXdr());
+        } else if (body instanceof GrantResponse g) {
+            out.writeByte(TYPE_GRANT);
+            writeInstant(out, g.createdAt());
+            writeString(out, g.id());
+            writeString(out, g.callerUserId());
+            writeString(out, g.ownerUserId());
+            writeString(out, g.orderId());
+            writeString(out, g.txHash());
+            writeXdr(out, g.unsignedXdr());
+        } else {
+            throw new IllegalArgumentException("Tipo não suportado: " + body.getClass().getName());
+        }
+        out.flush();
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Decodificação de referência (usada nos testes e como especificação para
+     * os clientes).
+     */
+    static Object decode(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        if (in.readUnsignedByte() != 'C' || in.readUnsignedByte() != 'B') {
+            throw new IOException("Magic inválido");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Versão não suportada: " + version);
+        }
+        int type = in.readUnsignedByte();
+        Instant createdAt = readInstant(in);
+        if (type == TYPE_PURCHASE) {
+            return new PurchaseResponse(readString(in), readString(in), readString(in), createdAt,
+                    readString(in), readXdr(in));
+        }
+        if (type == TYPE_GRANT) {
+            return new GrantResponse(readString(in), readString(in), readString(in), readString(in), createdAt,
+                    readString(in), readXdr(in));
+        }
+        throw new IOException("Tipo desconhecido: " + type);
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+        out.writeLong(instant != null ? instant.toEpochMilli() : -1L);
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        long millis = in.readLong();
+        return millis >= 0 ? Instant.ofEpochMilli(millis) : null;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeShort(NULL_STRING);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= NULL_STRING) {
+            throw new IOException("Campo de texto grande demais para o formato binário");
+        }
+        out.writeShort(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readUnsignedShort();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        return new String(in.readNBytes(length), StandardCharsets.UTF_8);
+    }
+
+    private static void writeXdr(DataOutputStream out, String base64Xdr) throws IOException {
+        byte[] raw = base64Xdr != null ? Base64.getDecoder().decode(base64Xdr) : new byte[0];
+        out.writeInt(raw.length);
+        out.write(raw);
+    }
+
+    private static String readXdr(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        return length > 0 ? Base64.getEncoder().encodeToString(in.readNBytes(length)) : null;
+    }
+}
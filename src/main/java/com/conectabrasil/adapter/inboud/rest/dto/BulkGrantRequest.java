@@ -0,0 +1,6 @@
+package com.conectabrasil.adapter.inboud.rest.dto;
+
+import java.util.List;
+
+public record BulkGrantRequest(List<CreateGrantRequest> items) {
+}
@@ -0,0 +1,25 @@
+package com.conectabrasil.adapter.inboud.rest.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+import com.conectabrasil.application.bulk.BulkItemResult;
+
+/**
+ * Resposta de um lote: um item por pedido, na mesma ordem; falhas vêm no
+ * próprio item (error e, quando vale repetir, retryAfterSeconds).
+ */
+public record BulkResponse<T>(int succeeded, int failed, List<Item<T>> items) {
+
+    public record Item<T>(int index, T result, String error, Long retryAfterSeconds) {
+    }
+
+    public static <R, T> BulkResponse<T> from(List<BulkItemResult<R>> results, Function<R, T> mapper) {
+        List<Item<T>> items = results.stream()
+                .map(r -> new Item<T>(r.index(), r.isOk() ? mapper.apply(r.value()) : null, r.error(),
+                        r.retryAfterSeconds()))
+                .toList();
+        int succeeded = (int) results.stream().filter(BulkItemResult::isOk).count();
+        return new BulkResponse<>(succeeded, results.size() - succeeded, items);
+    }
+}
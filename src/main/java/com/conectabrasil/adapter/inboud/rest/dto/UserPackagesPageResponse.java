@@ -0,0 +1,9 @@
+package com.conectabrasil.adapter.inboud.rest.dto;
+
+import java.util.List;
+
+public record UserPackagesPageResponse(
+        List<Object> items,
+        String nextCursor // null na última página
+) {
+}
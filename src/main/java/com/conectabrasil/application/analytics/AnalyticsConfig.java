@@ -0,0 +1,24 @@
+package com.conectabrasil.application.analytics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "analytics")
+public class AnalyticsConfig {
+    private boolean enabled = true;
+    /** Horas guardadas nas séries (7 dias por padrão). */
+    private int retentionHours = 168;
+    /** Atualização da tabela de preços usada na receita (vem do cache de views). */
+    private long priceRefreshMs = 60_000;
+    /** Ids dos últimos eventos confirmados guardados para ignorar reentregas do ingester. */
+    private int dedupeWindow = 100_000;
+    /** Tipo (primeiro tópico) do evento confirmado do contrato contado em cada métrica. */
+    private String purchaseEvent = "buy_and_grant";
+    private String grantEvent = "grant";
+    private String startEvent = "start_order";
+    private String pauseEvent = "pause_order";
+}
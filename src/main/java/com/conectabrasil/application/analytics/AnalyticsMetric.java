@@ -0,0 +1,25 @@
+package com.conectabrasil.application.analytics;
+
+import java.util.Locale;
+
+/** Séries horárias expostas por /analytics/hourly. */
+public enum AnalyticsMetric {
+    PURCHASES,
+    GRANTS,
+    REVENUE,
+    STARTS,
+    PAUSES,
+    EXPIRATIONS,
+    PEAK_ACTIVE;
+
+    public static AnalyticsMetric parse(String value) {
+        if (value == null || value.isBlank()) {
+            return PURCHASES;
+        }
+        try {
+            return valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("metric inválida: " + value);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.conectabrasil.application.analytics;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Resumo de vendas e uso: totais desde o início do processo, janela das
+ * últimas 24h e vendas por pacote.
+ */
+public record AnalyticsSummary(
+        Instant generatedAt,
+        Instant since,
+        long activeOrders,
+        long peakActiveLastHour,
+        Totals total,
+        Totals last24h,
+        List<PackageSales> packages) {
+
+    public record Totals(long purchases, long grants, long revenue, long starts, long pauses, long expirations) {
+    }
+
+    /** Receita em unidades do token do contrato; unpriced = vendas sem preço conhecido no momento. */
+    public record PackageSales(long packageId, long sales, long revenue, long unpriced, long salesLast24h) {
+    }
+
+    public record HourlyPoint(Instant hour, long value) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.conectabrasil.application.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Série horária de tamanho fixo em arrays primitivos: bucket = hora % tamanho,
+ * com a hora de cada bucket ao lado para detectar reuso. Buckets de horas sem
+ * atividade são preenchidos no avanço, então o custo é O(1) amortizado por
+ * hora e a memória não cresce com o histórico.
+ *
+ * Não é thread-safe; SalesAnalytics sincroniza o acesso.
+ */
+final class HourlyRing {
+
+    private static final long NO_HOUR = Long.MIN_VALUE;
+
+    private final long[] values;
+    private final long[] hours;
+    private long latestHour = NO_HOUR;
+
+    HourlyRing(int size) {
+        this.values = new long[size];
+        this.hours = new long[size];
+        Arrays.fill(hours, NO_HOUR);
+    }
+
+    /** Soma delta ao bucket da hora (contadores). */
+    void add(long hour, long delta) {
+        int index = advance(hour, 0);
+        if (index >= 0) {
+            values[index] += delta;
+        }
+    }
+
+    /**
+     * Guarda o maior valor da hora (picos). Horas novas começam em fill, o
+     * valor corrente, para que uma hora sem eventos ainda registre o nível.
+     */
+    void max(long hour, long value, long fill) {
+        int index = advance(hour, fill);
+        if (index >= 0) {
+            values[index] = Math.max(values[index], value);
+        }
+    }
+
+    /** Valor da hora; 0 fora da janela, fill para horas ainda não abertas. */
+    long get(long hour, long fill) {
+        if (latestHour == NO_HOUR || hour > latestHour) {
+            return fill;
+        }
+        int index = index(hour);
+        return hours[index] == hour ? values[index] : 0;
+    }
+
+    /** Soma das últimas n horas até nowHour (inclusive); n é limitado ao tamanho do anel. */
+    long sum(long nowHour, int n) {
+        long total = 0;
+        for (long h = nowHour - Math.min(n, values.length) + 1; h <= nowHour; h++) {
+            total += get(h, 0);
+        }
+        return total;
+    }
+
+    int size() {
+        return values.length;
+    }
+
+    /** Índice do bucket da hora, abrindo as horas até ela; -1 se a hora já saiu do anel. */
+    private int advance(long hour, long fill) {
+        if (latestHour == NO_HOUR || hour > latestHour) {
+            long from = latestHour == NO_HOUR ? hour : Math.max(latestHour + 1, hour - values.length + 1);
+            for (long h = from; h <= hour; h++) {
+                int index = index(h);
+                values[index] = fill;
+                hours[index] = h;
+            }
+            latestHour = hour;
+        }
+        int index = index(hour);
+        return hours[index] == hour ? index : -1;
+    }
+
+    private int index(long hour) {
+        return (int) Math.floorMod(hour, (long) values.length);
+    }
+}
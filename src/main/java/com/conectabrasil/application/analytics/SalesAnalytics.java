@@ -0,0 +1,315 @@
+package com.conectabrasil.application.analytics;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.conectabrasil.application.analytics.AnalyticsSummary.HourlyPoint;
+import com.conectabrasil.application.analytics.AnalyticsSummary.PackageSales;
+import com.conectabrasil.application.analytics.AnalyticsSummary.Totals;
+import com.conectabrasil.application.usecase.GetAllPackagesUseCase;
+import com.conectabrasil.domain.event.ContractEventConfirmedEvent;
+import com.conectabrasil.domain.event.OrderExpiredEvent;
+import com.conectabrasil.domain.event.OrderStateObservedEvent;
+import com.conectabrasil.infrastructure.journal.JournalRecord;
+import com.conectabrasil.infrastructure.journal.TransactionJournal;
+
+/**
+ * Agregação incremental de vendas e uso a partir dos eventos confirmados do
+ * contrato (buy_and_grant, grant, start, pause, lidos pelo ContractEventIngester),
+ * das expirações e dos estados de ordem lidos do contrato.
+ *
+ * Cada evento atualiza contadores totais e séries horárias em anéis
+ * primitivos (HourlyRing), na hora de fechamento do ledger; a receita usa o
+ * preço do pacote no momento da contagem. O pacote de uma compra vem do
+ * journal de envelopes emitidos (pelo hash da transação); compra de envelope
+ * emitido por outro nó conta como venda sem preço. As consultas leem só os
+ * anéis: o custo é limitado pelo tamanho da janela, nunca pelo histórico.
+ *
+ * O ingester pode reentregar eventos (volta ao último cursor após failover ou
+ * erro num listener): os ids dos últimos dedupeWindow eventos contados são
+ * guardados e repetições são ignoradas. Start/pause confirmados também
+ * atualizam o conjunto de ordens ativas; as leituras do contrato corrigem.
+ *
+ * Exige stellar.contract-events.enabled; em cluster, só o líder do lease
+ * ingere os eventos, então os números de vendas ficam no nó líder.
+ */
+@Component
+public class SalesAnalytics {
+
+    private static final long HOUR_MILLIS = 3_600_000L;
+
+    private final AnalyticsConfig config;
+    private final GetAllPackagesUseCase getAllPackagesUseCase;
+    private final TransactionJournal journal;
+    private final LongSupplier clock;
+    private final Instant since;
+
+    private final Map<AnalyticsMetric, HourlyRing> series = new EnumMap<>(AnalyticsMetric.class);
+    private final Map<AnalyticsMetric, Long> totals = new EnumMap<>(AnalyticsMetric.class);
+    private final Map<Long, PackageCounters> packages = new TreeMap<>();
+    private final Set<OrderKey> activeOrders = new HashSet<>();
+    private final Map<String, Boolean> seenEvents;
+    private volatile Map<Long, Long> prices = Map.of();
+
+    private record OrderKey(String ownerAddress, long orderId) {
+    }
+
+    @Autowired
+    public SalesAnalytics(AnalyticsConfig config, GetAllPackagesUseCase getAllPackagesUseCase,
+            TransactionJournal journal) {
+        this(config, getAllPackagesUseCase, journal, System::currentTimeMillis);
+    }
+
+    SalesAnalytics(AnalyticsConfig config, GetAllPackagesUseCase getAllPackagesUseCase, TransactionJournal journal,
+            LongSupplier clock) {
+        this.config = config;
+        this.getAllPackagesUseCase = getAllPackagesUseCase;
+        this.journal = journal;
+        this.clock = clock;
+        this.since = Instant.ofEpochMilli(clock.getAsLong());
+        int window = config.getDedupeWindow();
+        this.seenEvents = new LinkedHashMap<>(Math.min(window, 4096), 0.75f) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > window;
+            }
+        };
+        for (AnalyticsMetric metric : AnalyticsMetric.values()) {
+            series.put(metric, new HourlyRing(config.getRetentionHours()));
+            totals.put(metric, 0L);
+        }
+    }
+
+    @EventListener
+    public void onConfirmed(ContractEventConfirmedEvent event) {
+        if (!config.isEnabled() || event.type() == null) {
+            return;
+        }
+        long hour = eventHour(event);
+        if (event.type().equals(config.getPurchaseEvent())) {
+            Long packageId = packageOf(event.transactionHash());
+            synchronized (this) {
+                if (firstSeen(event)) {
+                    recordPurchase(hour, packageId);
+                }
+            }
+        } else if (event.type().equals(config.getGrantEvent())) {
+            synchronized (this) {
+                if (firstSeen(event)) {
+                    count(AnalyticsMetric.GRANTS, hour, 1);
+                }
+            }
+        } else if (event.type().equals(config.getStartEvent())) {
+            synchronized (this) {
+                if (firstSeen(event)) {
+                    count(AnalyticsMetric.STARTS, hour, 1);
+                    setActive(currentHour(), event.ownerAddress(), event.orderId(), true);
+                }
+            }
+        } else if (event.type().equals(config.getPauseEvent())) {
+            synchronized (this) {
+                if (firstSeen(event)) {
+                    count(AnalyticsMetric.PAUSES, hour, 1);
+                    setActive(currentHour(), event.ownerAddress(), event.orderId(), false);
+                }
+            }
+        }
+    }
+
+    @EventListener
+    public void onExpired(OrderExpiredEvent event) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        long hour = currentHour();
+        synchronized (this) {
+            count(AnalyticsMetric.EXPIRATIONS, hour, 1);
+            setActive(hour, event.ownerAddress(), event.orderId(), false);
+        }
+    }
+
+    /** Estados lidos do contrato corrigem o conjunto de ordens ativas (ex.: após reinício). */
+    @EventListener
+    public void onStateObserved(OrderStateObservedEvent event) {
+        if (!config.isEnabled() || event.active() == null) {
+            return;
+        }
+        long hour = currentHour();
+        synchronized (this) {
+            setActive(hour, event.ownerAddress(), event.orderId(), event.active());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.price-refresh-ms:60000}")
+    public void refreshPrices() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        GetAllPackagesUseCase.GetAllPackagesResult result;
+        try {
+            result = getAllPackagesUseCase.execute();
+        } catch (RuntimeException e) {
+            return; // sobrecarga: tenta no próximo ciclo
+        }
+        if (!result.isSuccess() || result.getPackages() == null) {
+            return;
+        }
+        Map<Long, Long> next = new HashMap<>();
+        for (Object item : result.getPackages()) {
+            if (item instanceof Map<?, ?> data && data.get("id") instanceof Number id
+                    && data.get("price") instanceof Number price) {
+                next.put(id.longValue(), price.longValue());
+            }
+        }
+        prices = next;
+    }
+
+    public synchronized AnalyticsSummary summary() {
+        long hour = currentHour();
+        List<PackageSales> perPackage = new ArrayList<>(packages.size());
+        packages.forEach((id, counters) -> perPackage.add(new PackageSales(id, counters.sales, counters.revenue,
+                counters.unpriced, counters.hourlySales.sum(hour, 24))));
+        return new AnalyticsSummary(
+                Instant.ofEpochMilli(clock.getAsLong()),
+                since,
+                activeOrders.size(),
+                series.get(AnalyticsMetric.PEAK_ACTIVE).get(hour, activeOrders.size()),
+                new Totals(totals.get(AnalyticsMetric.PURCHASES), totals.get(AnalyticsMetric.GRANTS),
+                        totals.get(AnalyticsMetric.REVENUE), totals.get(AnalyticsMetric.STARTS),
+                        totals.get(AnalyticsMetric.PAUSES), totals.get(AnalyticsMetric.EXPIRATIONS)),
+                new Totals(sum24h(AnalyticsMetric.PURCHASES, hour), sum24h(AnalyticsMetric.GRANTS, hour),
+                        sum24h(AnalyticsMetric.REVENUE, hour), sum24h(AnalyticsMetric.STARTS, hour),
+                        sum24h(AnalyticsMetric.PAUSES, hour), sum24h(AnalyticsMetric.EXPIRATIONS, hour)),
+                perPackage);
+    }
+
+    /**
+     * Série horária das últimas horas (a mais antiga primeiro).
+     *
+     * @param packageId restringe PURCHASES a um pacote (null = todos)
+     */
+    public synchronized List<HourlyPoint> hourly(AnalyticsMetric metric, int hours, Long packageId) {
+        if (hours < 1 || hours > config.getRetentionHours()) {
+            throw new IllegalArgumentException("hours deve estar entre 1 e " + config.getRetentionHours());
+        }
+        HourlyRing ring;
+        if (packageId != null) {
+            if (metric != AnalyticsMetric.PURCHASES) {
+                throw new IllegalArgumentException("packageId só se aplica a metric=purchases");
+            }
+            PackageCounters counters = packages.get(packageId);
+            ring = counters == null ? null : counters.hourlySales;
+        } else {
+            ring = series.get(metric);
+        }
+        long hour = currentHour();
+        long fill = metric == AnalyticsMetric.PEAK_ACTIVE ? activeOrders.size() : 0;
+        List<HourlyPoint> points = new ArrayList<>(hours);
+        for (long h = hour - hours + 1; h <= hour; h++) {
+            long value = ring == null ? 0 : ring.get(h, h == hour ? fill : 0);
+            points.add(new HourlyPoint(Instant.ofEpochMilli(h * HOUR_MILLIS), value));
+        }
+        return points;
+    }
+
+    private void recordPurchase(long hour, Long packageId) {
+        count(AnalyticsMetric.PURCHASES, hour, 1);
+        if (packageId == null) {
+            return;
+        }
+        PackageCounters counters = packages.computeIfAbsent(packageId,
+                id -> new PackageCounters(config.getRetentionHours()));
+        counters.sales++;
+        counters.hourlySales.add(hour, 1);
+        Long price = prices.get(packageId);
+        if (price == null) {
+            counters.unpriced++;
+        } else {
+            counters.revenue += price;
+            count(AnalyticsMetric.REVENUE, hour, price);
+        }
+    }
+
+    /** Pacote do envelope pelo journal (só envelopes emitidos por este nó). */
+    private Long packageOf(String transactionHash) {
+        if (transactionHash == null) {
+            return null;
+        }
+        try {
+            return journal.findByHash(transactionHash)
+                    .map(JournalRecord::packageId)
+                    .filter(id -> id >= 0)
+                    .orElse(null);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    /** false se o evento já foi contado (reentrega do ingester); eventos sem id sempre contam. */
+    private boolean firstSeen(ContractEventConfirmedEvent event) {
+        return event.id() == null || seenEvents.put(event.id(), Boolean.TRUE) == null;
+    }
+
+    private void setActive(long hour, String ownerAddress, Long orderId, boolean active) {
+        if (ownerAddress == null || orderId == null) {
+            return;
+        }
+        OrderKey key = new OrderKey(ownerAddress, orderId);
+        HourlyRing peak = series.get(AnalyticsMetric.PEAK_ACTIVE);
+        // a hora começa com o nível de antes do evento
+        peak.max(hour, activeOrders.size(), activeOrders.size());
+        if (active) {
+            activeOrders.add(key);
+        } else {
+            activeOrders.remove(key);
+        }
+        peak.max(hour, activeOrders.size(), activeOrders.size());
+    }
+
+    private void count(AnalyticsMetric metric, long hour, long delta) {
+        totals.merge(metric, delta, Long::sum);
+        series.get(metric).add(hour, delta);
+    }
+
+    private long sum24h(AnalyticsMetric metric, long hour) {
+        return series.get(metric).sum(hour, 24);
+    }
+
+    /** Hora do fechamento do ledger (nunca no futuro); a de agora se o RPC não informou. */
+    private long eventHour(ContractEventConfirmedEvent event) {
+        long now = currentHour();
+        if (event.closedAt() == null) {
+            return now;
+        }
+        return Math.min(now, Math.floorDiv(event.closedAt().toEpochMilli(), HOUR_MILLIS));
+    }
+
+    private long currentHour() {
+        return Math.floorDiv(clock.getAsLong(), HOUR_MILLIS);
+    }
+
+    private static final class PackageCounters {
+        private final HourlyRing hourlySales;
+        private long sales;
+        private long revenue;
+        private long unpriced;
+
+        PackageCounters(int retentionHours) {
+            this.hourlySales = new HourlyRing(retentionHours);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.conectabrasil.application.bulk;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "bulk")
+public class BulkConfig {
+    /** Itens por lote; acima disso 400. */
+    private int maxItems = 100;
+    /** Threads que preparam itens (simulate + prepare), compartilhadas entre lotes. */
+    private int threads = 8;
+    /** Lotes simultâneos; acima disso responde 503 com Retry-After. */
+    private int maxConcurrent = 4;
+}
@@ -0,0 +1,218 @@
+package com.conectabrasil.application.bulk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.conectabrasil.infrastructure.resilience.DeadlineExceededException;
+import com.conectabrasil.infrastructure.resilience.PathClass;
+import com.conectabrasil.infrastructure.resilience.RequestDeadline;
+import com.conectabrasil.infrastructure.resilience.RpcRejectedException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Executa um lote de envelopes (buy_and_grant / grant) em três fases:
+ *
+ * 1. carrega a sequence de cada conta fonte distinta uma única vez;
+ * 2. prepara os itens em paralelo (simulate + prepare), limitado pelo pool
+ *    compartilhado de bulk.threads;
+ * 3. numera e emite, na ordem do pedido, só os itens preparados com sucesso:
+ *    o k-ésimo item bom de uma conta sai com sequence base + k + 1, então uma
+ *    falha no meio não deixa buraco que invalidaria os envelopes seguintes.
+ *
+ * O prazo da requisição (RequestDeadline) e a PathClass vão junto para as
+ * threads do pool; itens que não terminam no prazo falham individualmente.
+ */
+@Component
+public class BulkExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkExecutor.class);
+
+    /** Sequence atual da conta fonte. */
+    @FunctionalInterface
+    public interface SequenceLoader {
+        long load(String sourceAccountId) throws Exception;
+    }
+
+    /** Prepara o item com a conta fonte na sequence dada (provisória). */
+    @FunctionalInterface
+    public interface Preparer<I, P> {
+        P prepare(I item, long sequence) throws Exception;
+    }
+
+    /** Emite o item preparado com a sequence definitiva. */
+    @FunctionalInterface
+    public interface Issuer<I, P, R> {
+        R issue(I item, P prepared, long sequence) throws Exception;
+    }
+
+    private final BulkConfig config;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore permits;
+    private final ThreadPoolExecutor workers;
+
+    public BulkExecutor(BulkConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(config.getMaxConcurrent());
+        this.workers = new ThreadPoolExecutor(config.getThreads(), config.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread t = new Thread(runnable, "bulk-prepare");
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * @param sourceOf conta fonte de cada item (quem paga e consome a sequence)
+     * @return um resultado por item, na ordem do pedido
+     * @throws IllegalArgumentException lote vazio ou maior que bulk.max-items
+     * @throws RpcRejectedException     se já há bulk.max-concurrent lotes em andamento
+     */
+    public <I, P, R> List<BulkItemResult<R>> run(List<I> items, Function<I, String> sourceOf,
+            SequenceLoader sequences, Preparer<I, P> preparer, Issuer<I, P, R> issuer) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Lote vazio");
+        }
+        if (items.size() > config.getMaxItems()) {
+            throw new IllegalArgumentException("Lote deve ter no máximo " + config.getMaxItems() + " itens");
+        }
+        if (!permits.tryAcquire()) {
+            throw new RpcRejectedException("Muitos lotes em andamento", 5);
+        }
+        try {
+            List<BulkItemResult<R>> results = execute(items, sourceOf, sequences, preparer, issuer);
+            long ok = results.stream().filter(BulkItemResult::isOk).count();
+            meterRegistry.counter("bulk.items", "result", "ok").increment(ok);
+            meterRegistry.counter("bulk.items", "result", "failed").increment(results.size() - ok);
+            return results;
+        } finally {
+            permits.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private <I, P, R> List<BulkItemResult<R>> execute(List<I> items, Function<I, String> sourceOf,
+            SequenceLoader sequences, Preparer<I, P> preparer, Issuer<I, P, R> issuer) {
+        @SuppressWarnings("unchecked")
+        BulkItemResult<R>[] results = new BulkItemResult[items.size()];
+
+        // itens por conta fonte, na ordem do pedido
+        Map<String, List<Integer>> bySource = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            String source = items.get(i) == null ? null : sourceOf.apply(items.get(i));
+            if (source == null || source.isBlank()) {
+                results[i] = BulkItemResult.failed(i, "Conta fonte obrigatória", null);
+            } else {
+                bySource.computeIfAbsent(source, s -> new ArrayList<>()).add(i);
+            }
+        }
+
+        // 1) uma leitura de sequence por conta
+        Map<String, Future<Long>> loads = new LinkedHashMap<>();
+        bySource.keySet().forEach(source -> loads.put(source, submit(() -> sequences.load(source))));
+        Map<String, Long> baseSequence = new LinkedHashMap<>();
+        loads.forEach((source, future) -> {
+            try {
+                baseSequence.put(source, await(future));
+            } catch (Exception e) {
+                for (int i : bySource.get(source)) {
+                    results[i] = failure(i, e);
+                }
+            }
+        });
+
+        // 2) preparo em paralelo, com sequence provisória (a posição no grupo)
+        @SuppressWarnings("unchecked")
+        Future<P>[] prepared = new Future[items.size()];
+        baseSequence.forEach((source, base) -> {
+            List<Integer> group = bySource.get(source);
+            for (int k = 0; k < group.size(); k++) {
+                int i = group.get(k);
+                long provisional = base + k;
+                prepared[i] = submit(() -> preparer.prepare(items.get(i), provisional));
+            }
+        });
+
+        // 3) numeração definitiva e emissão, só dos itens bons
+        baseSequence.forEach((source, base) -> {
+            long next = base;
+            for (int i : bySource.get(source)) {
+                try {
+                    P value = await(prepared[i]);
+                    results[i] = BulkItemResult.ok(i, issuer.issue(items.get(i), value, next));
+                    next++;
+                } catch (Exception e) {
+                    results[i] = failure(i, e);
+                }
+            }
+        });
+        return Arrays.asList(results);
+    }
+
+    /** Submete levando o prazo e a PathClass da requisição para a thread do pool. */
+    private <T> Future<T> submit(Callable<T> task) {
+        Long deadline = RequestDeadline.capture();
+        PathClass pathClass = PathClass.current();
+        return workers.submit(() -> {
+            RequestDeadline.restore(deadline);
+            if (pathClass != null) {
+                PathClass.set(pathClass);
+            }
+            try {
+                return task.call();
+            } finally {
+                RequestDeadline.clear();
+                PathClass.clear();
+            }
+        });
+    }
+
+    /** Espera o resultado dentro do prazo da requisição; no estouro cancela e falha o item. */
+    private static <T> T await(Future<T> future) throws Exception {
+        long remaining = RequestDeadline.remainingMillis();
+        try {
+            if (remaining == RequestDeadline.NONE) {
+                return future.get();
+            }
+            return future.get(Math.max(0, remaining), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new DeadlineExceededException("bulk");
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    private static <R> BulkItemResult<R> failure(int index, Exception e) {
+        if (e instanceof RpcRejectedException rejected) {
+            return BulkItemResult.failed(index, rejected.getMessage(), rejected.getRetryAfterSeconds());
+        }
+        if (e instanceof IllegalArgumentException) {
+            return BulkItemResult.failed(index, e.getMessage(), null);
+        }
+        log.warn("Item {} do lote falhou: {}", index, e.getMessage());
+        return BulkItemResult.failed(index, "Erro ao preparar item: " + e.getMessage(), null);
+    }
+}
@@ -0,0 +1,23 @@
+package com.conectabrasil.application.bulk;
+
+/**
+ * Resultado de um item do lote, na posição em que veio no pedido.
+ *
+ * @param value             resultado quando deu certo (null em falha)
+ * @param error             mensagem da falha (null em sucesso)
+ * @param retryAfterSeconds quando a falha foi sobrecarga/prazo e vale repetir
+ */
+public record BulkItemResult<R>(int index, R value, String error, Long retryAfterSeconds) {
+
+    public static <R> BulkItemResult<R> ok(int index, R value) {
+        return new BulkItemResult<>(index, value, null, null);
+    }
+
+    public static <R> BulkItemResult<R> failed(int index, String error, Long retryAfterSeconds) {
+        return new BulkItemResult<>(index, null, error, retryAfterSeconds);
+    }
+
+    public boolean isOk() {
+        return error == null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.conectabrasil.application.catalog;
+
+/**
+ * Filtro/ordenação aceitos pelo catálogo de pacotes. Campos nulos não
+ * filtram.
+ */
+public record CatalogQuery(
+        Sort sort,
+        boolean descending,
+        Boolean popular,
+        Long minPrice,
+        Long maxPrice,
+        Long minDuration,
+        Long maxDuration,
+        Integer limit) {
+
+    public enum Sort {
+        PRICE, DURATION, POPULAR;
+
+        public static Sort parse(String value) {
+            if (value == null || value.isBlank()) {
+                return PRICE;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("sort inválido: " + value + " (use price, duration ou popular)");
+            }
+        }
+    }
+
+    public CatalogQuery {
+        if (sort == null) {
+            sort = Sort.PRICE;
+        }
+        if (limit != null && limit <= 0) {
+            throw new IllegalArgumentException("limit deve ser maior que zero");
+        }
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("minPrice maior que maxPrice");
+        }
+        if (minDuration != null && maxDuration != null && minDuration > maxDuration) {
+            throw new IllegalArgumentException("minDuration maior que maxDuration");
+        }
+    }
+}
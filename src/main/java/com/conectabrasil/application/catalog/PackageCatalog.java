@@ -0,0 +1,215 @@
+package com.conectabrasil.application.catalog;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Snapshot imutável do catálogo (resultado decodificado de get_all_packages)
+ * com índices de ordenação pré-calculados e o JSON de cada pacote já
+ * serializado.
+ * 
+ * Uma consulta só percorre o trecho do índice que satisfaz o filtro do campo
+ * ordenado (busca binária) e concatena os bytes prontos: nenhum pacote é
+ * re-serializado por requisição.
+ */
+public final class PackageCatalog {
+
+    /** Valor usado quando o pacote não traz o campo; fica no fim da ordem ascendente. */
+    private static final long MISSING = Long.MAX_VALUE;
+
+    private final List<Object> source;
+    private final byte[][] json;
+    private final long[] ids;
+    private final long[] price;
+    private final long[] duration;
+    private final boolean[] popular;
+
+    // posições ordenadas e as chaves correspondentes (para busca binária)
+    private final int[] byPrice;
+    private final long[] priceKeys;
+    private final int[] byDuration;
+    private final long[] durationKeys;
+    private final int[] byPopular;
+
+    private PackageCatalog(List<Object> source, byte[][] json, long[] ids, long[] price, long[] duration,
+            boolean[] popular) {
+        this.source = source;
+        this.json = json;
+        this.ids = ids;
+        this.price = price;
+        this.duration = duration;
+        this.popular = popular;
+
+        Comparator<Integer> priceOrder = Comparator.comparingLong(i -> price[i]);
+        this.byPrice = sorted(priceOrder);
+        this.priceKeys = keys(byPrice, price);
+        this.byDuration = sorted(Comparator.<Integer>comparingLong(i -> duration[i]).thenComparing(priceOrder));
+        this.durationKeys = keys(byDuration, duration);
+        // populares primeiro; dentro de cada grupo, mais barato primeiro
+        this.byPopular = sorted(Comparator.<Integer, Boolean>comparing(i -> !popular[i]).thenComparing(priceOrder));
+    }
+
+    /**
+     * Monta o catálogo a partir da lista devolvida por
+     * SorobanContractService.getAllPackages().
+     */
+    public static PackageCatalog build(List<Object> packages, ObjectMapper mapper) {
+        int n = packages.size();
+        byte[][] json = new byte[n][];
+        long[] ids = new long[n];
+        long[] price = new long[n];
+        long[] duration = new long[n];
+        boolean[] popular = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            Object item = packages.get(i);
+            try {
+                json[i] = mapper.writeValueAsBytes(item);
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException("Erro ao serializar pacote do catálogo: " + e.getMessage(), e);
+            }
+            Map<?, ?> data = item instanceof Map<?, ?> m ? m : Map.of();
+            ids[i] = asLong(data.get("id"));
+            price[i] = asLong(data.get("price"));
+            duration[i] = asLong(data.get("duration_secs"));
+            popular[i] = Boolean.TRUE.equals(data.get("is_popular"));
+        }
+        return new PackageCatalog(packages, json, ids, price, duration, popular);
+    }
+
+    /** Lista da qual este snapshot foi construído (usada para detectar mudança). */
+    public List<Object> source() {
+        return source;
+    }
+
+    public int size() {
+        return json.length;
+    }
+
+    /** duration_secs do pacote, ou null se o pacote não está no catálogo ou não traz o campo. */
+    public Long durationSeconds(long packageId) {
+        // catálogo pequeno: varredura linear basta
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == packageId) {
+                return duration[i] == MISSING ? null : duration[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Responde a consulta como um array JSON já serializado.
+     */
+    public byte[] render(CatalogQuery query) {
+        int[] order;
+        int from;
+        int to;
+        switch (query.sort()) {
+            case DURATION -> {
+                order = byDuration;
+                from = lowerBound(durationKeys, query.minDuration());
+                to = upperBound(durationKeys, query.maxDuration(), query.minDuration() != null);
+            }
+            case POPULAR -> {
+                order = byPopular;
+                from = 0;
+                to = order.length;
+            }
+            default -> {
+                order = byPrice;
+                from = lowerBound(priceKeys, query.minPrice());
+                to = upperBound(priceKeys, query.maxPrice(), query.minPrice() != null);
+            }
+        }
+
+        int limit = query.limit() != null ? query.limit() : Integer.MAX_VALUE;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + Math.min(to - from, limit) * 160);
+        out.write('[');
+        int written = 0;
+        for (int k = 0; k < to - from && written < limit; k++) {
+            int i = order[query.descending() ? to - 1 - k : from + k];
+            if (!matches(i, query)) {
+                continue;
+            }
+            if (written++ > 0) {
+                out.write(',');
+            }
+            out.writeBytes(json[i]);
+        }
+        out.write(']');
+        return out.toByteArray();
+    }
+
+    private boolean matches(int i, CatalogQuery q) {
+        if (q.popular() != null && popular[i] != q.popular()) {
+            return false;
+        }
+        return inRange(price[i], q.minPrice(), q.maxPrice())
+                && inRange(duration[i], q.minDuration(), q.maxDuration());
+    }
+
+    private static boolean inRange(long value, Long min, Long max) {
+        if (min == null && max == null) {
+            return true;
+        }
+        return value != MISSING
+                && (min == null || value >= min)
+                && (max == null || value <= max);
+    }
+
+    private int[] sorted(Comparator<Integer> comparator) {
+        return IntStream.range(0, json.length).boxed().sorted(comparator).mapToInt(Integer::intValue).toArray();
+    }
+
+    private static long[] keys(int[] order, long[] values) {
+        long[] keys = new long[order.length];
+        for (int k = 0; k < order.length; k++) {
+            keys[k] = values[order[k]];
+        }
+        return keys;
+    }
+
+    /** Primeira posição com chave >= min. */
+    private static int lowerBound(long[] keys, Long min) {
+        if (min == null) {
+            return 0;
+        }
+        int idx = Arrays.binarySearch(keys, min);
+        if (idx < 0) {
+            return -idx - 1;
+        }
+        while (idx > 0 && keys[idx - 1] == min) {
+            idx--;
+        }
+        return idx;
+    }
+
+    /**
+     * Primeira posição com chave > max. Havendo filtro de intervalo, pacotes
+     * sem o campo (MISSING, no fim) ficam de fora.
+     */
+    private static int upperBound(long[] keys, Long max, boolean ranged) {
+        if (max == null && !ranged) {
+            return keys.length;
+        }
+        long bound = max != null ? Math.min(max, MISSING - 1) : MISSING - 1;
+        int idx = Arrays.binarySearch(keys, bound);
+        if (idx < 0) {
+            return -idx - 1;
+        }
+        while (idx < keys.length - 1 && keys[idx + 1] == bound) {
+            idx++;
+        }
+        return idx + 1;
+    }
+
+    private static long asLong(Object value) {
+        return value instanceof Number n ? n.longValue() : MISSING;
+    }
+}
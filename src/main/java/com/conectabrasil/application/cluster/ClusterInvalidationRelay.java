@@ -0,0 +1,98 @@
+package com.conectabrasil.application.cluster;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.conectabrasil.domain.event.OrderActivityEvent;
+import com.conectabrasil.domain.event.OrderExpiredEvent;
+import com.conectabrasil.infrastructure.cluster.ClusterBus;
+import com.conectabrasil.infrastructure.cluster.ClusterConfig;
+import com.conectabrasil.infrastructure.cluster.ClusterMessage;
+import com.conectabrasil.infrastructure.cluster.ClusterMessage.Type;
+import com.conectabrasil.infrastructure.footprint.FootprintTemplateCache;
+import com.conectabrasil.infrastructure.readmodel.OrderReadModel;
+import com.conectabrasil.infrastructure.stellar.ContractViewCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Replica invalidações entre os nós: atividade de ordem local vira
+ * INVALIDATE_OWNER/INVALIDATE_ORDER no ClusterBus, e as mensagens recebidas
+ * limpam o cache de views (e os templates de footprint, no caso do catálogo)
+ * e marcam o read model como desatualizado. O que chega de outro nó não é
+ * republicado (sem eco).
+ */
+@Component
+public class ClusterInvalidationRelay {
+
+    public static final String CATALOG_FUNCTION = "get_all_packages";
+
+    private final ClusterBus bus;
+    private final String selfId;
+    private final ContractViewCache viewCache;
+    private final OrderReadModel readModel;
+    private final FootprintTemplateCache footprintTemplates;
+    private final MeterRegistry meterRegistry;
+
+    public ClusterInvalidationRelay(ClusterBus bus, ClusterConfig config, ContractViewCache viewCache,
+            OrderReadModel readModel, FootprintTemplateCache footprintTemplates, MeterRegistry meterRegistry) {
+        this.bus = bus;
+        this.selfId = config.isEnabled() ? config.getSelfId() : "local";
+        this.viewCache = viewCache;
+        this.readModel = readModel;
+        this.footprintTemplates = footprintTemplates;
+        this.meterRegistry = meterRegistry;
+        bus.subscribe(this::apply);
+    }
+
+    @EventListener
+    public void onActivity(OrderActivityEvent event) {
+        if (event.orderId() != null) {
+            bus.publish(ClusterMessage.of(Type.INVALIDATE_ORDER, selfId, event.ownerAddress(),
+                    String.valueOf(event.orderId())));
+        } else {
+            bus.publish(ClusterMessage.of(Type.INVALIDATE_OWNER, selfId, event.ownerAddress(), null));
+        }
+    }
+
+    @EventListener
+    public void onExpired(OrderExpiredEvent event) {
+        bus.publish(ClusterMessage.of(Type.INVALIDATE_ORDER, selfId, event.ownerAddress(),
+                String.valueOf(event.orderId())));
+    }
+
+    /** Invalida o owner neste nó e nos demais (ingestão de eventos do contrato). */
+    public void invalidateOwner(String ownerAddress) {
+        ClusterMessage message = ClusterMessage.of(Type.INVALIDATE_OWNER, selfId, ownerAddress, null);
+        apply(message);
+        bus.publish(message);
+    }
+
+    /** Invalida o catálogo de pacotes neste nó e nos demais. */
+    public void invalidateCatalog() {
+        ClusterMessage message = ClusterMessage.of(Type.INVALIDATE_CATALOG, selfId, CATALOG_FUNCTION, null);
+        apply(message);
+        bus.publish(message);
+    }
+
+    private void apply(ClusterMessage message) {
+        switch (message.type()) {
+            case INVALIDATE_OWNER, INVALIDATE_ORDER -> {
+                if (message.key() == null) {
+                    return;
+                }
+                viewCache.invalidateOwner(message.key());
+                readModel.markStale(message.key());
+            }
+            case INVALIDATE_CATALOG -> {
+                // evento do contrato sem owner (admin/pacotes): footprints aprendidos podem ter mudado
+                viewCache.invalidateFunction(CATALOG_FUNCTION);
+                footprintTemplates.invalidateAll();
+            }
+            default -> {
+                return;
+            }
+        }
+        meterRegistry.counter("cluster.invalidations.applied", "type", message.type().name()).increment();
+    }
+}
@@ -0,0 +1,171 @@
+package com.conectabrasil.application.cluster;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.stellar.sdk.SorobanServer;
+import org.stellar.sdk.requests.sorobanrpc.EventFilterType;
+import org.stellar.sdk.requests.sorobanrpc.GetEventsRequest;
+import org.stellar.sdk.responses.sorobanrpc.GetEventsResponse;
+
+import com.conectabrasil.domain.event.ContractEventConfirmedEvent;
+import com.conectabrasil.infrastructure.cluster.ClusterBus;
+import com.conectabrasil.infrastructure.cluster.ClusterConfig;
+import com.conectabrasil.infrastructure.cluster.ClusterMessage;
+import com.conectabrasil.infrastructure.cluster.ClusterMessage.Type;
+import com.conectabrasil.infrastructure.cluster.LeaseElection;
+import com.conectabrasil.infrastructure.resilience.RpcExecutor;
+import com.conectabrasil.infrastructure.stellar.ContractEventDecoder;
+import com.conectabrasil.infrastructure.stellar.ContractEventDecoder.DecodedEvent;
+import com.conectabrasil.infrastructure.stellar.LedgerHeartbeat;
+import com.conectabrasil.infrastructure.stellar.StellarConfig;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Ingestão dos eventos do contrato (getEvents) feita só pelo líder do lease.
+ * Cada evento invalida os owners (endereços de conta) presentes nos tópicos;
+ * eventos sem conta invalidam o catálogo. As invalidações valem neste nó e
+ * seguem para os demais pelo ClusterBus. Cada evento também é publicado
+ * in-process como ContractEventConfirmedEvent (ex.: para o SalesAnalytics).
+ *
+ * O cursor do getEvents é publicado como EVENTS_CURSOR a cada ciclo: todos os
+ * nós guardam o último, e quem assumir a liderança continua dali. Sem cursor,
+ * começa no último ledger visto pelo LedgerHeartbeat.
+ */
+@Component
+public class ContractEventIngester {
+
+    private static final Logger log = LoggerFactory.getLogger(ContractEventIngester.class);
+
+    private final ContractEventsConfig config;
+    private final StellarConfig stellarConfig;
+    private final SorobanServer soroban;
+    private final RpcExecutor rpcExecutor;
+    private final LedgerHeartbeat heartbeat;
+    private final LeaseElection election;
+    private final ClusterBus bus;
+    private final ClusterInvalidationRelay relay;
+    private final ApplicationEventPublisher events;
+    private final String selfId;
+    private final Counter ingested;
+    private final Counter failures;
+
+    private volatile String cursor;
+
+    public ContractEventIngester(ContractEventsConfig config, StellarConfig stellarConfig, SorobanServer soroban,
+            RpcExecutor rpcExecutor, LedgerHeartbeat heartbeat, LeaseElection election, ClusterBus bus,
+            ClusterInvalidationRelay relay, ClusterConfig clusterConfig, ApplicationEventPublisher events,
+            MeterRegistry meterRegistry) {
+        this.config = config;
+        this.stellarConfig = stellarConfig;
+        this.soroban = soroban;
+        this.rpcExecutor = rpcExecutor;
+        this.heartbeat = heartbeat;
+        this.election = election;
+        this.bus = bus;
+        this.relay = relay;
+        this.events = events;
+        this.selfId = clusterConfig.isEnabled() ? clusterConfig.getSelfId() : "local";
+        this.ingested = Counter.builder("contract.events.ingested").register(meterRegistry);
+        this.failures = Counter.builder("contract.events.failures").register(meterRegistry);
+        bus.subscribe(message -> {
+            if (message.type() == Type.EVENTS_CURSOR && message.value() != null && !election.isLeader()) {
+                cursor = message.value();
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${stellar.contract-events.poll-interval-ms:5000}")
+    public void poll() {
+        if (!config.isEnabled() || !election.isLeader()) {
+            return;
+        }
+        String current = cursor;
+        Long startLedger = null;
+        if (current == null) {
+            long latest = heartbeat.latestLedger();
+            if (latest <= 0) {
+                return;
+            }
+            startLedger = Math.max(1, latest - config.getStartLedgerLookback());
+        }
+        try {
+            for (int page = 0; page < config.getMaxPagesPerPoll(); page++) {
+                GetEventsResponse response = fetch(startLedger, current);
+                List<GetEventsResponse.EventInfo> events = response.getEvents();
+                if (events != null) {
+                    events.forEach(this::apply);
+                    ingested.increment(events.size());
+                }
+                if (response.getCursor() != null) {
+                    current = response.getCursor();
+                    startLedger = null;
+                }
+                if (events == null || events.size() < config.getPageSize()) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("Falha ao consultar getEvents: {}", e.getMessage());
+        }
+        if (current != null && !current.equals(cursor)) {
+            cursor = current;
+            bus.publish(ClusterMessage.of(Type.EVENTS_CURSOR, selfId, null, current));
+        }
+    }
+
+    public String cursor() {
+        return cursor;
+    }
+
+    private GetEventsResponse fetch(Long startLedger, String cursor) throws Exception {
+        GetEventsRequest.EventFilter filter = GetEventsRequest.EventFilter.builder()
+                .type(EventFilterType.CONTRACT)
+                .contractIds(List.of(stellarConfig.getContractAddress()))
+                .build();
+        GetEventsRequest request = GetEventsRequest.builder()
+                .startLedger(startLedger) // null quando há cursor: o RPC não aceita os dois
+                .filters(List.of(filter))
+                .pagination(GetEventsRequest.PaginationOptions.builder()
+                        .limit((long) config.getPageSize())
+                        .cursor(cursor)
+                        .build())
+                .build();
+        return rpcExecutor.execute("getEvents", () -> soroban.getEvents(request));
+    }
+
+    private void apply(GetEventsResponse.EventInfo info) {
+        DecodedEvent event = ContractEventDecoder.decode(info);
+        List<String> owners = event.accounts().stream()
+                .filter(ContractEventDecoder::isAccount)
+                .distinct()
+                .toList();
+        if (owners.isEmpty()) {
+            relay.invalidateCatalog();
+        } else {
+            owners.forEach(relay::invalidateOwner);
+        }
+        events.publishEvent(new ContractEventConfirmedEvent(event.id(), event.ledger(), event.transactionHash(),
+                event.type(), owners, event.topics(), event.value(), closedAt(event.ledgerClosedAt())));
+    }
+
+    private static Instant closedAt(String ledgerClosedAt) {
+        if (ledgerClosedAt == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(ledgerClosedAt);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.conectabrasil.application.cluster;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "stellar.contract-events")
+public class ContractEventsConfig {
+    private boolean enabled = false;
+    private long pollIntervalMs = 5000;
+    /** Eventos por página do getEvents. */
+    private int pageSize = 200;
+    /** Páginas por ciclo; o restante fica para o ciclo seguinte. */
+    private int maxPagesPerPoll = 5;
+    /** Ledgers para trás a partir do último conhecido quando não há cursor. */
+    private long startLedgerLookback = 0;
+    /** Tipo (primeiro tópico) dos eventos confirmados de start/pause de ordem. */
+    private String startEvent = "start_order";
+    private String pauseEvent = "pause_order";
+}
@@ -0,0 +1,153 @@
+package com.conectabrasil.application.export;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+import org.stellar.sdk.SorobanServer;
+import org.stellar.sdk.requests.sorobanrpc.EventFilterType;
+import org.stellar.sdk.requests.sorobanrpc.GetEventsRequest;
+import org.stellar.sdk.responses.sorobanrpc.GetEventsResponse;
+
+import com.conectabrasil.infrastructure.resilience.PathClass;
+import com.conectabrasil.infrastructure.resilience.RpcExecutor;
+import com.conectabrasil.infrastructure.resilience.RpcRejectedException;
+import com.conectabrasil.infrastructure.stellar.ContractEventDecoder;
+import com.conectabrasil.infrastructure.stellar.ContractEventDecoder.DecodedEvent;
+import com.conectabrasil.infrastructure.stellar.StellarConfig;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Exportação do histórico de eventos do contrato (compras e grants) página a
+ * página do getEvents, escrevendo cada evento direto no EventSink: a memória
+ * usada é a de uma página, qualquer que seja o intervalo.
+ *
+ * Contrapressão em três níveis: a próxima página só é buscada depois que a
+ * anterior foi escrita e enviada (cliente lento = RPC consultado devagar); as
+ * chamadas usam a fatia de leitura do limitador adaptativo e, quando recusadas,
+ * esperam e tentam de novo em vez de competir com o tráfego ao vivo; e há um
+ * teto de exportações simultâneas.
+ */
+@Component
+public class ContractEventExporter {
+
+    /** Destino dos eventos exportados (CSV, NDJSON...). */
+    public interface EventSink {
+        void write(DecodedEvent event) throws IOException;
+
+        /** Chamado ao fim de cada página. */
+        void flush() throws IOException;
+    }
+
+    private final EventExportConfig config;
+    private final StellarConfig stellarConfig;
+    private final SorobanServer soroban;
+    private final RpcExecutor rpcExecutor;
+    private final Semaphore permits;
+    private final Counter exportedEvents;
+
+    public ContractEventExporter(EventExportConfig config, StellarConfig stellarConfig, SorobanServer soroban,
+            RpcExecutor rpcExecutor, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.stellarConfig = stellarConfig;
+        this.soroban = soroban;
+        this.rpcExecutor = rpcExecutor;
+        this.permits = new Semaphore(config.getMaxConcurrent());
+        this.exportedEvents = Counter.builder("exports.contract.events").register(meterRegistry);
+        Gauge.builder("exports.contract.active", permits, p -> config.getMaxConcurrent() - p.availablePermits())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserva uma vaga de exportação; devolver com release() ao terminar.
+     *
+     * @throws RpcRejectedException se já há maxConcurrent exportações em andamento
+     */
+    public void acquire() {
+        if (!permits.tryAcquire()) {
+            throw new RpcRejectedException("Muitas exportações em andamento", 30);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * Escreve no sink os eventos do intervalo, na ordem do ledger.
+     *
+     * @return quantidade de eventos escritos
+     */
+    public long export(ExportRange range, EventSink sink) throws Exception {
+        PathClass.set(PathClass.READ); // roda na thread da resposta assíncrona
+        try {
+            long written = 0;
+            Long startLedger = range.startLedger();
+            String cursor = range.cursor();
+            while (written < range.limit()) {
+                GetEventsResponse page = fetch(startLedger, cursor);
+                List<GetEventsResponse.EventInfo> events = page.getEvents() == null ? List.of() : page.getEvents();
+                for (GetEventsResponse.EventInfo info : events) {
+                    DecodedEvent event = ContractEventDecoder.decode(info);
+                    if (range.endLedger() != null && event.ledger() > range.endLedger()) {
+                        sink.flush();
+                        return written;
+                    }
+                    cursor = event.id();
+                    if (!config.getTypes().isEmpty() && !config.getTypes().contains(event.type())) {
+                        continue;
+                    }
+                    sink.write(event);
+                    exportedEvents.increment();
+                    if (++written >= range.limit()) {
+                        break;
+                    }
+                }
+                sink.flush();
+                if (events.size() < config.getPageSize()) {
+                    return written; // chegou ao ledger mais recente
+                }
+                if (page.getCursor() != null && written < range.limit()) {
+                    cursor = page.getCursor();
+                }
+                startLedger = null;
+                TimeUnit.MILLISECONDS.sleep(config.getPageIntervalMs());
+            }
+            return written;
+        } finally {
+            PathClass.clear();
+        }
+    }
+
+    private GetEventsResponse fetch(Long startLedger, String cursor) throws Exception {
+        GetEventsRequest.EventFilter filter = GetEventsRequest.EventFilter.builder()
+                .type(EventFilterType.CONTRACT)
+                .contractIds(List.of(stellarConfig.getContractAddress()))
+                .build();
+        GetEventsRequest request = GetEventsRequest.builder()
+                .startLedger(startLedger) // null quando há cursor
+                .filters(List.of(filter))
+                .pagination(GetEventsRequest.PaginationOptions.builder()
+                        .limit((long) config.getPageSize())
+                        .cursor(cursor)
+                        .build())
+                .build();
+        for (int attempt = 0;; attempt++) {
+            try {
+                return rpcExecutor.execute("getEvents", () -> soroban.getEvents(request));
+            } catch (RpcRejectedException e) {
+                // RPC disputado: cede para o tráfego ao vivo e tenta de novo
+                if (attempt >= config.getMaxRejectedRetries()) {
+                    throw e;
+                }
+                TimeUnit.MILLISECONDS.sleep(Math.min(TimeUnit.SECONDS.toMillis(e.getRetryAfterSeconds()), 1000)
+                        + config.getPageIntervalMs());
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.conectabrasil.application.export;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "exports.contract-events")
+public class EventExportConfig {
+    /** Exportações simultâneas; acima disso responde 503 com Retry-After. */
+    private int maxConcurrent = 2;
+    /** Eventos por chamada ao getEvents. */
+    private int pageSize = 200;
+    /** Pausa entre páginas, para a exportação não disputar o RPC com o tráfego ao vivo. */
+    private long pageIntervalMs = 50;
+    /** Teto de eventos por resposta; continue com o cursor (id do último evento). */
+    private long maxEvents = 1_000_000;
+    /** Tipos exportados (primeiro tópico Symbol do evento); vazio = todos. */
+    private List<String> types = new ArrayList<>(List.of("buy_and_grant", "grant"));
+    /** Tentativas de uma página recusada pelo limitador antes de abortar a exportação. */
+    private int maxRejectedRetries = 20;
+}
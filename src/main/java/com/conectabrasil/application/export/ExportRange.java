@@ -0,0 +1,26 @@
+package com.conectabrasil.application.export;
+
+/**
+ * Intervalo pedido na exportação de eventos. Com cursor, continua logo após
+ * o evento indicado (startLedger é ignorado).
+ *
+ * @param endLedger último ledger incluído (null = até o ledger mais recente)
+ * @param limit     máximo de eventos nesta resposta
+ */
+public record ExportRange(Long startLedger, Long endLedger, String cursor, long limit) {
+
+    public static ExportRange of(Long startLedger, Long endLedger, String cursor, Long limit, long maxEvents) {
+        boolean hasCursor = cursor != null && !cursor.isBlank();
+        if (!hasCursor && (startLedger == null || startLedger < 1)) {
+            throw new IllegalArgumentException("Informe startLedger (>= 1) ou cursor");
+        }
+        if (endLedger != null && startLedger != null && !hasCursor && endLedger < startLedger) {
+            throw new IllegalArgumentException("endLedger deve ser >= startLedger");
+        }
+        long max = limit == null ? maxEvents : limit;
+        if (max < 1 || max > maxEvents) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + maxEvents);
+        }
+        return new ExportRange(hasCursor ? null : startLedger, endLedger, hasCursor ? cursor.trim() : null, max);
+    }
+}
@@ -0,0 +1,18 @@
+package com.conectabrasil.application.order;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "orders.expiry")
+public class OrderExpiryConfig {
+    private boolean enabled = true;
+    private long tickMs = 1000;
+    /** Buckets do timing wheel (potência de 2); timers mais longos dão voltas. */
+    private int wheelSize = 4096;
+    /** Máximo de ordens acompanhadas; acima disso uma é descartada (de preferência sem timer). */
+    private int maxTracked = 200_000;
+}
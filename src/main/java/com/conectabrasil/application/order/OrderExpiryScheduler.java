@@ -0,0 +1,279 @@
+package com.conectabrasil.application.order;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.conectabrasil.application.cluster.ContractEventsConfig;
+import com.conectabrasil.application.usecase.GetAllPackagesUseCase;
+import com.conectabrasil.domain.event.ContractEventConfirmedEvent;
+import com.conectabrasil.domain.event.OrderExpiredEvent;
+import com.conectabrasil.domain.event.OrderStateObservedEvent;
+import com.conectabrasil.infrastructure.scheduling.HashedTimingWheel;
+import com.conectabrasil.infrastructure.scheduling.HashedTimingWheel.Timeout;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Agenda a expiração de cada ordem ativa num HashedTimingWheel e publica
+ * OrderExpiredEvent quando o tempo restante acaba.
+ *
+ * O estado vem das leituras do contrato (is_active de get_user_packages e o
+ * remaining de remaining_by_order) e dos eventos start/pause já confirmados na
+ * rede: ao pausar, o tempo restante é congelado e o timer cancelado; ao
+ * retomar, é reagendado. Simulações de start/pause não mexem nos timers.
+ * Ordem ativa sem remaining lido é agendada pelo duration_secs do pacote (teto:
+ * pode expirar depois, nunca antes); a primeira leitura de remaining corrige.
+ *
+ * O mapa de ordens é limitado (maxTracked) e os eventos de expiração são
+ * publicados numa thread própria, fora da thread do timing wheel.
+ */
+@Component
+public class OrderExpiryScheduler {
+
+    public record OrderKey(String ownerAddress, long orderId) {
+    }
+
+    /** Estado de uma ordem acompanhada, com o restante calculado no momento da exportação. */
+    public record OrderState(String ownerAddress, long orderId, Boolean active, Long remainingSeconds) {
+    }
+
+    /** Quantas entradas olhar procurando uma sem timer antes de descartar qualquer uma. */
+    private static final int EVICTION_SCAN = 64;
+
+    private static final class TrackedOrder {
+        Long packageId;
+        Boolean active;
+        Long remainingSeconds;
+        long remainingObservedAtNanos;
+        volatile Timeout<OrderKey> timeout;
+    }
+
+    private final OrderExpiryConfig config;
+    private final ContractEventsConfig contractEvents;
+    private final ApplicationEventPublisher events;
+    private final GetAllPackagesUseCase packages;
+    private final ConcurrentHashMap<OrderKey, TrackedOrder> orders = new ConcurrentHashMap<>();
+    private final HashedTimingWheel<OrderKey> wheel;
+    private final ThreadPoolExecutor publisher;
+    private final Counter evicted;
+    private final Counter dropped;
+
+    public OrderExpiryScheduler(OrderExpiryConfig config, ContractEventsConfig contractEvents,
+            ApplicationEventPublisher events, GetAllPackagesUseCase packages, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.contractEvents = contractEvents;
+        this.events = events;
+        this.packages = packages;
+        this.wheel = new HashedTimingWheel<>("order-expiry-wheel", config.getTickMs(), TimeUnit.MILLISECONDS,
+                config.getWheelSize(), this::expire);
+        this.evicted = Counter.builder("orders.expiry.evicted").register(meterRegistry);
+        this.dropped = Counter.builder("orders.expiry.publish.dropped").register(meterRegistry);
+        // uma thread só: os listeners (cache, webhooks) recebem na ordem em que expiraram
+        this.publisher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(10_000),
+                runnable -> {
+                    Thread t = new Thread(runnable, "order-expiry-publish");
+                    t.setDaemon(true);
+                    return t;
+                }, (runnable, executor) -> dropped.increment());
+        Gauge.builder("orders.expiry.scheduled", wheel, HashedTimingWheel::size).register(meterRegistry);
+        Gauge.builder("orders.expiry.tracked", orders, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    @EventListener
+    public void onStateObserved(OrderStateObservedEvent event) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        OrderKey key = new OrderKey(event.ownerAddress(), event.orderId());
+        TrackedOrder order = track(key);
+        synchronized (order) {
+            if (event.packageId() != null) {
+                order.packageId = event.packageId();
+            }
+            if (event.active() != null) {
+                order.active = event.active();
+            }
+            if (event.remainingSeconds() != null) {
+                order.remainingSeconds = event.remainingSeconds();
+                order.remainingObservedAtNanos = System.nanoTime();
+            }
+            estimateFromDuration(order);
+            reschedule(key, order);
+        }
+    }
+
+    @EventListener
+    public void onConfirmed(ContractEventConfirmedEvent event) {
+        if (!config.isEnabled() || event.type() == null) {
+            return;
+        }
+        boolean starting = event.type().equals(contractEvents.getStartEvent());
+        if (!starting && !event.type().equals(contractEvents.getPauseEvent())) {
+            return;
+        }
+        Long orderId = event.orderId();
+        String owner = event.ownerAddress();
+        if (orderId == null || owner == null) {
+            return;
+        }
+        OrderKey key = new OrderKey(owner, orderId);
+        TrackedOrder order = track(key);
+        synchronized (order) {
+            if (!starting && Boolean.TRUE.equals(order.active) && order.remainingSeconds != null) {
+                // congela o que sobrou no momento da pausa
+                order.remainingSeconds = remainingNow(order);
+                order.remainingObservedAtNanos = System.nanoTime();
+            } else if (starting && !Boolean.TRUE.equals(order.active)) {
+                order.remainingObservedAtNanos = System.nanoTime();
+            }
+            order.active = starting;
+            estimateFromDuration(order);
+            reschedule(key, order);
+        }
+    }
+
+    /** Cópia do estado acompanhado (para o snapshot local). */
+    public List<OrderState> export() {
+        List<OrderState> states = new ArrayList<>();
+        orders.forEach((key, order) -> {
+            synchronized (order) {
+                Long remaining = order.remainingSeconds == null ? null
+                        : Boolean.TRUE.equals(order.active) ? remainingNow(order) : order.remainingSeconds;
+                states.add(new OrderState(key.ownerAddress(), key.orderId(), order.active, remaining));
+            }
+        });
+        return states;
+    }
+
+    /**
+     * Restaura uma ordem do snapshot; elapsedSeconds é o tempo desde a
+     * gravação, descontado das ordens que estavam ativas.
+     */
+    public void restore(OrderState state, long elapsedSeconds) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        Long remaining = state.remainingSeconds();
+        if (remaining != null && Boolean.TRUE.equals(state.active())) {
+            remaining = remaining - elapsedSeconds;
+        }
+        onStateObserved(new OrderStateObservedEvent(state.ownerAddress(), state.orderId(), null,
+                state.active(), remaining, Instant.now()));
+    }
+
+    /** Número de ordens ativas com expiração agendada. */
+    public long scheduledCount() {
+        return wheel.size();
+    }
+
+    private TrackedOrder track(OrderKey key) {
+        TrackedOrder order = orders.get(key);
+        if (order != null) {
+            return order;
+        }
+        if (orders.size() >= config.getMaxTracked()) {
+            evictOne();
+        }
+        return orders.computeIfAbsent(key, k -> new TrackedOrder());
+    }
+
+    /**
+     * Abre espaço no mapa: prefere uma ordem sem timer (pausada/inativa); se não
+     * achar nas primeiras EVICTION_SCAN, descarta a última olhada e cancela o
+     * timer dela. Sem o evento, o TTL do view cache limita a defasagem.
+     */
+    private void evictOne() {
+        Map.Entry<OrderKey, TrackedOrder> victim = null;
+        int scanned = 0;
+        for (Map.Entry<OrderKey, TrackedOrder> entry : orders.entrySet()) {
+            victim = entry;
+            if (entry.getValue().timeout == null || ++scanned >= EVICTION_SCAN) {
+                break;
+            }
+        }
+        if (victim == null) {
+            return;
+        }
+        TrackedOrder order = victim.getValue();
+        synchronized (order) {
+            if (order.timeout != null) {
+                order.timeout.cancel();
+                order.timeout = null;
+            }
+            if (orders.remove(victim.getKey(), order)) {
+                evicted.increment();
+            }
+        }
+    }
+
+    /** Ativa sem remaining lido: usa a duração do pacote como teto. */
+    private void estimateFromDuration(TrackedOrder order) {
+        if (!Boolean.TRUE.equals(order.active) || order.remainingSeconds != null || order.packageId == null) {
+            return;
+        }
+        Long duration = packages.packageDurationSeconds(order.packageId);
+        if (duration != null && duration > 0) {
+            order.remainingSeconds = duration;
+            order.remainingObservedAtNanos = System.nanoTime();
+        }
+    }
+
+    private void reschedule(OrderKey key, TrackedOrder order) {
+        if (order.timeout != null) {
+            order.timeout.cancel();
+            order.timeout = null;
+        }
+        if (!Boolean.TRUE.equals(order.active) || order.remainingSeconds == null) {
+            return;
+        }
+        long remaining = remainingNow(order);
+        if (remaining <= 0) {
+            orders.remove(key, order);
+            publishExpired(key);
+            return;
+        }
+        order.timeout = wheel.schedule(key, remaining, TimeUnit.SECONDS);
+    }
+
+    private static long remainingNow(TrackedOrder order) {
+        long elapsed = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - order.remainingObservedAtNanos);
+        return order.remainingSeconds - elapsed;
+    }
+
+    private void expire(OrderKey key) {
+        TrackedOrder order = orders.get(key);
+        if (order != null) {
+            synchronized (order) {
+                order.timeout = null;
+                orders.remove(key, order);
+            }
+        }
+        publishExpired(key);
+    }
+
+    /** Entrega aos listeners fora da thread do wheel, que só deve disparar timers. */
+    private void publishExpired(OrderKey key) {
+        Instant expiredAt = Instant.now();
+        publisher.execute(() -> events.publishEvent(
+                new OrderExpiredEvent(key.ownerAddress(), key.orderId(), expiredAt)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        wheel.stop();
+        publisher.shutdown();
+    }
+}
@@ -0,0 +1,63 @@
+package com.conectabrasil.application.order;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.conectabrasil.domain.event.ContractEventConfirmedEvent;
+import com.conectabrasil.domain.event.OrderActivityEvent;
+import com.conectabrasil.domain.event.OrderExpiredEvent;
+import com.conectabrasil.domain.event.OrderStateObservedEvent;
+import com.conectabrasil.infrastructure.readmodel.OrderReadModel;
+import com.conectabrasil.infrastructure.readmodel.ReadModelConfig;
+
+/**
+ * Mantém o OrderReadModel em dia com os eventos de ordem. O estado (ativa,
+ * restante) só muda a partir do que foi lido do contrato ou da expiração;
+ * preparações e simulações de compra/grant/start/pause apenas marcam o owner
+ * como desatualizado, assim como eventos confirmados do contrato, para que a
+ * próxima listagem releia o estado real.
+ */
+@Component
+public class OrderReadModelUpdater {
+
+    private final ReadModelConfig config;
+    private final OrderReadModel readModel;
+
+    public OrderReadModelUpdater(ReadModelConfig config, OrderReadModel readModel) {
+        this.config = config;
+        this.readModel = readModel;
+    }
+
+    @EventListener
+    public void onStateObserved(OrderStateObservedEvent event) {
+        if (config.isEnabled()) {
+            readModel.updateState(event.ownerAddress(), event.orderId(), event.active(), event.remainingSeconds());
+        }
+    }
+
+    @EventListener
+    public void onActivity(OrderActivityEvent event) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        // Nada aqui foi confirmado na rede: a transação pode nunca ser enviada.
+        readModel.markStale(event.ownerAddress());
+    }
+
+    @EventListener
+    public void onConfirmed(ContractEventConfirmedEvent event) {
+        if (!config.isEnabled() || event.accounts() == null) {
+            return;
+        }
+        for (String account : event.accounts()) {
+            readModel.markStale(account);
+        }
+    }
+
+    @EventListener
+    public void onExpired(OrderExpiredEvent event) {
+        if (config.isEnabled()) {
+            readModel.updateState(event.ownerAddress(), event.orderId(), false, 0L);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.conectabrasil.application.snapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.conectabrasil.application.order.OrderExpiryScheduler;
+import com.conectabrasil.application.order.OrderExpiryScheduler.OrderState;
+import com.conectabrasil.infrastructure.snapshot.SnapshotConfig;
+import com.conectabrasil.infrastructure.snapshot.SnapshotFile;
+import com.conectabrasil.infrastructure.snapshot.SnapshotFile.OrderRecord;
+import com.conectabrasil.infrastructure.snapshot.SnapshotFile.Snapshot;
+import com.conectabrasil.infrastructure.snapshot.SnapshotFile.ViewRecord;
+import com.conectabrasil.infrastructure.stellar.ContractViewCache;
+import com.conectabrasil.infrastructure.stellar.ContractViewCache.CachedView;
+import com.conectabrasil.infrastructure.stellar.ContractViewCache.ViewKey;
+import com.conectabrasil.infrastructure.stellar.LedgerHeartbeat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Snapshot local do estado em memória (catálogo e pacotes de usuário do view
+ * cache, ordens acompanhadas pelo OrderExpiryScheduler e o último ledger)
+ * para que um nó reiniciado sirva leituras quentes sem esperar o RPC.
+ *
+ * Carregado no start do contexto, antes do servidor web aceitar requisições;
+ * gravado periodicamente e no stop, depois que o servidor web parou. Os
+ * valores restaurados entram como vencidos no cache e são revalidados contra
+ * a rede na primeira leitura; o heartbeat segue a partir do ledger salvo.
+ */
+@Component
+public class WarmStartSnapshot implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmStartSnapshot.class);
+
+    private final SnapshotConfig config;
+    private final ContractViewCache viewCache;
+    private final OrderExpiryScheduler orderExpiry;
+    private final LedgerHeartbeat heartbeat;
+    private final Timer loadTimer;
+    private final Timer saveTimer;
+    private volatile boolean running;
+
+    public WarmStartSnapshot(SnapshotConfig config, ContractViewCache viewCache, OrderExpiryScheduler orderExpiry,
+            LedgerHeartbeat heartbeat, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.viewCache = viewCache;
+        this.orderExpiry = orderExpiry;
+        this.heartbeat = heartbeat;
+        this.loadTimer = Timer.builder("snapshot.load").register(meterRegistry);
+        this.saveTimer = Timer.builder("snapshot.save").register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if (config.isEnabled()) {
+            loadTimer.record(this::load);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (running && config.isEnabled()) {
+            save();
+        }
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        // antes do servidor web no start; depois dele no stop
+        return 0;
+    }
+
+    @Scheduled(initialDelayString = "${snapshot.interval-ms:60000}", fixedDelayString = "${snapshot.interval-ms:60000}")
+    public void periodicSave() {
+        if (running && config.isEnabled()) {
+            save();
+        }
+    }
+
+    void load() {
+        Path path = Path.of(config.getPath());
+        if (!Files.exists(path)) {
+            return;
+        }
+        Snapshot snapshot;
+        try {
+            snapshot = SnapshotFile.read(path);
+        } catch (IOException e) {
+            log.warn("Snapshot {} ignorado: {}", path, e.getMessage());
+            return;
+        }
+        long ageSeconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - snapshot.createdAtMillis());
+        if (ageSeconds > config.getMaxAgeSeconds()) {
+            log.info("Snapshot {} com {}s ignorado (max-age-seconds={})", path, ageSeconds, config.getMaxAgeSeconds());
+            return;
+        }
+
+        if (snapshot.lastLedger() > 0) {
+            heartbeat.advanceTo(snapshot.lastLedger());
+        }
+        for (ViewRecord view : snapshot.views()) {
+            viewCache.restore(new CachedView(new ViewKey(view.function(), view.args(), view.owner()),
+                    view.value(), view.ledger()));
+        }
+        // depois das views: ordens vencidas durante o downtime invalidam o owner
+        for (OrderRecord order : snapshot.orders()) {
+            orderExpiry.restore(new OrderState(order.ownerAddress(), order.orderId(), order.active(),
+                    order.remainingSeconds()), ageSeconds);
+        }
+        log.info("Snapshot restaurado: {} views, {} ordens, ledger {} ({}s atrás)",
+                snapshot.views().size(), snapshot.orders().size(), snapshot.lastLedger(), ageSeconds);
+    }
+
+    synchronized void save() {
+        long start = System.nanoTime();
+        Set<String> functions = new HashSet<>(config.getViewFunctions());
+        List<ViewRecord> views = new ArrayList<>();
+        for (CachedView view : viewCache.export(functions)) {
+            views.add(new ViewRecord(view.key().function(), view.key().args(), view.key().owner(), view.ledger(),
+                    view.value()));
+        }
+        List<OrderRecord> orders = new ArrayList<>();
+        for (OrderState state : orderExpiry.export()) {
+            orders.add(new OrderRecord(state.ownerAddress(), state.orderId(), state.active(),
+                    state.remainingSeconds()));
+        }
+        Snapshot snapshot = new Snapshot(System.currentTimeMillis(), heartbeat.latestLedger(), views, orders);
+        try {
+            long bytes = SnapshotFile.write(Path.of(config.getPath()), snapshot);
+            log.debug("Snapshot gravado: {} views, {} ordens, {} bytes", views.size(), orders.size(), bytes);
+        } catch (IOException e) {
+            log.warn("Falha ao gravar snapshot em {}: {}", config.getPath(), e.getMessage());
+        } finally {
+            saveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.conectabrasil.application.usecase;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+
+import com.conectabrasil.application.bulk.BulkExecutor;
+import com.conectabrasil.application.bulk.BulkItemResult;
+import com.conectabrasil.application.usecase.CreateGrantUseCase.CreateGrantResult;
+import com.conectabrasil.domain.model.Grant;
+import com.conectabrasil.infrastructure.stellar.SorobanContractService;
+import com.conectabrasil.infrastructure.stellar.SorobanContractService.PreparedInvocation;
+
+/**
+ * Lote de grant: o caller é a conta fonte, então o lote típico (um
+ * revendedor concedendo várias ordens) carrega a conta uma vez e numera os
+ * envelopes em sequência, na ordem do pedido.
+ */
+@Service
+public class CreateBulkGrantUseCase {
+
+    public record GrantIntent(String callerUserId, String ownerUserId, String orderId) {
+    }
+
+    private final SorobanContractService sorobanService;
+    private final BulkExecutor bulk;
+
+    public CreateBulkGrantUseCase(SorobanContractService sorobanService, BulkExecutor bulk) {
+        this.sorobanService = sorobanService;
+        this.bulk = bulk;
+    }
+
+    public List<BulkItemResult<CreateGrantResult>> execute(List<GrantIntent> intents) {
+        return bulk.run(intents, GrantIntent::callerUserId, sorobanService::loadSequence,
+                (intent, sequence) -> sorobanService.prepareGrant(intent.callerUserId(), intent.ownerUserId(),
+                        orderIdOf(intent), sequence),
+                this::issue);
+    }
+
+    private CreateGrantResult issue(GrantIntent intent, PreparedInvocation prepared, long sequence) {
+        PreparedInvocation numbered = sorobanService.resequence(prepared, intent.callerUserId(), sequence);
+        String unsignedXdr = sorobanService.issueGrant(numbered, intent.callerUserId(), intent.ownerUserId(),
+                orderIdOf(intent));
+        Grant grant = new Grant(
+                UUID.randomUUID().toString(),
+                intent.callerUserId(),
+                intent.ownerUserId(),
+                intent.orderId(),
+                Instant.now(),
+                null // txHash será preenchido depois da assinatura
+        );
+        return new CreateGrantResult(grant, unsignedXdr);
+    }
+
+    private static int orderIdOf(GrantIntent intent) {
+        try {
+            return Integer.parseInt(intent.orderId());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Order ID deve ser numérico: " + intent.orderId());
+        }
+    }
+}
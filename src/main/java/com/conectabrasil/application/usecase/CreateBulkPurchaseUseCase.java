@@ -0,0 +1,62 @@
+package com.conectabrasil.application.usecase;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.stereotype.Service;
+
+import com.conectabrasil.application.bulk.BulkExecutor;
+import com.conectabrasil.application.bulk.BulkItemResult;
+import com.conectabrasil.application.usecase.CreatePurchaseUseCase.CreatePurchaseResult;
+import com.conectabrasil.domain.model.Purchase;
+import com.conectabrasil.infrastructure.stellar.SorobanContractService;
+import com.conectabrasil.infrastructure.stellar.SorobanContractService.PreparedInvocation;
+
+/**
+ * Lote de buy_and_grant (revendedor provisionando vários usuários): cada
+ * owner é a conta fonte do próprio envelope, então compras repetidas do
+ * mesmo owner no lote saem com sequences consecutivas.
+ */
+@Service
+public class CreateBulkPurchaseUseCase {
+
+    public record PurchaseIntent(String userId, String packageId) {
+    }
+
+    private final SorobanContractService sorobanService;
+    private final BulkExecutor bulk;
+
+    public CreateBulkPurchaseUseCase(SorobanContractService sorobanService, BulkExecutor bulk) {
+        this.sorobanService = sorobanService;
+        this.bulk = bulk;
+    }
+
+    public List<BulkItemResult<CreatePurchaseResult>> execute(List<PurchaseIntent> intents) {
+        return bulk.run(intents, PurchaseIntent::userId, sorobanService::loadSequence,
+                (intent, sequence) -> sorobanService.prepareBuyAndGrant(intent.userId(), packageIdOf(intent),
+                        sequence),
+                this::issue);
+    }
+
+    private CreatePurchaseResult issue(PurchaseIntent intent, PreparedInvocation prepared, long sequence) {
+        PreparedInvocation numbered = sorobanService.resequence(prepared, intent.userId(), sequence);
+        String unsignedXdr = sorobanService.issueBuyAndGrant(numbered, intent.userId(), packageIdOf(intent));
+        Purchase purchase = new Purchase(
+                UUID.randomUUID().toString(),
+                intent.userId(),
+                intent.packageId(),
+                Instant.now(),
+                null // txHash será preenchido depois da assinatura
+        );
+        return new CreatePurchaseResult(purchase, unsignedXdr);
+    }
+
+    private static int packageIdOf(PurchaseIntent intent) {
+        try {
+            return Integer.parseInt(intent.packageId());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Package ID deve ser numérico: " + intent.packageId());
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.util.UUID;
 import org.springframework.stereotype.Service;
 
 import com.conectabrasil.domain.model.Grant;
+import com.conectabrasil.infrastructure.resilience.RpcRejectedException;
 import com.conectabrasil.infrastructure.stellar.SorobanContractService;
 
 @Service
@@ -38,6 +39,11 @@ public class CreateGrantUseCase {
 
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Order ID deve ser numérico: " + orderId);
+        } catch (IllegalArgumentException e) {
+            // endereço inválido ou conta inexistente: erro do cliente, não do servidor
+            throw e;
+        } catch (RpcRejectedException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Erro ao criar grant: " + e.getMessage(), e);
         }
@@ -6,6 +6,7 @@ import java.util.UUID;
 import org.springframework.stereotype.Service;
 
 import com.conectabrasil.domain.model.Purchase;
+import com.conectabrasil.infrastructure.resilience.RpcRejectedException;
 import com.conectabrasil.infrastructure.stellar.SorobanContractService;
 
 @Service
@@ -37,6 +38,11 @@ public class CreatePurchaseUseCase {
 
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Package ID deve ser numérico: " + packageId);
+        } catch (IllegalArgumentException e) {
+            // endereço inválido ou conta inexistente: erro do cliente, não do servidor
+            throw e;
+        } catch (RpcRejectedException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Erro ao criar compra: " + e.getMessage(), e);
         }
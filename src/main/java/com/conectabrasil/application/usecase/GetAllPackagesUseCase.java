@@ -4,15 +4,24 @@ import java.util.List;
 
 import org.springframework.stereotype.Service;
 
+import com.conectabrasil.application.catalog.CatalogQuery;
+import com.conectabrasil.application.catalog.PackageCatalog;
+import com.conectabrasil.infrastructure.resilience.RpcRejectedException;
 import com.conectabrasil.infrastructure.stellar.SorobanContractService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 @Service
 public class GetAllPackagesUseCase {
 
     private final SorobanContractService sorobanService;
+    private final ObjectMapper objectMapper;
 
-    public GetAllPackagesUseCase(SorobanContractService sorobanService) {
+    // índice do último resultado; reconstruído quando o view cache devolve outra lista
+    private volatile PackageCatalog catalog;
+
+    public GetAllPackagesUseCase(SorobanContractService sorobanService, ObjectMapper objectMapper) {
         this.sorobanService = sorobanService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -24,11 +33,43 @@ public class GetAllPackagesUseCase {
         try {
             List<Object> packages = sorobanService.getAllPackages();
             return new GetAllPackagesResult(packages, true, null);
+        } catch (RpcRejectedException e) {
+            // sobrecarga local: vira 503 com Retry-After (RestExceptionHandler)
+            throw e;
         } catch (Exception e) {
             return new GetAllPackagesResult(null, false, "Erro ao buscar pacotes: " + e.getMessage());
         }
     }
 
+    /**
+     * Consulta filtrada/ordenada respondida pelos índices do catálogo.
+     * 
+     * @return Array JSON já serializado
+     */
+    public byte[] query(CatalogQuery query) throws Exception {
+        return catalog().render(query);
+    }
+
+    /**
+     * Duração do pacote segundo o último catálogo já montado (sem RPC); null se
+     * o catálogo ainda não foi carregado ou não tem o pacote.
+     */
+    public Long packageDurationSeconds(long packageId) {
+        PackageCatalog current = catalog;
+        return current == null ? null : current.durationSeconds(packageId);
+    }
+
+    private PackageCatalog catalog() throws Exception {
+        List<Object> packages = sorobanService.getAllPackages();
+        PackageCatalog current = catalog;
+        // o view cache devolve a mesma instância enquanto a entrada não muda
+        if (current == null || current.source() != packages) {
+            current = PackageCatalog.build(packages, objectMapper);
+            catalog = current;
+        }
+        return current;
+    }
+
     /**
      * Resultado da operação de busca de pacotes
      */
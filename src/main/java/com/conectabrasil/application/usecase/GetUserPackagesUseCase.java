@@ -0,0 +1,175 @@
+package com.conectabrasil.application.usecase;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.stereotype.Service;
+
+import com.conectabrasil.infrastructure.readmodel.OrderReadModel;
+import com.conectabrasil.infrastructure.readmodel.ReadModelConfig;
+import com.conectabrasil.infrastructure.stellar.ContractViewCache.TimedValue;
+import com.conectabrasil.infrastructure.stellar.SorobanContractService;
+
+@Service
+public class GetUserPackagesUseCase {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private final SorobanContractService sorobanService;
+    private final OrderReadModel readModel;
+    private final ReadModelConfig readModelConfig;
+
+    public GetUserPackagesUseCase(SorobanContractService sorobanService, OrderReadModel readModel,
+            ReadModelConfig readModelConfig) {
+        this.sorobanService = sorobanService;
+        this.readModel = readModel;
+        this.readModelConfig = readModelConfig;
+    }
+
+    /**
+     * Lista completa das ordens do usuário (formato legado do endpoint).
+     * 
+     * Servida pelo read model off-heap enquanto a última listagem do owner
+     * for recente (orders.read-model.max-age-seconds); senão consulta o
+     * contrato (via cache de views) e atualiza o read model com o instante
+     * em que a lista foi de fato lida da rede.
+     */
+    public List<Object> all(String userAddress) throws Exception {
+        if (!readModelConfig.isEnabled()) {
+            return sorobanService.getUserPackages(userAddress);
+        }
+        long syncedAt = readModel.syncedAtMillis(userAddress);
+        if (syncedAt != OrderReadModel.UNKNOWN
+                && System.currentTimeMillis() - syncedAt <= readModelConfig.getMaxAgeSeconds() * 1000) {
+            List<Object> orders = new ArrayList<>();
+            int count = readModel.forEachOrder(userAddress, (orderId, packageId, active, remaining) -> {
+                Map<String, Object> order = new HashMap<>();
+                order.put("order_id", orderId);
+                if (packageId != OrderReadModel.UNKNOWN) {
+                    order.put("package_id", packageId);
+                }
+                order.put("is_active", active);
+                orders.add(order);
+            });
+            if (count >= 0) {
+                return orders;
+            }
+        }
+        // a lista pode vir do cache de views: o read model herda a idade dela
+        TimedValue<List<Object>> orders = sorobanService.getUserPackagesTimed(userAddress);
+        readModel.replaceOwner(userAddress, orders.value(), orders.loadedAtMillis());
+        return orders.value();
+    }
+
+    /**
+     * Página de ordens do usuário a partir de um cursor opaco.
+     *
+     * O cursor guarda a posição e o order_id do último item devolvido: se a
+     * lista não mudou, a página seguinte começa direto na posição; se mudou
+     * (nova compra, por exemplo), o order_id é procurado de novo. Só os itens
+     * da página são copiados; a lista base vem do read model ou do cache de views.
+     *
+     * @param activeOnly filtra is_active = true
+     * @param packageId  filtra por package_id (null = todos)
+     */
+    public UserPackagesPage page(String userAddress, String cursor, Integer limit, boolean activeOnly,
+            Long packageId) throws Exception {
+        int pageSize = limit == null ? DEFAULT_LIMIT : limit;
+        if (pageSize < 1 || pageSize > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit deve estar entre 1 e " + MAX_LIMIT);
+        }
+        List<Object> orders = all(userAddress);
+        int position = cursor == null || cursor.isBlank() ? 0 : resolveCursor(orders, cursor);
+
+        List<Object> items = new ArrayList<>(Math.min(pageSize, orders.size()));
+        int index = position;
+        for (; index < orders.size() && items.size() < pageSize; index++) {
+            Object order = orders.get(index);
+            if (matches(order, activeOnly, packageId)) {
+                items.add(order);
+            }
+        }
+        // só há próxima página se sobrou algum item que passe no filtro
+        boolean hasMore = false;
+        for (int i = index; i < orders.size(); i++) {
+            if (matches(orders.get(i), activeOnly, packageId)) {
+                hasMore = true;
+                break;
+            }
+        }
+        String nextCursor = hasMore ? encodeCursor(index, orderIdOf(orders.get(index - 1))) : null;
+        return new UserPackagesPage(items, nextCursor);
+    }
+
+    private static boolean matches(Object order, boolean activeOnly, Long packageId) {
+        if (!(order instanceof Map<?, ?> map)) {
+            return false;
+        }
+        if (activeOnly && !Boolean.TRUE.equals(map.get("is_active"))) {
+            return false;
+        }
+        return packageId == null || packageId.equals(map.get("package_id"));
+    }
+
+    private static Long orderIdOf(Object order) {
+        return order instanceof Map<?, ?> map && map.get("order_id") instanceof Long id ? id : null;
+    }
+
+    private static String encodeCursor(int position, Long lastOrderId) {
+        String raw = position + ":" + (lastOrderId == null ? "" : lastOrderId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int resolveCursor(List<Object> orders, String cursor) {
+        int position;
+        Long lastOrderId;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(':');
+            position = Integer.parseInt(raw.substring(0, sep));
+            lastOrderId = sep + 1 < raw.length() ? Long.parseLong(raw.substring(sep + 1)) : null;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+        if (position <= 0 || lastOrderId == null) {
+            return Math.max(0, Math.min(position, orders.size()));
+        }
+        if (position <= orders.size() && Objects.equals(orderIdOf(orders.get(position - 1)), lastOrderId)) {
+            return position;
+        }
+        for (int i = 0; i < orders.size(); i++) {
+            if (Objects.equals(orderIdOf(orders.get(i)), lastOrderId)) {
+                return i + 1;
+            }
+        }
+        // a ordem do cursor sumiu da lista: continua da mesma posição
+        return Math.min(position, orders.size());
+    }
+
+    /**
+     * Página de ordens; nextCursor é null na última página.
+     */
+    public static class UserPackagesPage {
+        private final List<Object> items;
+        private final String nextCursor;
+
+        public UserPackagesPage(List<Object> items, String nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<Object> getItems() {
+            return items;
+        }
+
+        public String getNextCursor() {
+            return nextCursor;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.conectabrasil.application.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "warmup")
+public class WarmUpConfig {
+    private boolean enabled = true;
+    /** Teto do warm-up inteiro; passado isso o readiness fica verde mesmo assim. */
+    private long timeoutSeconds = 30;
+    /** Chamadas paralelas ao RPC para abrir (e negociar TLS de) conexões no pool do OkHttp. */
+    private int rpcConnections = 4;
+    /** Repetições dos caminhos de decode/encode sobre as fixtures gravadas. */
+    private int codecIterations = 2000;
+    private boolean prefetchCatalog = true;
+    /** Conta usada só para montar o envelope de exemplo (não consulta a rede). */
+    private String sampleAccount = "GBQXJ5OUUJO4DYJ43ZT7FFU4NM4TQGBHLEN7G553WIPQMTN4LX45ZL35";
+}
@@ -0,0 +1,27 @@
+package com.conectabrasil.application.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Indicador "warmUp", incluído no grupo de readiness
+ * (management.endpoint.health.group.readiness).
+ */
+@Component("warmUp")
+public class WarmUpHealthIndicator implements HealthIndicator {
+
+    private final WarmUpRunner runner;
+
+    public WarmUpHealthIndicator(WarmUpRunner runner) {
+        this.runner = runner;
+    }
+
+    @Override
+    public Health health() {
+        if (runner.isCompleted()) {
+            return Health.up().build();
+        }
+        return Health.outOfService().withDetail("warmUp", "running").build();
+    }
+}
@@ -0,0 +1,174 @@
+package com.conectabrasil.application.warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.stellar.sdk.SorobanServer;
+
+import com.conectabrasil.application.catalog.CatalogQuery;
+import com.conectabrasil.application.usecase.GetAllPackagesUseCase;
+import com.conectabrasil.infrastructure.stellar.LedgerHeartbeat;
+import com.conectabrasil.infrastructure.stellar.SorobanContractService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Fase de warm-up executada antes do readiness ficar verde.
+ * 
+ * O Spring Boot só publica ReadinessState.ACCEPTING_TRAFFIC depois que todos
+ * os ApplicationRunner terminam, então enquanto isto roda o probe de
+ * readiness responde 503 (o liveness já está OK). Etapas, todas best-effort:
+ * 1. abre conexões com o Soroban RPC (pool do OkHttp + TLS) e semeia o heartbeat;
+ * 2. exercita o parsing de SCVal e a montagem de envelopes sobre fixtures
+ *    gravadas (classpath:warmup/*.xdr), carregando as classes XDR e aquecendo o JIT;
+ * 3. pré-carrega o catálogo (view cache + índices do PackageCatalog).
+ */
+@Component
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    private final WarmUpConfig config;
+    private final SorobanServer soroban;
+    private final SorobanContractService sorobanService;
+    private final GetAllPackagesUseCase getAllPackagesUseCase;
+    private final LedgerHeartbeat heartbeat;
+    private final ApplicationEventPublisher events;
+    private final MeterRegistry meterRegistry;
+    private volatile boolean completed;
+
+    public WarmUpRunner(WarmUpConfig config, SorobanServer soroban, SorobanContractService sorobanService,
+            GetAllPackagesUseCase getAllPackagesUseCase, LedgerHeartbeat heartbeat,
+            ApplicationEventPublisher events, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.soroban = soroban;
+        this.sorobanService = sorobanService;
+        this.getAllPackagesUseCase = getAllPackagesUseCase;
+        this.heartbeat = heartbeat;
+        this.events = events;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("warmup.completed", this, r -> r.completed ? 1 : 0).register(meterRegistry);
+    }
+
+    /** true depois que o warm-up terminou (ou foi desabilitado/estourou o tempo). */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!config.isEnabled()) {
+            completed = true;
+            return;
+        }
+        AvailabilityChangeEvent.publish(events, this, ReadinessState.REFUSING_TRAFFIC);
+        long start = System.nanoTime();
+        ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "warmup");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            Future<?> steps = worker.submit(() -> {
+                step("rpc-connections", this::openConnections);
+                step("codecs", this::exerciseCodecs);
+                if (config.isPrefetchCatalog()) {
+                    step("catalog", this::prefetchCatalog);
+                }
+            });
+            steps.get(config.getTimeoutSeconds(), TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Warm-up excedeu {}s; seguindo para o readiness", config.getTimeoutSeconds());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Warm-up interrompido: {}", e.getMessage());
+        } finally {
+            worker.shutdownNow();
+            long elapsed = System.nanoTime() - start;
+            Timer.builder("warmup.duration").register(meterRegistry).record(elapsed, TimeUnit.NANOSECONDS);
+            completed = true;
+            log.info("Warm-up concluído em {} ms", TimeUnit.NANOSECONDS.toMillis(elapsed));
+        }
+    }
+
+    private interface Step {
+        void run() throws Exception;
+    }
+
+    private void step(String name, Step step) {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            step.run();
+        } catch (Exception e) {
+            outcome = "failure";
+            log.warn("Etapa de warm-up {} falhou: {}", name, e.getMessage());
+        } finally {
+            Timer.builder("warmup.step")
+                    .tag("step", name)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void openConnections() throws Exception {
+        int connections = Math.max(1, config.getRpcConnections());
+        ExecutorService pool = Executors.newFixedThreadPool(connections);
+        try {
+            List<Future<?>> calls = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                calls.add(pool.submit(() -> soroban.getHealth()));
+            }
+            for (Future<?> call : calls) {
+                call.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        heartbeat.poll();
+    }
+
+    private void exerciseCodecs() throws Exception {
+        String allPackages = fixture("get_all_packages");
+        String userPackages = fixture("get_user_packages");
+        String remaining = fixture("remaining_by_order");
+        long sink = 0;
+        for (int i = 0; i < config.getCodecIterations(); i++) {
+            sink += sorobanService.warmUpCodecs(allPackages, userPackages, remaining, config.getSampleAccount());
+        }
+        log.debug("Warm-up de codecs: {} itens decodificados", sink);
+    }
+
+    private void prefetchCatalog() throws Exception {
+        getAllPackagesUseCase.query(new CatalogQuery(null, false, null, null, null, null, null, 1));
+    }
+
+    private static String fixture(String name) throws IOException {
+        try (InputStream in = WarmUpRunner.class.getResourceAsStream("/warmup/" + name + ".xdr")) {
+            if (in == null) {
+                throw new IOException("Fixture de warm-up ausente: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.US_ASCII).trim();
+        }
+    }
+}
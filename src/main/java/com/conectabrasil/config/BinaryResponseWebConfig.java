@@ -0,0 +1,23 @@
+package com.conectabrasil.config;
+
+import java.util.List;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.conectabrasil.adapter.inboud.rest.UnsignedTxBinaryConverter;
+
+/**
+ * Habilita a resposta binária de /purchases e /grants quando o cliente pede
+ * application/vnd.conectabrasil.unsigned-tx; sem esse Accept nada muda (JSON).
+ */
+@Configuration
+public class BinaryResponseWebConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // no fim da lista: com Accept */* o Jackson continua sendo o escolhido
+        converters.add(new UnsignedTxBinaryConverter());
+    }
+}
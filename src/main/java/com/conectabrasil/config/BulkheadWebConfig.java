@@ -0,0 +1,57 @@
+package com.conectabrasil.config;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.conectabrasil.adapter.inboud.rest.BulkheadInterceptor;
+import com.conectabrasil.infrastructure.resilience.Bulkhead;
+import com.conectabrasil.infrastructure.resilience.BulkheadConfig;
+import com.conectabrasil.infrastructure.resilience.PathClass;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Um bulkhead por classe de caminho (read, checkout, admin). /health e
+ * /actuator ficam fora de qualquer bulkhead.
+ */
+@Configuration
+public class BulkheadWebConfig implements WebMvcConfigurer {
+
+    private final BulkheadConfig config;
+    private final Map<PathClass, Bulkhead> bulkheads = new EnumMap<>(PathClass.class);
+
+    public BulkheadWebConfig(BulkheadConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        config.getBudgets().forEach((pathClass, budget) -> {
+            Bulkhead bulkhead = new Bulkhead(pathClass, budget.getMaxConcurrent(), budget.getMaxWaitMs());
+            bulkheads.put(pathClass, bulkhead);
+            String name = pathClass.name().toLowerCase();
+            Gauge.builder("bulkhead.in.use", bulkhead, Bulkhead::getInUse).tag("bulkhead", name)
+                    .register(meterRegistry);
+            Gauge.builder("bulkhead.saturation", bulkhead, Bulkhead::getSaturation).tag("bulkhead", name)
+                    .register(meterRegistry);
+            FunctionCounter.builder("bulkhead.rejected", bulkhead, Bulkhead::getRejected).tag("bulkhead", name)
+                    .register(meterRegistry);
+        });
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        Bulkhead checkout = bulkheads.get(PathClass.CHECKOUT);
+        config.getBudgets().forEach((pathClass, budget) -> registry
+                .addInterceptor(new BulkheadInterceptor(bulkheads.get(pathClass), checkout,
+                        config.getShedReadsAboveCheckoutUsage()))
+                .addPathPatterns(budget.getPatterns())
+                .excludePathPatterns("/health", "/health/**", "/actuator/**")
+                .order(10)); // depois do rate limit
+    }
+}
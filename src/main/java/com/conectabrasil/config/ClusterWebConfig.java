@@ -0,0 +1,37 @@
+package com.conectabrasil.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.conectabrasil.adapter.inboud.rest.OwnerRoutingInterceptor;
+import com.conectabrasil.infrastructure.cluster.ClusterMembership;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Encaminhamento por owner no modo cluster (cluster.enabled). Roda depois do
+ * rate limit da entrada e antes do bulkhead: o nó de entrada só repassa, quem
+ * consome orçamento é o dono.
+ */
+@Configuration
+public class ClusterWebConfig implements WebMvcConfigurer {
+
+    private final ClusterMembership cluster;
+    private final MeterRegistry meterRegistry;
+
+    public ClusterWebConfig(ClusterMembership cluster, MeterRegistry meterRegistry) {
+        this.cluster = cluster;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!cluster.isEnabled()) {
+            return;
+        }
+        registry.addInterceptor(new OwnerRoutingInterceptor(cluster, meterRegistry))
+                .addPathPatterns("/packages/user/**", "/packages/remaining/**")
+                .order(5);
+    }
+}
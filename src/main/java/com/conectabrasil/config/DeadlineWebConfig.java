@@ -0,0 +1,33 @@
+package com.conectabrasil.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.conectabrasil.adapter.inboud.rest.DeadlineInterceptor;
+import com.conectabrasil.infrastructure.resilience.DeadlineConfig;
+
+/**
+ * Prazo por requisição nas rotas de pacotes/checkout. Exportações em streaming
+ * e rotas internas ficam de fora (duram o quanto precisarem).
+ */
+@Configuration
+public class DeadlineWebConfig implements WebMvcConfigurer {
+
+    private final DeadlineConfig config;
+
+    public DeadlineWebConfig(DeadlineConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        registry.addInterceptor(new DeadlineInterceptor(config))
+                .addPathPatterns("/packages", "/packages/**", "/purchases", "/purchases/**", "/grants", "/grants/**")
+                .excludePathPatterns("/packages/user/*/export")
+                .order(8); // antes do bulkhead: a espera por vaga já consome o prazo
+    }
+}
@@ -0,0 +1,70 @@
+package com.conectabrasil.config;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.type.filter.TypeFilter;
+
+import com.conectabrasil.adapter.inboud.rest.dto.GrantResponse;
+import com.conectabrasil.adapter.inboud.rest.dto.PurchaseResponse;
+import com.conectabrasil.adapter.inboud.rest.dto.UserPackagesPageResponse;
+import com.conectabrasil.infrastructure.webhook.WebhookEvent;
+
+/**
+ * Hints de reflection/recursos para a imagem nativa (perfil Maven "native").
+ * 
+ * O Spring AOT já cobre beans, @ConfigurationProperties (inclusive os
+ * getters/setters gerados pelo Lombok) e os tipos de @RequestBody/retorno dos
+ * controllers. Aqui fica o que ele não enxerga:
+ * - respostas/requisições JSON-RPC do stellar-sdk, desserializadas via Gson;
+ * - tipos que serializamos direto com o ObjectMapper (webhooks, DTOs);
+ * - o arquivo de sufixos públicos carregado pelo OkHttp e as fixtures do warm-up.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] GSON_PACKAGES = {
+            "org.stellar.sdk.responses",
+            "org.stellar.sdk.requests.sorobanrpc",
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String basePackage : GSON_PACKAGES) {
+            registerPackage(hints, classLoader, basePackage);
+        }
+
+        for (Class<?> type : new Class<?>[] { WebhookEvent.class, PurchaseResponse.class, GrantResponse.class,
+                UserPackagesPageResponse.class }) {
+            hints.reflection().registerType(type, MemberCategory.values());
+        }
+
+        hints.resources().registerPattern("okhttp3/internal/publicsuffix/publicsuffixes.gz");
+        hints.resources().registerPattern("warmup/*.xdr");
+    }
+
+    /**
+     * Registra todas as classes (inclusive aninhadas e abstratas) do pacote.
+     * Roda em tempo de build (AOT), então a varredura não custa no startup.
+     */
+    private static void registerPackage(RuntimeHints hints, ClassLoader classLoader, String basePackage) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return true;
+            }
+        };
+        scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+        TypeFilter all = (reader, factory) -> true;
+        scanner.addIncludeFilter(all);
+        for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+            String className = candidate.getBeanClassName();
+            if (className != null) {
+                hints.reflection().registerTypeIfPresent(classLoader, className, MemberCategory.values());
+            }
+        }
+    }
+}
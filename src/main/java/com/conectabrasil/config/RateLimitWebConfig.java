@@ -0,0 +1,69 @@
+package com.conectabrasil.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.conectabrasil.adapter.inboud.rest.RateLimitInterceptor;
+import com.conectabrasil.infrastructure.cluster.ClusterMembership;
+import com.conectabrasil.infrastructure.ratelimit.RateLimitConfig;
+import com.conectabrasil.infrastructure.ratelimit.TokenBucketRateLimiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registra um RateLimitInterceptor por endpoint configurado em rate-limit.endpoints.
+ */
+@Configuration
+public class RateLimitWebConfig implements WebMvcConfigurer {
+
+    private final RateLimitConfig config;
+    private final MeterRegistry meterRegistry;
+    private final ClusterMembership cluster;
+    private final List<RateLimitInterceptor> interceptors = new ArrayList<>();
+
+    public RateLimitWebConfig(RateLimitConfig config, MeterRegistry meterRegistry, ClusterMembership cluster) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.cluster = cluster;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        for (Map.Entry<String, RateLimitConfig.EndpointLimit> entry : config.getEndpoints().entrySet()) {
+            String endpoint = entry.getKey();
+            RateLimitConfig.EndpointLimit limit = entry.getValue();
+            RateLimitInterceptor interceptor = new RateLimitInterceptor(
+                    endpoint,
+                    new TokenBucketRateLimiter(limit.getCapacity(), limit.getRefillPerSecond(), config.getMaxBuckets()),
+                    new TokenBucketRateLimiter(limit.getCapacity(), limit.getRefillPerSecond(), config.getMaxBuckets()),
+                    config.isTrustForwardedFor() ? config.getTrustedProxyHops() : 0,
+                    rejected(endpoint, "ip"),
+                    rejected(endpoint, "address"),
+                    request -> cluster.isPeerToken(request.getHeader(ClusterMembership.TOKEN_HEADER)));
+            interceptors.add(interceptor);
+            registry.addInterceptor(interceptor).addPathPatterns(limit.getPattern());
+        }
+    }
+
+    @Scheduled(fixedDelay = 30_000)
+    public void sweepIdleBuckets() {
+        interceptors.forEach(RateLimitInterceptor::sweep);
+    }
+
+    private Counter rejected(String endpoint, String keyType) {
+        return Counter.builder("http.rate.limit.rejected")
+                .tag("endpoint", endpoint)
+                .tag("key", keyType)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,56 @@
+package com.conectabrasil.domain.event;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Evento do contrato já confirmado na rede, lido do getEvents pelo
+ * ContractEventIngester (só no nó líder do lease).
+ *
+ * @param type     primeiro tópico Symbol (ex.: "buy_and_grant"), ou null
+ * @param accounts contas (G...) presentes nos tópicos, na ordem
+ * @param topics   tópicos decodificados (Long, Boolean, String ou listas deles; null se não decodificou)
+ * @param value    valor do evento decodificado do mesmo jeito, ou null
+ * @param closedAt fechamento do ledger, ou null se o RPC não informou
+ */
+public record ContractEventConfirmedEvent(
+        String id,
+        long ledger,
+        String transactionHash,
+        String type,
+        List<String> accounts,
+        List<Object> topics,
+        Object value,
+        Instant closedAt) {
+
+    /**
+     * Id da ordem citada no evento: o primeiro inteiro dos tópicos depois do
+     * tipo; sem ele, o valor (ou o primeiro inteiro do vetor do valor). Null se
+     * o evento não traz nenhum.
+     */
+    public Long orderId() {
+        if (topics != null) {
+            for (int i = 1; i < topics.size(); i++) {
+                if (topics.get(i) instanceof Long id) {
+                    return id;
+                }
+            }
+        }
+        if (value instanceof Long id) {
+            return id;
+        }
+        if (value instanceof List<?> items) {
+            for (Object item : items) {
+                if (item instanceof Long id) {
+                    return id;
+                }
+            }
+        }
+        return null;
+    }
+
+    /** Primeira conta dos tópicos (quem invocou, nos eventos de ordem), ou null. */
+    public String ownerAddress() {
+        return accounts == null || accounts.isEmpty() ? null : accounts.get(0);
+    }
+}
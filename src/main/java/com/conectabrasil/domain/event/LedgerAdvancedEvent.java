@@ -0,0 +1,13 @@
+package com.conectabrasil.domain.event;
+
+import java.time.Instant;
+
+/**
+ * Publicado (in-process) quando o heartbeat observa um ledger novo fechado.
+ *
+ * @param previousSequence último ledger observado antes deste (0 no primeiro evento)
+ * @param sequence         ledger mais recente
+ * @param observedAt       quando o heartbeat observou o avanço
+ */
+public record LedgerAdvancedEvent(long previousSequence, long sequence, Instant observedAt) {
+}
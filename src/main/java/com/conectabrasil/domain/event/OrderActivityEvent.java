@@ -0,0 +1,29 @@
+package com.conectabrasil.domain.event;
+
+import java.time.Instant;
+
+/**
+ * Atividade de uma ordem originada pelo SorobanContractService, publicada no
+ * momento em que o backend monta ou simula a transação, não quando ela é
+ * confirmada na rede:
+ * PURCHASE_PREPARED/GRANT_PREPARED indicam que o XDR não assinado foi emitido
+ * (a submissão é feita pelo cliente; pode nunca acontecer); orderId é null
+ * quando ainda não existe. STARTED/PAUSED indicam que a simulação de
+ * start_order/pause_order teve sucesso; nada é submetido.
+ * Eventos confirmados em ledger: ContractEventConfirmedEvent.
+ */
+public record OrderActivityEvent(
+        Type type,
+        String ownerAddress,
+        Long orderId,
+        Long packageId,
+        String callerAddress,
+        Instant occurredAt) {
+
+    public enum Type {
+        PURCHASE_PREPARED,
+        GRANT_PREPARED,
+        STARTED,
+        PAUSED
+    }
+}
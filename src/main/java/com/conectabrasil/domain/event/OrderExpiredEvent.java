@@ -0,0 +1,10 @@
+package com.conectabrasil.domain.event;
+
+import java.time.Instant;
+
+/**
+ * Disparado pelo OrderExpiryScheduler quando o tempo restante de uma ordem
+ * ativa chega a zero.
+ */
+public record OrderExpiredEvent(String ownerAddress, long orderId, Instant expiredAt) {
+}
@@ -0,0 +1,16 @@
+package com.conectabrasil.domain.event;
+
+import java.time.Instant;
+
+/**
+ * Estado de uma ordem lido do contrato (get_user_packages / remaining_by_order).
+ * Campos desconhecidos na leitura vêm null.
+ */
+public record OrderStateObservedEvent(
+        String ownerAddress,
+        long orderId,
+        Long packageId,
+        Boolean active,
+        Long remainingSeconds,
+        Instant observedAt) {
+}
@@ -0,0 +1,72 @@
+package com.conectabrasil.infrastructure.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter thread-safe para strings (sem remoção).
+ * Usa double hashing sobre um hash de 64 bits; falso positivo possível,
+ * falso negativo nunca.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        double p = Math.min(Math.max(falsePositiveRate, 1e-9), 0.5);
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (m + 63) / 64));
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    public void put(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash64(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(int combined) {
+        return (combined & Integer.MAX_VALUE) % bitCount;
+    }
+
+    /** FNV-1a 64 bits seguido de um finalizador estilo murmur3 para espalhar os bits. */
+    static long hash64(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,69 @@
+package com.conectabrasil.infrastructure.cache;
+
+/**
+ * Count-min sketch com contadores saturando em 15 (estilo TinyLFU) e
+ * envelhecimento: a cada sampleSize incrementos todos os contadores caem pela
+ * metade, para que a popularidade antiga não domine. Não é thread-safe; o
+ * chamador sincroniza.
+ */
+class FrequencySketch {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0x97cb3127L, 0xc2b2ae3dL, 0x27d4eb2fL, 0x165667b1L };
+
+    private final byte[] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int capacity) {
+        int width = Integer.highestOneBit(Math.max(16, capacity) * 4 - 1) << 1;
+        this.counters = new byte[width * DEPTH];
+        this.mask = width - 1;
+        this.sampleSize = Math.max(16, capacity) * 10;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < DEPTH; i++) {
+            int index = indexOf(hash, i);
+            if (counters[index] < 15) {
+                counters[index]++;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int min = 15;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, counters[indexOf(hash, i)]);
+        }
+        return min;
+    }
+
+    private void reset() {
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = (byte) (counters[i] >>> 1);
+        }
+        additions /= 2;
+    }
+
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return row * (mask + 1) + ((int) h & mask);
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
@@ -0,0 +1,115 @@
+package com.conectabrasil.infrastructure.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Cache limitado por número de entradas com política W-TinyLFU simplificada:
+ * uma janela LRU pequena (~1%) recebe as entradas novas; ao sair da janela, a
+ * entrada só entra na região principal (LRU) se for mais frequente — segundo
+ * o FrequencySketch — do que a vítima que ela desalojaria. Protege o cache de
+ * varreduras de chaves únicas (ex.: bots consultando endereços aleatórios).
+ *
+ * Sincronizado por um único monitor: os acessos são curtos e o custo dominante
+ * do que é cacheado aqui (simulações RPC) é ordens de grandeza maior.
+ */
+public class WTinyLfuCache<K, V> {
+
+    private final int windowCapacity;
+    private final int mainCapacity;
+    private final FrequencySketch sketch;
+    private final LinkedHashMap<K, V> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<K, V> main = new LinkedHashMap<>(16, 0.75f, true);
+    private final BiConsumer<K, V> removalListener;
+
+    public WTinyLfuCache(int maximumSize, BiConsumer<K, V> removalListener) {
+        int size = Math.max(2, maximumSize);
+        this.windowCapacity = Math.max(1, size / 100);
+        this.mainCapacity = size - windowCapacity;
+        this.sketch = new FrequencySketch(size);
+        this.removalListener = removalListener;
+    }
+
+    public synchronized V get(K key) {
+        sketch.increment(key);
+        V value = window.get(key);
+        return value != null ? value : main.get(key);
+    }
+
+    public synchronized void put(K key, V value) {
+        sketch.increment(key);
+        if (main.containsKey(key)) {
+            main.put(key, value);
+            return;
+        }
+        window.put(key, value);
+        if (window.size() > windowCapacity) {
+            Iterator<Map.Entry<K, V>> it = window.entrySet().iterator();
+            Map.Entry<K, V> candidate = it.next();
+            it.remove();
+            admit(candidate.getKey(), candidate.getValue());
+        }
+    }
+
+    public synchronized V remove(K key) {
+        V value = window.remove(key);
+        return value != null ? value : main.remove(key);
+    }
+
+    /** Remove as entradas cujas chaves atendem ao predicado, avisando o removalListener de cada uma. */
+    public synchronized void removeIf(Predicate<K> predicate) {
+        removeIf(window, predicate);
+        removeIf(main, predicate);
+    }
+
+    public synchronized void clear() {
+        window.clear();
+        main.clear();
+    }
+
+    public synchronized int size() {
+        return window.size() + main.size();
+    }
+
+    /** Percorre as entradas sem alterar a ordem de acesso nem as frequências. */
+    public synchronized void forEach(BiConsumer<K, V> action) {
+        main.forEach(action);
+        window.forEach(action);
+    }
+
+    private void admit(K candidateKey, V candidateValue) {
+        if (main.size() < mainCapacity) {
+            main.put(candidateKey, candidateValue);
+            return;
+        }
+        Iterator<Map.Entry<K, V>> it = main.entrySet().iterator();
+        Map.Entry<K, V> victim = it.next();
+        if (sketch.frequency(candidateKey) > sketch.frequency(victim.getKey())) {
+            it.remove();
+            main.put(candidateKey, candidateValue);
+            notifyRemoval(victim.getKey(), victim.getValue());
+        } else {
+            notifyRemoval(candidateKey, candidateValue);
+        }
+    }
+
+    private void removeIf(LinkedHashMap<K, V> region, Predicate<K> predicate) {
+        Iterator<Map.Entry<K, V>> it = region.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, V> entry = it.next();
+            if (predicate.test(entry.getKey())) {
+                it.remove();
+                notifyRemoval(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private void notifyRemoval(K key, V value) {
+        if (removalListener != null) {
+            removalListener.accept(key, value);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.conectabrasil.infrastructure.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Mensageria entre os nós do cluster (best-effort, sem garantia de ordem ou
+ * entrega). publish não entrega ao próprio nó; quem publica já aplicou o
+ * efeito localmente.
+ */
+public interface ClusterBus {
+
+    void publish(ClusterMessage message);
+
+    void subscribe(Consumer<ClusterMessage> listener);
+}
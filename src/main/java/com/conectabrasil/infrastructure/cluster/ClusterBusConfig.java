@@ -0,0 +1,38 @@
+package com.conectabrasil.infrastructure.cluster;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class ClusterBusConfig {
+
+    @Bean
+    public ClusterBus clusterBus(ClusterConfig config, ClusterMembership membership, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        if (config.isEnabled() && "http".equalsIgnoreCase(config.getBus())) {
+            // sem segredo todo lote recebido seria recusado e cada nó se acharia líder
+            if (config.getSecret() == null || config.getSecret().isBlank()) {
+                throw new IllegalStateException("cluster.secret é obrigatório com cluster.bus=http");
+            }
+            return new HttpPeerClusterBus(config, membership, objectMapper, meterRegistry);
+        }
+        // nó único: não há para quem entregar
+        return new LoopbackClusterBus();
+    }
+
+    @Bean
+    public LeaseElection leaseElection(ClusterConfig config, ClusterMembership membership, ClusterBus bus,
+            MeterRegistry meterRegistry) {
+        String selfId = config.isEnabled() ? config.getSelfId() : "local";
+        LeaseElection election = new LeaseElection(selfId, membership::liveMembers, bus, config.getLeaseMs(),
+                System::currentTimeMillis);
+        Gauge.builder("cluster.lease.leader", election, e -> e.isLeader() ? 1 : 0).register(meterRegistry);
+        Gauge.builder("cluster.lease.term", election, LeaseElection::term).register(meterRegistry);
+        return election;
+    }
+}
@@ -0,0 +1,43 @@
+package com.conectabrasil.infrastructure.cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "cluster")
+public class ClusterConfig {
+    private boolean enabled = false;
+    /** Id deste nó; precisa aparecer em peers. */
+    private String selfId;
+    /** Lista estática de nós (inclui este). */
+    private List<Peer> peers = new ArrayList<>();
+    /** Pontos por nó no anel; mais pontos = distribuição mais uniforme. */
+    private int virtualNodes = 128;
+    private long healthIntervalMs = 2000;
+    /** Falhas seguidas de health check até o nó sair do anel. */
+    private int failureThreshold = 3;
+    private long forwardTimeoutMs = 3000;
+    /**
+     * Segredo compartilhado que identifica requisições entre nós. Obrigatório
+     * com bus=http: o ClusterBusController recusa lotes sem ele.
+     */
+    private String secret;
+    /** Transporte do ClusterBus: http (peers) ou loopback (nó único/testes). */
+    private String bus = "http";
+    /** Validade do lease do ingestor de eventos; o líder renova a cada leaseRenewMs. */
+    private long leaseMs = 10000;
+    private long leaseRenewMs = 3000;
+
+    @Data
+    public static class Peer {
+        private String id;
+        /** URL base do nó, ex.: http://10.0.0.2:8080 */
+        private String url;
+    }
+}
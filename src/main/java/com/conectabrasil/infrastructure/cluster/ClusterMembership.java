@@ -0,0 +1,170 @@
+package com.conectabrasil.infrastructure.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.conectabrasil.infrastructure.cluster.ClusterConfig.Peer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Membros do cluster (lista estática de peers) e o anel de hashing
+ * consistente que define o nó dono de cada owner.
+ *
+ * Um peer sai do anel depois de failureThreshold health checks seguidos com
+ * falha (GET /health/ready) ou falhas de encaminhamento, e volta no primeiro
+ * sucesso. Este nó está sempre no anel. Cada mudança publica
+ * ClusterMembershipChangedEvent; só os owners dos pontos afetados mudam de dono.
+ */
+@Component
+public class ClusterMembership {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterMembership.class);
+
+    public static final String FORWARDED_BY_HEADER = "X-Cluster-Forwarded-By";
+    public static final String TOKEN_HEADER = "X-Cluster-Token";
+    public static final String NODE_HEADER = "X-Cluster-Node";
+
+    private final ClusterConfig config;
+    private final ApplicationEventPublisher events;
+    private final Map<String, Peer> peers = new LinkedHashMap<>();
+    private final Map<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+    private final OkHttpClient httpClient;
+    private final Counter ringChanges;
+    private volatile ConsistentHashRing ring;
+
+    public ClusterMembership(ClusterConfig config, ApplicationEventPublisher events, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.events = events;
+        for (Peer peer : config.getPeers()) {
+            peers.put(peer.getId(), peer);
+        }
+        if (config.isEnabled() && (config.getSelfId() == null || !peers.containsKey(config.getSelfId()))) {
+            throw new IllegalStateException("cluster.self-id precisa estar em cluster.peers");
+        }
+        this.httpClient = new OkHttpClient.Builder()
+                .connectTimeout(config.getForwardTimeoutMs(), TimeUnit.MILLISECONDS)
+                .readTimeout(config.getForwardTimeoutMs(), TimeUnit.MILLISECONDS)
+                .build();
+        this.ring = new ConsistentHashRing(config.isEnabled() ? peers.keySet() : List.of(), config.getVirtualNodes());
+        this.ringChanges = Counter.builder("cluster.ring.changes").register(meterRegistry);
+        Gauge.builder("cluster.members", this, m -> m.ring.members().size()).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    public String selfId() {
+        return config.getSelfId();
+    }
+
+    /** Peer dono do owner, ou null se o cluster está desligado ou o dono é este nó. */
+    public Peer remoteOwnerOf(String ownerAddress) {
+        if (!config.isEnabled() || ownerAddress == null) {
+            return null;
+        }
+        String owner = ring.ownerOf(ownerAddress);
+        return owner == null || owner.equals(config.getSelfId()) ? null : peers.get(owner);
+    }
+
+    /** Ids dos nós vivos (ordenados); só este nó quando o cluster está desligado. */
+    public List<String> liveMembers() {
+        if (config.isEnabled()) {
+            return ring.members();
+        }
+        return List.of(config.getSelfId() == null ? "local" : config.getSelfId());
+    }
+
+    /** Cliente HTTP dos encaminhamentos entre nós. */
+    public OkHttpClient httpClient() {
+        return httpClient;
+    }
+
+    /** true se o token recebido é o segredo do cluster (comparação em tempo constante). */
+    public boolean isPeerToken(String token) {
+        String secret = config.getSecret();
+        if (!config.isEnabled() || secret == null || secret.isEmpty() || token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8),
+                token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String secret() {
+        return config.getSecret();
+    }
+
+    @Scheduled(fixedDelayString = "${cluster.health-interval-ms:2000}")
+    public void checkPeers() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        for (Peer peer : peers.values()) {
+            if (peer.getId().equals(config.getSelfId())) {
+                continue;
+            }
+            Request request = new Request.Builder().url(peer.getUrl() + "/health/ready").get().build();
+            try (Response response = httpClient.newCall(request).execute()) {
+                if (response.isSuccessful()) {
+                    reportSuccess(peer.getId());
+                } else {
+                    reportFailure(peer.getId());
+                }
+            } catch (Exception e) {
+                reportFailure(peer.getId());
+            }
+        }
+    }
+
+    public void reportSuccess(String peerId) {
+        AtomicInteger count = failures.get(peerId);
+        if (count != null && count.getAndSet(0) >= config.getFailureThreshold()) {
+            rebuild();
+        }
+    }
+
+    public void reportFailure(String peerId) {
+        int count = failures.computeIfAbsent(peerId, id -> new AtomicInteger()).incrementAndGet();
+        if (count == config.getFailureThreshold()) {
+            rebuild();
+        }
+    }
+
+    private synchronized void rebuild() {
+        List<String> live = new ArrayList<>();
+        for (String id : peers.keySet()) {
+            AtomicInteger count = failures.get(id);
+            if (id.equals(config.getSelfId()) || count == null || count.get() < config.getFailureThreshold()) {
+                live.add(id);
+            }
+        }
+        ConsistentHashRing previous = ring;
+        if (previous.members().equals(live.stream().sorted().toList())) {
+            return;
+        }
+        ConsistentHashRing next = new ConsistentHashRing(live, config.getVirtualNodes());
+        ring = next;
+        ringChanges.increment();
+        log.info("Anel do cluster: {} -> {}", previous.members(), next.members());
+        events.publishEvent(new ClusterMembershipChangedEvent(next, config.getSelfId(), previous.members()));
+    }
+}
@@ -0,0 +1,18 @@
+package com.conectabrasil.infrastructure.cluster;
+
+import java.util.List;
+
+/**
+ * Publicado quando um nó entra ou sai do anel. Quem guarda estado por owner
+ * descarta o que deixou de ser deste nó (ring.ownerOf(owner) != selfId).
+ */
+public record ClusterMembershipChangedEvent(
+        ConsistentHashRing ring,
+        String selfId,
+        List<String> previousMembers) {
+
+    public boolean ownsLocally(String ownerAddress) {
+        String owner = ring.ownerOf(ownerAddress);
+        return owner == null || owner.equals(selfId);
+    }
+}
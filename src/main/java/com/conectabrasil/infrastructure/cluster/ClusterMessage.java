@@ -0,0 +1,31 @@
+package com.conectabrasil.infrastructure.cluster;
+
+/**
+ * Mensagem trocada entre nós pelo ClusterBus. Formato plano para caber em
+ * qualquer transporte (JSON no HTTP, referência no loopback).
+ *
+ * @param key   owner (INVALIDATE_OWNER, INVALIDATE_ORDER), função (INVALIDATE_CATALOG)
+ *              ou id do nó, conforme o tipo
+ * @param value dado extra: orderId no INVALIDATE_ORDER, cursor no EVENTS_CURSOR
+ * @param term  termo da eleição (LEASE); 0 nos demais tipos
+ */
+public record ClusterMessage(
+        Type type,
+        String origin,
+        String key,
+        String value,
+        long term,
+        long sentAtMillis) {
+
+    public enum Type {
+        INVALIDATE_OWNER,
+        INVALIDATE_ORDER,
+        INVALIDATE_CATALOG,
+        LEASE,
+        EVENTS_CURSOR
+    }
+
+    public static ClusterMessage of(Type type, String origin, String key, String value) {
+        return new ClusterMessage(type, origin, key, value, 0, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,72 @@
+package com.conectabrasil.infrastructure.cluster;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Anel de hashing consistente imutável: cada nó ocupa virtualNodes pontos;
+ * uma chave pertence ao primeiro ponto no sentido horário a partir do seu
+ * hash. Quando um nó entra ou sai, só as chaves dos seus pontos mudam de
+ * dono (~1/N do total).
+ */
+public final class ConsistentHashRing {
+
+    private final long[] points;
+    private final String[] owners;
+    private final List<String> members;
+
+    public ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+        this.members = nodeIds.stream().distinct().sorted().toList();
+        int replicas = Math.max(1, virtualNodes);
+        long[][] entries = new long[members.size() * replicas][];
+        int n = 0;
+        for (int m = 0; m < members.size(); m++) {
+            for (int v = 0; v < replicas; v++) {
+                entries[n++] = new long[] { hash(members.get(m) + "#" + v), m };
+            }
+        }
+        // empate de hash entre nós: desempata pelo id para ser determinístico em todos os nós
+        Arrays.sort(entries, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        this.points = new long[entries.length];
+        this.owners = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            points[i] = entries[i][0];
+            owners[i] = members.get((int) entries[i][1]);
+        }
+    }
+
+    /** Nó dono da chave, ou null se o anel está vazio. */
+    public String ownerOf(CharSequence key) {
+        if (points.length == 0) {
+            return null;
+        }
+        int idx = Arrays.binarySearch(points, hash(key));
+        if (idx < 0) {
+            idx = -idx - 1;
+        }
+        return owners[idx == points.length ? 0 : idx];
+    }
+
+    public List<String> members() {
+        return members;
+    }
+
+    public boolean isEmpty() {
+        return points.length == 0;
+    }
+
+    /** FNV-1a 64 sobre os chars + finalizador do murmur3 (sem alocar). */
+    static long hash(CharSequence key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+}
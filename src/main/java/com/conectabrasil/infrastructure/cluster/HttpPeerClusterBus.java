@@ -0,0 +1,138 @@
+package com.conectabrasil.infrastructure.cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.conectabrasil.infrastructure.cluster.ClusterConfig.Peer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * ClusterBus ponto a ponto sobre HTTP: as mensagens entram numa fila limitada
+ * e uma thread as envia em lote (POST /internal/cluster/messages, JSON) para
+ * cada peer da lista estática. Fila cheia ou peer fora do ar descartam a
+ * mensagem: invalidações são best-effort e o TTL do cache limita a defasagem.
+ */
+public class HttpPeerClusterBus implements ClusterBus {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpPeerClusterBus.class);
+
+    public static final String PATH = "/internal/cluster/messages";
+    private static final MediaType JSON = MediaType.get("application/json");
+    private static final int BATCH = 200;
+
+    private final ClusterConfig config;
+    private final ClusterMembership membership;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<ClusterMessage> outbox = new ArrayBlockingQueue<>(10_000);
+    private final List<Consumer<ClusterMessage>> listeners = new CopyOnWriteArrayList<>();
+    private final Counter dropped;
+    private final Counter sendFailures;
+    private final Thread sender;
+
+    public HttpPeerClusterBus(ClusterConfig config, ClusterMembership membership, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.config = config;
+        this.membership = membership;
+        this.objectMapper = objectMapper;
+        this.dropped = Counter.builder("cluster.bus.dropped").register(meterRegistry);
+        this.sendFailures = Counter.builder("cluster.bus.send.failures").register(meterRegistry);
+        this.sender = new Thread(this::sendLoop, "cluster-bus-sender");
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    @Override
+    public void publish(ClusterMessage message) {
+        if (!outbox.offer(message)) {
+            dropped.increment();
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterMessage> listener) {
+        listeners.add(listener);
+    }
+
+    /** Entrega local das mensagens recebidas de outro nó (ClusterBusController). */
+    public void receive(List<ClusterMessage> messages) {
+        for (ClusterMessage message : messages) {
+            if (message.origin() != null && message.origin().equals(config.getSelfId())) {
+                continue;
+            }
+            for (Consumer<ClusterMessage> listener : listeners) {
+                try {
+                    listener.accept(message);
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao aplicar mensagem do cluster {}: {}", message.type(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void sendLoop() {
+        List<ClusterMessage> batch = new ArrayList<>(BATCH);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                ClusterMessage first = outbox.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                outbox.drainTo(batch, BATCH - 1);
+                send(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void send(List<ClusterMessage> batch) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(batch);
+        } catch (Exception e) {
+            log.warn("Falha ao serializar lote do cluster: {}", e.getMessage());
+            return;
+        }
+        for (Peer peer : config.getPeers()) {
+            if (peer.getId().equals(config.getSelfId())) {
+                continue;
+            }
+            Request.Builder request = new Request.Builder()
+                    .url(peer.getUrl() + PATH)
+                    .post(RequestBody.create(body, JSON));
+            if (config.getSecret() != null && !config.getSecret().isEmpty()) {
+                request.header(ClusterMembership.TOKEN_HEADER, config.getSecret());
+            }
+            try (Response response = membership.httpClient().newCall(request.build()).execute()) {
+                if (!response.isSuccessful()) {
+                    sendFailures.increment();
+                }
+            } catch (Exception e) {
+                sendFailures.increment();
+                log.debug("Peer {} indisponível para o barramento: {}", peer.getId(), e.getMessage());
+            }
+        }
+    }
+
+    public void shutdown() {
+        sender.interrupt();
+    }
+}
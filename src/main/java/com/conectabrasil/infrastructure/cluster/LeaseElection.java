@@ -0,0 +1,109 @@
+package com.conectabrasil.infrastructure.cluster;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.conectabrasil.infrastructure.cluster.ClusterMessage.Type;
+
+/**
+ * Eleição por lease do nó que executa tarefas únicas no cluster (ex.: ingestão
+ * de eventos do contrato).
+ *
+ * O líder renova o lease a cada tick publicando LEASE(term) no barramento; os
+ * outros nós estendem o lease localmente ao receber (relógio local, sem
+ * depender de sincronia entre máquinas). Quando o lease expira, o nó vivo de
+ * menor id assume com term + 1. Em conflito vence o maior term e, no empate,
+ * o menor id; o perdedor deixa a liderança ao receber o lease vencedor.
+ *
+ * Um nó recém-iniciado espera um lease inteiro antes de concorrer, para ouvir
+ * a renovação de um líder que já exista.
+ */
+public class LeaseElection {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaseElection.class);
+
+    private final String selfId;
+    private final Supplier<List<String>> liveMembers;
+    private final ClusterBus bus;
+    private final long leaseMs;
+    private final LongSupplier clock;
+
+    private String leaderId;
+    private long term;
+    private long expiresAtMillis;
+
+    public LeaseElection(String selfId, Supplier<List<String>> liveMembers, ClusterBus bus, long leaseMs,
+            LongSupplier clock) {
+        this.selfId = selfId;
+        this.liveMembers = liveMembers;
+        this.bus = bus;
+        this.leaseMs = leaseMs;
+        this.clock = clock;
+        this.expiresAtMillis = clock.getAsLong() + leaseMs;
+        bus.subscribe(this::onMessage);
+    }
+
+    @Scheduled(fixedDelayString = "${cluster.lease-renew-ms:3000}")
+    public void tick() {
+        ClusterMessage lease;
+        synchronized (this) {
+            long now = clock.getAsLong();
+            if (selfId.equals(leaderId) && now < expiresAtMillis) {
+                expiresAtMillis = now + leaseMs;
+            } else if (now >= expiresAtMillis && isLowestLive()) {
+                term++;
+                leaderId = selfId;
+                expiresAtMillis = now + leaseMs;
+                log.info("Lease do cluster assumido por {} (term {})", selfId, term);
+            } else {
+                return;
+            }
+            lease = new ClusterMessage(Type.LEASE, selfId, selfId, null, term, now);
+        }
+        bus.publish(lease);
+    }
+
+    /** true enquanto este nó tem um lease válido. */
+    public synchronized boolean isLeader() {
+        return selfId.equals(leaderId) && clock.getAsLong() < expiresAtMillis;
+    }
+
+    /** Líder conhecido com lease válido, ou null. */
+    public synchronized String leader() {
+        return clock.getAsLong() < expiresAtMillis ? leaderId : null;
+    }
+
+    public synchronized long term() {
+        return term;
+    }
+
+    private void onMessage(ClusterMessage message) {
+        if (message.type() != Type.LEASE || message.origin() == null) {
+            return;
+        }
+        synchronized (this) {
+            boolean wins = message.term() > term
+                    || (message.term() == term && (leaderId == null || message.origin().compareTo(leaderId) <= 0));
+            if (!wins) {
+                return;
+            }
+            if (selfId.equals(leaderId) && !selfId.equals(message.origin())) {
+                log.info("Lease do cluster perdido para {} (term {})", message.origin(), message.term());
+            }
+            term = message.term();
+            leaderId = message.origin();
+            expiresAtMillis = clock.getAsLong() + leaseMs;
+        }
+    }
+
+    private boolean isLowestLive() {
+        List<String> live = liveMembers.get();
+        return live.isEmpty() || Collections.min(live).equals(selfId);
+    }
+}
@@ -0,0 +1,53 @@
+package com.conectabrasil.infrastructure.cluster;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * ClusterBus em memória. Sozinho (nó único) não entrega nada; em testes,
+ * vários barramentos ligados à mesma Network simulam um cluster com entrega
+ * síncrona.
+ */
+public class LoopbackClusterBus implements ClusterBus {
+
+    /** "Rede" compartilhada pelos barramentos de um teste. */
+    public static class Network {
+        private final List<LoopbackClusterBus> members = new CopyOnWriteArrayList<>();
+    }
+
+    private final Network network;
+    private final List<Consumer<ClusterMessage>> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean connected = true;
+
+    public LoopbackClusterBus() {
+        this(new Network());
+    }
+
+    public LoopbackClusterBus(Network network) {
+        this.network = network;
+        network.members.add(this);
+    }
+
+    @Override
+    public void publish(ClusterMessage message) {
+        if (!connected) {
+            return;
+        }
+        for (LoopbackClusterBus member : network.members) {
+            if (member != this && member.connected) {
+                member.listeners.forEach(listener -> listener.accept(message));
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<ClusterMessage> listener) {
+        listeners.add(listener);
+    }
+
+    /** Simula partição/queda do nó (testes). */
+    public void setConnected(boolean connected) {
+        this.connected = connected;
+    }
+}
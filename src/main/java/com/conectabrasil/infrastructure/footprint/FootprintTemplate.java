@@ -0,0 +1,65 @@
+package com.conectabrasil.infrastructure.footprint;
+
+import java.util.List;
+
+/**
+ * Estado aprendido para um (função, pacote): host function, footprint,
+ * SorobanTransactionData completo e auth como templates por chave do owner,
+ * mais o maior consumo de recursos observado.
+ *
+ * @param lastOwner    owner da última observação (observações do mesmo owner
+ *                     não contam como concordância)
+ * @param observations observações seguidas com o mesmo formato
+ */
+record FootprintTemplate(OwnerKeyTemplate hostFunction, OwnerKeyTemplate footprint, OwnerKeyTemplate sorobanData,
+        List<OwnerKeyTemplate> auth, Resources maxResources, String lastOwner, int observations,
+        long learnedAtLedger) {
+
+    boolean sameShape(FootprintTemplate other) {
+        if (!hostFunction.sameShape(other.hostFunction) || !footprint.sameShape(other.footprint)
+                || auth.size() != other.auth.size()) {
+            return false;
+        }
+        for (int i = 0; i < auth.size(); i++) {
+            if (!auth.get(i).sameShape(other.auth.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Incorpora uma observação de mesmo formato: recursos pelo máximo, dados pela mais recente. */
+    FootprintTemplate merge(FootprintTemplate newer) {
+        boolean distinctOwner = !newer.lastOwner.equals(lastOwner);
+        return new FootprintTemplate(newer.hostFunction, newer.footprint, newer.sorobanData, newer.auth,
+                maxResources.max(newer.maxResources), newer.lastOwner,
+                distinctOwner ? observations + 1 : observations, newer.learnedAtLedger);
+    }
+
+    /** Limites de recursos do SorobanTransactionData. */
+    record Resources(long instructions, long readBytes, long writeBytes, long resourceFee) {
+
+        private static final long U32_MAX = 0xFFFF_FFFFL;
+
+        Resources max(Resources other) {
+            return new Resources(Math.max(instructions, other.instructions), Math.max(readBytes, other.readBytes),
+                    Math.max(writeBytes, other.writeBytes), Math.max(resourceFee, other.resourceFee));
+        }
+
+        Resources withMargin(int percent) {
+            return new Resources(Math.min(U32_MAX, grow(instructions, percent)),
+                    Math.min(U32_MAX, grow(readBytes, percent)), Math.min(U32_MAX, grow(writeBytes, percent)),
+                    grow(resourceFee, percent));
+        }
+
+        /** Cada limite declarado cobre o que a simulação pediu. */
+        boolean covers(Resources required) {
+            return instructions >= required.instructions && readBytes >= required.readBytes
+                    && writeBytes >= required.writeBytes && resourceFee >= required.resourceFee;
+        }
+
+        private static long grow(long value, int percent) {
+            return value + (value * percent + 99) / 100;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.conectabrasil.infrastructure.footprint;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.stellar.sdk.Account;
+import org.stellar.sdk.Network;
+import org.stellar.sdk.Operation;
+import org.stellar.sdk.SorobanServer;
+import org.stellar.sdk.StrKey;
+import org.stellar.sdk.Transaction;
+import org.stellar.sdk.TransactionBuilder;
+import org.stellar.sdk.TransactionBuilderAccount;
+import org.stellar.sdk.operations.InvokeHostFunctionOperation;
+import org.stellar.sdk.responses.sorobanrpc.SimulateTransactionResponse;
+import org.stellar.sdk.xdr.HostFunction;
+import org.stellar.sdk.xdr.Int64;
+import org.stellar.sdk.xdr.LedgerFootprint;
+import org.stellar.sdk.xdr.LedgerKey;
+import org.stellar.sdk.xdr.SorobanAuthorizationEntry;
+import org.stellar.sdk.xdr.SorobanCredentialsType;
+import org.stellar.sdk.xdr.SorobanResources;
+import org.stellar.sdk.xdr.SorobanTransactionData;
+import org.stellar.sdk.xdr.Uint32;
+import org.stellar.sdk.xdr.XdrUnsignedInteger;
+
+import com.conectabrasil.infrastructure.footprint.FootprintTemplate.Resources;
+import com.conectabrasil.infrastructure.resilience.PathClass;
+import com.conectabrasil.infrastructure.resilience.RpcExecutor;
+import com.conectabrasil.infrastructure.stellar.LedgerHeartbeat;
+import com.conectabrasil.infrastructure.stellar.StellarConfig;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Templates de footprint/recursos por (função, pacote), aprendidos dos
+ * envelopes preparados pelo RPC, para montar o próximo checkout sem
+ * simulateTransaction + prepareTransaction.
+ *
+ * Um template só é usado quando:
+ * - minObservations observações seguidas, de owners distintos, tiveram o mesmo
+ *   formato (host function, footprint e auth iguais fora da chave do owner);
+ * - toda auth é de credencial SOURCE_ACCOUNT (sem nonce nem assinatura a derivar);
+ * - foi aprendido há no máximo maxAgeLedgers (idade do template; não diz nada
+ *   sobre o TTL das entradas do owner).
+ *
+ * Os recursos declarados são o maior consumo observado mais resourceMarginPercent.
+ * Uma amostra dos envelopes montados (verifyEvery) e, periodicamente, todos os
+ * templates são conferidos contra a simulação; divergência (ex.: upgrade do
+ * contrato mudando o footprint) descarta o template e o checkout volta a simular.
+ *
+ * Risco assumido: o envelope montado nunca é simulado para o owner que o recebe.
+ * O consumo cresce com o estado do owner (quantidade de ordens), então um owner
+ * bem acima dos observados pode estourar a margem; e entradas do owner que
+ * estejam arquivadas pediriam restore, que o template não inclui. Nos dois casos
+ * a transação falha na rede. A conferência por amostragem roda depois da emissão
+ * e só protege os próximos checkouts; o envelope já emitido não é corrigido.
+ */
+@Component
+public class FootprintTemplateCache {
+
+    private static final Logger log = LoggerFactory.getLogger(FootprintTemplateCache.class);
+
+    public record Key(String function, long packageId) {
+    }
+
+    /** Operação (com auth) e dados Soroban prontos para um owner. */
+    public record Instance(InvokeHostFunctionOperation operation, SorobanTransactionData sorobanData,
+            long resourceFee) {
+    }
+
+    private final FootprintTemplateConfig config;
+    private final SorobanServer soroban;
+    private final RpcExecutor rpcExecutor;
+    private final LedgerHeartbeat heartbeat;
+    private final Network network;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, FootprintTemplate> templates = new ConcurrentHashMap<>();
+    private final AtomicLong issued = new AtomicLong();
+    private final ThreadPoolExecutor verifier;
+
+    public FootprintTemplateCache(FootprintTemplateConfig config, StellarConfig stellarConfig, SorobanServer soroban,
+            RpcExecutor rpcExecutor, LedgerHeartbeat heartbeat, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.soroban = soroban;
+        this.rpcExecutor = rpcExecutor;
+        this.heartbeat = heartbeat;
+        this.network = new Network(stellarConfig.getNetworkPassphrase());
+        this.meterRegistry = meterRegistry;
+        // cabe uma revalidação completa (um check por template) mais as amostras
+        this.verifier = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getMaxTemplates() + 32),
+                runnable -> {
+                    Thread t = new Thread(runnable, "footprint-verify");
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+        Gauge.builder("stellar.footprint.templates", templates, Map::size).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Instancia o template de (função, pacote) para o owner; vazio quando não há
+     * template utilizável e o chamador deve simular.
+     */
+    public Optional<Instance> instantiate(String function, long packageId, String ownerAccountId) {
+        if (!config.isEnabled()) {
+            return Optional.empty();
+        }
+        Key key = new Key(function, packageId);
+        FootprintTemplate template = templates.get(key);
+        if (template == null || template.observations() < config.getMinObservations()) {
+            count("miss");
+            return Optional.empty();
+        }
+        if (isStale(template)) {
+            templates.remove(key, template);
+            count("stale");
+            return Optional.empty();
+        }
+        try {
+            Instance instance = instantiate(template, StrKey.decodeEd25519PublicKey(ownerAccountId));
+            count("hit");
+            return Optional.of(instance);
+        } catch (IOException | RuntimeException e) {
+            templates.remove(key, template);
+            log.warn("Template de footprint {} inválido, descartado: {}", key, e.getMessage());
+            count("invalid");
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Aprende com um envelope preparado pelo RPC (simulação completa) para o owner.
+     * Envelopes cuja auth não pode ser derivada só pela chave do owner são ignorados.
+     */
+    public void learn(String function, long packageId, String ownerAccountId, Transaction prepared) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        Key key = new Key(function, packageId);
+        FootprintTemplate observed;
+        try {
+            observed = observe(prepared, ownerAccountId);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Envelope de {} não aproveitado como template: {}", key, e.getMessage());
+            observed = null;
+        }
+        if (observed == null) {
+            // não dá para montar sem simular: garante que nenhum template antigo seja usado
+            templates.remove(key);
+            count("unsupported");
+            return;
+        }
+        if (!templates.containsKey(key) && templates.size() >= config.getMaxTemplates()) {
+            count("full");
+            return;
+        }
+        FootprintTemplate learned = observed;
+        templates.merge(key, learned, (current, newer) -> {
+            if (current.sameShape(newer)) {
+                return current.merge(newer);
+            }
+            count("unstable");
+            return newer;
+        });
+        count("learned");
+    }
+
+    /** Transação não assinada a partir da instância (fee = inclusion + resource fee). */
+    public Transaction assemble(Instance instance, TransactionBuilderAccount source, long baseFee, int timeoutSeconds) {
+        return new TransactionBuilder(source, network)
+                .addOperation(instance.operation())
+                .setBaseFee(baseFee + instance.resourceFee())
+                .setSorobanData(instance.sorobanData())
+                .setTimeout(timeoutSeconds)
+                .build();
+    }
+
+    /**
+     * Envelope montado por template foi emitido: 1 em cada verifyEvery é conferido
+     * em background. A conferência é posterior à emissão: descarta o template para
+     * os próximos checkouts, não corrige o envelope já entregue.
+     */
+    public void issued(String function, long packageId, Transaction tx) {
+        int every = config.getVerifyEvery();
+        if (every <= 0 || issued.incrementAndGet() % every != 0) {
+            return;
+        }
+        Key key = new Key(function, packageId);
+        verifier.execute(() -> verifyInBackground(key, tx));
+    }
+
+    /**
+     * Confere cada template contra a simulação (pega upgrade do contrato sem esperar
+     * o TTL). Só monta os envelopes aqui; as simulações rodam no verifier, fora da
+     * thread do agendador que o heartbeat e a eleição também usam.
+     */
+    @Scheduled(fixedDelayString = "${stellar.footprint-templates.revalidate-interval-ms:300000}",
+            initialDelayString = "${stellar.footprint-templates.revalidate-interval-ms:300000}")
+    public void revalidate() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        templates.forEach((key, template) -> {
+            if (template.observations() < config.getMinObservations()) {
+                return;
+            }
+            try {
+                Instance instance = instantiate(template, StrKey.decodeEd25519PublicKey(template.lastOwner()));
+                // simular não confere a sequence: conta sintética evita um getAccount
+                Transaction tx = assemble(instance, new Account(template.lastOwner(), 0L), 100, 120);
+                verifier.execute(() -> verifyInBackground(key, tx));
+            } catch (IOException | RuntimeException e) {
+                templates.remove(key, template);
+                count("invalid");
+            }
+        });
+    }
+
+    public void invalidateAll() {
+        templates.clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        verifier.shutdownNow();
+    }
+
+    private void verifyInBackground(Key key, Transaction tx) {
+        PathClass.set(PathClass.READ);
+        try {
+            if (verify(tx)) {
+                meterRegistry.counter("stellar.footprint.template.verify", "result", "ok").increment();
+            } else {
+                templates.remove(key);
+                meterRegistry.counter("stellar.footprint.template.verify", "result", "mismatch").increment();
+                log.warn("Template de footprint {} divergiu da simulação; descartado", key);
+            }
+        } catch (Exception e) {
+            meterRegistry.counter("stellar.footprint.template.verify", "result", "error").increment();
+            log.debug("Verificação do template {} falhou: {}", key, e.getMessage());
+        } finally {
+            PathClass.clear();
+        }
+    }
+
+    /** O envelope montado declara o footprint e ao menos os recursos que a simulação pede. */
+    private boolean verify(Transaction tx) throws Exception {
+        SimulateTransactionResponse simulation = rpcExecutor.execute("simulateTransaction",
+                () -> soroban.simulateTransaction(tx));
+        if (simulation.getError() != null || simulation.getTransactionData() == null) {
+            return false;
+        }
+        SorobanTransactionData simulated = SorobanTransactionData.fromXdrBase64(simulation.getTransactionData());
+        SorobanTransactionData declared = tx.getSorobanData();
+        return sameFootprint(simulated.getResources().getFootprint(), declared.getResources().getFootprint())
+                && resourcesOf(declared).covers(resourcesOf(simulated));
+    }
+
+    private boolean isStale(FootprintTemplate template) {
+        long latest = heartbeat.latestLedger();
+        return latest > 0 && latest - template.learnedAtLedger() > config.getMaxAgeLedgers();
+    }
+
+    private Instance instantiate(FootprintTemplate template, byte[] ownerKey) throws IOException {
+        HostFunction hostFunction = HostFunction.fromXdrByteArray(template.hostFunction().instantiate(ownerKey));
+        List<SorobanAuthorizationEntry> auth = new ArrayList<>(template.auth().size());
+        for (OwnerKeyTemplate entry : template.auth()) {
+            auth.add(SorobanAuthorizationEntry.fromXdrByteArray(entry.instantiate(ownerKey)));
+        }
+        SorobanTransactionData data = SorobanTransactionData
+                .fromXdrByteArray(template.sorobanData().instantiate(ownerKey));
+        Resources declared = template.maxResources().withMargin(config.getResourceMarginPercent());
+        applyResources(data, declared);
+        InvokeHostFunctionOperation operation = InvokeHostFunctionOperation.builder()
+                .hostFunction(hostFunction)
+                .auth(auth)
+                .build();
+        return new Instance(operation, data, declared.resourceFee());
+    }
+
+    /** Observação do envelope preparado, ou null se a auth não é derivável da chave do owner. */
+    private FootprintTemplate observe(Transaction prepared, String ownerAccountId) throws IOException {
+        Operation[] operations = prepared.getOperations();
+        SorobanTransactionData data = prepared.getSorobanData();
+        if (operations.length != 1 || !(operations[0] instanceof InvokeHostFunctionOperation op) || data == null) {
+            return null;
+        }
+        byte[] ownerKey = StrKey.decodeEd25519PublicKey(ownerAccountId);
+        OwnerKeyTemplate hostFunction = OwnerKeyTemplate.of(op.getHostFunction().toXdrByteArray(), ownerKey);
+        if (hostFunction.slots() == 0) {
+            return null; // owner não é argumento: nada a substituir
+        }
+        List<OwnerKeyTemplate> auth = new ArrayList<>();
+        if (op.getAuth() != null) {
+            for (SorobanAuthorizationEntry entry : op.getAuth()) {
+                if (entry.getCredentials().getDiscriminant()
+                        != SorobanCredentialsType.SOROBAN_CREDENTIALS_SOURCE_ACCOUNT) {
+                    return null; // nonce/expiração/assinatura de outro endereço
+                }
+                auth.add(OwnerKeyTemplate.of(entry.toXdrByteArray(), ownerKey));
+            }
+        }
+        OwnerKeyTemplate footprint = OwnerKeyTemplate.of(data.getResources().getFootprint().toXdrByteArray(),
+                ownerKey);
+        return new FootprintTemplate(hostFunction, footprint, OwnerKeyTemplate.of(data.toXdrByteArray(), ownerKey),
+                List.copyOf(auth), resourcesOf(data), ownerAccountId, 1, heartbeat.latestLedger());
+    }
+
+    private static Resources resourcesOf(SorobanTransactionData data) {
+        SorobanResources resources = data.getResources();
+        return new Resources(resources.getInstructions().getUint32().getNumber(),
+                resources.getDiskReadBytes().getUint32().getNumber(),
+                resources.getWriteBytes().getUint32().getNumber(),
+                data.getResourceFee().getInt64());
+    }
+
+    private static void applyResources(SorobanTransactionData data, Resources declared) {
+        SorobanResources resources = data.getResources();
+        resources.setInstructions(uint32(declared.instructions()));
+        resources.setDiskReadBytes(uint32(declared.readBytes()));
+        resources.setWriteBytes(uint32(declared.writeBytes()));
+        Int64 fee = new Int64();
+        fee.setInt64(declared.resourceFee());
+        data.setResourceFee(fee);
+    }
+
+    /** Compara como conjuntos: a ordem das chaves pode mudar com o owner. */
+    private static boolean sameFootprint(LedgerFootprint a, LedgerFootprint b) throws IOException {
+        return keys(a.getReadOnly()).equals(keys(b.getReadOnly()))
+                && keys(a.getReadWrite()).equals(keys(b.getReadWrite()));
+    }
+
+    private static Set<String> keys(LedgerKey[] keys) throws IOException {
+        Set<String> out = new HashSet<>();
+        for (LedgerKey key : keys) {
+            out.add(key.toXdrBase64());
+        }
+        return out;
+    }
+
+    private static Uint32 uint32(long value) {
+        Uint32 u = new Uint32();
+        u.setUint32(new XdrUnsignedInteger(value));
+        return u;
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("stellar.footprint.template", "result", result).increment();
+    }
+}
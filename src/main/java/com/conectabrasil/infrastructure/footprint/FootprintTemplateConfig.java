@@ -0,0 +1,25 @@
+package com.conectabrasil.infrastructure.footprint;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "stellar.footprint-templates")
+public class FootprintTemplateConfig {
+    /** Opt-in: sem isso todo checkout simula + prepara como antes. */
+    private boolean enabled = false;
+    private int maxTemplates = 256;
+    /** Observações concordantes (de owners distintos) antes de usar o template. */
+    private int minObservations = 2;
+    /** Template mais velho que isso (em ledgers, ~5s cada) volta a ser aprendido. */
+    private long maxAgeLedgers = 17_280;
+    /** Folga sobre o maior consumo observado (instruções, bytes, resource fee). */
+    private int resourceMarginPercent = 15;
+    /** Confere 1 em cada N envelopes montados por template contra a simulação (0 = nunca). */
+    private int verifyEvery = 20;
+    /** Revalida todos os templates contra a simulação neste intervalo (pega upgrade do contrato). */
+    private long revalidateIntervalMs = 300_000;
+}
@@ -0,0 +1,73 @@
+package com.conectabrasil.infrastructure.footprint;
+
+import java.util.Arrays;
+
+/**
+ * Bytes XDR com as posições onde aparece a chave ed25519 (32 bytes) do owner
+ * usado no aprendizado. Instanciar para outro owner é só copiar os bytes e
+ * escrever a nova chave nessas posições: ScAddress de conta, LedgerKey de
+ * conta/trustline e PublicKey codificam a chave crua, sem prefixo de tamanho,
+ * então o tamanho e o resto do XDR não mudam.
+ *
+ * Dois templates têm o "mesmo formato" quando os bytes fora das posições do
+ * owner são idênticos — é o que se compara entre observações de owners distintos.
+ */
+public final class OwnerKeyTemplate {
+
+    public static final int KEY_LENGTH = 32;
+
+    private final byte[] normalized; // posições do owner zeradas
+    private final int[] slots;
+
+    private OwnerKeyTemplate(byte[] normalized, int[] slots) {
+        this.normalized = normalized;
+        this.slots = slots;
+    }
+
+    public static OwnerKeyTemplate of(byte[] xdr, byte[] ownerKey) {
+        requireKey(ownerKey);
+        byte[] normalized = xdr.clone();
+        int[] found = new int[4];
+        int count = 0;
+        for (int i = 0; i + KEY_LENGTH <= xdr.length;) {
+            if (Arrays.equals(xdr, i, i + KEY_LENGTH, ownerKey, 0, KEY_LENGTH)) {
+                if (count == found.length) {
+                    found = Arrays.copyOf(found, count * 2);
+                }
+                found[count++] = i;
+                Arrays.fill(normalized, i, i + KEY_LENGTH, (byte) 0);
+                i += KEY_LENGTH;
+            } else {
+                i++;
+            }
+        }
+        return new OwnerKeyTemplate(normalized, Arrays.copyOf(found, count));
+    }
+
+    public byte[] instantiate(byte[] ownerKey) {
+        requireKey(ownerKey);
+        byte[] out = normalized.clone();
+        for (int slot : slots) {
+            System.arraycopy(ownerKey, 0, out, slot, KEY_LENGTH);
+        }
+        return out;
+    }
+
+    public int slots() {
+        return slots.length;
+    }
+
+    public int length() {
+        return normalized.length;
+    }
+
+    public boolean sameShape(OwnerKeyTemplate other) {
+        return other != null && Arrays.equals(slots, other.slots) && Arrays.equals(normalized, other.normalized);
+    }
+
+    private static void requireKey(byte[] key) {
+        if (key == null || key.length != KEY_LENGTH) {
+            throw new IllegalArgumentException("Chave ed25519 deve ter " + KEY_LENGTH + " bytes");
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.conectabrasil.infrastructure.journal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "journal")
+public class JournalConfig {
+    private boolean enabled = true;
+    private String directory = "./data/journal";
+    /** Tamanho de cada segmento mapeado; cheio, abre o próximo. */
+    private long segmentBytes = 64L * 1024 * 1024;
+    /** Segmentos mantidos (os mais antigos são apagados); 0 = todos. */
+    private int maxSegments = 64;
+    /** Capacidade do ring buffer em memória (potência de 2); cheio, o registro é descartado. */
+    private int ringCapacity = 8192;
+    /** Intervalo do force() do segmento atual para o disco. */
+    private long forceIntervalMs = 1000;
+}
@@ -0,0 +1,75 @@
+package com.conectabrasil.infrastructure.journal;
+
+import java.util.Arrays;
+
+/**
+ * Índice em memória do segmento ativo: os prefixos do hash, da fonte e do
+ * owner de cada registro em arrays primitivos, na ordem de gravação. A
+ * consulta varre do mais recente para o mais antigo; o custo e a memória
+ * ficam limitados ao tamanho de um segmento. Quando o segmento enche, o
+ * TransactionJournal troca este índice por um SegmentIndexFile em disco.
+ */
+final class JournalIndex implements SegmentIndex {
+
+    private long[] hashes = new long[1024];
+    private long[] sources = new long[1024];
+    private long[] owners = new long[1024];
+    private int size;
+
+    /** Índice de todos os registros já gravados no segmento. */
+    static JournalIndex of(JournalSegment segment) {
+        JournalIndex index = new JournalIndex();
+        for (int i = 0; i < segment.count(); i++) {
+            index.add(segment, i);
+        }
+        return index;
+    }
+
+    /** Registros entram na ordem de gravação: recordIndex é sempre o próximo. */
+    synchronized void add(JournalSegment segment, int recordIndex) {
+        if (recordIndex != size) {
+            throw new IllegalStateException("Registro fora de ordem no índice: " + recordIndex);
+        }
+        if (size == hashes.length) {
+            hashes = Arrays.copyOf(hashes, size * 2);
+            sources = Arrays.copyOf(sources, size * 2);
+            owners = Arrays.copyOf(owners, size * 2);
+        }
+        hashes[size] = segment.hashPrefix(recordIndex);
+        sources[size] = segment.sourcePrefix(recordIndex);
+        owners[size] = segment.ownerPrefix(recordIndex);
+        size++;
+    }
+
+    @Override
+    public synchronized int[] findHash(long hashPrefix) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (hashes[i] == hashPrefix) {
+                return new int[] { i };
+            }
+        }
+        return new int[0];
+    }
+
+    @Override
+    public synchronized int[] findAccount(long accountPrefix, int limit) {
+        int[] found = new int[Math.min(limit, size)];
+        int n = 0;
+        for (int i = size - 1; i >= 0 && n < found.length; i--) {
+            if (accountPrefix != 0 && (sources[i] == accountPrefix || owners[i] == accountPrefix)) {
+                found[n++] = i;
+            }
+        }
+        return Arrays.copyOf(found, n);
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public void close() {
+        // só memória
+    }
+}
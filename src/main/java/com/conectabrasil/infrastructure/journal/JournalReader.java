@@ -0,0 +1,178 @@
+package com.conectabrasil.infrastructure.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Consulta do journal por hash do envelope e por conta (fonte ou owner).
+ *
+ * Cada segmento tem seu próprio índice: o ativo em memória (JournalIndex,
+ * arrays primitivos) e os fechados num SegmentIndexFile mapeado, persistido
+ * ao lado do segmento. O heap não cresce com o histórico; a retenção apaga
+ * segmento e índice juntos. As consultas vão do segmento mais recente ao mais
+ * antigo e conferem o registro lido, já que o índice é por prefixo.
+ *
+ * Usado pelo TransactionJournal (que adiciona cada registro gravado) e,
+ * sozinho via open(), para analisar um diretório de journal fora da aplicação.
+ */
+public class JournalReader implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalReader.class);
+
+    private final ConcurrentSkipListMap<Long, JournalSegment> segments = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, SegmentIndex> indexes = new ConcurrentSkipListMap<>();
+
+    /** Abre (somente leitura) todos os segmentos do diretório com seus índices. */
+    public static JournalReader open(Path directory) throws IOException {
+        JournalReader reader = new JournalReader();
+        for (Path path : segmentFiles(directory)) {
+            reader.addSealedSegment(JournalSegment.open(path, false));
+        }
+        return reader;
+    }
+
+    public Optional<JournalRecord> findByHash(String hashHex) {
+        byte[] hash;
+        try {
+            hash = HexFormat.of().parseHex(hashHex);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Hash inválido: " + hashHex);
+        }
+        if (hash.length != 32) {
+            throw new IllegalArgumentException("Hash inválido: " + hashHex);
+        }
+        long prefix = ByteBuffer.wrap(hash).getLong();
+        for (Map.Entry<Long, SegmentIndex> entry : indexes.descendingMap().entrySet()) {
+            for (int i : entry.getValue().findHash(prefix)) {
+                JournalRecord record = read(entry.getKey(), i);
+                if (record != null && Arrays.equals(record.envelopeHash(), hash)) {
+                    return Optional.of(record);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Envelopes emitidos para a conta (como fonte ou owner), do mais recente ao mais antigo. */
+    public List<JournalRecord> findByAccount(String account, int limit) {
+        List<JournalRecord> records = new ArrayList<>();
+        long prefix = JournalSegment.accountPrefix(account);
+        if (prefix == 0) {
+            return records;
+        }
+        for (Map.Entry<Long, SegmentIndex> entry : indexes.descendingMap().entrySet()) {
+            for (int i : entry.getValue().findAccount(prefix, limit - records.size())) {
+                JournalRecord record = read(entry.getKey(), i);
+                if (record != null && (account.equals(record.sourceAccount())
+                        || account.equals(record.ownerAccount()))) {
+                    records.add(record);
+                }
+            }
+            if (records.size() >= limit) {
+                break;
+            }
+        }
+        return records;
+    }
+
+    public long indexedRecords() {
+        long total = 0;
+        for (SegmentIndex index : indexes.values()) {
+            total += index.size();
+        }
+        return total;
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /** Segmento ativo: indexa em memória os registros já gravados e os que vierem em indexAppended. */
+    void addSegment(JournalSegment segment) {
+        segments.put(segment.id(), segment);
+        indexes.put(segment.id(), JournalIndex.of(segment));
+    }
+
+    /**
+     * Segmento fechado: usa (ou grava) o índice persistido. Sem permissão de
+     * escrita no diretório, cai no índice em memória.
+     */
+    void addSealedSegment(JournalSegment segment) {
+        segments.put(segment.id(), segment);
+        indexes.put(segment.id(), sealedIndex(segment));
+    }
+
+    /** O segmento encheu: troca o índice em memória pelo persistido. */
+    void seal(JournalSegment segment) throws IOException {
+        SegmentIndex previous = indexes.put(segment.id(), sealedIndex(segment));
+        if (previous != null) {
+            previous.close();
+        }
+    }
+
+    void indexAppended(JournalSegment segment, JournalRecord record, int recordIndex) {
+        if (indexes.get(segment.id()) instanceof JournalIndex active) {
+            active.add(segment, recordIndex);
+        }
+    }
+
+    void removeSegment(long segmentId) throws IOException {
+        SegmentIndex index = indexes.remove(segmentId);
+        if (index != null) {
+            index.close();
+        }
+        JournalSegment segment = segments.remove(segmentId);
+        if (segment != null) {
+            segment.close();
+        }
+    }
+
+    private static SegmentIndex sealedIndex(JournalSegment segment) {
+        try {
+            return SegmentIndexFile.openOrBuild(segment);
+        } catch (IOException e) {
+            log.warn("Índice do segmento {} indisponível, usando memória: {}", segment.id(), e.getMessage());
+            return JournalIndex.of(segment);
+        }
+    }
+
+    private JournalRecord read(long segmentId, int recordIndex) {
+        JournalSegment segment = segments.get(segmentId);
+        return segment == null ? null : segment.read(recordIndex);
+    }
+
+    static List<Path> segmentFiles(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(JournalSegment::isSegmentFile).sorted().toList();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (SegmentIndex index : indexes.values()) {
+            index.close();
+        }
+        indexes.clear();
+        for (JournalSegment segment : segments.values()) {
+            segment.close();
+        }
+        segments.clear();
+    }
+}
@@ -0,0 +1,54 @@
+package com.conectabrasil.infrastructure.journal;
+
+import java.util.HexFormat;
+
+/**
+ * Um envelope não assinado emitido pelo backend.
+ *
+ * @param envelopeHash  hash da transação (32 bytes, o mesmo que a rede usa)
+ * @param sourceAccount conta fonte (quem assina)
+ * @param ownerAccount  dono da ordem (igual à fonte no buy_and_grant)
+ * @param packageId     -1 quando não se aplica
+ * @param orderId       -1 quando ainda não existe
+ * @param fee           fee total em stroops (inclusion + resource)
+ */
+public record JournalRecord(
+        byte[] envelopeHash,
+        long timestampMillis,
+        Function function,
+        String sourceAccount,
+        String ownerAccount,
+        long packageId,
+        long orderId,
+        long fee) {
+
+    public enum Function {
+        BUY_AND_GRANT(1, "buy_and_grant"),
+        GRANT(2, "grant");
+
+        final int code;
+        final String contractFunction;
+
+        Function(int code, String contractFunction) {
+            this.code = code;
+            this.contractFunction = contractFunction;
+        }
+
+        public String contractFunction() {
+            return contractFunction;
+        }
+
+        static Function ofCode(int code) {
+            for (Function function : values()) {
+                if (function.code == code) {
+                    return function;
+                }
+            }
+            return null;
+        }
+    }
+
+    public String hashHex() {
+        return HexFormat.of().formatHex(envelopeHash);
+    }
+}
@@ -0,0 +1,213 @@
+package com.conectabrasil.infrastructure.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import org.stellar.sdk.StrKey;
+
+/**
+ * Segmento do journal: arquivo de tamanho fixo mapeado em memória, com
+ * registros de tamanho fixo gravados em sequência.
+ *
+ * <pre>
+ * header (64 bytes): magic "CBJL" | versão u16 | recordBytes u16 | segmentId i64 | createdAt i64
+ * registro (136 bytes):
+ *   marker u8 (1 = gravado) | function u8 | reservado u16 | crc32 i32 (bytes 8..135)
+ *   timestamp i64 | hash 32 | source 32 | owner 32 (chaves ed25519) | packageId i64 | orderId i64 | fee i64
+ * </pre>
+ *
+ * O marker é escrito por último: um registro pela metade (crash) tem marker 0
+ * ou CRC inválido e marca o fim dos dados na reabertura.
+ */
+final class JournalSegment implements Closeable {
+
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 64;
+    static final int RECORD_BYTES = 136;
+
+    private static final int MAGIC = 0x43424A4C; // "CBJL"
+    private static final byte WRITTEN = 1;
+    private static final byte[] NO_ACCOUNT = new byte[32];
+
+    private final long id;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private volatile int count;
+
+    private JournalSegment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.id = id;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = (buffer.capacity() - HEADER_BYTES) / RECORD_BYTES;
+    }
+
+    static JournalSegment create(Path path, long id, long bytes) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, (short) VERSION);
+        buffer.putShort(6, (short) RECORD_BYTES);
+        buffer.putLong(8, id);
+        buffer.putLong(16, System.currentTimeMillis());
+        return new JournalSegment(id, path, channel, buffer);
+    }
+
+    /** Abre um segmento existente e conta os registros válidos. */
+    static JournalSegment open(Path path, boolean writable) throws IOException {
+        FileChannel channel = writable
+                ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(path, StandardOpenOption.READ);
+        MappedByteBuffer buffer = channel.map(writable ? FileChannel.MapMode.READ_WRITE
+                : FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            channel.close();
+            throw new IOException("Segmento de journal inválido: " + path);
+        }
+        if (buffer.getShort(4) != VERSION || buffer.getShort(6) != RECORD_BYTES) {
+            channel.close();
+            throw new IOException("Versão de segmento não suportada: " + path);
+        }
+        JournalSegment segment = new JournalSegment(buffer.getLong(8), path, channel, buffer);
+        int valid = 0;
+        while (valid < segment.capacity && segment.isValid(valid)) {
+            valid++;
+        }
+        segment.count = valid;
+        return segment;
+    }
+
+    long id() {
+        return id;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int count() {
+        return count;
+    }
+
+    boolean isFull() {
+        return count >= capacity;
+    }
+
+    /** Grava o próximo registro e devolve seu índice. Só a thread escritora chama. */
+    int append(JournalRecord record) {
+        int index = count;
+        int offset = HEADER_BYTES + index * RECORD_BYTES;
+        ByteBuffer slot = buffer.duplicate();
+        slot.position(offset + 8);
+        slot.putLong(record.timestampMillis());
+        slot.put(record.envelopeHash(), 0, 32);
+        slot.put(accountKey(record.sourceAccount()));
+        slot.put(accountKey(record.ownerAccount()));
+        slot.putLong(record.packageId());
+        slot.putLong(record.orderId());
+        slot.putLong(record.fee());
+        buffer.put(offset + 1, (byte) record.function().code);
+        buffer.putInt(offset + 4, crc(offset));
+        buffer.put(offset, WRITTEN);
+        count = index + 1;
+        return index;
+    }
+
+    JournalRecord read(int index) {
+        if (index < 0 || index >= count) {
+            return null;
+        }
+        int offset = HEADER_BYTES + index * RECORD_BYTES;
+        ByteBuffer slot = buffer.duplicate();
+        slot.position(offset + 8);
+        long timestamp = slot.getLong();
+        byte[] hash = new byte[32];
+        slot.get(hash);
+        String source = account(slot);
+        String owner = account(slot);
+        long packageId = slot.getLong();
+        long orderId = slot.getLong();
+        long fee = slot.getLong();
+        return new JournalRecord(hash, timestamp, JournalRecord.Function.ofCode(buffer.get(offset + 1)), source,
+                owner, packageId, orderId, fee);
+    }
+
+    /** Primeiros 8 bytes do hash do registro, sem montar o JournalRecord (para o índice). */
+    long hashPrefix(int index) {
+        return buffer.getLong(HEADER_BYTES + index * RECORD_BYTES + 16);
+    }
+
+    /** Primeiros 8 bytes da chave da conta fonte; 0 sem conta. */
+    long sourcePrefix(int index) {
+        return buffer.getLong(HEADER_BYTES + index * RECORD_BYTES + 48);
+    }
+
+    /** Primeiros 8 bytes da chave do owner; 0 sem conta. */
+    long ownerPrefix(int index) {
+        return buffer.getLong(HEADER_BYTES + index * RECORD_BYTES + 80);
+    }
+
+    /** Prefixo da conta como gravado nos registros; 0 se a conta não é uma chave válida. */
+    static long accountPrefix(String account) {
+        return ByteBuffer.wrap(accountKey(account)).getLong();
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean isValid(int index) {
+        int offset = HEADER_BYTES + index * RECORD_BYTES;
+        return buffer.get(offset) == WRITTEN && buffer.getInt(offset + 4) == crc(offset);
+    }
+
+    private int crc(int offset) {
+        CRC32 crc = new CRC32();
+        ByteBuffer body = buffer.duplicate();
+        body.position(offset + 8).limit(offset + RECORD_BYTES);
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] accountKey(String account) {
+        if (account == null) {
+            return NO_ACCOUNT;
+        }
+        try {
+            return StrKey.decodeEd25519PublicKey(account);
+        } catch (RuntimeException e) {
+            return NO_ACCOUNT;
+        }
+    }
+
+    private static String account(ByteBuffer slot) {
+        byte[] key = new byte[32];
+        slot.get(key);
+        return Arrays.equals(key, NO_ACCOUNT) ? null : StrKey.encodeEd25519PublicKey(key);
+    }
+
+    static Path fileName(Path directory, long id) {
+        return directory.resolve(String.format("journal-%012d.seg", id));
+    }
+
+    static boolean isSegmentFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith("journal-") && name.endsWith(".seg") && Files.isRegularFile(path);
+    }
+}
@@ -0,0 +1,71 @@
+package com.conectabrasil.infrastructure.journal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fila circular limitada, sem locks, para vários produtores e um único
+ * consumidor. Cada posição tem um número de sequência: o produtor reserva a
+ * posição com CAS no tail, grava o elemento e publica a sequência; o
+ * consumidor só lê posições publicadas. offer nunca bloqueia: fila cheia
+ * devolve false.
+ */
+final class MpscRingBuffer<E> {
+
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head; // escrito só pelo consumidor
+
+    MpscRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity deve ser potência de 2: " + capacity);
+        }
+        this.slots = new Object[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index] = element;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                return false; // cheia
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /** Próximo elemento publicado, ou null. Só o consumidor chama. */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        long position = head;
+        int index = (int) (position & mask);
+        if (sequences.get(index) != position + 1) {
+            return null;
+        }
+        E element = (E) slots[index];
+        slots[index] = null;
+        sequences.set(index, position + mask + 1);
+        head = position + 1;
+        return element;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+}
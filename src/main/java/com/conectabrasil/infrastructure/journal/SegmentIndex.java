@@ -0,0 +1,20 @@
+package com.conectabrasil.infrastructure.journal;
+
+import java.io.Closeable;
+
+/**
+ * Índice de um segmento do journal: índices de registro por prefixo (8 bytes)
+ * do hash do envelope e da conta. Devolve candidatos; quem consulta confere o
+ * registro lido.
+ */
+interface SegmentIndex extends Closeable {
+
+    /** Registros cujo hash começa com o prefixo. */
+    int[] findHash(long hashPrefix);
+
+    /** Registros da conta (fonte ou owner), do mais recente ao mais antigo, no máximo limit. */
+    int[] findAccount(long accountPrefix, int limit);
+
+    /** Registros indexados. */
+    int size();
+}
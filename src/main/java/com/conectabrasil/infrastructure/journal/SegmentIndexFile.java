@@ -0,0 +1,213 @@
+package com.conectabrasil.infrastructure.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Índice persistido de um segmento fechado (journal-N.idx ao lado do .seg),
+ * mapeado em memória: fica no page cache, fora do heap, e é apagado junto com
+ * o segmento pela retenção.
+ *
+ * <pre>
+ * header (32 bytes): magic "CBJI" | versão u16 | reservado u16 | segmentId i64
+ *                    | registros i32 | entradas de hash i32 | entradas de conta i32
+ * entradas (i64, ordenadas): 40 bits altos do prefixo | índice do registro (24 bits)
+ * </pre>
+ *
+ * A busca é binária pelos 40 bits do prefixo; colisões só geram candidatos a
+ * mais, descartados na conferência do registro.
+ */
+final class SegmentIndexFile implements SegmentIndex {
+
+    static final int VERSION = 1;
+
+    private static final int MAGIC = 0x43424A49; // "CBJI"
+    private static final int HEADER_BYTES = 32;
+    private static final int INDEX_BITS = 24;
+    private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+    private final FileChannel channel;
+    private final LongBuffer hashes;
+    private final LongBuffer accounts;
+    private final int records;
+
+    private SegmentIndexFile(FileChannel channel, LongBuffer hashes, LongBuffer accounts, int records) {
+        this.channel = channel;
+        this.hashes = hashes;
+        this.accounts = accounts;
+        this.records = records;
+    }
+
+    static Path pathFor(Path segmentPath) {
+        String name = segmentPath.getFileName().toString();
+        return segmentPath.resolveSibling(name.substring(0, name.length() - ".seg".length()) + ".idx");
+    }
+
+    /** Abre o índice do segmento; grava de novo se faltar ou não corresponder ao segmento. */
+    static SegmentIndexFile openOrBuild(JournalSegment segment) throws IOException {
+        Path path = pathFor(segment.path());
+        if (Files.exists(path)) {
+            SegmentIndexFile existing = open(path, segment);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        write(path, segment);
+        SegmentIndexFile built = open(path, segment);
+        if (built == null) {
+            throw new IOException("Índice de segmento inválido: " + path);
+        }
+        return built;
+    }
+
+    @Override
+    public int[] findHash(long hashPrefix) {
+        return matches(hashes, tag(hashPrefix), Integer.MAX_VALUE, false);
+    }
+
+    @Override
+    public int[] findAccount(long accountPrefix, int limit) {
+        if (accountPrefix == 0) {
+            return new int[0];
+        }
+        return matches(accounts, tag(accountPrefix), limit, true);
+    }
+
+    @Override
+    public int size() {
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static void write(Path path, JournalSegment segment) throws IOException {
+        int n = segment.count();
+        if (n > INDEX_MASK) {
+            throw new IOException("Segmento grande demais para o índice: " + segment.path());
+        }
+        long[] hashes = new long[n];
+        long[] accounts = new long[2 * n];
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            hashes[i] = entry(segment.hashPrefix(i), i);
+            long source = segment.sourcePrefix(i);
+            long owner = segment.ownerPrefix(i);
+            if (source != 0) {
+                accounts[m++] = entry(source, i);
+            }
+            if (owner != 0 && owner != source) {
+                accounts[m++] = entry(owner, i);
+            }
+        }
+        Arrays.sort(hashes);
+        Arrays.sort(accounts, 0, m);
+
+        // grava ao lado e renomeia: um .idx pela metade nunca fica com o nome final
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putShort((short) VERSION).putShort((short) 0).putLong(segment.id())
+                    .putInt(n).putInt(n).putInt(m);
+            header.clear();
+            writeFully(out, header);
+            writeLongs(out, hashes, n);
+            writeLongs(out, accounts, m);
+            out.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** null se o arquivo não é um índice válido deste segmento. */
+    private static SegmentIndexFile open(Path path, JournalSegment segment) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION
+                || buffer.getLong(8) != segment.id() || buffer.getInt(16) != segment.count()) {
+            channel.close();
+            return null;
+        }
+        int hashEntries = buffer.getInt(20);
+        int accountEntries = buffer.getInt(24);
+        if (buffer.capacity() != HEADER_BYTES + 8L * (hashEntries + accountEntries)) {
+            channel.close();
+            return null;
+        }
+        LongBuffer longs = buffer.position(HEADER_BYTES).slice().asLongBuffer();
+        LongBuffer hashes = longs.slice(0, hashEntries);
+        LongBuffer accounts = longs.slice(hashEntries, accountEntries);
+        return new SegmentIndexFile(channel, hashes, accounts, segment.count());
+    }
+
+    /**
+     * Índices de registro das entradas com o tag, do mais antigo ao mais recente
+     * ou o contrário (newestFirst), no máximo limit.
+     */
+    private static int[] matches(LongBuffer entries, long tag, int limit, boolean newestFirst) {
+        int from = lowerBound(entries, tag);
+        int to = lowerBound(entries, tag | INDEX_MASK);
+        while (to < entries.limit() && entries.get(to) == (tag | INDEX_MASK)) {
+            to++;
+        }
+        int n = Math.min(limit, to - from);
+        int[] found = new int[n];
+        for (int i = 0; i < n; i++) {
+            found[i] = (int) (entries.get(newestFirst ? to - 1 - i : from + i) & INDEX_MASK);
+        }
+        return found;
+    }
+
+    /** Primeira posição com valor >= key. */
+    private static int lowerBound(LongBuffer entries, long key) {
+        int lo = 0;
+        int hi = entries.limit();
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (entries.get(mid) < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static long tag(long prefix) {
+        return prefix & ~INDEX_MASK;
+    }
+
+    private static long entry(long prefix, int recordIndex) {
+        return tag(prefix) | recordIndex;
+    }
+
+    private static void writeLongs(FileChannel out, long[] values, int count) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(8 * 4096);
+        for (int i = 0; i < count; i++) {
+            chunk.putLong(values[i]);
+            if (!chunk.hasRemaining()) {
+                chunk.flip();
+                writeFully(out, chunk);
+                chunk.clear();
+            }
+        }
+        chunk.flip();
+        writeFully(out, chunk);
+    }
+
+    private static void writeFully(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+}
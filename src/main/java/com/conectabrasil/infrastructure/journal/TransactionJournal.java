@@ -0,0 +1,222 @@
+package com.conectabrasil.infrastructure.journal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.stellar.sdk.Transaction;
+
+import com.conectabrasil.infrastructure.journal.JournalRecord.Function;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Journal append-only dos envelopes não assinados emitidos no checkout
+ * (buy_and_grant e grant), para análise de checkouts abandonados e fraude.
+ *
+ * O caminho da requisição só faz issued(): um offer num ring buffer sem
+ * locks, sem I/O, hash nem alocação além do item. A thread journal-writer
+ * consome o ring, calcula hash/fee, grava no segmento mapeado (JournalSegment),
+ * rotaciona segmentos cheios e faz force() periódico. Ring cheio descarta o
+ * registro (journal.dropped) em vez de segurar o checkout. Sem trabalho, a
+ * writer fica parada em park() e o issued() que encontra o ring vazio a acorda.
+ *
+ * Consultas por hash e por conta via JournalReader: índice em memória só do
+ * segmento ativo; cada segmento fechado ganha um índice persistido (.idx),
+ * apagado junto com ele pela retenção.
+ */
+@Component
+public class TransactionJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionJournal.class);
+
+    /** Item do ring: o necessário para montar o registro fora do caminho da requisição. */
+    private record Issued(Transaction transaction, Function function, String sourceAccount, String ownerAccount,
+            long packageId, long orderId, long timestampMillis) {
+    }
+
+    private final JournalConfig config;
+    private final MpscRingBuffer<Issued> ring;
+    private final JournalReader reader = new JournalReader();
+    private final Deque<JournalSegment> segments = new ArrayDeque<>();
+    private final Counter appended;
+    private final Counter dropped;
+    private final Counter failures;
+    private final Thread writer;
+    private volatile boolean running = true;
+    /** A writer viu o ring vazio e vai (ou já está) parada; quem publica a acorda. */
+    private volatile boolean waiting;
+    private Path directory;
+
+    public TransactionJournal(JournalConfig config, MeterRegistry meterRegistry) throws IOException {
+        this.config = config;
+        this.ring = new MpscRingBuffer<>(config.getRingCapacity());
+        this.appended = Counter.builder("journal.appended").register(meterRegistry);
+        this.dropped = Counter.builder("journal.dropped").register(meterRegistry);
+        this.failures = Counter.builder("journal.failures").register(meterRegistry);
+        Gauge.builder("journal.ring.depth", ring, MpscRingBuffer::size).register(meterRegistry);
+        Gauge.builder("journal.segments", reader, JournalReader::segmentCount).register(meterRegistry);
+        if (!config.isEnabled()) {
+            this.writer = null;
+            return;
+        }
+        this.directory = Path.of(config.getDirectory());
+        Files.createDirectories(directory);
+        List<Path> files = JournalReader.segmentFiles(directory);
+        for (int i = 0; i < files.size(); i++) {
+            // só o último segmento continua recebendo registros
+            JournalSegment segment = JournalSegment.open(files.get(i), i == files.size() - 1);
+            segments.addLast(segment);
+            if (i == files.size() - 1) {
+                reader.addSegment(segment);
+            } else {
+                reader.addSealedSegment(segment);
+            }
+        }
+        log.info("Journal aberto em {}: {} segmentos, {} registros", directory, segments.size(),
+                reader.indexedRecords());
+        this.writer = new Thread(this::writeLoop, "journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Registra um envelope emitido. Não bloqueia nem faz I/O.
+     *
+     * @param packageId null quando não se aplica
+     * @param orderId   null quando a ordem ainda não existe
+     */
+    public void issued(Transaction unsigned, Function function, String sourceAccount, String ownerAccount,
+            Long packageId, Long orderId) {
+        if (writer == null) {
+            return;
+        }
+        Issued item = new Issued(unsigned, function, sourceAccount, ownerAccount,
+                packageId == null ? -1 : packageId, orderId == null ? -1 : orderId, System.currentTimeMillis());
+        if (!ring.offer(item)) {
+            dropped.increment();
+        } else if (waiting) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    public Optional<JournalRecord> findByHash(String hashHex) {
+        return reader.findByHash(hashHex);
+    }
+
+    public List<JournalRecord> findByAccount(String account, int limit) {
+        return reader.findByAccount(account, limit);
+    }
+
+    private void writeLoop() {
+        long forceInterval = TimeUnit.MILLISECONDS.toNanos(config.getForceIntervalMs());
+        long lastForce = System.nanoTime();
+        boolean dirty = false;
+        while (running || ring.size() > 0) {
+            Issued item = ring.poll();
+            if (item != null) {
+                dirty |= write(item);
+                continue;
+            }
+            long sinceForce = System.nanoTime() - lastForce;
+            if (dirty && sinceForce >= forceInterval) {
+                current().force();
+                lastForce = System.nanoTime();
+                dirty = false;
+            }
+            // anuncia a espera e confere o ring de novo: um offer entre o poll
+            // vazio e o park vê waiting=true e faz unpark (a permissão fica guardada)
+            waiting = true;
+            if (ring.size() == 0 && running) {
+                if (dirty) {
+                    LockSupport.parkNanos(forceInterval - sinceForce);
+                } else {
+                    LockSupport.park();
+                }
+            }
+            waiting = false;
+        }
+        if (dirty && !segments.isEmpty()) {
+            segments.peekLast().force();
+        }
+    }
+
+    private boolean write(Issued item) {
+        try {
+            JournalRecord record = new JournalRecord(item.transaction().hash(), item.timestampMillis(),
+                    item.function(), item.sourceAccount(), item.ownerAccount(), item.packageId(), item.orderId(),
+                    item.transaction().getFee());
+            JournalSegment segment = current();
+            int index = segment.append(record);
+            reader.indexAppended(segment, record, index);
+            appended.increment();
+            return true;
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("Falha ao gravar no journal: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /** Segmento atual; abre o próximo quando cheio e aplica a retenção. */
+    private JournalSegment current() {
+        JournalSegment last = segments.peekLast();
+        if (last != null && !last.isFull()) {
+            return last;
+        }
+        try {
+            if (last != null) {
+                last.force();
+                seal(last);
+            }
+            long id = last == null ? 1 : last.id() + 1;
+            JournalSegment next = JournalSegment.create(JournalSegment.fileName(directory, id), id,
+                    config.getSegmentBytes());
+            segments.addLast(next);
+            reader.addSegment(next);
+            enforceRetention();
+            return next;
+        } catch (IOException e) {
+            throw new IllegalStateException("Erro ao abrir segmento do journal", e);
+        }
+    }
+
+    private void enforceRetention() throws IOException {
+        while (config.getMaxSegments() > 0 && segments.size() > config.getMaxSegments()) {
+            JournalSegment oldest = segments.removeFirst();
+            reader.removeSegment(oldest.id());
+            Files.deleteIfExists(oldest.path());
+            Files.deleteIfExists(SegmentIndexFile.pathFor(oldest.path()));
+        }
+    }
+
+    private void seal(JournalSegment segment) {
+        try {
+            reader.seal(segment);
+        } catch (IOException e) {
+            log.warn("Falha ao fechar o índice do segmento {}: {}", segment.id(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException, InterruptedException {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        reader.close();
+    }
+}
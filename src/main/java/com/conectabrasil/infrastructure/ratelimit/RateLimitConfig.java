@@ -0,0 +1,39 @@
+package com.conectabrasil.infrastructure.ratelimit;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitConfig {
+    private boolean enabled = true;
+    /** Limite de buckets por endpoint antes de varrer buckets ociosos. */
+    private int maxBuckets = 100_000;
+    /**
+     * Usa o X-Forwarded-For em vez do IP da conexão. Só ligar atrás de proxies
+     * que acrescentam o IP do cliente ao header: o começo da lista é do cliente
+     * e pode ser forjado.
+     */
+    private boolean trustForwardedFor = false;
+    /**
+     * Quantos proxies confiáveis acrescentam ao X-Forwarded-For. O IP usado é a
+     * entrada nessa posição contando da direita (1 = a última, a do load balancer).
+     */
+    private int trustedProxyHops = 1;
+    private Map<String, EndpointLimit> endpoints = new LinkedHashMap<>();
+
+    @Data
+    public static class EndpointLimit {
+        /** Padrão de path do Spring MVC, ex.: /packages/remaining/** */
+        private String pattern;
+        /** Rajada máxima (tokens no bucket cheio). */
+        private int capacity = 20;
+        private double refillPerSecond = 5;
+    }
+}
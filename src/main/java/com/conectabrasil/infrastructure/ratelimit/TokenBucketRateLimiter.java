@@ -0,0 +1,84 @@
+package com.conectabrasil.infrastructure.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket lock-free por chave, implementado como GCRA: cada bucket é um
+ * único AtomicLong com o "theoretical arrival time" em nanos, atualizado via
+ * CAS. A recarga é preguiçosa (calculada no acesso), sem threads de refill.
+ *
+ * Buckets cujo TAT já passou estão cheios e não carregam estado; são eles que
+ * a varredura remove quando o mapa passa de maxBuckets. Se mesmo assim não há
+ * espaço, as chaves novas dividem um único bucket de transbordo: uma enxurrada
+ * de chaves distintas é limitada em conjunto em vez de passar livre.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final int maxBuckets;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final AtomicLong overflow = new AtomicLong(Long.MIN_VALUE);
+
+    public TokenBucketRateLimiter(int capacity, double refillPerSecond, int maxBuckets) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("capacity e refillPerSecond devem ser positivos");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.maxBuckets = maxBuckets;
+    }
+
+    /**
+     * Tenta consumir um token da chave.
+     *
+     * @return 0 se permitido; senão, nanos até o próximo token ficar disponível
+     */
+    public long tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    long tryAcquire(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxBuckets && !sweep(now)) {
+                // memória no limite e nada ocioso para remover: falha fechado no transbordo
+                bucket = overflow;
+            } else {
+                bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+            }
+        }
+        while (true) {
+            long tat = bucket.get();
+            long newTat = Math.max(tat, now) + emissionIntervalNanos;
+            long excess = newTat - now - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Remove buckets cheios (ociosos). Retorna true se há espaço para novos buckets.
+     */
+    public boolean sweep(long now) {
+        if (sweeping.compareAndSet(false, true)) {
+            try {
+                buckets.values().removeIf(b -> b.get() - now <= 0);
+            } finally {
+                sweeping.set(false);
+            }
+        }
+        return buckets.size() < maxBuckets;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,572 @@
+package com.conectabrasil.infrastructure.readmodel;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * OrderReadModel com registros de layout fixo em ByteBuffers diretos (fora do
+ * heap) e índices de endereçamento aberto, também diretos.
+ *
+ * <pre>
+ * owner (80 bytes): endereço ASCII (56) | head i32 | tail i32 | count i32 | - | syncedAt i64
+ * ordem (40 bytes): owner i32 | next i32 | orderId i64 | packageId i64 | flags i32 | - | tempo i64
+ * </pre>
+ * As ordens de um owner formam uma lista encadeada (next) na ordem de
+ * inserção. "tempo" é o instante de expiração (epoch ms) se a ordem está
+ * ativa, ou os segundos restantes congelados se está pausada.
+ *
+ * Ordens não somem do contrato, então registros não são removidos um a um;
+ * a memória é limitada por maxOwners/maxOrders: quando uma listagem não cabe,
+ * as áreas são reconstruídas só com os owners sincronizados mais
+ * recentemente (até 3/4 de cada limite). Owners descartados voltam a ser
+ * lidos da rede. Os índices dobram de tamanho com carga acima de 75%.
+ * Endereços são G.../C... de 56 caracteres (validados antes de chegar aqui).
+ * Um único StampedLock protege tudo: escritas são raras perto das leituras.
+ */
+public class OffHeapOrderStore implements OrderReadModel {
+
+    static final int ADDRESS_LENGTH = 56;
+
+    private static final int OWNER_BYTES = 80;
+    private static final int O_HEAD = 56;
+    private static final int O_TAIL = 60;
+    private static final int O_COUNT = 64;
+    private static final int O_SYNCED = 72;
+
+    private static final int ORDER_BYTES = 40;
+    private static final int R_OWNER = 0;
+    private static final int R_NEXT = 4;
+    private static final int R_ORDER_ID = 8;
+    private static final int R_PACKAGE_ID = 16;
+    private static final int R_FLAGS = 24;
+    private static final int R_TIME = 32;
+
+    private static final int F_ACTIVE_KNOWN = 1;
+    private static final int F_ACTIVE = 2;
+    private static final int F_REMAINING_KNOWN = 4;
+
+    private static final int NONE = -1;
+
+    private final StampedLock lock = new StampedLock();
+    private final int maxOwners;
+    private final int maxOrders;
+    private Slab owners = new Slab(OWNER_BYTES);
+    private Slab orders = new Slab(ORDER_BYTES);
+    private IntTable ownerIndex;
+    private IntTable orderIndex;
+    private long evictedOwners;
+
+    /** Sem limite de owners/ordens (testes e benchmark). */
+    public OffHeapOrderStore(int initialOwners, int initialOrders) {
+        this(initialOwners, initialOrders, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    public OffHeapOrderStore(int initialOwners, int initialOrders, int maxOwners, int maxOrders) {
+        this.maxOwners = Math.max(1, maxOwners);
+        this.maxOrders = Math.max(1, maxOrders);
+        this.ownerIndex = new IntTable(Math.min(initialOwners, this.maxOwners));
+        this.orderIndex = new IntTable(Math.min(initialOrders, this.maxOrders));
+    }
+
+    @Override
+    public void replaceOwner(String ownerAddress, List<Object> items, long syncedAtMillis) {
+        if (!validAddress(ownerAddress)) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long stamp = lock.writeLock();
+        try {
+            if (!ensureRoom(ownerAddress, items.size())) {
+                // listagem maior que o limite: o owner segue sendo lido da rede
+                int known = ownerSlot(ownerAddress);
+                if (known != NONE) {
+                    owners.buffer(known).putLong(owners.offset(known) + O_SYNCED, UNKNOWN);
+                }
+                return;
+            }
+            int owner = ownerSlot(ownerAddress);
+            if (owner == NONE) {
+                owner = insertOwner(ownerAddress);
+            }
+            for (Object item : items) {
+                if (!(item instanceof Map<?, ?> map) || !(map.get("order_id") instanceof Number orderId)) {
+                    continue;
+                }
+                int order = orderSlot(owner, orderId.longValue());
+                if (order == NONE) {
+                    order = insertOrder(owner, orderId.longValue());
+                }
+                if (map.get("package_id") instanceof Number packageId) {
+                    orders.buffer(order).putLong(orders.offset(order) + R_PACKAGE_ID, packageId.longValue());
+                }
+                if (map.get("is_active") instanceof Boolean active) {
+                    setState(order, active, null, now);
+                }
+            }
+            owners.buffer(owner).putLong(owners.offset(owner) + O_SYNCED, syncedAtMillis);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void updateState(String ownerAddress, long orderId, Boolean active, Long remainingSeconds) {
+        if (!validAddress(ownerAddress) || (active == null && remainingSeconds == null)) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            int owner = ownerSlot(ownerAddress);
+            int order = owner == NONE ? NONE : orderSlot(owner, orderId);
+            if (order != NONE) {
+                setState(order, active, remainingSeconds, System.currentTimeMillis());
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void markStale(String ownerAddress) {
+        if (!validAddress(ownerAddress)) {
+            return;
+        }
+        long stamp = lock.writeLock();
+        try {
+            int owner = ownerSlot(ownerAddress);
+            if (owner != NONE) {
+                owners.buffer(owner).putLong(owners.offset(owner) + O_SYNCED, UNKNOWN);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public long syncedAtMillis(String ownerAddress) {
+        if (!validAddress(ownerAddress)) {
+            return UNKNOWN;
+        }
+        long stamp = lock.readLock();
+        try {
+            int owner = ownerSlot(ownerAddress);
+            return owner == NONE ? UNKNOWN : owners.buffer(owner).getLong(owners.offset(owner) + O_SYNCED);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int forEachOrder(String ownerAddress, OrderVisitor visitor) {
+        if (!validAddress(ownerAddress)) {
+            return -1;
+        }
+        long now = System.currentTimeMillis();
+        long stamp = lock.readLock();
+        try {
+            int owner = ownerSlot(ownerAddress);
+            if (owner == NONE) {
+                return -1;
+            }
+            int visited = 0;
+            int order = owners.buffer(owner).getInt(owners.offset(owner) + O_HEAD);
+            while (order != NONE) {
+                ByteBuffer buf = orders.buffer(order);
+                int off = orders.offset(order);
+                int flags = buf.getInt(off + R_FLAGS);
+                boolean active = (flags & F_ACTIVE) != 0;
+                long remaining = UNKNOWN;
+                if ((flags & F_REMAINING_KNOWN) != 0) {
+                    long time = buf.getLong(off + R_TIME);
+                    remaining = active ? Math.max(0, TimeUnit.MILLISECONDS.toSeconds(time - now)) : time;
+                }
+                visitor.visit(buf.getLong(off + R_ORDER_ID), buf.getLong(off + R_PACKAGE_ID), active, remaining);
+                visited++;
+                order = buf.getInt(off + R_NEXT);
+            }
+            return visited;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public long ownerCount() {
+        long stamp = lock.readLock();
+        try {
+            return owners.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public long orderCount() {
+        long stamp = lock.readLock();
+        try {
+            return orders.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public long evictedOwners() {
+        long stamp = lock.readLock();
+        try {
+            return evictedOwners;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public long offHeapBytes() {
+        long stamp = lock.readLock();
+        try {
+            return owners.reservedBytes() + orders.reservedBytes() + ownerIndex.bytes() + orderIndex.bytes();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // ------------------------------------------------------------------ escrita
+
+    /**
+     * Garante espaço para a listagem do owner (no máximo newOrders ordens
+     * novas), compactando se preciso. false se nem depois disso cabe.
+     */
+    private boolean ensureRoom(String address, int newOrders) {
+        if (fits(address, newOrders)) {
+            return true;
+        }
+        compact();
+        return fits(address, newOrders);
+    }
+
+    private boolean fits(String address, int newOrders) {
+        int newOwners = ownerSlot(address) == NONE ? 1 : 0;
+        return owners.size() + newOwners <= maxOwners && (long) orders.size() + newOrders <= maxOrders;
+    }
+
+    /**
+     * Reconstrói as áreas com os owners sincronizados mais recentemente, até
+     * 3/4 de cada limite, e devolve os blocos antigos ao GC. Raro: cada
+     * compactação abre espaço para 1/4 dos limites.
+     */
+    private void compact() {
+        int ownerBudget = maxOwners - maxOwners / 4;
+        long orderBudget = maxOrders - maxOrders / 4;
+        Integer[] byRecency = new Integer[owners.size()];
+        for (int slot = 0; slot < byRecency.length; slot++) {
+            byRecency[slot] = slot;
+        }
+        Arrays.sort(byRecency, (a, b) -> Long.compare(syncedAt(b), syncedAt(a)));
+
+        Slab keptOwners = new Slab(OWNER_BYTES);
+        Slab keptOrders = new Slab(ORDER_BYTES);
+        for (int slot : byRecency) {
+            int count = owners.buffer(slot).getInt(owners.offset(slot) + O_COUNT);
+            if (keptOwners.size() >= ownerBudget) {
+                break;
+            }
+            if (keptOrders.size() + (long) count > orderBudget) {
+                continue;
+            }
+            copyOwner(slot, keptOwners, keptOrders);
+        }
+        evictedOwners += owners.size() - keptOwners.size();
+        owners = keptOwners;
+        orders = keptOrders;
+        ownerIndex = rebuildOwnerIndex(ownerIndex.capacity());
+        orderIndex = rebuildOrderIndex(orderIndex.capacity());
+    }
+
+    /** Copia o owner e suas ordens (na mesma ordem) para as novas áreas. */
+    private void copyOwner(int slot, Slab toOwners, Slab toOrders) {
+        int owner = toOwners.allocate();
+        ByteBuffer ownerBuf = toOwners.buffer(owner);
+        int ownerOff = toOwners.offset(owner);
+        ownerBuf.put(ownerOff, owners.buffer(slot), owners.offset(slot), OWNER_BYTES);
+        int head = NONE;
+        int tail = NONE;
+        int order = ownerBuf.getInt(ownerOff + O_HEAD);
+        while (order != NONE) {
+            ByteBuffer from = orders.buffer(order);
+            int fromOff = orders.offset(order);
+            int copy = toOrders.allocate();
+            ByteBuffer buf = toOrders.buffer(copy);
+            int off = toOrders.offset(copy);
+            buf.put(off, from, fromOff, ORDER_BYTES);
+            buf.putInt(off + R_OWNER, owner);
+            buf.putInt(off + R_NEXT, NONE);
+            if (tail == NONE) {
+                head = copy;
+            } else {
+                toOrders.buffer(tail).putInt(toOrders.offset(tail) + R_NEXT, copy);
+            }
+            tail = copy;
+            order = from.getInt(fromOff + R_NEXT);
+        }
+        ownerBuf.putInt(ownerOff + O_HEAD, head);
+        ownerBuf.putInt(ownerOff + O_TAIL, tail);
+    }
+
+    private long syncedAt(int ownerSlot) {
+        return owners.buffer(ownerSlot).getLong(owners.offset(ownerSlot) + O_SYNCED);
+    }
+
+    private void setState(int order, Boolean active, Long remainingSeconds, long now) {
+        ByteBuffer buf = orders.buffer(order);
+        int off = orders.offset(order);
+        int flags = buf.getInt(off + R_FLAGS);
+        boolean wasActive = (flags & F_ACTIVE) != 0;
+        boolean isActive = active != null ? active : wasActive;
+        long time = buf.getLong(off + R_TIME);
+
+        if (remainingSeconds != null) {
+            long remaining = Math.max(0, remainingSeconds);
+            time = isActive ? now + TimeUnit.SECONDS.toMillis(remaining) : remaining;
+            flags |= F_REMAINING_KNOWN;
+        } else if ((flags & F_REMAINING_KNOWN) != 0 && wasActive != isActive) {
+            // pausa congela o restante; retomada volta a contar a partir de agora
+            time = isActive
+                    ? now + TimeUnit.SECONDS.toMillis(time)
+                    : Math.max(0, TimeUnit.MILLISECONDS.toSeconds(time - now));
+        }
+        if (active != null) {
+            flags |= F_ACTIVE_KNOWN;
+        }
+        flags = isActive ? flags | F_ACTIVE : flags & ~F_ACTIVE;
+        buf.putInt(off + R_FLAGS, flags);
+        buf.putLong(off + R_TIME, time);
+    }
+
+    private int insertOwner(String address) {
+        int slot = owners.allocate();
+        ByteBuffer buf = owners.buffer(slot);
+        int off = owners.offset(slot);
+        for (int i = 0; i < ADDRESS_LENGTH; i++) {
+            buf.put(off + i, (byte) address.charAt(i));
+        }
+        buf.putInt(off + O_HEAD, NONE);
+        buf.putInt(off + O_TAIL, NONE);
+        buf.putInt(off + O_COUNT, 0);
+        buf.putLong(off + O_SYNCED, UNKNOWN);
+        if (ownerIndex.needsGrowth(owners.size())) {
+            ownerIndex = rebuildOwnerIndex(ownerIndex.capacity() * 2);
+        } else {
+            ownerIndex.insert(ownerHash(slot), slot);
+        }
+        return slot;
+    }
+
+    private int insertOrder(int owner, long orderId) {
+        int slot = orders.allocate();
+        ByteBuffer buf = orders.buffer(slot);
+        int off = orders.offset(slot);
+        buf.putInt(off + R_OWNER, owner);
+        buf.putInt(off + R_NEXT, NONE);
+        buf.putLong(off + R_ORDER_ID, orderId);
+        buf.putLong(off + R_PACKAGE_ID, UNKNOWN);
+        buf.putInt(off + R_FLAGS, 0);
+        buf.putLong(off + R_TIME, 0);
+
+        ByteBuffer ownerBuf = owners.buffer(owner);
+        int ownerOff = owners.offset(owner);
+        int tail = ownerBuf.getInt(ownerOff + O_TAIL);
+        if (tail == NONE) {
+            ownerBuf.putInt(ownerOff + O_HEAD, slot);
+        } else {
+            orders.buffer(tail).putInt(orders.offset(tail) + R_NEXT, slot);
+        }
+        ownerBuf.putInt(ownerOff + O_TAIL, slot);
+        ownerBuf.putInt(ownerOff + O_COUNT, ownerBuf.getInt(ownerOff + O_COUNT) + 1);
+
+        if (orderIndex.needsGrowth(orders.size())) {
+            orderIndex = rebuildOrderIndex(orderIndex.capacity() * 2);
+        } else {
+            orderIndex.insert(orderHash(owner, orderId), slot);
+        }
+        return slot;
+    }
+
+    private IntTable rebuildOwnerIndex(int capacity) {
+        IntTable table = new IntTable(capacity);
+        for (int slot = 0; slot < owners.size(); slot++) {
+            table.insert(ownerHash(slot), slot);
+        }
+        return table;
+    }
+
+    private IntTable rebuildOrderIndex(int capacity) {
+        IntTable table = new IntTable(capacity);
+        for (int slot = 0; slot < orders.size(); slot++) {
+            ByteBuffer buf = orders.buffer(slot);
+            int off = orders.offset(slot);
+            table.insert(orderHash(buf.getInt(off + R_OWNER), buf.getLong(off + R_ORDER_ID)), slot);
+        }
+        return table;
+    }
+
+    // ------------------------------------------------------------------ busca
+
+    private int ownerSlot(String address) {
+        IntTable table = ownerIndex;
+        int mask = table.capacity() - 1;
+        for (int i = mix(address.hashCode()) & mask;; i = (i + 1) & mask) {
+            int slot = table.get(i);
+            if (slot == NONE || addressEquals(slot, address)) {
+                return slot;
+            }
+        }
+    }
+
+    private int orderSlot(int owner, long orderId) {
+        IntTable table = orderIndex;
+        int mask = table.capacity() - 1;
+        for (int i = orderHash(owner, orderId) & mask;; i = (i + 1) & mask) {
+            int slot = table.get(i);
+            if (slot == NONE) {
+                return NONE;
+            }
+            ByteBuffer buf = orders.buffer(slot);
+            int off = orders.offset(slot);
+            if (buf.getInt(off + R_OWNER) == owner && buf.getLong(off + R_ORDER_ID) == orderId) {
+                return slot;
+            }
+        }
+    }
+
+    private boolean addressEquals(int slot, String address) {
+        ByteBuffer buf = owners.buffer(slot);
+        int off = owners.offset(slot);
+        for (int i = 0; i < ADDRESS_LENGTH; i++) {
+            if (buf.get(off + i) != (byte) address.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Mesmo valor de String.hashCode() do endereço, calculado sobre os bytes gravados. */
+    private int ownerHash(int slot) {
+        ByteBuffer buf = owners.buffer(slot);
+        int off = owners.offset(slot);
+        int h = 0;
+        for (int i = 0; i < ADDRESS_LENGTH; i++) {
+            h = 31 * h + buf.get(off + i);
+        }
+        return mix(h);
+    }
+
+    private static int orderHash(int owner, long orderId) {
+        long h = orderId * 0x9E3779B97F4A7C15L + owner;
+        h ^= h >>> 32;
+        return mix((int) h);
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    private static boolean validAddress(String address) {
+        if (address == null || address.length() != ADDRESS_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < ADDRESS_LENGTH; i++) {
+            if (address.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // ------------------------------------------------------------------ armazenamento
+
+    /** Registros de tamanho fixo em blocos diretos de 64K registros. */
+    private static final class Slab {
+        private static final int SHIFT = 16;
+        private static final int MASK = (1 << SHIFT) - 1;
+
+        private final int recordBytes;
+        private ByteBuffer[] chunks = new ByteBuffer[0];
+        private int size;
+
+        Slab(int recordBytes) {
+            this.recordBytes = recordBytes;
+        }
+
+        int allocate() {
+            int slot = size;
+            if ((slot >>> SHIFT) == chunks.length) {
+                chunks = Arrays.copyOf(chunks, chunks.length + 1);
+                chunks[chunks.length - 1] = ByteBuffer.allocateDirect(recordBytes << SHIFT);
+            }
+            size++;
+            return slot;
+        }
+
+        ByteBuffer buffer(int slot) {
+            return chunks[slot >>> SHIFT];
+        }
+
+        int offset(int slot) {
+            return (slot & MASK) * recordBytes;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long reservedBytes() {
+            return (long) chunks.length * (recordBytes << SHIFT);
+        }
+    }
+
+    /** Tabela de endereçamento aberto (sondagem linear) de slots; 0 = vazio. */
+    private static final class IntTable {
+        private final ByteBuffer table;
+        private final int capacity;
+
+        IntTable(int minCapacity) {
+            int capacity = Integer.highestOneBit(Math.max(16, minCapacity) - 1) << 1;
+            this.capacity = capacity;
+            this.table = ByteBuffer.allocateDirect(capacity * Integer.BYTES);
+        }
+
+        int capacity() {
+            return capacity;
+        }
+
+        long bytes() {
+            return (long) capacity * Integer.BYTES;
+        }
+
+        boolean needsGrowth(int entries) {
+            return entries * 4L > capacity * 3L;
+        }
+
+        /** Slot guardado na posição, ou NONE. */
+        int get(int index) {
+            return table.getInt(index * Integer.BYTES) - 1;
+        }
+
+        void insert(int hash, int slot) {
+            int mask = capacity - 1;
+            int i = hash & mask;
+            while (table.getInt(i * Integer.BYTES) != 0) {
+                i = (i + 1) & mask;
+            }
+            table.putInt(i * Integer.BYTES, slot + 1);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.conectabrasil.infrastructure.readmodel;
+
+import java.util.List;
+
+/**
+ * Read model local de ordens por owner (o que get_user_packages devolve) e do
+ * estado de cada ordem (ativa, tempo restante).
+ *
+ * As leituras não alocam: os campos são entregues como primitivos ao
+ * OrderVisitor. O visitor roda sob o lock de leitura e não deve escrever no
+ * read model.
+ */
+public interface OrderReadModel {
+
+    /** Valor de packageId/remainingSeconds quando o campo não é conhecido. */
+    long UNKNOWN = -1;
+
+    @FunctionalInterface
+    interface OrderVisitor {
+        void visit(long orderId, long packageId, boolean active, long remainingSeconds);
+    }
+
+    /**
+     * Registra a listagem completa de um owner (mesmo formato de
+     * get_user_packages: mapas com order_id, package_id, is_active). Ordens já
+     * conhecidas mantêm a posição.
+     *
+     * @param syncedAtMillis quando a listagem foi lida da rede (epoch ms); se
+     *                       veio de cache, o instante da leitura original
+     */
+    void replaceOwner(String ownerAddress, List<Object> orders, long syncedAtMillis);
+
+    /** Listagem lida da rede agora. */
+    default void replaceOwner(String ownerAddress, List<Object> orders) {
+        replaceOwner(ownerAddress, orders, System.currentTimeMillis());
+    }
+
+    /** Atualiza o estado de uma ordem já conhecida; campos nulos não mudam. */
+    void updateState(String ownerAddress, long orderId, Boolean active, Long remainingSeconds);
+
+    /** Força a próxima leitura do owner a ir para a rede (ex.: nova compra a caminho). */
+    void markStale(String ownerAddress);
+
+    /** Momento (epoch ms) da última listagem completa, ou UNKNOWN. */
+    long syncedAtMillis(String ownerAddress);
+
+    /**
+     * Percorre as ordens do owner na ordem em que foram registradas.
+     *
+     * @return número de ordens visitadas, ou -1 se o owner não é conhecido
+     */
+    int forEachOrder(String ownerAddress, OrderVisitor visitor);
+
+    long ownerCount();
+
+    long orderCount();
+
+    /** Owners descartados para respeitar o limite de memória (voltam a ser lidos da rede). */
+    long evictedOwners();
+
+    /** Bytes reservados fora do heap (registros + índices). */
+    long offHeapBytes();
+}
@@ -0,0 +1,21 @@
+package com.conectabrasil.infrastructure.readmodel;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "orders.read-model")
+public class ReadModelConfig {
+    private boolean enabled = true;
+    /** Idade máxima da listagem de um owner para ser servida sem consultar a rede. */
+    private long maxAgeSeconds = 15;
+    /** Capacidade inicial dos índices (crescem dobrando). */
+    private int initialOwners = 1 << 16;
+    private int initialOrders = 1 << 18;
+    /** Limites do read model (80 e 40 bytes fora do heap por owner/ordem). */
+    private int maxOwners = 1 << 18;
+    private int maxOrders = 1 << 21;
+}
@@ -0,0 +1,22 @@
+package com.conectabrasil.infrastructure.readmodel;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class ReadModelStoreConfig {
+
+    @Bean
+    public OrderReadModel orderReadModel(ReadModelConfig config, MeterRegistry meterRegistry) {
+        OffHeapOrderStore store = new OffHeapOrderStore(config.getInitialOwners(), config.getInitialOrders(),
+                config.getMaxOwners(), config.getMaxOrders());
+        Gauge.builder("orders.read.model.owners", store, OrderReadModel::ownerCount).register(meterRegistry);
+        Gauge.builder("orders.read.model.orders", store, OrderReadModel::orderCount).register(meterRegistry);
+        Gauge.builder("orders.read.model.evicted", store, OrderReadModel::evictedOwners).register(meterRegistry);
+        Gauge.builder("orders.read.model.offheap.bytes", store, OrderReadModel::offHeapBytes).register(meterRegistry);
+        return store;
+    }
+}
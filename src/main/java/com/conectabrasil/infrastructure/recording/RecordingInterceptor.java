@@ -0,0 +1,76 @@
+package com.conectabrasil.infrastructure.recording;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+
+/**
+ * Interceptor OkHttp do modo record: repassa a chamada JSON-RPC para a rede e
+ * grava requisição, resposta e latência no RpcRecordingFile. Só respostas
+ * HTTP 2xx são gravadas; falha ao gravar não afeta a chamada.
+ */
+public class RecordingInterceptor implements Interceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(RecordingInterceptor.class);
+
+    private final RpcRecordingConfig config;
+    private final RpcRecordingFile.Writer writer;
+    private final ObjectMapper objectMapper;
+    private final Counter recorded;
+    private final Counter failures;
+
+    public RecordingInterceptor(RpcRecordingConfig config, RpcRecordingFile.Writer writer, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.config = config;
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+        this.recorded = Counter.builder("soroban.rpc.recording.recorded").register(meterRegistry);
+        this.failures = Counter.builder("soroban.rpc.recording.failures").register(meterRegistry);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.body() == null) {
+            return chain.proceed(request);
+        }
+        Buffer buffer = new Buffer();
+        request.body().writeTo(buffer);
+        byte[] requestBytes = buffer.readByteArray();
+        JsonNode rpc = objectMapper.readTree(requestBytes);
+        String method = rpc.path("method").asText("");
+        if (!config.covers(method)) {
+            return chain.proceed(request);
+        }
+
+        long start = System.nanoTime();
+        Response response = chain.proceed(request);
+        if (!response.isSuccessful() || response.body() == null) {
+            return response;
+        }
+        ResponseBody body = response.body();
+        byte[] responseBytes = body.bytes();
+        long latencyMicros = (System.nanoTime() - start) / 1_000;
+        try {
+            writer.append(method, RpcExchangeKey.of(method, rpc.get("params")), latencyMicros, requestBytes,
+                    responseBytes);
+            recorded.increment();
+        } catch (IOException e) {
+            failures.increment();
+            log.warn("Falha ao gravar chamada {}: {}", method, e.getMessage());
+        }
+        return response.newBuilder().body(ResponseBody.create(responseBytes, body.contentType())).build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.conectabrasil.infrastructure.recording;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.conectabrasil.infrastructure.recording.RpcRecordingFile.Exchange;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+
+/**
+ * Interceptor OkHttp do modo replay: responde as chamadas JSON-RPC com as
+ * respostas gravadas, sem ir à rede.
+ *
+ * Requisições com a mesma chave (RpcExchangeKey) recebem as respostas na
+ * ordem em que foram gravadas; esgotada a fila, repete a última. Assim a
+ * mesma carga produz sempre as mesmas respostas. A latência gravada é
+ * reproduzida multiplicada por latency-scale.
+ */
+public class ReplayInterceptor implements Interceptor {
+
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private final RpcRecordingConfig config;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Recorded> byKey = new HashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    public ReplayInterceptor(RpcRecordingConfig config, List<Exchange> exchanges, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.config = config;
+        this.objectMapper = objectMapper;
+        for (Exchange exchange : exchanges) {
+            byKey.computeIfAbsent(exchange.key(), key -> new Recorded()).exchanges.add(exchange);
+        }
+        this.hits = Counter.builder("soroban.rpc.replay.hits").register(meterRegistry);
+        this.misses = Counter.builder("soroban.rpc.replay.misses").register(meterRegistry);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        if (request.body() == null) {
+            return chain.proceed(request);
+        }
+        Buffer buffer = new Buffer();
+        request.body().writeTo(buffer);
+        JsonNode rpc = objectMapper.readTree(buffer.readByteArray());
+        String method = rpc.path("method").asText("");
+        if (!config.covers(method)) {
+            return chain.proceed(request);
+        }
+
+        Recorded recorded = byKey.get(RpcExchangeKey.of(method, rpc.get("params")));
+        if (recorded == null) {
+            misses.increment();
+            if (config.isPassthroughUnmatched()) {
+                return chain.proceed(request);
+            }
+            ObjectNode error = objectMapper.createObjectNode();
+            error.put("jsonrpc", "2.0");
+            error.set("id", rpc.get("id"));
+            error.putObject("error").put("code", -32000).put("message", "Sem gravação para " + method);
+            return respond(request, objectMapper.writeValueAsBytes(error));
+        }
+        hits.increment();
+        Exchange exchange = recorded.next();
+        delay(exchange.latencyMicros());
+
+        // o SDK gera um id novo por chamada: devolve a resposta com o id desta requisição
+        JsonNode response = objectMapper.readTree(exchange.response());
+        if (response instanceof ObjectNode object && rpc.has("id")) {
+            object.set("id", rpc.get("id"));
+        }
+        return respond(request, objectMapper.writeValueAsBytes(response));
+    }
+
+    /** Número de chaves distintas carregadas da gravação. */
+    public int size() {
+        return byKey.size();
+    }
+
+    private void delay(long latencyMicros) throws IOException {
+        long micros = (long) (latencyMicros * config.getLatencyScale());
+        if (micros <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MICROSECONDS.sleep(micros);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Replay interrompido", e);
+        }
+    }
+
+    private static Response respond(Request request, byte[] body) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(body, JSON))
+                .build();
+    }
+
+    private static final class Recorded {
+        private final List<Exchange> exchanges = new ArrayList<>();
+        private final AtomicInteger position = new AtomicInteger();
+
+        Exchange next() {
+            int index = position.getAndIncrement();
+            return exchanges.get(Math.min(index, exchanges.size() - 1));
+        }
+    }
+}
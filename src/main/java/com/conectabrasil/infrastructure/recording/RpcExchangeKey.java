@@ -0,0 +1,70 @@
+package com.conectabrasil.infrastructure.recording;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.stellar.sdk.xdr.EnvelopeType;
+import org.stellar.sdk.xdr.Operation;
+import org.stellar.sdk.xdr.Transaction;
+import org.stellar.sdk.xdr.TransactionEnvelope;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Chave de correspondência entre uma requisição JSON-RPC e a gravação.
+ *
+ * O id do JSON-RPC é ignorado. Para simulateTransaction/sendTransaction só
+ * entram as operações do envelope: sequência, fee e time bounds mudam a cada
+ * execução (setTimeout usa o relógio) e não alteram o resultado da simulação.
+ * A conta de origem entra só no sendTransaction: as simulações de leitura e
+ * de start/pause usam uma conta aleatória a cada chamada, e quem importa para
+ * o contrato está nos argumentos da operação. Os demais métodos usam os
+ * params inteiros.
+ */
+public final class RpcExchangeKey {
+
+    private RpcExchangeKey() {
+    }
+
+    public static String of(String method, JsonNode params) {
+        byte[] material = null;
+        if (("simulateTransaction".equals(method) || "sendTransaction".equals(method))
+                && params != null && params.hasNonNull("transaction")) {
+            material = invocationOf(params.get("transaction").asText(), "sendTransaction".equals(method));
+        }
+        if (material == null) {
+            material = (params == null ? "" : params.toString()).getBytes(StandardCharsets.UTF_8);
+        }
+        return method + ":" + digest(method.getBytes(StandardCharsets.UTF_8), material);
+    }
+
+    private static byte[] invocationOf(String envelopeXdr, boolean withSource) {
+        try {
+            TransactionEnvelope envelope = TransactionEnvelope.fromXdrBase64(envelopeXdr);
+            if (envelope.getDiscriminant() != EnvelopeType.ENVELOPE_TYPE_TX) {
+                return null;
+            }
+            Transaction tx = envelope.getV1().getTx();
+            StringBuilder material = new StringBuilder(withSource ? tx.getSourceAccount().toXdrBase64() : "");
+            for (Operation operation : tx.getOperations()) {
+                material.append('|').append(operation.toXdrBase64());
+            }
+            return material.toString().getBytes(StandardCharsets.UTF_8);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String digest(byte[] prefix, byte[] material) {
+        try {
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            sha.update(prefix);
+            sha.update(material);
+            return HexFormat.of().formatHex(sha.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
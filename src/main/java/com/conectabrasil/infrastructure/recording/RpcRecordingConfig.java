@@ -0,0 +1,36 @@
+package com.conectabrasil.infrastructure.recording;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "stellar.rpc-recording")
+public class RpcRecordingConfig {
+    /** off, record (grava o tráfego real) ou replay (responde a partir da gravação). */
+    private String mode = "off";
+    private String file = "./data/rpc/recording.cbrr";
+    /** Métodos JSON-RPC gravados/reproduzidos; vazio = todos. */
+    private List<String> methods = new ArrayList<>();
+    /** Replay: fator sobre a latência gravada (0 = responde na hora, 2 = duas vezes mais lento). */
+    private double latencyScale = 1.0;
+    /** Replay: requisições sem gravação vão para a rede (true) ou falham com erro JSON-RPC (false). */
+    private boolean passthroughUnmatched = false;
+
+    public boolean isRecording() {
+        return "record".equalsIgnoreCase(mode);
+    }
+
+    public boolean isReplaying() {
+        return "replay".equalsIgnoreCase(mode);
+    }
+
+    public boolean covers(String method) {
+        return methods.isEmpty() || methods.contains(method);
+    }
+}
@@ -0,0 +1,122 @@
+package com.conectabrasil.infrastructure.recording;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Arquivo de gravação do tráfego JSON-RPC do Soroban: stream gzip de
+ * registros binários.
+ *
+ * <pre>
+ * header:   magic "CBRR" | versão u16 | startedAt i64 (epoch ms)
+ * registro: method str | key str | offset i64 (ms desde startedAt)
+ *           latency i64 (µs) | request bytes | response bytes
+ * str:      u16 tamanho + UTF-8; bytes: u32 tamanho + conteúdo
+ * </pre>
+ *
+ * Cada registro é escrito inteiro sob o lock do writer. Um arquivo cortado
+ * (processo morto sem fechar o gzip) é lido até o último registro completo.
+ */
+public final class RpcRecordingFile {
+
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x43425252; // "CBRR"
+
+    /** Uma troca requisição/resposta gravada. */
+    public record Exchange(String method, String key, long offsetMillis, long latencyMicros, byte[] request,
+            byte[] response) {
+    }
+
+    private RpcRecordingFile() {
+    }
+
+    public static Writer create(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return new Writer(path);
+    }
+
+    public static List<Exchange> readAll(Path path) throws IOException {
+        List<Exchange> exchanges = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(Files.newInputStream(path))))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Arquivo de gravação inválido: " + path);
+            }
+            int version = in.readUnsignedShort();
+            if (version != VERSION) {
+                throw new IOException("Versão de gravação não suportada: " + version);
+            }
+            in.readLong();
+            while (true) {
+                try {
+                    exchanges.add(new Exchange(in.readUTF(), in.readUTF(), in.readLong(), in.readLong(),
+                            readBytes(in), readBytes(in)));
+                } catch (EOFException e) {
+                    break;
+                }
+            }
+        } catch (EOFException e) {
+            // gzip cortado antes do trailer: fica com o que foi lido
+        }
+        return exchanges;
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    public static final class Writer implements Closeable {
+
+        private final DataOutputStream out;
+        private final long startedAtMillis;
+        private long count;
+
+        private Writer(Path path) throws IOException {
+            this.out = new DataOutputStream(
+                    new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(path))));
+            this.startedAtMillis = System.currentTimeMillis();
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(startedAtMillis);
+        }
+
+        public synchronized void append(String method, String key, long latencyMicros, byte[] request,
+                byte[] response) throws IOException {
+            out.writeUTF(method);
+            out.writeUTF(key);
+            out.writeLong(System.currentTimeMillis() - startedAtMillis);
+            out.writeLong(latencyMicros);
+            out.writeInt(request.length);
+            out.write(request);
+            out.writeInt(response.length);
+            out.write(response);
+            count++;
+        }
+
+        public synchronized long count() {
+            return count;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            out.close();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.conectabrasil.infrastructure.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Limite de concorrência adaptativo (estilo gradient/AIMD) para chamadas RPC.
+ *
+ * Mantém uma linha de base da latência (média exponencial lenta) e compara
+ * cada amostra com ela: enquanto a latência fica dentro da tolerância o limite
+ * cresce (~sqrt(limite) por janela); quando sobe, o limite cai
+ * proporcionalmente; falhas/timeouts aplicam decréscimo multiplicativo.
+ * Acima do limite as chamadas esperam numa fila curta e, se ela estiver cheia
+ * ou o tempo de espera acabar, são rejeitadas com RpcRejectedException.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final RpcLimiterConfig config;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+
+    private double limit;
+    private double baselineRttNanos;
+    private int inflight;
+    private int queued;
+
+    public AdaptiveConcurrencyLimiter(RpcLimiterConfig config) {
+        this.config = config;
+        this.limit = config.getInitialLimit();
+    }
+
+    public long acquire(String operation) throws InterruptedException {
+        return acquire(operation, 1.0);
+    }
+
+    /**
+     * Reserva um slot, esperando no máximo maxQueueWaitMs.
+     *
+     * @param share fração do limite que esta chamada pode ocupar (leituras &lt; 1
+     *              deixam folga para o checkout)
+     * @return instante (nanoTime) de início, a ser passado para {@link #release}
+     */
+    public long acquire(String operation, double share) throws InterruptedException {
+        lock.lock();
+        try {
+            if (inflight < allowed(share)) {
+                inflight++;
+                return System.nanoTime();
+            }
+            if (queued >= config.getMaxQueueSize()) {
+                throw rejected(operation, "fila cheia");
+            }
+            queued++;
+            try {
+                long remaining = TimeUnit.MILLISECONDS.toNanos(config.getMaxQueueWaitMs());
+                while (inflight >= allowed(share)) {
+                    if (remaining <= 0) {
+                        throw rejected(operation, "tempo de espera esgotado");
+                    }
+                    remaining = slotFreed.awaitNanos(remaining);
+                }
+                inflight++;
+                return System.nanoTime();
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Libera o slot e ajusta o limite com a latência observada.
+     *
+     * @param dropped true se a chamada falhou por timeout/erro de transporte
+     */
+    public void release(long startNanos, boolean dropped) {
+        long rtt = System.nanoTime() - startNanos;
+        lock.lock();
+        try {
+            boolean saturated = inflight >= limit / 2;
+            inflight--;
+            if (dropped) {
+                limit = Math.max(config.getMinLimit(), limit * config.getBackoffRatio());
+            } else {
+                adjust(rtt, saturated);
+            }
+            slotFreed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int allowed(double share) {
+        return Math.max(1, (int) (limit * share));
+    }
+
+    private void adjust(long rtt, boolean saturated) {
+        if (baselineRttNanos == 0) {
+            baselineRttNanos = rtt;
+            return;
+        }
+        // linha de base lenta; se a latência caiu bastante, acompanha mais rápido
+        baselineRttNanos = baselineRttNanos / rtt > 2 ? baselineRttNanos * 0.9 + rtt * 0.1
+                : baselineRttNanos * 0.98 + rtt * 0.02;
+        double gradient = Math.max(0.5, Math.min(1.0, config.getRttTolerance() * baselineRttNanos / rtt));
+        // sem saturação o limite atual não está sendo testado: não cresce
+        double headroom = saturated ? Math.sqrt(limit) : 0;
+        double target = limit * gradient + headroom;
+        double smoothed = limit * (1 - config.getSmoothing()) + target * config.getSmoothing();
+        limit = Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), smoothed));
+    }
+
+    private RpcRejectedException rejected(String operation, String reason) {
+        return new RpcRejectedException(
+                "Soroban RPC sobrecarregado (" + operation + ": " + reason + "), tente novamente", 1);
+    }
+
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getInflight() {
+        lock.lock();
+        try {
+            return inflight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.conectabrasil.infrastructure.resilience;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Orçamento de concorrência de uma classe de caminho (read, checkout, admin).
+ * Não enfileira além de maxWaitMs: excesso é rejeitado para liberar a thread.
+ */
+public class Bulkhead {
+
+    private final PathClass pathClass;
+    private final int maxConcurrent;
+    private final long maxWaitMs;
+    private final Semaphore permits;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public Bulkhead(PathClass pathClass, int maxConcurrent, long maxWaitMs) {
+        this.pathClass = pathClass;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitMs = maxWaitMs;
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    public boolean tryAcquire() throws InterruptedException {
+        boolean acquired = maxWaitMs <= 0 ? permits.tryAcquire()
+                : permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        if (!acquired) {
+            rejected.incrementAndGet();
+        }
+        return acquired;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    /** Rejeição decidida fora do bulkhead (ex.: shedding por prioridade). */
+    public void recordRejection() {
+        rejected.incrementAndGet();
+    }
+
+    public PathClass getPathClass() {
+        return pathClass;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getInUse() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public double getSaturation() {
+        return (double) getInUse() / maxConcurrent;
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+}
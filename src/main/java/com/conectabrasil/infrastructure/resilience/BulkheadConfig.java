@@ -0,0 +1,33 @@
+package com.conectabrasil.infrastructure.resilience;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "bulkhead")
+public class BulkheadConfig {
+    private boolean enabled = true;
+    /**
+     * Leituras são descartadas de imediato quando o checkout passa desta fração
+     * do seu orçamento (checkout sob pressão tem prioridade).
+     */
+    private double shedReadsAboveCheckoutUsage = 0.75;
+    /** Fração máxima do limite de concorrência do RPC que leituras podem ocupar. */
+    private double readRpcShare = 0.6;
+    private Map<PathClass, Budget> budgets = new EnumMap<>(PathClass.class);
+
+    @Data
+    public static class Budget {
+        private int maxConcurrent = 20;
+        private long maxWaitMs = 0;
+        private List<String> patterns = new ArrayList<>();
+    }
+}
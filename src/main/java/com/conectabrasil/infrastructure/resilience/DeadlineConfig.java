@@ -0,0 +1,32 @@
+package com.conectabrasil.infrastructure.resilience;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "deadline")
+public class DeadlineConfig {
+    private boolean enabled = true;
+    /** Header com o orçamento pedido pelo cliente, em milissegundos. */
+    private String header = "X-Request-Timeout-Ms";
+    /** Orçamento quando nem o header nem um endpoint se aplica. */
+    private long defaultBudgetMs = 10_000;
+    /** Limites aplicados ao valor do header. */
+    private long minBudgetMs = 100;
+    private long maxBudgetMs = 30_000;
+    /** Orçamento por endpoint (primeiro padrão que casar). */
+    private Map<String, EndpointBudget> endpoints = new LinkedHashMap<>();
+
+    @Data
+    public static class EndpointBudget {
+        /** Padrão de path do Spring MVC, ex.: /packages/user/** */
+        private String pattern;
+        private long budgetMs = 10_000;
+    }
+}
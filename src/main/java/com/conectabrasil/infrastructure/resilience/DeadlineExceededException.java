@@ -0,0 +1,20 @@
+package com.conectabrasil.infrastructure.resilience;
+
+/**
+ * O orçamento de latência da requisição acabou antes (ou durante) um passo
+ * RPC. Estende RpcRejectedException para atravessar os use cases e
+ * controllers do mesmo jeito; o RestExceptionHandler responde 504.
+ */
+public class DeadlineExceededException extends RpcRejectedException {
+
+    private final String operation;
+
+    public DeadlineExceededException(String operation) {
+        super("Prazo da requisição esgotado em " + operation, 0);
+        this.operation = operation;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+}
@@ -0,0 +1,36 @@
+package com.conectabrasil.infrastructure.resilience;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Limita connect/read/write timeout de cada chamada HTTP ao prazo restante da
+ * requisição (RequestDeadline); sem prazo, valem os timeouts do cliente.
+ */
+public class DeadlineOkHttpInterceptor implements Interceptor {
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        long remaining = RequestDeadline.remainingMillis();
+        if (remaining == RequestDeadline.NONE) {
+            return chain.proceed(chain.request());
+        }
+        if (remaining <= 0) {
+            throw new InterruptedIOException("Prazo da requisição esgotado");
+        }
+        return chain
+                .withConnectTimeout(bounded(remaining, chain.connectTimeoutMillis()), TimeUnit.MILLISECONDS)
+                .withReadTimeout(bounded(remaining, chain.readTimeoutMillis()), TimeUnit.MILLISECONDS)
+                .withWriteTimeout(bounded(remaining, chain.writeTimeoutMillis()), TimeUnit.MILLISECONDS)
+                .proceed(chain.request());
+    }
+
+    private static int bounded(long remaining, int configured) {
+        // 0 no OkHttp = sem timeout
+        return configured == 0 ? (int) Math.min(remaining, Integer.MAX_VALUE) : (int) Math.min(remaining, configured);
+    }
+}
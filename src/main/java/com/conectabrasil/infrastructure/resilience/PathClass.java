@@ -0,0 +1,25 @@
+package com.conectabrasil.infrastructure.resilience;
+
+/**
+ * Classe de caminho da requisição corrente, usada pelos bulkheads e pela
+ * priorização das chamadas RPC. CHECKOUT é o caminho protegido.
+ */
+public enum PathClass {
+    READ,
+    CHECKOUT,
+    ADMIN;
+
+    private static final ThreadLocal<PathClass> CURRENT = new ThreadLocal<>();
+
+    public static PathClass current() {
+        return CURRENT.get();
+    }
+
+    public static void set(PathClass pathClass) {
+        CURRENT.set(pathClass);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,53 @@
+package com.conectabrasil.infrastructure.resilience;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prazo (orçamento de latência) da requisição corrente, por thread. Definido
+ * pelo DeadlineInterceptor na entrada e consultado por RpcExecutor (antes de
+ * cada passo e nos retries) e pelo interceptor OkHttp, que limita os
+ * timeouts de cada chamada ao tempo que resta.
+ *
+ * Threads sem prazo (agendadores, warm-up) não têm limite.
+ */
+public final class RequestDeadline {
+
+    public static final long NONE = Long.MAX_VALUE;
+
+    private static final ThreadLocal<Long> DEADLINE_NANOS = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static void start(long budgetMillis) {
+        DEADLINE_NANOS.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis));
+    }
+
+    /** Prazo absoluto (nanoTime) da thread, ou null; para levar o prazo a outra thread. */
+    public static Long capture() {
+        return DEADLINE_NANOS.get();
+    }
+
+    /** Restaura um prazo capturado (null limpa). */
+    public static void restore(Long deadlineNanos) {
+        if (deadlineNanos == null) {
+            DEADLINE_NANOS.remove();
+        } else {
+            DEADLINE_NANOS.set(deadlineNanos);
+        }
+    }
+
+    public static void clear() {
+        DEADLINE_NANOS.remove();
+    }
+
+    /** Milissegundos restantes (pode ser negativo), ou NONE sem prazo. */
+    public static long remainingMillis() {
+        Long deadline = DEADLINE_NANOS.get();
+        return deadline == null ? NONE : TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+    }
+
+    public static boolean isExpired() {
+        return remainingMillis() <= 0;
+    }
+}
@@ -0,0 +1,9 @@
+package com.conectabrasil.infrastructure.resilience;
+
+/**
+ * Uma chamada ao Soroban RPC (as do SDK declaram Exception).
+ */
+@FunctionalInterface
+public interface RpcCall<T> {
+    T call() throws Exception;
+}
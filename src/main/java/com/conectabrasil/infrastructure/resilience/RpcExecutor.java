@@ -0,0 +1,158 @@
+package com.conectabrasil.infrastructure.resilience;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+import org.stellar.sdk.exception.AccountNotFoundException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Ponto único por onde passam as chamadas soroban.* do SorobanContractService:
+ * aplica o limite de concorrência adaptativo (com prioridade por PathClass) e
+ * registra latência/rejeições.
+ *
+ * Também respeita o prazo da requisição (RequestDeadline): um passo não começa
+ * com o prazo esgotado, e falhas transitórias (I/O, timeout, 429) de operações
+ * idempotentes são repetidas com backoff exponencial com jitter enquanto o
+ * prazo comportar mais uma tentativa.
+ */
+@Component
+public class RpcExecutor {
+
+    private static final Set<String> TRANSIENT_ERRORS = Set.of("ConnectionErrorException",
+            "RequestTimeoutException", "TooManyRequestsException");
+
+    private final RpcLimiterConfig config;
+    private final BulkheadConfig bulkheadConfig;
+    private final RpcRetryConfig retryConfig;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final MeterRegistry meterRegistry;
+    private final Counter rejected;
+
+    public RpcExecutor(RpcLimiterConfig config, BulkheadConfig bulkheadConfig, RpcRetryConfig retryConfig,
+            MeterRegistry meterRegistry) {
+        this.config = config;
+        this.bulkheadConfig = bulkheadConfig;
+        this.retryConfig = retryConfig;
+        this.limiter = new AdaptiveConcurrencyLimiter(config);
+        this.meterRegistry = meterRegistry;
+        this.rejected = Counter.builder("soroban.rpc.rejected")
+                .description("Chamadas recusadas localmente por sobrecarga")
+                .register(meterRegistry);
+        Gauge.builder("soroban.rpc.limit", limiter, AdaptiveConcurrencyLimiter::getLimit).register(meterRegistry);
+        Gauge.builder("soroban.rpc.inflight", limiter, AdaptiveConcurrencyLimiter::getInflight).register(meterRegistry);
+        Gauge.builder("soroban.rpc.queued", limiter, AdaptiveConcurrencyLimiter::getQueued).register(meterRegistry);
+    }
+
+    public <T> T execute(String operation, RpcCall<T> call) throws Exception {
+        for (int attempt = 1;; attempt++) {
+            if (RequestDeadline.isExpired()) {
+                throw deadlineExceeded(operation);
+            }
+            try {
+                return executeOnce(operation, call);
+            } catch (RpcRejectedException e) {
+                throw e;
+            } catch (Exception e) {
+                if (RequestDeadline.isExpired()) {
+                    throw deadlineExceeded(operation);
+                }
+                if (!shouldRetry(operation, e, attempt)) {
+                    throw e;
+                }
+                long backoff = backoffMillis(attempt);
+                long remaining = RequestDeadline.remainingMillis();
+                if (remaining != RequestDeadline.NONE && remaining - backoff < retryConfig.getMinAttemptBudgetMs()) {
+                    meterRegistry.counter("soroban.rpc.retry.budget.exhausted", "operation", operation).increment();
+                    throw e;
+                }
+                meterRegistry.counter("soroban.rpc.retries", "operation", operation).increment();
+                TimeUnit.MILLISECONDS.sleep(backoff);
+            }
+        }
+    }
+
+    private <T> T executeOnce(String operation, RpcCall<T> call) throws Exception {
+        if (!config.isEnabled()) {
+            return timed(operation, call);
+        }
+        long start;
+        try {
+            start = limiter.acquire(operation, share());
+        } catch (RpcRejectedException e) {
+            rejected.increment();
+            throw e;
+        }
+        boolean dropped = false;
+        try {
+            return timed(operation, call);
+        } catch (Exception e) {
+            // só transporte/timeout/429 indicam sobrecarga; erro de negócio é resposta válida do RPC
+            dropped = isTransient(e);
+            throw e;
+        } finally {
+            limiter.release(start, dropped);
+        }
+    }
+
+    private boolean shouldRetry(String operation, Exception e, int attempt) {
+        return retryConfig.isEnabled() && attempt < retryConfig.getMaxAttempts()
+                && retryConfig.getOperations().contains(operation) && isTransient(e);
+    }
+
+    /** Erros de transporte/timeout/429; erros de negócio (conta inexistente, simulação falhou) não. */
+    private static boolean isTransient(Throwable e) {
+        if (e instanceof AccountNotFoundException) {
+            return false;
+        }
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof IOException || TRANSIENT_ERRORS.contains(t.getClass().getSimpleName())) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /** Backoff exponencial com jitter completo: aleatório em [0, min(max, base * 2^(tentativa-1))]. */
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(retryConfig.getMaxBackoffMs(),
+                retryConfig.getBaseBackoffMs() << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private DeadlineExceededException deadlineExceeded(String operation) {
+        meterRegistry.counter("soroban.rpc.deadline.exceeded", "operation", operation).increment();
+        return new DeadlineExceededException(operation);
+    }
+
+    /** Leituras só ocupam parte do limite; checkout/admin (ou sem classe) usam tudo. */
+    private double share() {
+        return PathClass.current() == PathClass.READ ? bulkheadConfig.getReadRpcShare() : 1.0;
+    }
+
+    private <T> T timed(String operation, RpcCall<T> call) throws Exception {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = call.call();
+            outcome = "success";
+            return result;
+        } finally {
+            Timer.builder("soroban.rpc.latency")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
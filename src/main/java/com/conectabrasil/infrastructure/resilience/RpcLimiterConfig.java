@@ -0,0 +1,24 @@
+package com.conectabrasil.infrastructure.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "stellar.rpc-limiter")
+public class RpcLimiterConfig {
+    private boolean enabled = true;
+    private int initialLimit = 20;
+    private int minLimit = 2;
+    private int maxLimit = 200;
+    /** Quantas chamadas podem esperar por um slot; acima disso a rejeição é imediata. */
+    private int maxQueueSize = 50;
+    private long maxQueueWaitMs = 250;
+    /** Quanto a latência pode subir sobre a linha de base antes de reduzir o limite. */
+    private double rttTolerance = 2.0;
+    private double smoothing = 0.2;
+    /** Fator do decréscimo multiplicativo quando a chamada falha/expira. */
+    private double backoffRatio = 0.9;
+}
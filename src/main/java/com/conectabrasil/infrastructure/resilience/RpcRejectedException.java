@@ -0,0 +1,19 @@
+package com.conectabrasil.infrastructure.resilience;
+
+/**
+ * A chamada foi recusada localmente (sobrecarga) sem chegar ao RPC.
+ * O cliente pode tentar novamente após retryAfterSeconds.
+ */
+public class RpcRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RpcRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
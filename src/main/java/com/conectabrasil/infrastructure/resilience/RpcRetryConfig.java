@@ -0,0 +1,25 @@
+package com.conectabrasil.infrastructure.resilience;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "stellar.rpc-retry")
+public class RpcRetryConfig {
+    private boolean enabled = true;
+    /** Tentativas por passo, incluindo a primeira. */
+    private int maxAttempts = 3;
+    private long baseBackoffMs = 50;
+    private long maxBackoffMs = 1000;
+    /** Não tenta de novo se sobrar menos que isso do prazo depois da espera. */
+    private long minAttemptBudgetMs = 200;
+    /** Operações idempotentes (leituras/simulações); envio de transação nunca entra aqui. */
+    private List<String> operations = new ArrayList<>(
+            List.of("getAccount", "simulateTransaction", "prepareTransaction", "getEvents", "getLatestLedger"));
+}
@@ -0,0 +1,213 @@
+package com.conectabrasil.infrastructure.scheduling;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel (estilo Varghese &amp; Lauck / Netty): um array circular
+ * de buckets com listas duplamente encadeadas. Inserção e cancelamento são
+ * O(1) e não alocam nada além do próprio Timeout; a thread do wheel avança um
+ * bucket por tick e dispara os timeouts vencidos.
+ *
+ * schedule/cancel podem ser chamados de qualquer thread: vão para filas
+ * lock-free consumidas pela thread do wheel no começo de cada tick, que é a
+ * única a mexer nos buckets. O callback roda na thread do wheel e deve ser curto.
+ */
+public class HashedTimingWheel<T> {
+
+    private static final int ST_PENDING = 0;
+    private static final int ST_CANCELLED = 1;
+    private static final int ST_EXPIRED = 2;
+
+    private final long tickNanos;
+    private final Bucket<T>[] wheel;
+    private final int mask;
+    private final Consumer<T> onExpire;
+    private final Queue<Timeout<T>> pendingAdds = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout<T>> pendingCancels = new ConcurrentLinkedQueue<>();
+    private final AtomicLong scheduled = new AtomicLong();
+    private final Thread worker;
+    private final long startNanos;
+    private volatile boolean running = true;
+    private long tick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(String name, long tickDuration, TimeUnit unit, int wheelSize, Consumer<T> onExpire) {
+        int size = Integer.highestOneBit(Math.max(2, wheelSize) - 1) << 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket<>();
+        }
+        this.mask = size - 1;
+        this.onExpire = onExpire;
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::run, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /** Agenda o payload para daqui a delay; retorna o handle para cancelamento. */
+    public Timeout<T> schedule(T payload, long delay, TimeUnit unit) {
+        Timeout<T> timeout = new Timeout<>(this, payload, System.nanoTime() + unit.toNanos(delay));
+        scheduled.incrementAndGet();
+        pendingAdds.add(timeout);
+        return timeout;
+    }
+
+    public long size() {
+        return scheduled.get();
+    }
+
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            long deadline = startNanos + (tick + 1) * tickNanos;
+            long sleep = deadline - System.nanoTime();
+            if (sleep > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                } catch (InterruptedException e) {
+                    if (!running) {
+                        return;
+                    }
+                }
+            }
+            processCancels();
+            transferAdds();
+            wheel[(int) (tick & mask)].expire(this);
+            tick++;
+        }
+    }
+
+    private void processCancels() {
+        Timeout<T> timeout;
+        while ((timeout = pendingCancels.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferAdds() {
+        // limita o trabalho por tick para não atrasar o relógio sob rajadas
+        for (int i = 0; i < 100_000; i++) {
+            Timeout<T> timeout = pendingAdds.poll();
+            if (timeout == null) {
+                return;
+            }
+            if (timeout.state.get() != ST_PENDING) {
+                continue;
+            }
+            long dueTick = Math.max(tick, (timeout.deadlineNanos - startNanos) / tickNanos);
+            timeout.remainingRounds = (dueTick - tick) / wheel.length;
+            wheel[(int) (dueTick & mask)].add(timeout);
+        }
+    }
+
+    private void fire(Timeout<T> timeout) {
+        scheduled.decrementAndGet();
+        try {
+            onExpire.accept(timeout.payload);
+        } catch (RuntimeException e) {
+            // um callback com erro não pode parar o relógio
+        }
+    }
+
+    /** Handle de um timer agendado. */
+    public static final class Timeout<T> {
+        private final HashedTimingWheel<T> owner;
+        private final T payload;
+        private final long deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(ST_PENDING);
+        private long remainingRounds;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(HashedTimingWheel<T> owner, T payload, long deadlineNanos) {
+            this.owner = owner;
+            this.payload = payload;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        /** Cancela o timer; retorna false se ele já disparou ou já foi cancelado. */
+        public boolean cancel() {
+            if (!state.compareAndSet(ST_PENDING, ST_CANCELLED)) {
+                return false;
+            }
+            owner.scheduled.decrementAndGet();
+            owner.pendingCancels.add(this);
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == ST_CANCELLED;
+        }
+    }
+
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(HashedTimingWheel<T> wheel) {
+            Timeout<T> timeout = head;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.state.compareAndSet(ST_PENDING, ST_EXPIRED)) {
+                        wheel.fire(timeout);
+                    }
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.bucket != this) {
+                return;
+            }
+            if (timeout.prev != null) {
+                timeout.prev.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.prev = timeout.prev;
+            } else {
+                tail = timeout.prev;
+            }
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.conectabrasil.infrastructure.snapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "snapshot")
+public class SnapshotConfig {
+    private boolean enabled = true;
+    private String path = "./data/snapshot/state.snap";
+    /** Intervalo da gravação periódica (além da gravação no shutdown). */
+    private long intervalMs = 60_000;
+    /** Snapshots mais velhos que isso são ignorados no startup. */
+    private long maxAgeSeconds = 3600;
+    /** View functions do ContractViewCache incluídas no snapshot. */
+    private List<String> viewFunctions = new ArrayList<>(List.of("get_all_packages", "get_user_packages"));
+}
@@ -0,0 +1,289 @@
+package com.conectabrasil.infrastructure.snapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Formato binário versionado do snapshot de warm start, gravado e lido via
+ * memory-mapping.
+ *
+ * <pre>
+ * header (40 bytes, big-endian):
+ *   magic "CBSN" | versão u16 | flags u16 | createdAt i64 (epoch ms) | lastLedger i64
+ *   views i32 | orders i32 | bodyLength i32 | crc32(body) i32
+ * body:
+ *   view:  function str | args str | owner str? | ledger i64 | valor
+ *   order: owner str | orderId i64 | active u8 (0/1, 2 = nulo) | remaining i64 (-1 = nulo)
+ * str:   u32 tamanho + UTF-8 (0xFFFFFFFF = nulo)
+ * valor: tag u8 + conteúdo (null, bool, int, long, string, list, map) —
+ *        os tipos produzidos pelo parsing de SCVal.
+ * </pre>
+ *
+ * A gravação vai para um arquivo temporário e é trocada com ATOMIC_MOVE, então
+ * um crash no meio nunca deixa um snapshot parcial no lugar do anterior.
+ */
+public final class SnapshotFile {
+
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x4342534E; // "CBSN"
+    private static final int HEADER_BYTES = 40;
+    private static final int NULL_LENGTH = -1;
+
+    private static final byte T_NULL = 0;
+    private static final byte T_FALSE = 1;
+    private static final byte T_TRUE = 2;
+    private static final byte T_INT = 3;
+    private static final byte T_LONG = 4;
+    private static final byte T_STRING = 5;
+    private static final byte T_LIST = 6;
+    private static final byte T_MAP = 7;
+
+    public record ViewRecord(String function, String args, String owner, long ledger, Object value) {
+    }
+
+    public record OrderRecord(String ownerAddress, long orderId, Boolean active, Long remainingSeconds) {
+    }
+
+    public record Snapshot(long createdAtMillis, long lastLedger, List<ViewRecord> views, List<OrderRecord> orders) {
+    }
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Grava o snapshot. Views com valores de tipo não suportado são omitidas.
+     *
+     * @return tamanho do arquivo em bytes
+     */
+    public static long write(Path path, Snapshot snapshot) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(64 * 1024);
+        DataOutputStream out = new DataOutputStream(body);
+        int views = 0;
+        for (ViewRecord view : snapshot.views()) {
+            if (!supported(view.value())) {
+                continue;
+            }
+            writeString(out, view.function());
+            writeString(out, view.args());
+            writeString(out, view.owner());
+            out.writeLong(view.ledger());
+            writeValue(out, view.value());
+            views++;
+        }
+        for (OrderRecord order : snapshot.orders()) {
+            writeString(out, order.ownerAddress());
+            out.writeLong(order.orderId());
+            out.writeByte(order.active() == null ? 2 : order.active() ? 1 : 0);
+            out.writeLong(order.remainingSeconds() == null ? -1 : Math.max(0, order.remainingSeconds()));
+        }
+        out.flush();
+        byte[] bodyBytes = body.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bodyBytes);
+
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            long size = HEADER_BYTES + (long) bodyBytes.length;
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.putInt(MAGIC)
+                        .putShort((short) VERSION)
+                        .putShort((short) 0)
+                        .putLong(snapshot.createdAtMillis())
+                        .putLong(snapshot.lastLedger())
+                        .putInt(views)
+                        .putInt(snapshot.orders().size())
+                        .putInt(bodyBytes.length)
+                        .putInt((int) crc.getValue())
+                        .put(bodyBytes);
+                buffer.force();
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return size;
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Lê o snapshot direto do arquivo mapeado.
+     *
+     * @throws IOException se o arquivo estiver truncado, corrompido ou em
+     *                     versão desconhecida
+     */
+    public static Snapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Tamanho de snapshot inválido: " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Arquivo não é um snapshot");
+            }
+            int version = Short.toUnsignedInt(buffer.getShort());
+            if (version != VERSION) {
+                throw new IOException("Versão de snapshot não suportada: " + version);
+            }
+            buffer.getShort(); // flags
+            long createdAt = buffer.getLong();
+            long lastLedger = buffer.getLong();
+            int viewCount = buffer.getInt();
+            int orderCount = buffer.getInt();
+            int bodyLength = buffer.getInt();
+            int expectedCrc = buffer.getInt();
+            if (bodyLength != size - HEADER_BYTES) {
+                throw new IOException("Snapshot truncado");
+            }
+            ByteBuffer body = buffer.slice(HEADER_BYTES, bodyLength);
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if ((int) crc.getValue() != expectedCrc) {
+                throw new IOException("CRC do snapshot não confere");
+            }
+
+            List<ViewRecord> views = new ArrayList<>(viewCount);
+            for (int i = 0; i < viewCount; i++) {
+                views.add(new ViewRecord(readString(body), readString(body), readString(body), body.getLong(),
+                        readValue(body)));
+            }
+            List<OrderRecord> orders = new ArrayList<>(orderCount);
+            for (int i = 0; i < orderCount; i++) {
+                String owner = readString(body);
+                long orderId = body.getLong();
+                int active = body.get();
+                long remaining = body.getLong();
+                orders.add(new OrderRecord(owner, orderId, active == 2 ? null : active == 1,
+                        remaining < 0 ? null : remaining));
+            }
+            return new Snapshot(createdAt, lastLedger, views, orders);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("Snapshot corrompido: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean supported(Object value) {
+        if (value == null || value instanceof Boolean || value instanceof Integer || value instanceof Long
+                || value instanceof String) {
+            return true;
+        }
+        if (value instanceof List<?> list) {
+            return list.stream().allMatch(SnapshotFile::supported);
+        }
+        if (value instanceof Map<?, ?> map) {
+            return map.entrySet().stream()
+                    .allMatch(e -> e.getKey() instanceof String && supported(e.getValue()));
+        }
+        return false;
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(T_NULL);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(b ? T_TRUE : T_FALSE);
+        } else if (value instanceof Integer i) {
+            out.writeByte(T_INT);
+            out.writeInt(i);
+        } else if (value instanceof Long l) {
+            out.writeByte(T_LONG);
+            out.writeLong(l);
+        } else if (value instanceof String s) {
+            out.writeByte(T_STRING);
+            writeString(out, s);
+        } else if (value instanceof List<?> list) {
+            out.writeByte(T_LIST);
+            out.writeInt(list.size());
+            for (Object item : list) {
+                writeValue(out, item);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            out.writeByte(T_MAP);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeString(out, (String) entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+        } else {
+            throw new IOException("Tipo não suportado no snapshot: " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(ByteBuffer in) throws IOException {
+        byte tag = in.get();
+        switch (tag) {
+            case T_NULL:
+                return null;
+            case T_FALSE:
+                return Boolean.FALSE;
+            case T_TRUE:
+                return Boolean.TRUE;
+            case T_INT:
+                return in.getInt();
+            case T_LONG:
+                return in.getLong();
+            case T_STRING:
+                return readString(in);
+            case T_LIST: {
+                int size = in.getInt();
+                List<Object> list = new ArrayList<>(Math.min(size, in.remaining()));
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                return list;
+            }
+            case T_MAP: {
+                int size = in.getInt();
+                Map<String, Object> map = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.put(readString(in), readValue(in));
+                }
+                return map;
+            }
+            default:
+                throw new IOException("Tag de valor desconhecida: " + tag);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(ByteBuffer in) throws IOException {
+        int length = in.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > in.remaining()) {
+            throw new IOException("Tamanho de string inválido: " + length);
+        }
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
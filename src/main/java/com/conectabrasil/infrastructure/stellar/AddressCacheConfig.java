@@ -0,0 +1,16 @@
+package com.conectabrasil.infrastructure.stellar;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "stellar.address-cache")
+public class AddressCacheConfig {
+    private long ttlSeconds = 300;
+    private int maxEntries = 100_000;
+    private long bloomExpectedInsertions = 1_000_000;
+    private double bloomFalsePositiveRate = 0.01;
+}
@@ -0,0 +1,118 @@
+package com.conectabrasil.infrastructure.stellar;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.stellar.sdk.Address;
+import org.stellar.sdk.responses.sorobanrpc.GetEventsResponse;
+import org.stellar.sdk.xdr.SCVal;
+
+/**
+ * Decodifica os eventos do contrato devolvidos pelo getEvents em valores
+ * simples: o tipo (primeiro tópico Symbol), os endereços presentes nos
+ * tópicos e o valor do evento (escalares, endereços e vetores deles).
+ */
+public final class ContractEventDecoder {
+
+    /**
+     * @param id       id do evento; serve de cursor do getEvents para continuar logo após ele
+     * @param type     primeiro tópico quando é Symbol (ex.: "buy_and_grant"), senão null
+     * @param accounts endereços (G.../C...) encontrados nos tópicos, na ordem
+     */
+    public record DecodedEvent(
+            String id,
+            long ledger,
+            String ledgerClosedAt,
+            String transactionHash,
+            String type,
+            List<String> accounts,
+            List<Object> topics,
+            Object value) {
+    }
+
+    private ContractEventDecoder() {
+    }
+
+    public static DecodedEvent decode(GetEventsResponse.EventInfo event) {
+        List<Object> topics = new ArrayList<>();
+        List<String> accounts = new ArrayList<>();
+        String type = null;
+        List<String> rawTopics = event.getTopic() == null ? List.of() : event.getTopic();
+        for (int i = 0; i < rawTopics.size(); i++) {
+            SCVal topic = parse(rawTopics.get(i));
+            Object decoded = topic == null ? null : toValue(topic);
+            topics.add(decoded);
+            if (topic == null) {
+                continue;
+            }
+            switch (topic.getDiscriminant()) {
+                case SCV_ADDRESS -> accounts.add((String) decoded);
+                case SCV_SYMBOL -> {
+                    if (i == 0) {
+                        type = (String) decoded;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        SCVal value = event.getValue() == null ? null : parse(event.getValue());
+        return new DecodedEvent(
+                event.getId(),
+                event.getLedger() == null ? 0 : event.getLedger().longValue(),
+                event.getLedgerClosedAt(),
+                event.getTransactionHash(),
+                type,
+                accounts,
+                topics,
+                value == null ? null : toValue(value));
+    }
+
+    /** true para endereços de conta (G...), que são os owners/callers do contrato. */
+    public static boolean isAccount(String address) {
+        return address != null && address.startsWith("G");
+    }
+
+    private static SCVal parse(String xdr) {
+        try {
+            return SCVal.fromXdrBase64(xdr);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static Object toValue(SCVal val) {
+        switch (val.getDiscriminant()) {
+            case SCV_U32:
+                return val.getU32().getUint32().getNumber().longValue();
+            case SCV_U64:
+                return val.getU64().getUint64().getNumber().longValue();
+            case SCV_I32:
+                return val.getI32().getInt32();
+            case SCV_I64:
+                return val.getI64().getInt64();
+            case SCV_U128:
+                return val.getU128().getLo().getUint64().getNumber().longValue();
+            case SCV_I128:
+                return val.getI128().getLo().getUint64().getNumber().longValue();
+            case SCV_BOOL:
+                return val.getB();
+            case SCV_STRING:
+                return val.getStr().getSCString().toString();
+            case SCV_SYMBOL:
+                return val.getSym().getSCSymbol().toString();
+            case SCV_ADDRESS:
+                return Address.fromSCVal(val).toString();
+            case SCV_VEC:
+                List<Object> items = new ArrayList<>();
+                if (val.getVec() != null) {
+                    for (SCVal item : val.getVec().getSCVec()) {
+                        items.add(toValue(item));
+                    }
+                }
+                return items;
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package com.conectabrasil.infrastructure.stellar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.conectabrasil.domain.event.LedgerAdvancedEvent;
+import com.conectabrasil.domain.event.OrderExpiredEvent;
+import com.conectabrasil.infrastructure.cache.WTinyLfuCache;
+import com.conectabrasil.infrastructure.cluster.ClusterMembershipChangedEvent;
+import com.conectabrasil.infrastructure.resilience.DeadlineExceededException;
+import com.conectabrasil.infrastructure.resilience.PathClass;
+import com.conectabrasil.infrastructure.resilience.RequestDeadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Memoização dos resultados das view functions do contrato (simulações),
+ * chaveada por (função, args codificados) e marcada com o ledger em que foi
+ * lida.
+ *
+ * - TTL por função (teto), com stale-while-revalidate: depois do TTL o valor
+ *   antigo ainda é servido por uma janela enquanto um refresh roda em background;
+ * - valores lidos há mais de maxLedgerLag ledgers (segundo o LedgerHeartbeat)
+ *   também são revalidados, mesmo dentro do TTL;
+ * - chamadas concorrentes para a mesma chave compartilham um único RPC, que
+ *   roda no pool de leitura sem o prazo de nenhuma delas; cada chamador espera
+ *   o resultado só até o próprio prazo;
+ * - os caminhos de escrita (buy, grant, start, pause) invalidam as entradas do
+ *   owner afetado; leituras em voo iniciadas antes da invalidação não são gravadas
+ *   e deixam de ser compartilhadas com quem chega depois.
+ */
+@Component
+public class ContractViewCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ContractViewCache.class);
+
+    /** Carrega o valor via RPC; o ledger é o latestLedger da simulação. */
+    @FunctionalInterface
+    public interface ViewLoader<T> {
+        LedgerValue<T> load() throws Exception;
+    }
+
+    public record LedgerValue<T>(T value, long ledger) {
+    }
+
+    public record ViewKey(String function, String args, String owner) {
+    }
+
+    private record Entry(Object value, long ledger, long loadedAtNanos) {
+    }
+
+    /** Valor com o instante (epoch ms) em que foi lido da rede. */
+    public record TimedValue<T>(T value, long loadedAtMillis) {
+    }
+
+    /** Entrada exportada para o snapshot de warm start. */
+    public record CachedView(ViewKey key, Object value, long ledger) {
+    }
+
+    private final ViewCacheConfig config;
+    private final WTinyLfuCache<ViewKey, Entry> cache;
+    private final Map<ViewKey, CompletableFuture<Entry>> inflight = new ConcurrentHashMap<>();
+    private final Map<String, Set<ViewKey>> keysByOwner = new ConcurrentHashMap<>();
+    // gerações de invalidação por faixa de owner (hash): memória fixa; colisões só
+    // fazem uma leitura em voo de outro owner deixar de ser gravada
+    private final AtomicLongArray ownerGenerations = new AtomicLongArray(1024);
+    private final AtomicLong globalGeneration = new AtomicLong();
+    private final ThreadPoolExecutor refresher;
+    private final ThreadPoolExecutor loaders;
+    private volatile long currentLedger;
+    private final Counter hits;
+    private final Counter staleHits;
+    private final Counter misses;
+
+    public ContractViewCache(ViewCacheConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.cache = new WTinyLfuCache<>(config.getMaxEntries(), (key, entry) -> unindex(key));
+        this.refresher = new ThreadPoolExecutor(config.getRefreshThreads(), config.getRefreshThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(256), runnable -> {
+                    Thread t = new Thread(runnable, "view-cache-refresh");
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+        // fila cheia: a própria thread do chamador faz a leitura (ainda sem prazo)
+        this.loaders = new ThreadPoolExecutor(config.getLoadThreads(), config.getLoadThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1024), runnable -> {
+                    Thread t = new Thread(runnable, "view-cache-load");
+                    t.setDaemon(true);
+                    return t;
+                }, (runnable, executor) -> runnable.run());
+        this.hits = Counter.builder("stellar.view.cache").tag("result", "hit").register(meterRegistry);
+        this.staleHits = Counter.builder("stellar.view.cache").tag("result", "stale").register(meterRegistry);
+        this.misses = Counter.builder("stellar.view.cache").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("stellar.view.cache.size", cache, WTinyLfuCache::size).register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String function, String args, String owner, ViewLoader<T> loader) throws Exception {
+        return (T) lookup(function, args, owner, loader).value();
+    }
+
+    /**
+     * Como get(), mas informa quando o valor devolvido foi lido da rede: um
+     * valor servido do cache (ou vencido, em stale-while-revalidate) pode ter
+     * até TTL + SWR segundos.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> TimedValue<T> getTimed(String function, String args, String owner, ViewLoader<T> loader)
+            throws Exception {
+        Entry entry = lookup(function, args, owner, loader);
+        long ageMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - entry.loadedAtNanos());
+        return new TimedValue<>((T) entry.value(), System.currentTimeMillis() - Math.max(0, ageMillis));
+    }
+
+    private Entry lookup(String function, String args, String owner, ViewLoader<?> loader) throws Exception {
+        if (!config.isEnabled()) {
+            LedgerValue<?> loaded = loader.load();
+            return new Entry(loaded.value(), loaded.ledger(), System.nanoTime());
+        }
+        ViewKey key = new ViewKey(function, args, owner);
+        Entry entry = cache.get(key);
+        long now = System.nanoTime();
+        if (entry != null) {
+            long age = now - entry.loadedAtNanos();
+            long ttl = TimeUnit.SECONDS.toNanos(ttlSeconds(function));
+            if (age <= ttl && !behindLedger(entry)) {
+                hits.increment();
+                return entry;
+            }
+            long swr = TimeUnit.SECONDS.toNanos(staleWhileRevalidateSeconds(function));
+            if (swr > 0 && age <= ttl + swr) {
+                staleHits.increment();
+                if (!inflight.containsKey(key)) {
+                    refresher.execute(() -> refresh(key, loader));
+                }
+                return entry;
+            }
+        }
+        misses.increment();
+        return load(key, loader);
+    }
+
+    @EventListener
+    public void onLedgerAdvanced(LedgerAdvancedEvent event) {
+        currentLedger = event.sequence();
+    }
+
+    @EventListener
+    public void onOrderExpired(OrderExpiredEvent event) {
+        invalidateOwner(event.ownerAddress());
+    }
+
+    /** Rebalanceamento do cluster: descarta só os owners que passaram para outro nó. */
+    @EventListener
+    public void onMembershipChanged(ClusterMembershipChangedEvent event) {
+        List<String> moved = keysByOwner.keySet().stream().filter(owner -> !event.ownsLocally(owner)).toList();
+        moved.forEach(this::invalidateOwner);
+        if (!moved.isEmpty()) {
+            log.info("Cluster rebalanceado: {} owners deixaram este nó", moved.size());
+        }
+    }
+
+    private boolean behindLedger(Entry entry) {
+        long lag = config.getMaxLedgerLag();
+        return lag > 0 && entry.ledger() > 0 && currentLedger - entry.ledger() > lag;
+    }
+
+    /** Ledger em que o valor cacheado foi lido, ou -1. */
+    public long ledgerOf(String function, String args, String owner) {
+        Entry entry = cache.get(new ViewKey(function, args, owner));
+        return entry == null ? -1 : entry.ledger();
+    }
+
+    /** Cópia das entradas das funções indicadas (para o snapshot local). */
+    public List<CachedView> export(Set<String> functions) {
+        List<CachedView> views = new ArrayList<>();
+        cache.forEach((key, entry) -> {
+            if (functions.contains(key.function())) {
+                views.add(new CachedView(key, entry.value(), entry.ledger()));
+            }
+        });
+        return views;
+    }
+
+    /**
+     * Reinsere um valor vindo do snapshot. Entra já vencido (dentro da janela
+     * stale-while-revalidate): é servido na hora e a primeira leitura dispara
+     * o refresh contra a rede.
+     */
+    public void restore(CachedView view) {
+        if (!config.isEnabled()) {
+            return;
+        }
+        long expiredAt = System.nanoTime() - TimeUnit.SECONDS.toNanos(ttlSeconds(view.key().function())) - 1;
+        cache.put(view.key(), new Entry(view.value(), view.ledger(), expiredAt));
+        index(view.key());
+    }
+
+    public void invalidateOwner(String owner) {
+        if (owner == null) {
+            return;
+        }
+        ownerGenerations.incrementAndGet(stripe(owner));
+        // quem chegar depois não pode se juntar a uma leitura iniciada antes da invalidação
+        inflight.keySet().removeIf(key -> owner.equals(key.owner()));
+        Set<ViewKey> keys = keysByOwner.remove(owner);
+        if (keys != null) {
+            keys.forEach(cache::remove);
+        }
+    }
+
+    public void invalidateFunction(String function) {
+        globalGeneration.incrementAndGet();
+        inflight.keySet().removeIf(key -> key.function().equals(function));
+        cache.removeIf(key -> key.function().equals(function));
+    }
+
+    public void invalidateAll() {
+        globalGeneration.incrementAndGet();
+        inflight.clear();
+        cache.clear();
+        keysByOwner.clear();
+    }
+
+    private void refresh(ViewKey key, ViewLoader<?> loader) {
+        PathClass.set(PathClass.READ);
+        try {
+            load(key, loader);
+        } catch (Exception e) {
+            log.debug("Refresh de {} falhou: {}", key, e.getMessage());
+        } finally {
+            PathClass.clear();
+        }
+    }
+
+    private Entry load(ViewKey key, ViewLoader<?> loader) throws Exception {
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> existing = inflight.putIfAbsent(key, mine);
+        if (existing != null) {
+            return await(key, existing);
+        }
+        long ownerGeneration = ownerGeneration(key.owner());
+        long global = globalGeneration.get();
+        PathClass pathClass = PathClass.current();
+        loaders.execute(() -> loadShared(key, loader, mine, ownerGeneration, global, pathClass));
+        return await(key, mine);
+    }
+
+    /**
+     * Leitura compartilhada pelos chamadores da chave. Roda sem prazo: o prazo
+     * curto de quem chegou primeiro não pode virar 504 para todos os outros.
+     */
+    private void loadShared(ViewKey key, ViewLoader<?> loader, CompletableFuture<Entry> future,
+            long ownerGeneration, long global, PathClass pathClass) {
+        Long callerDeadline = RequestDeadline.capture();
+        PathClass callerPath = PathClass.current();
+        RequestDeadline.clear();
+        PathClass.set(pathClass == null ? PathClass.READ : pathClass);
+        try {
+            LedgerValue<?> loaded = loader.load();
+            Entry entry = new Entry(loaded.value(), loaded.ledger(), System.nanoTime());
+            // só grava se nenhuma escrita invalidou esta chave durante a leitura
+            if (ownerGeneration == ownerGeneration(key.owner()) && global == globalGeneration.get()) {
+                cache.put(key, entry);
+                index(key);
+            }
+            future.complete(entry);
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        } finally {
+            inflight.remove(key, future);
+            RequestDeadline.restore(callerDeadline);
+            if (callerPath == null) {
+                PathClass.clear();
+            } else {
+                PathClass.set(callerPath);
+            }
+        }
+    }
+
+    /** Espera a leitura compartilhada até o prazo do chamador, sem cancelá-la para os demais. */
+    private static Entry await(ViewKey key, CompletableFuture<Entry> future) throws Exception {
+        long remaining = RequestDeadline.remainingMillis();
+        try {
+            if (remaining == RequestDeadline.NONE) {
+                return future.get();
+            }
+            return future.get(Math.max(0, remaining), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException(key.function());
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private long ttlSeconds(String function) {
+        return config.getTtlSeconds().getOrDefault(function, config.getDefaultTtlSeconds());
+    }
+
+    private long staleWhileRevalidateSeconds(String function) {
+        return config.getStaleWhileRevalidateOverrides().getOrDefault(function,
+                config.getStaleWhileRevalidateSeconds());
+    }
+
+    private long ownerGeneration(String owner) {
+        return owner == null ? 0 : ownerGenerations.get(stripe(owner));
+    }
+
+    private int stripe(String owner) {
+        return (owner.hashCode() & Integer.MAX_VALUE) % ownerGenerations.length();
+    }
+
+    private void index(ViewKey key) {
+        if (key.owner() != null) {
+            keysByOwner.computeIfAbsent(key.owner(), o -> ConcurrentHashMap.newKeySet()).add(key);
+        }
+    }
+
+    private void unindex(ViewKey key) {
+        if (key.owner() == null) {
+            return;
+        }
+        keysByOwner.computeIfPresent(key.owner(), (owner, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+        loaders.shutdownNow();
+    }
+}
@@ -0,0 +1,22 @@
+package com.conectabrasil.infrastructure.stellar;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "stellar.fee")
+public class FeeConfig {
+    /** Percentil da inclusion fee Soroban: p10..p99, mode, min ou max. */
+    private String percentile = "p70";
+    private long minBaseFee = 100;
+    private long maxBaseFee = 100_000;
+    /** Reamostra o getFeeStats a cada N ledgers fechados (~5s cada). */
+    private long sampleEveryLedgers = 6;
+    /** Amostra de transações emitidas acompanhadas para medir tempo até inclusão. */
+    private int inclusionTrackingMaxPending = 200;
+    private int inclusionChecksPerTick = 10;
+    private long inclusionTrackingTimeoutSeconds = 300;
+}
@@ -0,0 +1,255 @@
+package com.conectabrasil.infrastructure.stellar;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.stellar.sdk.SorobanServer;
+import org.stellar.sdk.Transaction;
+import org.stellar.sdk.responses.sorobanrpc.GetFeeStatsResponse;
+import org.stellar.sdk.responses.sorobanrpc.GetTransactionResponse;
+
+import com.conectabrasil.domain.event.LedgerAdvancedEvent;
+import com.conectabrasil.infrastructure.resilience.PathClass;
+import com.conectabrasil.infrastructure.resilience.RpcExecutor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Estima a inclusion fee das transações Soroban a partir do getFeeStats.
+ *
+ * A amostragem roda em background, guiada pelo LedgerHeartbeat (a cada N
+ * ledgers), na thread fee-estimator: o evento só agenda o trabalho e a thread
+ * do heartbeat segue publicando. Com um tick ainda em andamento, no máximo um
+ * fica na fila e os demais são descartados. Os builders de XDR só leem o último snapshot em memória (nenhum
+ * RPC extra por requisição). Uma amostra das transações emitidas é
+ * acompanhada via getTransaction, a cada ledger fechado, para medir o tempo
+ * até a inclusão por faixa de fee. As duas chamadas passam pelo RpcExecutor
+ * como leituras (PathClass.READ), dentro da fatia do limite reservada a elas.
+ */
+@Component
+public class FeeEstimator {
+
+    private static final Logger log = LoggerFactory.getLogger(FeeEstimator.class);
+
+    private final SorobanServer soroban;
+    private final RpcExecutor rpcExecutor;
+    private final FeeConfig config;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary chosenFee;
+    private final Counter samplingFailures;
+    private final ConcurrentLinkedQueue<PendingTransaction> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final ThreadPoolExecutor worker;
+
+    private volatile GetFeeStatsResponse.FeeDistribution lastDistribution;
+    private volatile long lastSampleAtMillis;
+    private volatile long lastSampledLedger;
+
+    public FeeEstimator(SorobanServer soroban, RpcExecutor rpcExecutor, FeeConfig config,
+            MeterRegistry meterRegistry) {
+        this.soroban = soroban;
+        this.rpcExecutor = rpcExecutor;
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.worker = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                runnable -> {
+                    Thread t = new Thread(runnable, "fee-estimator");
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+        this.chosenFee = DistributionSummary.builder("stellar.fee.chosen")
+                .description("Inclusion fee (stroops) aplicada nas transações emitidas")
+                .register(meterRegistry);
+        this.samplingFailures = Counter.builder("stellar.fee.sampling.failures").register(meterRegistry);
+        for (String p : List.of("p50", "p90", "p99")) {
+            Gauge.builder("stellar.fee.inclusion", this, e -> e.sampled(p))
+                    .tag("percentile", p)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("stellar.fee.sample.age.seconds", this,
+                e -> e.lastSampleAtMillis == 0 ? -1 : (System.currentTimeMillis() - e.lastSampleAtMillis) / 1000.0)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Base fee (inclusion fee, em stroops) a usar na próxima transação, no
+     * percentil configurado e limitada por min/max. Sem amostra válida, usa o mínimo.
+     */
+    public long baseFee() {
+        return clamp(sampledOrZero(config.getPercentile()));
+    }
+
+    /**
+     * Registra uma transação emitida para medir o tempo até a inclusão.
+     * Descarta silenciosamente quando a amostra de pendentes está cheia.
+     */
+    public void trackIssued(Transaction transaction, long inclusionFee) {
+        chosenFee.record(inclusionFee);
+        if (pendingCount.incrementAndGet() > config.getInclusionTrackingMaxPending()) {
+            pendingCount.decrementAndGet();
+            return;
+        }
+        pending.add(new PendingTransaction(transaction.hashHex(), inclusionFee, feeTier(inclusionFee),
+                System.currentTimeMillis()));
+    }
+
+    @EventListener
+    public void onLedgerAdvanced(LedgerAdvancedEvent event) {
+        worker.execute(() -> tick(event.sequence()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void tick(long ledger) {
+        PathClass.set(PathClass.READ);
+        try {
+            if (lastDistribution == null || ledger - lastSampledLedger >= config.getSampleEveryLedgers()) {
+                lastSampledLedger = ledger;
+                sample();
+            }
+            checkInclusion();
+        } finally {
+            PathClass.clear();
+        }
+    }
+
+    public void sample() {
+        try {
+            GetFeeStatsResponse stats = rpcExecutor.execute("getFeeStats", soroban::getFeeStats);
+            if (stats != null && stats.getSorobanInclusionFee() != null) {
+                lastDistribution = stats.getSorobanInclusionFee();
+                lastSampleAtMillis = System.currentTimeMillis();
+            }
+        } catch (Exception e) {
+            samplingFailures.increment();
+            log.warn("Falha ao amostrar getFeeStats: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Consulta até inclusion-checks-per-tick pendentes. Os que ainda não foram
+     * incluídos voltam para a fila só no fim, para o próximo ledger: no mesmo
+     * tick, cada pendente é consultado no máximo uma vez.
+     */
+    void checkInclusion() {
+        long now = System.currentTimeMillis();
+        long timeoutMillis = TimeUnit.SECONDS.toMillis(config.getInclusionTrackingTimeoutSeconds());
+        List<PendingTransaction> nextTick = new ArrayList<>();
+        try {
+            for (int i = 0; i < config.getInclusionChecksPerTick(); i++) {
+                PendingTransaction tx = pending.poll();
+                if (tx == null) {
+                    return;
+                }
+                try {
+                    if (!check(tx, now, timeoutMillis)) {
+                        nextTick.add(tx);
+                    }
+                } catch (Exception e) {
+                    nextTick.add(tx);
+                    log.debug("Falha ao consultar transação {}: {}", tx.hash(), e.getMessage());
+                    return;
+                }
+            }
+        } finally {
+            pending.addAll(nextTick);
+        }
+    }
+
+    /** @return false se a transação segue pendente */
+    private boolean check(PendingTransaction tx, long now, long timeoutMillis) throws Exception {
+        GetTransactionResponse response = rpcExecutor.execute("getTransaction",
+                () -> soroban.getTransaction(tx.hash()));
+        if (response.getStatus() == GetTransactionResponse.GetTransactionStatus.NOT_FOUND) {
+            if (now - tx.issuedAtMillis() > timeoutMillis) {
+                // nunca submetida (checkout abandonado) ou não incluída no prazo
+                pendingCount.decrementAndGet();
+                inclusionOutcome(tx, "timeout").increment();
+                return true;
+            }
+            return false;
+        }
+        pendingCount.decrementAndGet();
+        long includedAt = response.getCreatedAt() != null ? response.getCreatedAt() * 1000 : now;
+        Timer.builder("stellar.tx.time.to.inclusion")
+                .tag("fee_tier", tx.feeTier())
+                .register(meterRegistry)
+                .record(Math.max(0, includedAt - tx.issuedAtMillis()), TimeUnit.MILLISECONDS);
+        inclusionOutcome(tx, response.getStatus().name().toLowerCase()).increment();
+        return true;
+    }
+
+    private Counter inclusionOutcome(PendingTransaction tx, String outcome) {
+        return Counter.builder("stellar.tx.inclusion.outcome")
+                .tag("fee_tier", tx.feeTier())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /** Maior percentil amostrado que a fee alcança (ex.: "p90"), para rotular as métricas. */
+    private String feeTier(long fee) {
+        if (lastDistribution == null) {
+            return "unknown";
+        }
+        String tier = "below_p10";
+        for (String p : List.of("p10", "p20", "p30", "p40", "p50", "p60", "p70", "p80", "p90", "p95", "p99")) {
+            if (fee >= sampledOrZero(p)) {
+                tier = p;
+            }
+        }
+        return tier;
+    }
+
+    private long clamp(long fee) {
+        return Math.min(config.getMaxBaseFee(), Math.max(config.getMinBaseFee(), fee));
+    }
+
+    private double sampled(String percentile) {
+        return lastDistribution == null ? Double.NaN : sampledOrZero(percentile);
+    }
+
+    private long sampledOrZero(String percentile) {
+        GetFeeStatsResponse.FeeDistribution d = lastDistribution;
+        if (d == null) {
+            return 0;
+        }
+        Long value = switch (percentile) {
+            case "min" -> d.getMin();
+            case "mode" -> d.getMode();
+            case "p10" -> d.getP10();
+            case "p20" -> d.getP20();
+            case "p30" -> d.getP30();
+            case "p40" -> d.getP40();
+            case "p50" -> d.getP50();
+            case "p60" -> d.getP60();
+            case "p70" -> d.getP70();
+            case "p80" -> d.getP80();
+            case "p90" -> d.getP90();
+            case "p95" -> d.getP95();
+            case "p99" -> d.getP99();
+            case "max" -> d.getMax();
+            default -> throw new IllegalStateException("Percentil de fee desconhecido: " + percentile);
+        };
+        return value == null ? 0 : value;
+    }
+
+    private record PendingTransaction(String hash, long inclusionFee, String feeTier, long issuedAtMillis) {
+    }
+}
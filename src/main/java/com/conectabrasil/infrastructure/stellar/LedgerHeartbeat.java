@@ -0,0 +1,92 @@
+package com.conectabrasil.infrastructure.stellar;
+
+import java.time.Instant;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.stellar.sdk.SorobanServer;
+import org.stellar.sdk.responses.sorobanrpc.GetLatestLedgerResponse;
+
+import com.conectabrasil.domain.event.LedgerAdvancedEvent;
+import com.conectabrasil.infrastructure.resilience.RpcExecutor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Único ponto que pergunta ao RPC pelo ledger mais recente: consulta
+ * getLatestLedger uma vez por intervalo de fechamento e publica
+ * LedgerAdvancedEvent quando a sequência avança. Caches e agendadores reagem
+ * ao evento; nenhum caminho de requisição consulta o ledger diretamente.
+ * A chamada passa pelo RpcExecutor, como as demais: limite de concorrência,
+ * retry de falhas transitórias e contagem de rejeições.
+ */
+@Component
+public class LedgerHeartbeat {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerHeartbeat.class);
+
+    private final SorobanServer soroban;
+    private final RpcExecutor rpcExecutor;
+    private final ApplicationEventPublisher events;
+    private final Counter failures;
+
+    private volatile long latestSequence;
+    private volatile long latestObservedAtMillis;
+
+    public LedgerHeartbeat(SorobanServer soroban, RpcExecutor rpcExecutor, ApplicationEventPublisher events,
+            MeterRegistry meterRegistry) {
+        this.soroban = soroban;
+        this.rpcExecutor = rpcExecutor;
+        this.events = events;
+        this.failures = Counter.builder("stellar.ledger.heartbeat.failures").register(meterRegistry);
+        Gauge.builder("stellar.ledger.latest", this, LedgerHeartbeat::latestLedger).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${stellar.ledger-heartbeat.interval-ms:5000}")
+    public void poll() {
+        GetLatestLedgerResponse response;
+        try {
+            response = rpcExecutor.execute("getLatestLedger", () -> soroban.getLatestLedger());
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("Falha ao consultar getLatestLedger: {}", e.getMessage());
+            return;
+        }
+        if (response == null || response.getSequence() == null) {
+            return;
+        }
+        advanceTo(response.getSequence().longValue());
+    }
+
+    /**
+     * Registra um ledger observado (pelo heartbeat ou por outra fonte confiável,
+     * ex.: snapshot local) e publica o avanço se ele for novo.
+     */
+    public void advanceTo(long sequence) {
+        long previous;
+        long observedAt = System.currentTimeMillis();
+        synchronized (this) {
+            previous = latestSequence;
+            if (sequence <= previous) {
+                return;
+            }
+            latestSequence = sequence;
+            latestObservedAtMillis = observedAt;
+        }
+        events.publishEvent(new LedgerAdvancedEvent(previous, sequence, Instant.ofEpochMilli(observedAt)));
+    }
+
+    /** Último ledger observado, ou 0 se ainda nenhum. */
+    public long latestLedger() {
+        return latestSequence;
+    }
+
+    public long latestObservedAtMillis() {
+        return latestObservedAtMillis;
+    }
+}
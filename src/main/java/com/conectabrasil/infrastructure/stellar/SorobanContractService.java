@@ -1,6 +1,7 @@
 package com.conectabrasil.infrastructure.stellar;
 
 import java.io.ByteArrayInputStream;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
@@ -9,7 +10,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.stellar.sdk.Account;
 import org.stellar.sdk.Address;
 import org.stellar.sdk.KeyPair;
 import org.stellar.sdk.Network;
@@ -18,7 +21,9 @@ import org.stellar.sdk.SorobanServer;
 import org.stellar.sdk.Transaction;
 import org.stellar.sdk.TransactionBuilder;
 import org.stellar.sdk.TransactionBuilderAccount;
+import org.stellar.sdk.exception.AccountNotFoundException;
 import org.stellar.sdk.operations.InvokeHostFunctionOperation;
+import org.stellar.sdk.responses.sorobanrpc.SimulateTransactionResponse;
 import org.stellar.sdk.xdr.SCMapEntry;
 import org.stellar.sdk.xdr.SCVal;
 import org.stellar.sdk.xdr.SCValType;
@@ -29,6 +34,16 @@ import org.stellar.sdk.xdr.XdrDataInputStream;
 import org.stellar.sdk.xdr.XdrUnsignedHyperInteger;
 import org.stellar.sdk.xdr.XdrUnsignedInteger;
 
+import com.conectabrasil.domain.event.OrderActivityEvent;
+import com.conectabrasil.domain.event.OrderStateObservedEvent;
+import com.conectabrasil.infrastructure.footprint.FootprintTemplateCache;
+import com.conectabrasil.infrastructure.journal.JournalRecord;
+import com.conectabrasil.infrastructure.journal.TransactionJournal;
+import com.conectabrasil.infrastructure.resilience.RpcExecutor;
+import com.conectabrasil.infrastructure.resilience.RpcRejectedException;
+import com.conectabrasil.infrastructure.stellar.ContractViewCache.LedgerValue;
+import com.conectabrasil.infrastructure.stellar.ContractViewCache.TimedValue;
+
 
 @Service
 public class SorobanContractService {
@@ -37,14 +52,45 @@ public class SorobanContractService {
     private final Server horizon; // Horizon p/ contas e sequência
     private final SorobanServer soroban; // Soroban RPC
     private final Network network;
-
-    public SorobanContractService(StellarConfig cfg) {
+    private final StellarAddressGuard addressGuard;
+    private final FeeEstimator feeEstimator;
+    private final RpcExecutor rpcExecutor; // limite de concorrência adaptativo p/ soroban.*
+    private final ContractViewCache viewCache; // resultados das view functions por ledger
+    private final ApplicationEventPublisher events; // atividade/estado das ordens (expiração, webhooks)
+    private final TransactionJournal journal; // envelopes não assinados emitidos (append-only)
+    private final FootprintTemplateCache footprintTemplates; // checkout sem simulação (opt-in)
+
+    public SorobanContractService(StellarConfig cfg, SorobanServer soroban, StellarAddressGuard addressGuard,
+            FeeEstimator feeEstimator, RpcExecutor rpcExecutor, ContractViewCache viewCache,
+            ApplicationEventPublisher events, TransactionJournal journal,
+            FootprintTemplateCache footprintTemplates) {
         this.stellarConfig = cfg;
+        this.addressGuard = addressGuard;
+        this.feeEstimator = feeEstimator;
+        this.rpcExecutor = rpcExecutor;
+        this.viewCache = viewCache;
+        this.events = events;
+        this.journal = journal;
+        this.footprintTemplates = footprintTemplates;
         this.horizon = new Server(cfg.getHorizonUrl());
-        this.soroban = new SorobanServer(cfg.getSorobanRpcUrl()); // ex.: http://localhost:8000/soroban/rpc
+        this.soroban = soroban; // compartilhado (ver StellarClientConfig)
         this.network = new Network(cfg.getNetworkPassphrase());
     }
 
+    /**
+     * Envelope preparado (simulado, com sorobanData e resource fee) ainda não
+     * emitido: nada foi registrado no journal/fee estimator nem publicado.
+     *
+     * @param baseFee      inclusion fee usada (o fee total já inclui o resource fee)
+     * @param fromTemplate montado a partir de um template de footprint, sem simular
+     */
+    public record PreparedInvocation(Transaction transaction, long baseFee, boolean fromTemplate) {
+
+        public PreparedInvocation(Transaction transaction, long baseFee) {
+            this(transaction, baseFee, false);
+        }
+    }
+
     /**
      * Monta a transação de invocação do contrato:
      * buy_order(owner: Address, package_id: u32)
@@ -57,73 +103,57 @@ public class SorobanContractService {
      */
     public String buildBuyAndGrantUnsignedXdr(String ownerAccountId, int packageId) throws Exception {
         // 0) Carrega a conta no formato certo (TransactionBuilderAccount) via Soroban
-        // RPC
-        TransactionBuilderAccount source = soroban.getAccount(ownerAccountId); // SorobanServer
-        // se a conta não existir, o SDK lança AccountNotFoundException
+        // RPC (valida o endereço e consulta o cache negativo antes)
+        long sequence = loadSequence(ownerAccountId);
+        PreparedInvocation prepared = prepareBuyAndGrant(ownerAccountId, packageId, sequence);
 
-        // 1) Argumentos do contrato
-        SCVal ownerArg = new Address(ownerAccountId).toSCVal();
-        SCVal pkgArg = u32(packageId);
-
-        // 2) Operação de invocação (ajuste para usar seu helper se preferir)
-        InvokeHostFunctionOperation op = InvokeHostFunctionOperation
-                .invokeContractFunctionOperationBuilder(stellarConfig.getContractAddress(), "buy_and_grant",
-                                java.util.List.of(ownerArg, pkgArg))
-                .build();
-
-        // 3) Monta a transação (apenas UMA vez) — não assina
-        Transaction toSimulate = new TransactionBuilder(source, network)
-                .addOperation(op)
-                .setBaseFee(100) // base fee; resource fee virá do prepare
-                .setTimeout(120)
-                .build();
+        // 8) Retorna XDR base64 NÃO ASSINADO (front assina e envia)
+        return issueBuyAndGrant(prepared, ownerAccountId, packageId);
+    }
 
-        // 4) Simula → coleta possíveis authorizations exigidas pelo contrato/SAC
-        var simulation = soroban.simulateTransaction(toSimulate);
-        if (simulation.getError() != null) {
-            throw new RuntimeException("simulate error: " + simulation.getError());
-        }
+    /**
+     * Sequence atual da conta (a próxima transação usa sequence + 1). Valida o
+     * endereço e consulta o cache negativo antes do RPC.
+     */
+    public long loadSequence(String accountId) throws Exception {
+        return loadAccount(accountId).getSequenceNumber();
+    }
 
-        List<SorobanAuthorizationEntry> authorizations = Collections.emptyList();
-        if (Objects.nonNull(simulation.getResults()) && !simulation.getResults().isEmpty()
-                && simulation.getResults().get(0).getAuth() != null
-                && !simulation.getResults().get(0).getAuth().isEmpty()) {
-            var authB64 = simulation.getResults().get(0).getAuth();
-            authorizations = decodeAuthBase64(authB64);
-        } else {
-            throw new RuntimeException("No authorizations found");
+    /**
+     * Prepara o buy_and_grant com a conta do owner na sequence dada (o envelope
+     * sai com sequence + 1), sem efeitos colaterais; emitir com issueBuyAndGrant.
+     */
+    public PreparedInvocation prepareBuyAndGrant(String ownerAccountId, int packageId, long sequence)
+            throws Exception {
+        long baseFee = feeEstimator.baseFee();
+
+        // Template de footprint aprendido (opt-in): monta sem simular/preparar.
+        // Sem template utilizável, segue o caminho completo (que alimenta o template).
+        var template = footprintTemplates.instantiate("buy_and_grant", packageId, ownerAccountId);
+        if (template.isPresent()) {
+            Transaction unsigned = footprintTemplates.assemble(template.get(), new Account(ownerAccountId, sequence),
+                    baseFee, 120);
+            return new PreparedInvocation(unsigned, baseFee, true);
         }
+        return new PreparedInvocation(simulateBuyAndGrant(ownerAccountId, packageId, sequence, baseFee), baseFee);
+    }
 
-        // 5) Recria a operação COM auth (se houver)
-        var opBuilder = InvokeHostFunctionOperation
-                .invokeContractFunctionOperationBuilder(stellarConfig.getContractAddress(), "buy_and_grant",
-                        List.of(ownerArg, pkgArg));
-
-        if (!authorizations.isEmpty()) {
-            opBuilder.auth(authorizations);
+    /**
+     * Registra o envelope preparado (fee tracking, journal, cache, eventos,
+     * amostra de verificação do template de footprint) e devolve o XDR.
+     */
+    public String issueBuyAndGrant(PreparedInvocation prepared, String ownerAccountId, int packageId) {
+        Transaction unsigned = prepared.transaction();
+        if (prepared.fromTemplate()) {
+            footprintTemplates.issued("buy_and_grant", packageId, unsigned);
         }
-        var operation = opBuilder.build();
-
-        // 6) Recarrega a conta para não queimar a sequence
-        source = soroban.getAccount(ownerAccountId);
-
-        // 7) Prepara (injeta sorobanData + resource fee). Ainda SEM assinar.
-        var unsigned = new TransactionBuilder(source, network)
-                .addOperation(op)
-                .setBaseFee(100)
-                .setTimeout(120)
-                .build();
-
-        unsigned = soroban.prepareTransaction(unsigned);
-
-        // 8) Retorna XDR base64 NÃO ASSINADO (front assina e envia)
+        feeEstimator.trackIssued(unsigned, prepared.baseFee());
+        journal.issued(unsigned, JournalRecord.Function.BUY_AND_GRANT, ownerAccountId, ownerAccountId,
+                (long) packageId, null);
+        viewCache.invalidateOwner(ownerAccountId); // nova ordem a caminho
+        events.publishEvent(new OrderActivityEvent(OrderActivityEvent.Type.PURCHASE_PREPARED, ownerAccountId,
+                null, (long) packageId, ownerAccountId, Instant.now()));
         return unsigned.toEnvelopeXdrBase64();
-
-        // 4) Prepara (simula + injeta SorobanTransactionData + resource fee)
-        // toSimulate = soroban.prepareTransaction(toSimulate);
-
-        // 5) Retorna XDR base64 não assinado (o front assina e envia)
-        // return toSimulate.toEnvelopeXdrBase64();
     }
 
     /**
@@ -132,8 +162,22 @@ public class SorobanContractService {
      */
     public String buildGrantUnsignedXdrForTest(String callerAccountId, String ownerAccountId, long orderId)
             throws Exception {
-        // 0) Carrega a conta fonte (caller) via Soroban RPC
-        TransactionBuilderAccount source = soroban.getAccount(callerAccountId);
+        // 0) Valida os endereços e carrega a conta fonte (caller) via Soroban RPC
+        addressGuard.requireAddress(ownerAccountId);
+        long sequence = loadSequence(callerAccountId);
+        PreparedInvocation prepared = prepareGrant(callerAccountId, ownerAccountId, orderId, sequence);
+
+        // 7) Retorna XDR não assinado (carteira assina e envia)
+        return issueGrant(prepared, callerAccountId, ownerAccountId, orderId);
+    }
+
+    /**
+     * Prepara o grant com a conta do caller na sequence dada (o envelope sai com
+     * sequence + 1), sem efeitos colaterais; emitir com issueGrant.
+     */
+    public PreparedInvocation prepareGrant(String callerAccountId, String ownerAccountId, long orderId,
+            long sequence) throws Exception {
+        addressGuard.requireAddress(ownerAccountId);
 
         // 1) Args do contrato
         SCVal callerArg = new Address(callerAccountId).toSCVal();
@@ -149,13 +193,14 @@ public class SorobanContractService {
                 .build();
 
         // 3) Simula para coletar possíveis authorizations
-        Transaction toSimulate = new TransactionBuilder(source, network)
+        long baseFee = feeEstimator.baseFee();
+        Transaction toSimulate = new TransactionBuilder(new Account(callerAccountId, sequence), network)
                 .addOperation(opNoAuth)
-                .setBaseFee(100)
+                .setBaseFee(baseFee)
                 .setTimeout(120)
                 .build();
 
-        var simulation = soroban.simulateTransaction(toSimulate);
+        var simulation = rpcExecutor.execute("simulateTransaction", () -> soroban.simulateTransaction(toSimulate));
         if (simulation.getError() != null) {
             throw new RuntimeException("simulate error: " + simulation.getError());
         }
@@ -179,23 +224,130 @@ public class SorobanContractService {
         }
         var opWithAuth = opBuilder.build();
 
-        // 6) Recarrega a conta para não queimar sequence e prepara
-        source = soroban.getAccount(callerAccountId);
-        Transaction unsigned = new TransactionBuilder(source, network)
+        // 6) Conta nova na mesma sequence (o build anterior incrementou a outra) e prepara
+        Transaction toPrepare = new TransactionBuilder(new Account(callerAccountId, sequence), network)
                 .addOperation(opWithAuth) // <<< usa a operação COM AUTH
-                .setBaseFee(100)
+                .setBaseFee(baseFee)
                 .setTimeout(120)
                 .build();
 
-        unsigned = soroban.prepareTransaction(unsigned);
+        Transaction unsigned = rpcExecutor.execute("prepareTransaction",
+                () -> soroban.prepareTransaction(toPrepare));
+        return new PreparedInvocation(unsigned, baseFee);
+    }
 
-        // 7) Retorna XDR não assinado (carteira assina e envia)
+    /** Registra o envelope preparado (fee tracking, journal, cache, eventos) e devolve o XDR. */
+    public String issueGrant(PreparedInvocation prepared, String callerAccountId, String ownerAccountId,
+            long orderId) {
+        Transaction unsigned = prepared.transaction();
+        feeEstimator.trackIssued(unsigned, prepared.baseFee());
+        journal.issued(unsigned, JournalRecord.Function.GRANT, callerAccountId, ownerAccountId, null, orderId);
+        viewCache.invalidateOwner(ownerAccountId);
+        viewCache.invalidateOwner(callerAccountId);
+        events.publishEvent(new OrderActivityEvent(OrderActivityEvent.Type.GRANT_PREPARED, ownerAccountId,
+                orderId, null, callerAccountId, Instant.now()));
         return unsigned.toEnvelopeXdrBase64();
     }
 
+    /**
+     * Remonta o envelope preparado com a conta fonte em outra sequence, sem RPC:
+     * operação (com auth), sorobanData e fee total não dependem da sequence.
+     * Usado pelos lotes, que só numeram os itens que deram certo.
+     */
+    public PreparedInvocation resequence(PreparedInvocation prepared, String sourceAccountId, long sequence) {
+        Transaction tx = prepared.transaction();
+        if (tx.getSequenceNumber() == sequence + 1) {
+            return prepared; // já está na sequence certa
+        }
+        Transaction renumbered = new TransactionBuilder(new Account(sourceAccountId, sequence), network)
+                .addOperation(tx.getOperations()[0])
+                .setBaseFee(tx.getFee()) // 1 operação: base fee = fee total (inclusion + resource)
+                .setSorobanData(tx.getSorobanData())
+                .setTimeout(120)
+                .build();
+        return new PreparedInvocation(renumbered, prepared.baseFee(), prepared.fromTemplate());
+    }
+
+    /**
+     * Caminho completo do buy_and_grant: simula (auth) e prepara (sorobanData +
+     * resource fee), com a conta do owner na sequence dada.
+     */
+    private Transaction simulateBuyAndGrant(String ownerAccountId, int packageId, long sequence, long baseFee)
+            throws Exception {
+        // 1) Argumentos do contrato
+        SCVal ownerArg = new Address(ownerAccountId).toSCVal();
+        SCVal pkgArg = u32(packageId);
+
+        // 2) Operação de invocação (ajuste para usar seu helper se preferir)
+        InvokeHostFunctionOperation op = InvokeHostFunctionOperation
+                .invokeContractFunctionOperationBuilder(stellarConfig.getContractAddress(), "buy_and_grant",
+                                java.util.List.of(ownerArg, pkgArg))
+                .build();
+
+        // 3) Monta a transação (apenas UMA vez) — não assina
+        // base fee = inclusion fee estimada (snapshot em memória); resource fee virá do prepare
+        Transaction toSimulate = new TransactionBuilder(new Account(ownerAccountId, sequence), network)
+                .addOperation(op)
+                .setBaseFee(baseFee)
+                .setTimeout(120)
+                .build();
+
+        // 4) Simula → coleta possíveis authorizations exigidas pelo contrato/SAC
+        var simulation = rpcExecutor.execute("simulateTransaction", () -> soroban.simulateTransaction(toSimulate));
+        if (simulation.getError() != null) {
+            throw new RuntimeException("simulate error: " + simulation.getError());
+        }
+
+        List<SorobanAuthorizationEntry> authorizations = Collections.emptyList();
+        if (Objects.nonNull(simulation.getResults()) && !simulation.getResults().isEmpty()
+                && simulation.getResults().get(0).getAuth() != null
+                && !simulation.getResults().get(0).getAuth().isEmpty()) {
+            var authB64 = simulation.getResults().get(0).getAuth();
+            authorizations = decodeAuthBase64(authB64);
+        } else {
+            throw new RuntimeException("No authorizations found");
+        }
+
+        // 5) Recria a operação COM auth (se houver)
+        var opBuilder = InvokeHostFunctionOperation
+                .invokeContractFunctionOperationBuilder(stellarConfig.getContractAddress(), "buy_and_grant",
+                        List.of(ownerArg, pkgArg));
+
+        if (!authorizations.isEmpty()) {
+            opBuilder.auth(authorizations);
+        }
+        var operation = opBuilder.build();
+
+        // 6) Conta nova na mesma sequence (o build anterior incrementou a outra)
+        // 7) Prepara (injeta sorobanData + resource fee). Ainda SEM assinar.
+        var toPrepare = new TransactionBuilder(new Account(ownerAccountId, sequence), network)
+                .addOperation(op)
+                .setBaseFee(baseFee)
+                .setTimeout(120)
+                .build();
+
+        var unsigned = rpcExecutor.execute("prepareTransaction", () -> soroban.prepareTransaction(toPrepare));
+        footprintTemplates.learn("buy_and_grant", packageId, ownerAccountId, unsigned);
+        return unsigned;
+    }
+
     // -------------------------------------------------------------------------------------
     // Helpers
     // -------------------------------------------------------------------------------------
+    /**
+     * Carrega a conta via Soroban RPC. Endereços inválidos ou já conhecidos como
+     * inexistentes falham antes do RPC; contas inexistentes entram no cache negativo.
+     */
+    private TransactionBuilderAccount loadAccount(String accountId) throws Exception {
+        addressGuard.requireExistingAccount(accountId);
+        try {
+            return rpcExecutor.execute("getAccount", () -> soroban.getAccount(accountId));
+        } catch (AccountNotFoundException e) {
+            addressGuard.recordMissing(accountId);
+            throw new IllegalArgumentException("Conta não encontrada na rede: " + accountId, e);
+        }
+    }
+
     /** Helper: cria SCVal U128 com hi=0 e lo=valor (para orderIds pequenos). */
     private static SCVal u128Lo(long lo) {
         // hi = 0
@@ -215,6 +367,10 @@ public class SorobanContractService {
         return v;
     }
 
+    private static long ledgerOf(SimulateTransactionResponse response) {
+        return response.getLatestLedger() != null ? response.getLatestLedger() : -1;
+    }
+
     private static List<SorobanAuthorizationEntry> decodeAuthBase64(List<String> authB64) throws Exception {
         if (authB64 == null || authB64.isEmpty())
             return Collections.emptyList();
@@ -254,11 +410,16 @@ public class SorobanContractService {
      * @return Lista de pacotes disponíveis
      */
     public List<Object> getAllPackages() throws Exception {
+        return viewCache.get("get_all_packages", "", null, this::loadAllPackages);
+    }
+
+    private LedgerValue<List<Object>> loadAllPackages() throws Exception {
         try {
             // Usa uma conta válida do Stellar para simulação
             // Para view functions, podemos usar qualquer conta válida
             String validAccount = "GBQXJ5OUUJO4DYJ43ZT7FFU4NM4TQGBHLEN7G553WIPQMTN4LX45ZL35";
-            TransactionBuilderAccount source = soroban.getAccount(validAccount);
+            TransactionBuilderAccount source = rpcExecutor.execute("getAccount",
+                    () -> soroban.getAccount(validAccount));
 
             // Cria operação para invocar get_all_packages (sem argumentos)
             InvokeHostFunctionOperation op = InvokeHostFunctionOperation
@@ -276,7 +437,8 @@ public class SorobanContractService {
                     .build();
 
             // Simula a transação
-            var simulation = soroban.simulateTransaction(toSimulate);
+            var simulation = rpcExecutor.execute("simulateTransaction",
+                    () -> soroban.simulateTransaction(toSimulate));
             if (simulation.getError() != null) {
                 throw new RuntimeException("Simulation error: " + simulation.getError());
             }
@@ -286,12 +448,14 @@ public class SorobanContractService {
                 var result = simulation.getResults().get(0);
                 if (result.getXdr() != null) {
                     // Faz o parsing do resultado SCVal
-                    return parsePackagesFromSCVal(result.getXdr());
+                    return new LedgerValue<>(parsePackagesFromSCVal(result.getXdr()), ledgerOf(simulation));
                 }
             }
 
-            return Collections.emptyList();
+            return new LedgerValue<>(Collections.emptyList(), ledgerOf(simulation));
 
+        } catch (RpcRejectedException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Erro ao buscar pacotes do contrato: " + e.getMessage(), e);
         }
@@ -368,6 +532,17 @@ public class SorobanContractService {
      * @throws Exception se houver erro na invocação
      */
     public List<Object> getUserPackages(String userAddress) throws Exception {
+        return getUserPackagesTimed(userAddress).value();
+    }
+
+    /** Como getUserPackages, com o instante em que a lista foi lida da rede (pode vir do cache). */
+    public TimedValue<List<Object>> getUserPackagesTimed(String userAddress) throws Exception {
+        addressGuard.requireAddress(userAddress);
+        return viewCache.getTimed("get_user_packages", userAddress, userAddress,
+                () -> loadUserPackages(userAddress));
+    }
+
+    private LedgerValue<List<Object>> loadUserPackages(String userAddress) throws Exception {
         try {
             // Cria uma conta mock temporária para a simulação
             TransactionBuilderAccount sourceAccount = new TransactionBuilderAccount() {
@@ -429,7 +604,8 @@ public class SorobanContractService {
                     .build();
 
             // Simula a transação
-            var response = soroban.simulateTransaction(transaction);
+            var response = rpcExecutor.execute("simulateTransaction",
+                    () -> soroban.simulateTransaction(transaction));
 
             if (response.getError() != null) {
                 throw new RuntimeException("Erro na simulação: " + response.getError());
@@ -438,11 +614,15 @@ public class SorobanContractService {
             // Extrai o resultado
             if (response.getResults() != null && !response.getResults().isEmpty()) {
                 String result = response.getResults().get(0).getXdr();
-                return parseUserPackagesFromSCVal(result);
+                List<Object> userPackages = parseUserPackagesFromSCVal(result);
+                publishObservedOrders(userAddress, userPackages);
+                return new LedgerValue<>(userPackages, ledgerOf(response));
             }
 
-            return Collections.emptyList();
+            return new LedgerValue<>(Collections.emptyList(), ledgerOf(response));
 
+        } catch (RpcRejectedException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Erro ao buscar pacotes do usuário: " + e.getMessage(), e);
         }
@@ -507,10 +687,30 @@ public class SorobanContractService {
         }
     }
 
+    /**
+     * Publica o estado (ativa/pacote) de cada ordem lida em get_user_packages.
+     */
+    private void publishObservedOrders(String userAddress, List<Object> userPackages) {
+        Instant now = Instant.now();
+        for (Object item : userPackages) {
+            if (item instanceof Map<?, ?> pkg && pkg.get("order_id") instanceof Long orderId) {
+                events.publishEvent(new OrderStateObservedEvent(userAddress, orderId,
+                        (Long) pkg.get("package_id"), (Boolean) pkg.get("is_active"), null, now));
+            }
+        }
+    }
+
     /**
      * Busca o valor restante de uma ordem específica
      */
     public Object getRemainingByOrder(String ownerAddress, long orderId) throws Exception {
+        addressGuard.requireAddress(ownerAddress);
+        // "now" não entra na chave: o TTL de remaining_by_order é curto (ver view-cache)
+        return viewCache.get("remaining_by_order", ownerAddress + ":" + orderId, ownerAddress,
+                () -> loadRemainingByOrder(ownerAddress, orderId));
+    }
+
+    private LedgerValue<Object> loadRemainingByOrder(String ownerAddress, long orderId) throws Exception {
         try {
             // Cria uma conta temporária para a transação
             KeyPair keyPair = KeyPair.random();
@@ -567,16 +767,24 @@ public class SorobanContractService {
                     .build();
 
             // Simula a transação
-            org.stellar.sdk.responses.sorobanrpc.SimulateTransactionResponse response = soroban
-                    .simulateTransaction(transaction);
+            SimulateTransactionResponse response = rpcExecutor
+                    .execute("simulateTransaction", () -> soroban.simulateTransaction(transaction));
 
             if (response.getResults() != null && !response.getResults().isEmpty()) {
                 String xdrResult = response.getResults().get(0).getXdr();
-                return parseRemainingFromSCVal(xdrResult);
+                Object remaining = parseRemainingFromSCVal(xdrResult);
+                if (remaining instanceof Map<?, ?> map && map.get("remaining") instanceof Number seconds
+                        && !map.containsKey("error")) {
+                    events.publishEvent(new OrderStateObservedEvent(ownerAddress, orderId, null, null,
+                            seconds.longValue(), Instant.now()));
+                }
+                return new LedgerValue<>(remaining, ledgerOf(response));
             }
 
-            return 0;
+            return new LedgerValue<>(0, ledgerOf(response));
 
+        } catch (RpcRejectedException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Erro ao buscar valor restante da ordem: " + e.getMessage(), e);
         }
@@ -590,6 +798,7 @@ public class SorobanContractService {
      * @return Resultado da operação start_order
      */
     public Object startOrder(String ownerAddress, long orderId) throws Exception {
+        addressGuard.requireAddress(ownerAddress);
         try {
             // Cria uma conta temporária para a transação
             KeyPair keyPair = KeyPair.random();
@@ -645,8 +854,8 @@ public class SorobanContractService {
                     .build();
 
             // Simula a transação
-            org.stellar.sdk.responses.sorobanrpc.SimulateTransactionResponse response = soroban
-                    .simulateTransaction(transaction);
+            SimulateTransactionResponse response = rpcExecutor
+                    .execute("simulateTransaction", () -> soroban.simulateTransaction(transaction));
 
             if (response.getError() != null) {
                 throw new RuntimeException("Erro na simulação: " + response.getError());
@@ -654,11 +863,16 @@ public class SorobanContractService {
 
             if (response.getResults() != null && !response.getResults().isEmpty()) {
                 String xdrResult = response.getResults().get(0).getXdr();
+                viewCache.invalidateOwner(ownerAddress);
+                events.publishEvent(new OrderActivityEvent(OrderActivityEvent.Type.STARTED, ownerAddress, orderId,
+                        null, ownerAddress, Instant.now()));
                 return parseStartOrderFromSCVal(xdrResult);
             }
 
             return null;
 
+        } catch (RpcRejectedException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Erro ao invocar start_order: " + e.getMessage(), e);
         }
@@ -672,6 +886,7 @@ public class SorobanContractService {
      * @return Resultado da operação pause_order
      */
     public Object pauseOrder(String ownerAddress, long orderId) throws Exception {
+        addressGuard.requireAddress(ownerAddress);
         try {
             // Cria uma conta temporária para a transação
             KeyPair keyPair = KeyPair.random();
@@ -727,8 +942,8 @@ public class SorobanContractService {
                     .build();
 
             // Simula a transação
-            org.stellar.sdk.responses.sorobanrpc.SimulateTransactionResponse response = soroban
-                    .simulateTransaction(transaction);
+            SimulateTransactionResponse response = rpcExecutor
+                    .execute("simulateTransaction", () -> soroban.simulateTransaction(transaction));
 
             if (response.getError() != null) {
                 throw new RuntimeException("Erro na simulação: " + response.getError());
@@ -736,11 +951,16 @@ public class SorobanContractService {
 
             if (response.getResults() != null && !response.getResults().isEmpty()) {
                 String xdrResult = response.getResults().get(0).getXdr();
+                viewCache.invalidateOwner(ownerAddress);
+                events.publishEvent(new OrderActivityEvent(OrderActivityEvent.Type.PAUSED, ownerAddress, orderId,
+                        null, ownerAddress, Instant.now()));
                 return parsePauseOrderFromSCVal(xdrResult);
             }
 
             return null;
 
+        } catch (RpcRejectedException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException("Erro ao invocar pause_order: " + e.getMessage(), e);
         }
@@ -836,6 +1056,34 @@ public class SorobanContractService {
         }
     }
 
+    /**
+     * Exercita localmente (sem RPC) os caminhos quentes de decode/encode:
+     * parsing dos resultados SCVal gravados e montagem, serialização e
+     * re-leitura de um envelope buy_and_grant. Chamado pelo warm-up antes do
+     * readiness para carregar as classes XDR e aquecer o JIT.
+     * 
+     * @return número de itens decodificados (evita que o trabalho seja descartado)
+     */
+    public int warmUpCodecs(String allPackagesXdr, String userPackagesXdr, String remainingXdr,
+            String ownerAccountId) throws Exception {
+        int decoded = parsePackagesFromSCVal(allPackagesXdr).size();
+        decoded += parseUserPackagesFromSCVal(userPackagesXdr).size();
+        decoded += parseRemainingFromSCVal(remainingXdr) != null ? 1 : 0;
+
+        InvokeHostFunctionOperation op = InvokeHostFunctionOperation
+                .invokeContractFunctionOperationBuilder(stellarConfig.getContractAddress(), "buy_and_grant",
+                        List.of(new Address(ownerAccountId).toSCVal(), u32(1)))
+                .build();
+        Transaction tx = new TransactionBuilder(new Account(ownerAccountId, 0L), network)
+                .addOperation(op)
+                .setBaseFee(feeEstimator.baseFee())
+                .setTimeout(120)
+                .build();
+        String envelope = tx.toEnvelopeXdrBase64();
+        decoded += Transaction.fromEnvelopeXdr(envelope, network).hashHex().isEmpty() ? 0 : 1;
+        return decoded;
+    }
+
     /**
      * Extrai string de um SCVal
      */
@@ -0,0 +1,129 @@
+package com.conectabrasil.infrastructure.stellar;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.stellar.sdk.StrKey;
+
+import com.conectabrasil.infrastructure.cache.BloomFilter;
+
+/**
+ * Validação de endereços Stellar antes de qualquer chamada RPC e cache
+ * negativo (com TTL) de contas que sabidamente não existem no ledger.
+ *
+ * O Bloom filter fica na frente do mapa exato: para a grande maioria dos
+ * endereços (contas existentes) a checagem termina nele, sem tocar no mapa.
+ * Ele é rotacionado a cada TTL (geração atual + anterior), já que Bloom
+ * filters não suportam remoção. A decisão final é sempre do mapa exato,
+ * então um falso positivo do filtro nunca bloqueia uma conta válida.
+ */
+@Component
+public class StellarAddressGuard {
+
+    private final AddressCacheConfig config;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<String, Long> missingUntil = new ConcurrentHashMap<>();
+    private final AtomicLong nextRotation;
+    private volatile BloomFilter currentGeneration;
+    private volatile BloomFilter previousGeneration;
+
+    public StellarAddressGuard(AddressCacheConfig config) {
+        this.config = config;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(1, config.getTtlSeconds()));
+        this.currentGeneration = newGeneration();
+        this.previousGeneration = newGeneration();
+        this.nextRotation = new AtomicLong(System.nanoTime() + ttlNanos);
+    }
+
+    /**
+     * Valida uma conta G... (ed25519). Lança IllegalArgumentException se inválida.
+     */
+    public void requireAccountId(String accountId) {
+        if (accountId == null || !StrKey.isValidEd25519PublicKey(accountId)) {
+            throw new IllegalArgumentException("Endereço Stellar inválido: " + accountId);
+        }
+    }
+
+    /**
+     * Valida um endereço aceito como Address do contrato: conta G... ou contrato C...
+     */
+    public void requireAddress(String address) {
+        if (address == null
+                || !(StrKey.isValidEd25519PublicKey(address) || StrKey.isValidContract(address))) {
+            throw new IllegalArgumentException("Endereço Stellar inválido: " + address);
+        }
+    }
+
+    /**
+     * Valida a conta e falha sem RPC se ela já foi vista como inexistente dentro do TTL.
+     */
+    public void requireExistingAccount(String accountId) {
+        requireAccountId(accountId);
+        if (isKnownMissing(accountId)) {
+            throw new IllegalArgumentException("Conta não encontrada na rede: " + accountId);
+        }
+    }
+
+    public boolean isKnownMissing(String accountId) {
+        long now = System.nanoTime();
+        rotateIfDue(now);
+        if (!currentGeneration.mightContain(accountId) && !previousGeneration.mightContain(accountId)) {
+            return false;
+        }
+        Long until = missingUntil.get(accountId);
+        if (until == null) {
+            return false;
+        }
+        if (until - now <= 0) {
+            missingUntil.remove(accountId, until);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Registra uma conta que o RPC informou como inexistente.
+     */
+    public void recordMissing(String accountId) {
+        long now = System.nanoTime();
+        rotateIfDue(now);
+        if (missingUntil.size() >= config.getMaxEntries()) {
+            purgeExpired(now);
+            if (missingUntil.size() >= config.getMaxEntries()) {
+                return;
+            }
+        }
+        missingUntil.put(accountId, now + ttlNanos);
+        currentGeneration.put(accountId);
+    }
+
+    /**
+     * Remove a conta do cache negativo (ex.: conta foi financiada).
+     */
+    public void forget(String accountId) {
+        missingUntil.remove(accountId);
+    }
+
+    private void rotateIfDue(long now) {
+        long due = nextRotation.get();
+        if (now - due < 0 || !nextRotation.compareAndSet(due, now + ttlNanos)) {
+            return;
+        }
+        // entradas da geração anterior já passaram de 1 TTL: podem sair do filtro
+        previousGeneration = currentGeneration;
+        currentGeneration = newGeneration();
+        purgeExpired(now);
+        // o que ainda está vivo no mapa volta para a geração nova
+        missingUntil.keySet().forEach(currentGeneration::put);
+    }
+
+    private void purgeExpired(long now) {
+        missingUntil.entrySet().removeIf(e -> e.getValue() - now <= 0);
+    }
+
+    private BloomFilter newGeneration() {
+        return new BloomFilter(config.getBloomExpectedInsertions(), config.getBloomFalsePositiveRate());
+    }
+}
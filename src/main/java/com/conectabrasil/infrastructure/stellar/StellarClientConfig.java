@@ -0,0 +1,72 @@
+package com.conectabrasil.infrastructure.stellar;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.stellar.sdk.SorobanServer;
+
+import com.conectabrasil.infrastructure.recording.RecordingInterceptor;
+import com.conectabrasil.infrastructure.recording.ReplayInterceptor;
+import com.conectabrasil.infrastructure.recording.RpcRecordingConfig;
+import com.conectabrasil.infrastructure.recording.RpcRecordingFile;
+import com.conectabrasil.infrastructure.resilience.DeadlineOkHttpInterceptor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.OkHttpClient;
+
+/**
+ * Clientes HTTP/RPC compartilhados: um único SorobanServer (e pool OkHttp)
+ * para o serviço de contrato e os componentes de background.
+ *
+ * Com stellar.rpc-recording.mode = record/replay o cliente grava o tráfego
+ * JSON-RPC ou o responde a partir de uma gravação (ver pacote recording).
+ */
+@Configuration
+public class StellarClientConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(StellarClientConfig.class);
+
+    @Bean
+    public OkHttpClient sorobanHttpClient(RpcRecordingConfig recording,
+            ObjectProvider<RpcRecordingFile.Writer> recordingWriter, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) throws IOException {
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .connectTimeout(10, TimeUnit.SECONDS)
+                .readTimeout(30, TimeUnit.SECONDS)
+                .writeTimeout(30, TimeUnit.SECONDS)
+                .retryOnConnectionFailure(true)
+                // timeouts limitados ao que resta do prazo da requisição
+                .addInterceptor(new DeadlineOkHttpInterceptor());
+        if (recording.isRecording()) {
+            builder.addInterceptor(
+                    new RecordingInterceptor(recording, recordingWriter.getObject(), objectMapper, meterRegistry));
+            log.info("Gravando tráfego do Soroban RPC em {}", recording.getFile());
+        } else if (recording.isReplaying()) {
+            ReplayInterceptor replay = new ReplayInterceptor(recording,
+                    RpcRecordingFile.readAll(Path.of(recording.getFile())), objectMapper, meterRegistry);
+            builder.addInterceptor(replay);
+            log.info("Replay do Soroban RPC a partir de {} ({} chaves, latência x{})", recording.getFile(),
+                    replay.size(), recording.getLatencyScale());
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "stellar.rpc-recording.mode", havingValue = "record")
+    public RpcRecordingFile.Writer rpcRecordingWriter(RpcRecordingConfig recording) throws IOException {
+        return RpcRecordingFile.create(Path.of(recording.getFile()));
+    }
+
+    @Bean
+    public SorobanServer sorobanServer(StellarConfig cfg, OkHttpClient sorobanHttpClient) {
+        return new SorobanServer(cfg.getSorobanRpcUrl(), sorobanHttpClient); // ex.: http://localhost:8000/soroban/rpc
+    }
+}
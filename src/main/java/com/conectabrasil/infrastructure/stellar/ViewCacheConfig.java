@@ -0,0 +1,39 @@
+package com.conectabrasil.infrastructure.stellar;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "stellar.view-cache")
+public class ViewCacheConfig {
+    private boolean enabled = true;
+    private int maxEntries = 10_000;
+    /** TTL padrão (s) de um resultado de view quando a função não tem TTL próprio. */
+    private long defaultTtlSeconds = 10;
+    /** Teto de TTL (s) por função do contrato, ex.: remaining_by_order: 2 */
+    private Map<String, Long> ttlSeconds = new LinkedHashMap<>();
+    /** Janela (s) após o TTL em que o valor antigo é servido enquanto recarrega em background. */
+    private long staleWhileRevalidateSeconds = 30;
+    /**
+     * Janela stale-while-revalidate (s) por função, no lugar da padrão; 0 desliga
+     * para views dependentes do tempo, ex.: remaining_by_order: 0
+     */
+    private Map<String, Long> staleWhileRevalidateOverrides = new LinkedHashMap<>();
+    private int refreshThreads = 2;
+    /**
+     * Threads das leituras compartilhadas (cache miss). A leitura roda fora da
+     * thread da requisição, sem o prazo dela; cada chamador espera só pelo seu.
+     */
+    private int loadThreads = 16;
+    /**
+     * Quantos ledgers o valor pode ficar atrás do último ledger observado pelo
+     * heartbeat antes de ser tratado como expirado (0 desliga o critério).
+     */
+    private long maxLedgerLag = 12;
+}
@@ -0,0 +1,119 @@
+package com.conectabrasil.infrastructure.webhook;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fila em disco (NDJSON) para quando a fila em memória de um assinante está
+ * cheia. append() grava no fim; a leitura avança um offset e, ao consumir
+ * tudo, o arquivo é truncado. prepend() devolve linhas para o início (lote
+ * não entregue no shutdown), reescrevendo o que falta ler. Acesso
+ * sincronizado (thread do dispatcher x worker do assinante).
+ */
+class DiskSpillBuffer {
+
+    private final Path file;
+    private long readOffset;
+    private long pending;
+
+    DiskSpillBuffer(Path file) throws IOException {
+        this.file = file;
+        Files.createDirectories(file.getParent());
+        if (Files.exists(file)) {
+            // sobreviveu a um restart: conta as linhas que ainda não foram entregues
+            try (var lines = Files.lines(file, StandardCharsets.UTF_8)) {
+                pending = lines.filter(line -> !line.isBlank()).count();
+            }
+        }
+    }
+
+    synchronized void append(String line) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(raf.length());
+            raf.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        pending++;
+    }
+
+    /** Coloca as linhas antes de todas as pendentes, na ordem dada. */
+    synchronized void prepend(List<String> lines) throws IOException {
+        if (lines.isEmpty()) {
+            return;
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            for (String line : lines) {
+                out.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            if (Files.exists(file)) {
+                try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "r")) {
+                    raf.seek(readOffset);
+                    byte[] chunk = new byte[8192];
+                    int n;
+                    while ((n = raf.read(chunk)) > 0) {
+                        out.write(chunk, 0, n);
+                    }
+                }
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        readOffset = 0;
+        pending += lines.size();
+    }
+
+    /** Lê até max linhas a partir do offset atual. */
+    synchronized List<String> read(int max) throws IOException {
+        List<String> out = new ArrayList<>();
+        if (pending == 0) {
+            return out;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.position(readOffset);
+            InputStream in = new BufferedInputStream(Channels.newInputStream(channel), 64 * 1024);
+            ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+            long offset = readOffset;
+            int b = 0;
+            while (out.size() < max && b != -1) {
+                b = in.read();
+                if (b != -1) {
+                    offset++;
+                    if (b != '\n') {
+                        line.write(b);
+                        continue;
+                    }
+                }
+                // '\n' nunca aparece dentro de um caractere UTF-8 multibyte: a linha decodifica inteira
+                String decoded = line.toString(StandardCharsets.UTF_8);
+                line.reset();
+                if (!decoded.isBlank()) {
+                    out.add(decoded);
+                }
+            }
+            readOffset = offset;
+            pending -= out.size();
+            if (readOffset >= channel.size()) {
+                channel.truncate(0);
+                readOffset = 0;
+                pending = 0;
+            }
+        }
+        return out;
+    }
+
+    synchronized long size() {
+        return pending;
+    }
+}
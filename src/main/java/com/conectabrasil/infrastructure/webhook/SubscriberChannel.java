@@ -0,0 +1,298 @@
+package com.conectabrasil.infrastructure.webhook;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+
+/**
+ * Fila e worker de um assinante: agrupa eventos em lotes (batchSize ou
+ * lingerMs), entrega com retry e backoff exponencial com jitter, e usa o
+ * disco quando a fila em memória enche. Lotes que esgotam as tentativas vão
+ * para um arquivo de dead letter.
+ *
+ * Ordem de entrega: enquanto houver algo no spill, eventos novos também vão
+ * para o disco, então tudo que está na memória é mais antigo que o spill. O
+ * worker esvazia a memória e depois lê o spill direto em lotes, antes de
+ * voltar para a fila. No shutdown, o lote não entregue e a fila voltam para o
+ * início do spill.
+ */
+class SubscriberChannel implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(SubscriberChannel.class);
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private final WebhookConfig.Subscriber subscriber;
+    private final WebhookConfig config;
+    private final OkHttpClient http;
+    private final ObjectMapper objectMapper;
+    private final ArrayBlockingQueue<WebhookEvent> queue;
+    private final DiskSpillBuffer spill;
+    private final Path deadLetterFile;
+    private final Thread worker;
+    private volatile boolean running = true;
+    /** Lote interrompido pelo shutdown; stop() o devolve ao spill antes da fila. */
+    private volatile List<WebhookEvent> unsent = List.of();
+
+    private final Counter delivered;
+    private final Counter deliveries;
+    private final Counter retries;
+    private final Counter spilled;
+    private final Counter deadLettered;
+    private final Counter dropped;
+    private final Timer deliveryLatency;
+
+    SubscriberChannel(WebhookConfig.Subscriber subscriber, WebhookConfig config, OkHttpClient http,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) throws IOException {
+        this.subscriber = subscriber;
+        this.config = config;
+        this.http = http;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+        Path dir = Path.of(config.getSpillDirectory());
+        this.spill = new DiskSpillBuffer(dir.resolve(subscriber.getId() + ".ndjson"));
+        this.deadLetterFile = dir.resolve(subscriber.getId() + ".dead.ndjson");
+
+        String id = subscriber.getId();
+        this.delivered = Counter.builder("webhook.events.delivered").tag("subscriber", id).register(meterRegistry);
+        this.deliveries = Counter.builder("webhook.deliveries").tag("subscriber", id).register(meterRegistry);
+        this.retries = Counter.builder("webhook.retries").tag("subscriber", id).register(meterRegistry);
+        this.spilled = Counter.builder("webhook.events.spilled").tag("subscriber", id).register(meterRegistry);
+        this.deadLettered = Counter.builder("webhook.events.dead.lettered").tag("subscriber", id)
+                .register(meterRegistry);
+        this.dropped = Counter.builder("webhook.events.dropped").tag("subscriber", id).register(meterRegistry);
+        this.deliveryLatency = Timer.builder("webhook.delivery.latency").tag("subscriber", id)
+                .register(meterRegistry);
+        Gauge.builder("webhook.queue.depth", queue, ArrayBlockingQueue::size).tag("subscriber", id)
+                .register(meterRegistry);
+        Gauge.builder("webhook.spill.depth", spill, DiskSpillBuffer::size).tag("subscriber", id)
+                .register(meterRegistry);
+
+        this.worker = new Thread(this, "webhook-" + id);
+        this.worker.setDaemon(true);
+    }
+
+    void start() {
+        worker.start();
+    }
+
+    boolean accepts(String type) {
+        return subscriber.getEventTypes().isEmpty() || subscriber.getEventTypes().contains(type);
+    }
+
+    /**
+     * Enfileira o evento, ou grava no spill se a fila estiver cheia (ou o spill
+     * não estiver vazio). Chamado só pela thread do WebhookDispatcher.
+     */
+    void offer(WebhookEvent event) {
+        if (spill.size() == 0 && queue.offer(event)) {
+            return;
+        }
+        try {
+            spill.append(objectMapper.writeValueAsString(event));
+            spilled.increment();
+        } catch (IOException e) {
+            dropped.increment();
+            log.warn("Webhook {}: evento descartado, falha ao gravar em disco: {}", subscriber.getId(),
+                    e.getMessage());
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                List<WebhookEvent> batch = nextBatch();
+                if (!batch.isEmpty()) {
+                    deliverWithRetry(batch);
+                }
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return;
+                }
+            } catch (Exception e) {
+                log.warn("Webhook {}: erro no worker: {}", subscriber.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private List<WebhookEvent> nextBatch() throws Exception {
+        if (queue.isEmpty() && spill.size() > 0) {
+            return readSpill();
+        }
+        List<WebhookEvent> batch = new ArrayList<>(config.getBatchSize());
+        WebhookEvent first = queue.poll(config.getLingerMs(), TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(config.getLingerMs());
+        while (batch.size() < config.getBatchSize()) {
+            queue.drainTo(batch, config.getBatchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= config.getBatchSize() || remaining <= 0) {
+                break;
+            }
+            WebhookEvent next;
+            try {
+                next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                unsent = batch;
+                throw e;
+            }
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+        return batch;
+    }
+
+    /** Próximo lote direto do spill (sem passar pela fila, que está vazia). */
+    private List<WebhookEvent> readSpill() throws IOException {
+        List<WebhookEvent> batch = new ArrayList<>(config.getBatchSize());
+        for (String line : spill.read(config.getBatchSize())) {
+            try {
+                batch.add(objectMapper.readValue(line, WebhookEvent.class));
+            } catch (IOException e) {
+                dropped.increment();
+                log.warn("Webhook {}: linha ilegível no spill descartada: {}", subscriber.getId(), e.getMessage());
+            }
+        }
+        return batch;
+    }
+
+    private void deliverWithRetry(List<WebhookEvent> batch) throws InterruptedException {
+        String deliveryId = UUID.randomUUID().toString();
+        for (int attempt = 1; attempt <= config.getMaxAttempts(); attempt++) {
+            if (deliver(deliveryId, batch)) {
+                deliveries.increment();
+                delivered.increment(batch.size());
+                return;
+            }
+            if (attempt == config.getMaxAttempts() || !running) {
+                break;
+            }
+            retries.increment();
+            long backoff = Math.min(config.getMaxBackoffMs(),
+                    config.getInitialBackoffMs() << Math.min(20, attempt - 1));
+            try {
+                // jitter: entre metade e o backoff inteiro
+                TimeUnit.MILLISECONDS.sleep(backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1));
+            } catch (InterruptedException e) {
+                // desligando: o lote volta para o início do disco e é reenviado no próximo start
+                unsent = batch;
+                throw e;
+            }
+        }
+        if (!running) {
+            unsent = batch;
+            return;
+        }
+        deadLetter(batch);
+    }
+
+    private boolean deliver(String deliveryId, List<WebhookEvent> batch) {
+        long start = System.nanoTime();
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(Map.of(
+                    "deliveryId", deliveryId,
+                    "subscriber", subscriber.getId(),
+                    "events", batch));
+            Request.Builder request = new Request.Builder()
+                    .url(subscriber.getUrl())
+                    .header("X-Webhook-Delivery", deliveryId)
+                    .post(RequestBody.create(body, JSON));
+            if (subscriber.getSecret() != null && !subscriber.getSecret().isBlank()) {
+                request.header("X-Webhook-Signature", "sha256=" + sign(body));
+            }
+            try (Response response = http.newCall(request.build()).execute()) {
+                return response.isSuccessful();
+            }
+        } catch (Exception e) {
+            log.debug("Webhook {}: entrega {} falhou: {}", subscriber.getId(), deliveryId, e.getMessage());
+            return false;
+        } finally {
+            deliveryLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private String sign(byte[] body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(subscriber.getSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(body));
+    }
+
+    private void deadLetter(List<WebhookEvent> batch) {
+        try {
+            StringBuilder lines = new StringBuilder();
+            for (WebhookEvent event : batch) {
+                lines.append(objectMapper.writeValueAsString(event)).append('\n');
+            }
+            Files.writeString(deadLetterFile, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            deadLettered.increment(batch.size());
+        } catch (IOException e) {
+            dropped.increment(batch.size());
+            log.warn("Webhook {}: {} eventos perdidos: {}", subscriber.getId(), batch.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Para o worker e persiste o que ainda está em memória no início do spill:
+     * o lote interrompido e depois a fila, ambos mais antigos que o spill.
+     */
+    void stop() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<WebhookEvent> pending = new ArrayList<>(unsent);
+        queue.drainTo(pending);
+        List<String> lines = new ArrayList<>(pending.size());
+        for (WebhookEvent event : pending) {
+            try {
+                lines.add(objectMapper.writeValueAsString(event));
+            } catch (IOException e) {
+                dropped.increment();
+            }
+        }
+        try {
+            spill.prepend(lines);
+        } catch (IOException e) {
+            dropped.increment(lines.size());
+            log.warn("Webhook {}: {} eventos perdidos no shutdown: {}", subscriber.getId(), lines.size(),
+                    e.getMessage());
+        }
+    }
+}
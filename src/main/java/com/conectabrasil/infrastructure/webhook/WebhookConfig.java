@@ -0,0 +1,48 @@
+package com.conectabrasil.infrastructure.webhook;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "webhooks")
+public class WebhookConfig {
+    private boolean enabled = false;
+    private List<Subscriber> subscribers = new ArrayList<>();
+    /** Máximo de eventos por entrega (POST). */
+    private int batchSize = 50;
+    /** Quanto esperar por mais eventos antes de enviar um lote incompleto. */
+    private long lingerMs = 1000;
+    /** Eventos em memória por assinante; o excedente vai para disco. */
+    private int queueCapacity = 10_000;
+    private String spillDirectory = "./data/webhook-spill";
+    private int maxAttempts = 8;
+    private long initialBackoffMs = 500;
+    private long maxBackoffMs = 60_000;
+    private long requestTimeoutMs = 5_000;
+    /** Eventos aguardando a thread do dispatcher (que grava o spill); o excedente é descartado. */
+    private int dispatchQueueCapacity = 10_000;
+    /** Tipo (primeiro tópico) do evento confirmado do contrato -> tipo do webhook; os demais são ignorados. */
+    private Map<String, String> contractEvents = new LinkedHashMap<>(Map.of(
+            "buy_and_grant", "order.purchased",
+            "grant", "order.granted",
+            "start_order", "order.started",
+            "pause_order", "order.paused"));
+
+    @Data
+    public static class Subscriber {
+        private String id;
+        private String url;
+        /** Segredo do HMAC-SHA256 enviado em X-Webhook-Signature (opcional). */
+        private String secret;
+        /** Tipos de evento (ex.: order.started); vazio = todos. */
+        private List<String> eventTypes = new ArrayList<>();
+    }
+}
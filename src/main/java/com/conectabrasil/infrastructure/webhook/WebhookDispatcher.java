@@ -0,0 +1,118 @@
+package com.conectabrasil.infrastructure.webhook;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.conectabrasil.domain.event.ContractEventConfirmedEvent;
+import com.conectabrasil.domain.event.OrderExpiredEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import okhttp3.OkHttpClient;
+
+/**
+ * Webhooks de saída para operadores de hotspot: converte os eventos de ordem
+ * em WebhookEvent e os enfileira em cada assinante interessado. A entrega
+ * (lotes, retry, spill em disco) fica em SubscriberChannel.
+ *
+ * Compra, grant, start e pause saem dos eventos do contrato já confirmados em
+ * ledger (ContractEventConfirmedEvent, publicado só no líder do lease), com o
+ * mapeamento de tipos de WebhookConfig.contractEvents; montar XDR ou simular
+ * não gera webhook. order.expired vem do OrderExpiryScheduler.
+ *
+ * Os listeners só entregam o evento a uma thread própria, que faz o offer nos
+ * assinantes (e a gravação no spill, quando a fila em memória enche): quem
+ * publica nunca espera por disco. Uma thread só, para manter a ordem.
+ */
+@Component
+public class WebhookDispatcher {
+
+    private final List<SubscriberChannel> channels = new ArrayList<>();
+    private final WebhookConfig config;
+    private final ThreadPoolExecutor dispatchExecutor;
+
+    public WebhookDispatcher(WebhookConfig config, ObjectMapper objectMapper, MeterRegistry meterRegistry)
+            throws IOException {
+        this.config = config;
+        if (!config.isEnabled()) {
+            this.dispatchExecutor = null;
+            return;
+        }
+        Counter dropped = Counter.builder("webhook.dispatch.dropped").register(meterRegistry);
+        this.dispatchExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getDispatchQueueCapacity()), runnable -> {
+                    Thread t = new Thread(runnable, "webhook-dispatch");
+                    t.setDaemon(true);
+                    return t;
+                }, (runnable, executor) -> dropped.increment());
+        OkHttpClient http = new OkHttpClient.Builder()
+                .callTimeout(config.getRequestTimeoutMs(), TimeUnit.MILLISECONDS)
+                .build();
+        for (WebhookConfig.Subscriber subscriber : config.getSubscribers()) {
+            SubscriberChannel channel = new SubscriberChannel(subscriber, config, http, objectMapper, meterRegistry);
+            channels.add(channel);
+            channel.start();
+        }
+    }
+
+    @EventListener
+    public void onContractEvent(ContractEventConfirmedEvent event) {
+        String type = event.type() == null ? null : config.getContractEvents().get(event.type());
+        if (type == null) {
+            return;
+        }
+        submit(new WebhookEvent(event.id(), type,
+                event.closedAt() != null ? event.closedAt() : Instant.now(),
+                event.ownerAddress(),
+                event.orderId(),
+                null,
+                null,
+                event.transactionHash()));
+    }
+
+    @EventListener
+    public void onOrderExpired(OrderExpiredEvent event) {
+        submit(new WebhookEvent(UUID.randomUUID().toString(), "order.expired", event.expiredAt(),
+                event.ownerAddress(), event.orderId(), null, null, null));
+    }
+
+    private void submit(WebhookEvent event) {
+        if (dispatchExecutor != null && !channels.isEmpty()) {
+            dispatchExecutor.execute(() -> dispatch(event));
+        }
+    }
+
+    /** Oferece o evento aos assinantes; roda na thread do dispatcher (ou direto, nos testes). */
+    void dispatch(WebhookEvent event) {
+        for (SubscriberChannel channel : channels) {
+            if (channel.accepts(event.type())) {
+                channel.offer(event);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (dispatchExecutor != null) {
+            // o que já foi aceito chega aos canais antes de eles persistirem a fila
+            dispatchExecutor.shutdown();
+            try {
+                dispatchExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        channels.forEach(SubscriberChannel::stop);
+    }
+}
@@ -0,0 +1,24 @@
+package com.conectabrasil.infrastructure.webhook;
+
+import java.time.Instant;
+
+/**
+ * Evento entregue aos assinantes (serializado em JSON). Os tipos order.*
+ * (exceto order.expired) vêm de eventos do contrato já confirmados em ledger.
+ *
+ * @param id              id do evento do contrato (estável: serve para deduplicar), ou um UUID em order.expired
+ * @param type            order.purchased, order.granted, order.started, order.paused ou order.expired
+ * @param packageId       não vem no evento do contrato: null (mantido no payload por compatibilidade)
+ * @param callerAddress   idem
+ * @param transactionHash transação que emitiu o evento; null em order.expired
+ */
+public record WebhookEvent(
+        String id,
+        String type,
+        Instant occurredAt,
+        String ownerAddress,
+        Long orderId,
+        Long packageId,
+        String callerAddress,
+        String transactionHash) {
+}
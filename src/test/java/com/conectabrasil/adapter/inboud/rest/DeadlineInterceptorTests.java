@@ -0,0 +1,60 @@
+package com.conectabrasil.adapter.inboud.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.conectabrasil.infrastructure.resilience.DeadlineConfig;
+
+class DeadlineInterceptorTests {
+
+    private final DeadlineInterceptor interceptor = new DeadlineInterceptor(config());
+
+    @Test
+    void headerIsClampedToMinAndMax() {
+        assertEquals(100, interceptor.budgetFor(request("/packages/all", "5")));
+        assertEquals(30_000, interceptor.budgetFor(request("/packages/all", "600000")));
+        assertEquals(1_500, interceptor.budgetFor(request("/packages/all", " 1500 ")));
+    }
+
+    @Test
+    void invalidHeaderFallsBackToEndpointBudget() {
+        assertEquals(8_000, interceptor.budgetFor(request("/purchases", "abc")));
+    }
+
+    @Test
+    void endpointBudgetWithoutHeader() {
+        assertEquals(8_000, interceptor.budgetFor(request("/packages/start-order", null)));
+        assertEquals(3_000, interceptor.budgetFor(request("/packages/user/GABC", null)));
+    }
+
+    @Test
+    void defaultBudgetWhenNoEndpointMatches() {
+        assertEquals(10_000, interceptor.budgetFor(request("/analytics/summary", null)));
+    }
+
+    private static MockHttpServletRequest request(String path, String header) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        if (header != null) {
+            request.addHeader("X-Request-Timeout-Ms", header);
+        }
+        return request;
+    }
+
+    /** Mesma ordem do application.yml: o primeiro padrão que casar vale. */
+    private static DeadlineConfig config() {
+        DeadlineConfig config = new DeadlineConfig();
+        config.getEndpoints().put("purchases", endpoint("/purchases", 8_000));
+        config.getEndpoints().put("order-writes", endpoint("/packages/*-order", 8_000));
+        config.getEndpoints().put("package-reads", endpoint("/packages/**", 3_000));
+        return config;
+    }
+
+    private static DeadlineConfig.EndpointBudget endpoint(String pattern, long budgetMs) {
+        DeadlineConfig.EndpointBudget endpoint = new DeadlineConfig.EndpointBudget();
+        endpoint.setPattern(pattern);
+        endpoint.setBudgetMs(budgetMs);
+        return endpoint;
+    }
+}
@@ -0,0 +1,106 @@
+package com.conectabrasil.adapter.inboud.rest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import com.conectabrasil.adapter.inboud.rest.dto.PurchaseResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Benchmark manual (não roda no surefire): tamanho e custo de serialização
+ * de uma PurchaseResponse no formato binário do UnsignedTxBinaryConverter,
+ * comparado ao JSON do Jackson usado hoje.
+ *
+ * <pre>
+ * ./mvnw test-compile
+ * java -cp target/test-classes:target/classes:$(./mvnw -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout) \
+ *     com.conectabrasil.adapter.inboud.rest.UnsignedTxBinaryBenchmark [iterações] [bytesDeXdr]
+ * </pre>
+ */
+public final class UnsignedTxBinaryBenchmark {
+
+    private UnsignedTxBinaryBenchmark() {
+    }
+
+    private interface Operation {
+        byte[] run() throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int xdrBytes = args.length > 1 ? Integer.parseInt(args[1]) : 1100;
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        PurchaseResponse response = new PurchaseResponse(
+                "3f1c2a9e-8d7b-4c55-a1f0-6b2e9d4c7a10",
+                "GBQXJ5OUUJO4DYJ43ZT7FFU4NM4TQGBHLEN7G553WIPQMTN4LX45ZL35",
+                "7",
+                Instant.parse("2026-10-19T12:00:00Z"),
+                null,
+                fakeXdr(xdrBytes));
+
+        byte[] json = objectMapper.writeValueAsBytes(response);
+        byte[] binary = UnsignedTxBinaryConverter.encode(response);
+        System.out.printf("tamanho: json=%,d B (gzip %,d B) | binário=%,d B (gzip %,d B)%n",
+                json.length, gzip(json).length, binary.length, gzip(binary).length);
+
+        long jsonNanos = time(iterations, () -> objectMapper.writeValueAsBytes(response));
+        long binaryNanos = time(iterations, () -> UnsignedTxBinaryConverter.encode(response));
+        System.out.printf("serialização: json=%,d ns/op | binário=%,d ns/op%n", jsonNanos, binaryNanos);
+
+        long jsonReadNanos = time(iterations, () -> {
+            objectMapper.readValue(json, PurchaseResponse.class);
+            return json;
+        });
+        long binaryReadNanos = time(iterations, () -> {
+            UnsignedTxBinaryConverter.decode(binary);
+            return binary;
+        });
+        System.out.printf("leitura: json=%,d ns/op | binário=%,d ns/op%n", jsonReadNanos, binaryReadNanos);
+    }
+
+    /** Aquece com as mesmas iterações e mede a segunda rodada. */
+    private static long time(int iterations, Operation operation) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += operation.run().length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += operation.run().length;
+        }
+        long nanos = (System.nanoTime() - start) / iterations;
+        if (sink == 0) {
+            System.out.println("sink vazio");
+        }
+        return nanos;
+    }
+
+    /** Mesmo XDR sintético dos testes: bytes aleatórios intercalados com padding em zero. */
+    private static String fakeXdr(int size) {
+        Random random = new Random(42);
+        byte[] raw = new byte[size];
+        for (int i = 0; i < size; i += 32) {
+            int chunk = Math.min(32, size - i);
+            if ((i / 32) % 3 == 2) {
+                continue;
+            }
+            byte[] bytes = new byte[chunk];
+            random.nextBytes(bytes);
+            System.arraycopy(bytes, 0, raw, i, chunk);
+        }
+        return Base64.getEncoder().encodeToString(raw);
+    }
+
+    private static byte[] gzip(byte[] input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(input);
+        }
+        return out.toByteArray();
+    }
+}
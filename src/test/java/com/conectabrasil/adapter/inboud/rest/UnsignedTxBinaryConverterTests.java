@@ -0,0 +1,92 @@
+package com.conectabrasil.adapter.inboud.rest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.conectabrasil.adapter.inboud.rest.dto.GrantResponse;
+import com.conectabrasil.adapter.inboud.rest.dto.PurchaseResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Round-trip do formato binário e comparação de tamanho com o JSON atual
+ * (custo de serialização: UnsignedTxBinaryBenchmark).
+ */
+class UnsignedTxBinaryConverterTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void purchaseRoundTrip() throws Exception {
+        PurchaseResponse original = purchase();
+
+        Object decoded = UnsignedTxBinaryConverter.decode(UnsignedTxBinaryConverter.encode(original));
+
+        assertEquals(original, decoded);
+    }
+
+    @Test
+    void grantRoundTripKeepsNulls() throws Exception {
+        GrantResponse original = new GrantResponse("g-1", "GCALLER", "GOWNER", "42", null, null, fakeXdr(640));
+
+        Object decoded = UnsignedTxBinaryConverter.decode(UnsignedTxBinaryConverter.encode(original));
+
+        assertEquals(original, decoded);
+    }
+
+    @Test
+    void binaryIsSmallerThanJson() throws Exception {
+        PurchaseResponse response = purchase();
+
+        byte[] json = objectMapper.writeValueAsBytes(response);
+        byte[] binary = UnsignedTxBinaryConverter.encode(response);
+        int jsonGzip = gzip(json).length;
+        int binaryGzip = gzip(binary).length;
+
+        // base64 infla o XDR em ~33%; o binário precisa ficar bem abaixo do JSON
+        assertTrue(binary.length < json.length * 0.8, "binário deveria ser ao menos 20% menor que o JSON");
+        assertTrue(binaryGzip <= jsonGzip, "binário comprimido não deveria ser maior que o JSON comprimido");
+    }
+
+    private PurchaseResponse purchase() {
+        return new PurchaseResponse(
+                "3f1c2a9e-8d7b-4c55-a1f0-6b2e9d4c7a10",
+                "GBQXJ5OUUJO4DYJ43ZT7FFU4NM4TQGBHLEN7G553WIPQMTN4LX45ZL35",
+                "7",
+                Instant.parse("2026-10-19T12:00:00Z"),
+                null,
+                fakeXdr(1100));
+    }
+
+    /** XDR sintético: chaves/hashes aleatórios intercalados com o padding em zero típico do XDR. */
+    private static String fakeXdr(int size) {
+        Random random = new Random(42);
+        byte[] raw = new byte[size];
+        for (int i = 0; i < size; i += 32) {
+            int chunk = Math.min(32, size - i);
+            if ((i / 32) % 3 == 2) {
+                continue;
+            }
+            byte[] bytes = new byte[chunk];
+            random.nextBytes(bytes);
+            System.arraycopy(bytes, 0, raw, i, chunk);
+        }
+        return Base64.getEncoder().encodeToString(raw);
+    }
+
+    private static byte[] gzip(byte[] input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(input);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,63 @@
+package com.conectabrasil.application.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class HourlyRingTests {
+
+    @Test
+    void sumsOnlyTheRequestedWindow() {
+        HourlyRing ring = new HourlyRing(48);
+        ring.add(100, 3);
+        ring.add(110, 2);
+        ring.add(123, 5);
+
+        assertEquals(10, ring.sum(123, 24));
+        assertEquals(7, ring.sum(123, 14));
+        assertEquals(5, ring.sum(123, 1));
+    }
+
+    @Test
+    void reusedBucketsStartClean() {
+        HourlyRing ring = new HourlyRing(24);
+        ring.add(5, 7);
+        ring.add(29, 1); // mesmo bucket de 5, um dia depois
+
+        assertEquals(0, ring.get(5, 0));
+        assertEquals(1, ring.get(29, 0));
+        assertEquals(1, ring.sum(29, 24));
+    }
+
+    @Test
+    void longGapClearsWholeRing() {
+        HourlyRing ring = new HourlyRing(24);
+        for (int h = 0; h < 24; h++) {
+            ring.add(h, 1);
+        }
+        ring.add(1_000, 2);
+
+        assertEquals(2, ring.sum(1_000, 24));
+    }
+
+    @Test
+    void hoursOlderThanTheRingAreIgnored() {
+        HourlyRing ring = new HourlyRing(24);
+        ring.add(100, 1);
+        ring.add(50, 9);
+
+        assertEquals(1, ring.sum(100, 24));
+    }
+
+    @Test
+    void peakCarriesCurrentLevelIntoNewHours() {
+        HourlyRing ring = new HourlyRing(24);
+        ring.max(10, 4, 0);
+        ring.max(10, 6, 6);
+        ring.max(13, 2, 5); // hora 13 começou com 5 ativas
+
+        assertEquals(6, ring.get(10, 0));
+        assertEquals(5, ring.get(13, 0));
+        assertEquals(3, ring.get(14, 3)); // hora ainda sem eventos: nível atual
+    }
+}
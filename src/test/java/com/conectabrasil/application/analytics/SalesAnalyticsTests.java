@@ -0,0 +1,63 @@
+package com.conectabrasil.application.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.conectabrasil.domain.event.ContractEventConfirmedEvent;
+
+class SalesAnalyticsTests {
+
+    private static final String OWNER = "GBQXJ5OUUJO4DYJ43ZT7FFU4NM4TQGBHLEN7G553WIPQMTN4LX45ZL35";
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final AnalyticsConfig config = new AnalyticsConfig();
+    // sem journal nem catálogo: compras contam sem pacote
+    private final SalesAnalytics analytics = new SalesAnalytics(config, null, null, () -> NOW);
+
+    @Test
+    void replayedEventsAreCountedOnce() {
+        ContractEventConfirmedEvent purchase = event("0001-1", "buy_and_grant", 3L);
+
+        analytics.onConfirmed(purchase);
+        analytics.onConfirmed(purchase);
+        analytics.onConfirmed(event("0002-1", "buy_and_grant", 4L));
+
+        assertEquals(2, analytics.summary().total().purchases());
+    }
+
+    @Test
+    void confirmedStartAndPauseMoveActiveOrders() {
+        analytics.onConfirmed(event("0001-1", "start_order", 7L));
+        analytics.onConfirmed(event("0002-1", "start_order", 8L));
+        assertEquals(2, analytics.summary().activeOrders());
+
+        analytics.onConfirmed(event("0003-1", "pause_order", 7L));
+
+        AnalyticsSummary summary = analytics.summary();
+        assertEquals(1, summary.activeOrders());
+        assertEquals(2, summary.peakActiveLastHour());
+        assertEquals(1, summary.total().pauses());
+    }
+
+    @Test
+    void dedupeWindowIsBounded() {
+        config.setDedupeWindow(2);
+        SalesAnalytics small = new SalesAnalytics(config, null, null, () -> NOW);
+
+        small.onConfirmed(event("0001-1", "grant", 1L));
+        small.onConfirmed(event("0002-1", "grant", 2L));
+        small.onConfirmed(event("0003-1", "grant", 3L));
+        small.onConfirmed(event("0001-1", "grant", 1L)); // já saiu da janela
+
+        assertEquals(4, small.summary().total().grants());
+    }
+
+    private static ContractEventConfirmedEvent event(String id, String type, long orderId) {
+        return new ContractEventConfirmedEvent(id, 100, "hash-" + id, type, List.of(OWNER),
+                List.of(type, OWNER, orderId), null, Instant.ofEpochMilli(NOW));
+    }
+}
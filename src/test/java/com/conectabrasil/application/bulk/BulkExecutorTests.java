@@ -0,0 +1,197 @@
+package com.conectabrasil.application.bulk;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.conectabrasil.infrastructure.resilience.PathClass;
+import com.conectabrasil.infrastructure.resilience.RequestDeadline;
+import com.conectabrasil.infrastructure.resilience.RpcRejectedException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BulkExecutorTests {
+
+    private static final Map<String, Long> SEQUENCES = Map.of("A", 100L, "B", 500L);
+
+    private final Map<String, AtomicInteger> loads = new ConcurrentHashMap<>();
+    private BulkExecutor executor = executor(100, 4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        RequestDeadline.clear();
+        PathClass.clear();
+    }
+
+    /** Item: conta fonte + nome; "fail" no nome falha no preparo. */
+    private record Item(String source, String name) {
+    }
+
+    @Test
+    void loadsEachSourceOnceAndNumbersInRequestOrder() {
+        List<Item> items = List.of(item("A", "a1"), item("B", "b1"), item("A", "a2"), item("A", "a3"),
+                item("B", "b2"));
+
+        List<BulkItemResult<String>> results = run(items);
+
+        assertEquals(List.of("a1@101", "b1@501", "a2@102", "a3@103", "b2@502"), values(results));
+        assertEquals(1, loads.get("A").get());
+        assertEquals(1, loads.get("B").get());
+    }
+
+    @Test
+    void failedItemDoesNotConsumeASequence() {
+        List<BulkItemResult<String>> results = run(List.of(item("A", "a1"), item("A", "fail"), item("A", "a3")));
+
+        assertEquals("a1@101", results.get(0).value());
+        assertFalse(results.get(1).isOk());
+        assertEquals(1, results.get(1).index());
+        assertEquals("a3@102", results.get(2).value()); // sem buraco na sequence
+    }
+
+    @Test
+    void sequenceLoadFailureOnlyFailsThatSource() {
+        List<BulkItemResult<String>> results = run(List.of(item("A", "a1"), item("missing", "m1"),
+                item("missing", "m2")));
+
+        assertEquals("a1@101", results.get(0).value());
+        assertEquals("Conta não encontrada: missing", results.get(1).error());
+        assertEquals("Conta não encontrada: missing", results.get(2).error());
+        assertEquals(1, loads.get("missing").get());
+    }
+
+    @Test
+    void rejectedItemsCarryRetryAfter() {
+        List<BulkItemResult<String>> results = run(List.of(item("A", "busy"), item("A", "a2")));
+
+        assertEquals(7, (long) results.get(0).retryAfterSeconds());
+        assertEquals("a2@101", results.get(1).value());
+    }
+
+    @Test
+    void itemsWithoutSourceFailIndividually() {
+        List<BulkItemResult<String>> results = run(Arrays.asList(item(" ", "x"), null, item("B", "b1")));
+
+        assertFalse(results.get(0).isOk());
+        assertFalse(results.get(1).isOk());
+        assertEquals("b1@501", results.get(2).value());
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedBatches() {
+        executor.shutdown();
+        executor = executor(2, 2);
+        assertThrows(IllegalArgumentException.class, () -> run(Collections.emptyList()));
+        assertThrows(IllegalArgumentException.class,
+                () -> run(List.of(item("A", "a1"), item("A", "a2"), item("A", "a3"))));
+    }
+
+    @Test
+    void propagatesDeadlineAndPathClassToWorkers() {
+        RequestDeadline.start(5_000);
+        PathClass.set(PathClass.CHECKOUT);
+        Map<String, String> seen = new ConcurrentHashMap<>();
+
+        List<BulkItemResult<String>> results = executor.run(List.of(item("A", "a1"), item("B", "b1")),
+                Item::source, this::load, (item, sequence) -> {
+                    long remaining = RequestDeadline.remainingMillis();
+                    seen.put(item.name(), PathClass.current() + ":" + (remaining > 0 && remaining <= 5_000));
+                    return item.name();
+                }, (item, prepared, sequence) -> prepared);
+
+        assertTrue(results.stream().allMatch(BulkItemResult::isOk));
+        assertEquals("CHECKOUT:true", seen.get("a1"));
+        assertEquals("CHECKOUT:true", seen.get("b1"));
+    }
+
+    @Test
+    void itemsPastTheDeadlineFailWithoutBlockingTheBatch() {
+        RequestDeadline.start(200);
+
+        List<BulkItemResult<String>> results = executor.run(List.of(item("A", "a1"), item("A", "slow")),
+                Item::source, this::load, (item, sequence) -> {
+                    if (item.name().equals("slow")) {
+                        Thread.sleep(5_000);
+                    }
+                    return item.name();
+                }, (item, prepared, sequence) -> prepared + "@" + (sequence + 1));
+
+        assertEquals("a1@101", results.get(0).value());
+        assertFalse(results.get(1).isOk());
+        assertEquals(0, (long) results.get(1).retryAfterSeconds());
+    }
+
+    @Test
+    void limitsConcurrentBatches() throws Exception {
+        executor.shutdown();
+        executor = executor(10, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread first = new Thread(() -> executor.run(List.of(item("A", "a1")), Item::source, this::load,
+                (item, sequence) -> {
+                    started.countDown();
+                    release.await();
+                    return item.name();
+                }, (item, prepared, sequence) -> prepared));
+        first.start();
+        started.await();
+        try {
+            assertThrows(RpcRejectedException.class, () -> run(List.of(item("B", "b1"))));
+        } finally {
+            release.countDown();
+            first.join();
+        }
+        assertNull(run(List.of(item("B", "b1"))).get(0).error());
+    }
+
+    private List<BulkItemResult<String>> run(List<Item> items) {
+        return executor.run(items, Item::source, this::load, (item, sequence) -> {
+            if (item.name().equals("fail")) {
+                throw new IllegalStateException("simulate error");
+            }
+            if (item.name().equals("busy")) {
+                throw new RpcRejectedException("Limite de RPC", 7);
+            }
+            return item.name();
+        }, (item, prepared, sequence) -> prepared + "@" + (sequence + 1));
+    }
+
+    private long load(String source) {
+        loads.computeIfAbsent(source, s -> new AtomicInteger()).incrementAndGet();
+        Long sequence = SEQUENCES.get(source);
+        if (sequence == null) {
+            throw new IllegalArgumentException("Conta não encontrada: " + source);
+        }
+        return sequence;
+    }
+
+    private static List<String> values(List<BulkItemResult<String>> results) {
+        return results.stream().map(BulkItemResult::value).toList();
+    }
+
+    private static Item item(String source, String name) {
+        return new Item(source, name);
+    }
+
+    private static BulkExecutor executor(int maxItems, int maxConcurrent) {
+        BulkConfig config = new BulkConfig();
+        config.setMaxItems(maxItems);
+        config.setThreads(4);
+        config.setMaxConcurrent(maxConcurrent);
+        return new BulkExecutor(config, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,60 @@
+package com.conectabrasil.infrastructure.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class ConsistentHashRingTests {
+
+    private static final int KEYS = 30_000;
+
+    @Test
+    void emptyRingHasNoOwner() {
+        assertNull(new ConsistentHashRing(List.of(), 128).ownerOf("GABC"));
+    }
+
+    @Test
+    void sameMembersGiveSameOwnersRegardlessOfOrder() {
+        ConsistentHashRing a = new ConsistentHashRing(List.of("node1", "node2", "node3"), 128);
+        ConsistentHashRing b = new ConsistentHashRing(List.of("node3", "node1", "node2"), 128);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(a.ownerOf(key(i)), b.ownerOf(key(i)));
+        }
+    }
+
+    @Test
+    void spreadsKeysAcrossNodes() {
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("node1", "node2", "node3"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.ownerOf(key(i)), 1, Integer::sum);
+        }
+
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > KEYS / 3 * 0.75, "distribuição desigual: " + counts));
+    }
+
+    @Test
+    void removingANodeOnlyMovesItsKeys() {
+        ConsistentHashRing before = new ConsistentHashRing(List.of("node1", "node2", "node3"), 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of("node1", "node2"), 128);
+
+        for (int i = 0; i < KEYS; i++) {
+            String previous = before.ownerOf(key(i));
+            if (!previous.equals("node3")) {
+                assertEquals(previous, after.ownerOf(key(i)), "chave de nó vivo mudou de dono");
+            }
+        }
+    }
+
+    private static String key(int i) {
+        return "G" + Integer.toString(i * 7919, 32).toUpperCase() + "OWNER";
+    }
+}
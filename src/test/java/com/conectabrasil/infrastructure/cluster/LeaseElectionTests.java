@@ -0,0 +1,114 @@
+package com.conectabrasil.infrastructure.cluster;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class LeaseElectionTests {
+
+    private static final long LEASE_MS = 10_000;
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+    private final LoopbackClusterBus.Network network = new LoopbackClusterBus.Network();
+    private final List<String> live = new ArrayList<>(List.of("node1", "node2", "node3"));
+
+    @Test
+    void lowestLiveNodeBecomesTheOnlyLeader() {
+        Node[] nodes = { node("node1"), node("node2"), node("node3") };
+
+        tickAll(nodes); // ainda dentro da espera inicial
+        assertEquals(0, leaders(nodes));
+
+        clock.addAndGet(LEASE_MS);
+        tickAll(nodes);
+
+        assertTrue(nodes[0].election.isLeader());
+        assertEquals(1, leaders(nodes));
+        assertEquals("node1", nodes[2].election.leader());
+    }
+
+    @Test
+    void renewalKeepsLeaseAcrossTicks() {
+        Node[] nodes = { node("node1"), node("node2"), node("node3") };
+        clock.addAndGet(LEASE_MS);
+        tickAll(nodes);
+
+        for (int i = 0; i < 10; i++) {
+            clock.addAndGet(LEASE_MS / 3);
+            tickAll(nodes);
+            assertTrue(nodes[0].election.isLeader());
+            assertEquals(1, leaders(nodes));
+        }
+        assertEquals(1, nodes[1].election.term());
+    }
+
+    @Test
+    void nextNodeTakesOverWhenLeaderDisappears() {
+        Node[] nodes = { node("node1"), node("node2"), node("node3") };
+        clock.addAndGet(LEASE_MS);
+        tickAll(nodes);
+
+        nodes[0].bus.setConnected(false);
+        live.remove("node1");
+        clock.addAndGet(LEASE_MS);
+        nodes[1].election.tick();
+        nodes[2].election.tick();
+
+        assertTrue(nodes[1].election.isLeader());
+        assertFalse(nodes[2].election.isLeader());
+        assertEquals(2, nodes[2].election.term());
+    }
+
+    @Test
+    void staleLeaderStepsDownWhenItHearsHigherTerm() {
+        Node[] nodes = { node("node1"), node("node2"), node("node3") };
+        clock.addAndGet(LEASE_MS);
+        tickAll(nodes);
+
+        // partição: node1 continua renovando sozinho enquanto node2 assume
+        nodes[0].bus.setConnected(false);
+        live.remove("node1");
+        clock.addAndGet(LEASE_MS);
+        nodes[0].election.tick();
+        nodes[1].election.tick();
+        nodes[2].election.tick();
+
+        nodes[0].bus.setConnected(true);
+        live.add("node1");
+        nodes[1].election.tick();
+
+        assertFalse(nodes[0].election.isLeader());
+        assertTrue(nodes[1].election.isLeader());
+        assertEquals(1, leaders(nodes));
+    }
+
+    private Node node(String id) {
+        LoopbackClusterBus bus = new LoopbackClusterBus(network);
+        return new Node(bus, new LeaseElection(id, () -> List.copyOf(live), bus, LEASE_MS, clock::get));
+    }
+
+    private static void tickAll(Node[] nodes) {
+        for (Node node : nodes) {
+            node.election.tick();
+        }
+    }
+
+    private static int leaders(Node[] nodes) {
+        int count = 0;
+        for (Node node : nodes) {
+            if (node.election.isLeader()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private record Node(LoopbackClusterBus bus, LeaseElection election) {
+    }
+}
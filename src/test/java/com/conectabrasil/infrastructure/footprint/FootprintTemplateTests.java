@@ -0,0 +1,333 @@
+package com.conectabrasil.infrastructure.footprint;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.stellar.sdk.Account;
+import org.stellar.sdk.Address;
+import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.Network;
+import org.stellar.sdk.SorobanDataBuilder;
+import org.stellar.sdk.StrKey;
+import org.stellar.sdk.Transaction;
+import org.stellar.sdk.TransactionBuilder;
+import org.stellar.sdk.operations.InvokeHostFunctionOperation;
+import org.stellar.sdk.scval.Scv;
+import org.stellar.sdk.xdr.ContractDataDurability;
+import org.stellar.sdk.xdr.Int64;
+import org.stellar.sdk.xdr.LedgerEntryType;
+import org.stellar.sdk.xdr.LedgerKey;
+import org.stellar.sdk.xdr.SCVal;
+import org.stellar.sdk.xdr.SorobanAddressCredentials;
+import org.stellar.sdk.xdr.SorobanAuthorizationEntry;
+import org.stellar.sdk.xdr.SorobanAuthorizedFunction;
+import org.stellar.sdk.xdr.SorobanAuthorizedFunctionType;
+import org.stellar.sdk.xdr.SorobanAuthorizedInvocation;
+import org.stellar.sdk.xdr.SorobanCredentials;
+import org.stellar.sdk.xdr.SorobanCredentialsType;
+import org.stellar.sdk.xdr.SorobanResources;
+import org.stellar.sdk.xdr.SorobanTransactionData;
+import org.stellar.sdk.xdr.Uint32;
+import org.stellar.sdk.xdr.XdrUnsignedInteger;
+
+import com.conectabrasil.infrastructure.footprint.FootprintTemplate.Resources;
+import com.conectabrasil.infrastructure.stellar.LedgerHeartbeat;
+import com.conectabrasil.infrastructure.stellar.StellarConfig;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Percorre o caminho real do cache (learn → instantiate → assemble) com
+ * envelopes montados pelo SDK, no formato que o prepareTransaction devolve para
+ * buy_and_grant(owner, package_id): auth de SOURCE_ACCOUNT e footprint com a
+ * conta, o saldo e a lista de ordens do owner. O envelope montado por template
+ * para um terceiro owner tem que bater com o que o RPC prepararia para ele.
+ */
+class FootprintTemplateTests {
+
+    private static final String ALICE = "GBQXJ5OUUJO4DYJ43ZT7FFU4NM4TQGBHLEN7G553WIPQMTN4LX45ZL35";
+    private static final String BOB = "GAAZI4TCR3TY5OJHCTJC2A4QSY6CJWJH5IAJTGKIN2ER7LBNVKOCCWN7";
+    private static final String CAROL = "GAUCSKRLFQWS4LZQGEZDGNBVGY3TQOJ2HM6D2PR7IBAUEQ2EIVDEOJIB";
+    /** Conta emissora do token: também aparece no footprint de todo mundo. */
+    private static final String ISSUER = "GABQUEIYD4TC2NB3IJEVAV26MVWHG6UBRCHZNHNEVOZLTQGHZ3K5YMUR";
+
+    private static final String CONTRACT = StrKey.encodeContract(filled(0xC0));
+    private static final String TOKEN = StrKey.encodeContract(filled(0x70));
+    private static final Network NETWORK = Network.TESTNET;
+    private static final String FUNCTION = "buy_and_grant";
+    private static final long BASE_FEE = 100;
+
+    @Test
+    void templateFromTwoOwnersBuildsWhatTheRpcWouldPrepareForAThird() throws IOException {
+        FootprintTemplateCache cache = cache();
+        cache.learn(FUNCTION, 3, ALICE, prepared(ALICE, 3, Map.of(), false));
+        cache.learn(FUNCTION, 3, BOB, prepared(BOB, 3, Map.of(), false));
+
+        FootprintTemplateCache.Instance instance = cache.instantiate(FUNCTION, 3, CAROL).orElseThrow();
+        Transaction built = cache.assemble(instance, new Account(CAROL, 41L), BASE_FEE, 120);
+        Transaction expected = prepared(CAROL, 3, Map.of(), false);
+
+        assertEquals(CAROL, built.getSourceAccount());
+        assertEquals(42L, built.getSequenceNumber());
+        assertEquals(operation(expected).getHostFunction().toXdrBase64(),
+                operation(built).getHostFunction().toXdrBase64());
+        assertEquals(auth(expected), auth(built));
+        assertEquals(expected.getSorobanData().getResources().getFootprint().toXdrBase64(),
+                built.getSorobanData().getResources().getFootprint().toXdrBase64());
+
+        Resources declared = resourcesOf(built.getSorobanData());
+        assertEquals(new Resources(2_300_000, 4_600, 1_380, 103_500), declared);
+        assertEquals(BASE_FEE + declared.resourceFee(), built.getFee());
+    }
+
+    @Test
+    void everyOwnerOccurrenceBecomesASlot() throws IOException {
+        Transaction alice = prepared(ALICE, 3, Map.of(), false);
+        byte[] key = key(ALICE);
+        // host function: arg owner; footprint: conta + saldo + ordens; auth: arg owner
+        assertEquals(1, OwnerKeyTemplate.of(operation(alice).getHostFunction().toXdrByteArray(), key).slots());
+        byte[] footprint = alice.getSorobanData().getResources().getFootprint().toXdrByteArray();
+        assertEquals(3, OwnerKeyTemplate.of(footprint, key).slots());
+        assertEquals(1, OwnerKeyTemplate.of(authEntries(alice).get(0).toXdrByteArray(), key).slots());
+        assertEquals(0, OwnerKeyTemplate.of(footprint, key(BOB)).slots());
+    }
+
+    @Test
+    void agreementCountsOnlyDistinctOwners() {
+        FootprintTemplateCache cache = cache();
+        cache.learn(FUNCTION, 3, ALICE, prepared(ALICE, 3, Map.of(), false));
+        cache.learn(FUNCTION, 3, ALICE, prepared(ALICE, 3, Map.of(), false));
+        assertTrue(cache.instantiate(FUNCTION, 3, CAROL).isEmpty());
+
+        cache.learn(FUNCTION, 3, BOB, prepared(BOB, 3, Map.of(), false));
+        assertTrue(cache.instantiate(FUNCTION, 3, CAROL).isPresent());
+    }
+
+    @Test
+    void addressCredentialsAreNotLearned() {
+        // auth de endereço tem nonce e assinatura: não dá para derivar só da chave do owner
+        FootprintTemplateCache cache = cache();
+        cache.learn(FUNCTION, 3, ALICE, prepared(ALICE, 3, Map.of(), true));
+        cache.learn(FUNCTION, 3, BOB, prepared(BOB, 3, Map.of(), true));
+        assertTrue(cache.instantiate(FUNCTION, 3, CAROL).isEmpty());
+    }
+
+    @Test
+    void ownerInAnotherRoleDoesNotAgreeWithRegularOwners() {
+        // o emissor comprando: sua chave aparece também como emissor, e vira slot a mais
+        FootprintTemplateCache cache = cache();
+        cache.learn(FUNCTION, 3, ALICE, prepared(ALICE, 3, Map.of(), false));
+        cache.learn(FUNCTION, 3, ISSUER, prepared(ISSUER, 3, Map.of(), false));
+        assertTrue(cache.instantiate(FUNCTION, 3, CAROL).isEmpty());
+    }
+
+    @Test
+    void ownerDependentFootprintIsNotAStableTemplate() {
+        // pacote 9 lê uma entrada extra quando o owner já tem ordens: o formato muda por owner
+        Map<String, Integer> orders = Map.of(BOB, 4);
+        FootprintTemplateCache cache = cache();
+        cache.learn(FUNCTION, 9, ALICE, prepared(ALICE, 9, orders, false));
+        cache.learn(FUNCTION, 9, BOB, prepared(BOB, 9, orders, false));
+        assertTrue(cache.instantiate(FUNCTION, 9, CAROL).isEmpty());
+    }
+
+    @Test
+    void templatesAreKeptPerPackage() {
+        FootprintTemplateCache cache = cache();
+        cache.learn(FUNCTION, 3, ALICE, prepared(ALICE, 3, Map.of(), false));
+        cache.learn(FUNCTION, 3, BOB, prepared(BOB, 3, Map.of(), false));
+        assertTrue(cache.instantiate(FUNCTION, 4, CAROL).isEmpty());
+    }
+
+    @Test
+    void declaredResourcesCoverSimulationOnlyWithinMargin() {
+        Map<String, Integer> orders = Map.of(ALICE, 2, BOB, 5, CAROL, 6);
+        FootprintTemplateCache cache = cache();
+        cache.learn(FUNCTION, 3, ALICE, prepared(ALICE, 3, orders, false));
+        cache.learn(FUNCTION, 3, BOB, prepared(BOB, 3, orders, false));
+        Transaction built = cache.assemble(cache.instantiate(FUNCTION, 3, CAROL).orElseThrow(),
+                new Account(CAROL, 1L), BASE_FEE, 120);
+        Resources declared = resourcesOf(built.getSorobanData());
+
+        assertTrue(declared.covers(resourcesOf(prepared(CAROL, 3, orders, false).getSorobanData())));
+        // owner com estado bem acima do observado: a margem não cobre (risco documentado no cache)
+        Transaction heavy = prepared(CAROL, 3, Map.of(CAROL, 40), false);
+        assertFalse(declared.covers(resourcesOf(heavy.getSorobanData())));
+    }
+
+    @Test
+    void marginIsClampedToU32() {
+        Resources near = new Resources(0xFFFF_FFF0L, 10, 10, 1_000);
+        assertEquals(0xFFFF_FFFFL, near.withMargin(15).instructions());
+        assertEquals(1_150, near.withMargin(15).resourceFee());
+    }
+
+    @Test
+    void rejectsKeysOfWrongLength() {
+        assertThrows(IllegalArgumentException.class, () -> OwnerKeyTemplate.of(new byte[64], new byte[31]));
+    }
+
+    // -------------------------------------------------------------------------
+    // envelopes como o prepareTransaction devolveria
+
+    private static FootprintTemplateCache cache() {
+        FootprintTemplateConfig config = new FootprintTemplateConfig();
+        config.setEnabled(true);
+        config.setVerifyEvery(0);
+        StellarConfig stellarConfig = new StellarConfig();
+        stellarConfig.setNetworkPassphrase(NETWORK.getNetworkPassphrase());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LedgerHeartbeat heartbeat = new LedgerHeartbeat(null, null, event -> {
+        }, registry);
+        return new FootprintTemplateCache(config, stellarConfig, null, null, heartbeat, registry);
+    }
+
+    private static Transaction prepared(String owner, int packageId, Map<String, Integer> ordersByOwner,
+            boolean addressCredentials) {
+        int orders = ordersByOwner.getOrDefault(owner, 0);
+        List<SCVal> args = List.of(new Address(owner).toSCVal(), Scv.toUint32(packageId));
+        InvokeHostFunctionOperation plain = InvokeHostFunctionOperation
+                .invokeContractFunctionOperationBuilder(CONTRACT, FUNCTION, args)
+                .build();
+        InvokeHostFunctionOperation operation = InvokeHostFunctionOperation
+                .invokeContractFunctionOperationBuilder(CONTRACT, FUNCTION, args)
+                .auth(List.of(authEntry(plain, owner, addressCredentials)))
+                .build();
+
+        List<LedgerKey> readOnly = new ArrayList<>(List.of(
+                contractData(CONTRACT, Scv.toSymbol("Package"), Scv.toUint32(packageId)),
+                account(ISSUER)));
+        if (packageId == 9 && orders > 0) {
+            readOnly.add(contractData(CONTRACT, Scv.toSymbol("Loyalty"), new Address(owner).toSCVal()));
+        }
+        List<LedgerKey> readWrite = List.of(
+                account(owner),
+                contractData(TOKEN, Scv.toSymbol("Balance"), new Address(owner).toSCVal()),
+                contractData(CONTRACT, Scv.toSymbol("Orders"), new Address(owner).toSCVal()));
+
+        long resourceFee = 90_000 + 900L * orders;
+        SorobanTransactionData data = new SorobanDataBuilder()
+                .setReadOnly(readOnly)
+                .setReadWrite(readWrite)
+                .setResourceFee(resourceFee)
+                .build();
+        SorobanResources resources = data.getResources();
+        resources.setInstructions(uint32(2_000_000 + 25_000L * orders));
+        resources.setDiskReadBytes(uint32(4_000 + 120L * orders));
+        resources.setWriteBytes(uint32(1_200 + 120L * orders));
+
+        return new TransactionBuilder(new Account(owner, 41L), NETWORK)
+                .addOperation(operation)
+                .setBaseFee(BASE_FEE + resourceFee)
+                .setSorobanData(data)
+                .setTimeout(120)
+                .build();
+    }
+
+    private static SorobanAuthorizationEntry authEntry(InvokeHostFunctionOperation plain, String owner,
+            boolean addressCredentials) {
+        SorobanCredentials credentials;
+        if (addressCredentials) {
+            Int64 nonce = new Int64();
+            nonce.setInt64(7L);
+            credentials = SorobanCredentials.builder()
+                    .discriminant(SorobanCredentialsType.SOROBAN_CREDENTIALS_ADDRESS)
+                    .address(SorobanAddressCredentials.builder()
+                            .address(new Address(owner).toSCAddress())
+                            .nonce(nonce)
+                            .signatureExpirationLedger(uint32(1_000))
+                            .signature(Scv.toVoid())
+                            .build())
+                    .build();
+        } else {
+            credentials = SorobanCredentials.builder()
+                    .discriminant(SorobanCredentialsType.SOROBAN_CREDENTIALS_SOURCE_ACCOUNT)
+                    .build();
+        }
+        SorobanAuthorizedInvocation invocation = SorobanAuthorizedInvocation.builder()
+                .function(SorobanAuthorizedFunction.builder()
+                        .discriminant(SorobanAuthorizedFunctionType.SOROBAN_AUTHORIZED_FUNCTION_TYPE_CONTRACT_FN)
+                        .contractFn(plain.getHostFunction().getInvokeContract())
+                        .build())
+                .subInvocations(new SorobanAuthorizedInvocation[0])
+                .build();
+        return SorobanAuthorizationEntry.builder()
+                .credentials(credentials)
+                .rootInvocation(invocation)
+                .build();
+    }
+
+    private static LedgerKey account(String accountId) {
+        return LedgerKey.builder()
+                .discriminant(LedgerEntryType.ACCOUNT)
+                .account(LedgerKey.LedgerKeyAccount.builder()
+                        .accountID(KeyPair.fromAccountId(accountId).getXdrAccountId())
+                        .build())
+                .build();
+    }
+
+    private static LedgerKey contractData(String contractId, SCVal... key) {
+        return LedgerKey.builder()
+                .discriminant(LedgerEntryType.CONTRACT_DATA)
+                .contractData(LedgerKey.LedgerKeyContractData.builder()
+                        .contract(new Address(contractId).toSCAddress())
+                        .key(Scv.toVec(List.of(key)))
+                        .durability(ContractDataDurability.PERSISTENT)
+                        .build())
+                .build();
+    }
+
+    private static InvokeHostFunctionOperation operation(Transaction tx) {
+        return (InvokeHostFunctionOperation) tx.getOperations()[0];
+    }
+
+    private static List<SorobanAuthorizationEntry> authEntries(Transaction tx) {
+        List<SorobanAuthorizationEntry> entries = new ArrayList<>();
+        for (SorobanAuthorizationEntry entry : operation(tx).getAuth()) {
+            entries.add(entry);
+        }
+        return entries;
+    }
+
+    private static List<String> auth(Transaction tx) throws IOException {
+        List<String> encoded = new ArrayList<>();
+        for (SorobanAuthorizationEntry entry : authEntries(tx)) {
+            encoded.add(entry.toXdrBase64());
+        }
+        return encoded;
+    }
+
+    private static Resources resourcesOf(SorobanTransactionData data) {
+        SorobanResources resources = data.getResources();
+        return new Resources(resources.getInstructions().getUint32().getNumber(),
+                resources.getDiskReadBytes().getUint32().getNumber(),
+                resources.getWriteBytes().getUint32().getNumber(),
+                data.getResourceFee().getInt64());
+    }
+
+    private static Uint32 uint32(long value) {
+        Uint32 u = new Uint32();
+        u.setUint32(new XdrUnsignedInteger(value));
+        return u;
+    }
+
+    private static byte[] key(String account) {
+        return StrKey.decodeEd25519PublicKey(account);
+    }
+
+    private static byte[] filled(int start) {
+        byte[] bytes = new byte[32];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (start + i);
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,177 @@
+package com.conectabrasil.infrastructure.journal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.conectabrasil.infrastructure.journal.JournalRecord.Function;
+
+class JournalSegmentTests {
+
+    private static final String ALICE = "GBQXJ5OUUJO4DYJ43ZT7FFU4NM4TQGBHLEN7G553WIPQMTN4LX45ZL35";
+    private static final String BOB = "GAAZI4TCR3TY5OJHCTJC2A4QSY6CJWJH5IAJTGKIN2ER7LBNVKOCCWN7";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void findsRecordsByHashAndAccount() throws IOException {
+        JournalReader reader = new JournalReader();
+        JournalSegment segment = JournalSegment.create(JournalSegment.fileName(dir, 1), 1, 1 << 16);
+        reader.addSegment(segment);
+
+        append(reader, segment, record(1, Function.BUY_AND_GRANT, ALICE, ALICE, 3, -1));
+        append(reader, segment, record(2, Function.GRANT, BOB, ALICE, -1, 42));
+        append(reader, segment, record(3, Function.BUY_AND_GRANT, BOB, BOB, 1, -1));
+
+        JournalRecord grant = reader.findByHash(hex(2)).orElseThrow();
+        assertEquals(Function.GRANT, grant.function());
+        assertEquals(BOB, grant.sourceAccount());
+        assertEquals(ALICE, grant.ownerAccount());
+        assertEquals(42, grant.orderId());
+        assertEquals(1_000 * 2, grant.fee());
+
+        List<JournalRecord> alice = reader.findByAccount(ALICE, 10);
+        assertEquals(2, alice.size());
+        assertArrayEquals(hash(2), alice.get(0).envelopeHash()); // mais recente primeiro
+        assertEquals(2, reader.findByAccount(BOB, 10).size());
+        assertTrue(reader.findByHash(hex(9)).isEmpty());
+        reader.close();
+    }
+
+    @Test
+    void sealedSegmentsAreFoundThroughPersistedIndex() throws IOException {
+        JournalReader reader = new JournalReader();
+        JournalSegment first = JournalSegment.create(JournalSegment.fileName(dir, 1), 1, 1 << 16);
+        reader.addSegment(first);
+        append(reader, first, record(1, Function.BUY_AND_GRANT, ALICE, ALICE, 3, -1));
+        append(reader, first, record(2, Function.GRANT, BOB, ALICE, -1, 42));
+        reader.seal(first);
+        JournalSegment second = JournalSegment.create(JournalSegment.fileName(dir, 2), 2, 1 << 16);
+        reader.addSegment(second);
+        append(reader, second, record(3, Function.BUY_AND_GRANT, ALICE, ALICE, 1, -1));
+
+        assertTrue(Files.exists(SegmentIndexFile.pathFor(first.path())));
+        assertEquals(BOB, reader.findByHash(hex(2)).orElseThrow().sourceAccount());
+        List<JournalRecord> alice = reader.findByAccount(ALICE, 10);
+        assertEquals(3, alice.size());
+        assertArrayEquals(hash(3), alice.get(0).envelopeHash()); // segmento mais novo primeiro
+        assertArrayEquals(hash(1), alice.get(2).envelopeHash());
+        assertEquals(2, reader.findByAccount(ALICE, 2).size());
+        assertEquals(1, reader.findByAccount(BOB, 10).size());
+        first.force();
+        second.force();
+        reader.close();
+
+        JournalReader reopened = JournalReader.open(dir);
+        assertEquals(3, reopened.indexedRecords());
+        assertEquals(42, reopened.findByHash(hex(2)).orElseThrow().orderId());
+        assertEquals(3, reopened.findByAccount(ALICE, 10).size());
+        assertTrue(reopened.findByHash(hex(9)).isEmpty());
+        reopened.close();
+    }
+
+    @Test
+    void reopenStopsAtTornRecord() throws IOException {
+        Path path = JournalSegment.fileName(dir, 7);
+        JournalSegment segment = JournalSegment.create(path, 7, 1 << 16);
+        for (int i = 1; i <= 5; i++) {
+            segment.append(record(i, Function.BUY_AND_GRANT, ALICE, ALICE, i, -1));
+        }
+        segment.force();
+        segment.close();
+        // corrompe o 4º registro (crash no meio da gravação)
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[] { 0x7F }),
+                    JournalSegment.HEADER_BYTES + 3L * JournalSegment.RECORD_BYTES + 20);
+        }
+
+        JournalSegment reopened = JournalSegment.open(path, true);
+
+        assertEquals(7, reopened.id());
+        assertEquals(3, reopened.count());
+        assertNull(reopened.read(3));
+        assertEquals(3, reopened.append(record(6, Function.GRANT, BOB, ALICE, -1, 1)));
+        reopened.close();
+    }
+
+    @Test
+    void segmentReportsFull() throws IOException {
+        int bytes = JournalSegment.HEADER_BYTES + 2 * JournalSegment.RECORD_BYTES;
+        JournalSegment segment = JournalSegment.create(JournalSegment.fileName(dir, 1), 1, bytes);
+        segment.append(record(1, Function.BUY_AND_GRANT, ALICE, ALICE, 1, -1));
+        assertFalse(segment.isFull());
+        segment.append(record(2, Function.BUY_AND_GRANT, ALICE, ALICE, 1, -1));
+        assertTrue(segment.isFull());
+        segment.close();
+    }
+
+    @Test
+    void ringBufferDeliversEveryItemFromConcurrentProducers() throws InterruptedException {
+        MpscRingBuffer<Integer> ring = new MpscRingBuffer<>(1024);
+        int producers = 4;
+        int perProducer = 50_000;
+        CountDownLatch done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!ring.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+            thread.start();
+        }
+        Set<Integer> seen = new HashSet<>();
+        while (seen.size() < producers * perProducer) {
+            Integer value = ring.poll();
+            if (value != null) {
+                assertTrue(seen.add(value));
+            }
+        }
+        done.await();
+        assertNull(ring.poll());
+        assertEquals(0, ring.size());
+    }
+
+    private static void append(JournalReader reader, JournalSegment segment, JournalRecord record) {
+        reader.indexAppended(segment, record, segment.append(record));
+    }
+
+    private static JournalRecord record(int seed, Function function, String source, String owner, long packageId,
+            long orderId) {
+        return new JournalRecord(hash(seed), 1_700_000_000_000L + seed, function, source, owner, packageId,
+                orderId, 1_000L * seed);
+    }
+
+    private static byte[] hash(int seed) {
+        byte[] hash = new byte[32];
+        for (int i = 0; i < hash.length; i++) {
+            hash[i] = (byte) (seed * 31 + i);
+        }
+        return hash;
+    }
+
+    private static String hex(int seed) {
+        return HexFormat.of().formatHex(hash(seed));
+    }
+}
@@ -0,0 +1,32 @@
+package com.conectabrasil.infrastructure.ratelimit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTests {
+
+    @Test
+    void burstThenRejects() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 1, 10);
+        assertEquals(0, limiter.tryAcquire("a", 0));
+        assertEquals(0, limiter.tryAcquire("a", 0));
+        assertTrue(limiter.tryAcquire("a", 0) > 0);
+        assertEquals(0, limiter.tryAcquire("a", 1_000_000_000L));
+    }
+
+    @Test
+    void uniqueKeysBeyondCapacityShareOverflowBucket() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 1, 2);
+        // enche o mapa com buckets que não estão ociosos
+        assertEquals(0, limiter.tryAcquire("a", 0));
+        assertEquals(0, limiter.tryAcquire("b", 0));
+
+        // chaves novas não liberam tudo: dividem a rajada do transbordo
+        assertEquals(0, limiter.tryAcquire("c", 0));
+        assertEquals(0, limiter.tryAcquire("d", 0));
+        assertTrue(limiter.tryAcquire("e", 0) > 0);
+        assertEquals(2, limiter.size());
+    }
+}
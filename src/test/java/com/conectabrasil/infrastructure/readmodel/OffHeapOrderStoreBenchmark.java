@@ -0,0 +1,104 @@
+package com.conectabrasil.infrastructure.readmodel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark manual (não roda no surefire): footprint de heap e latência de
+ * lookup do OffHeapOrderStore com 10M ordens, comparado à representação em
+ * HashMap usada hoje pelo parsing de get_user_packages.
+ *
+ * <pre>
+ * ./mvnw test-compile
+ * java -Xmx2g -XX:MaxDirectMemorySize=2g -cp target/test-classes:target/classes \
+ *     com.conectabrasil.infrastructure.readmodel.OffHeapOrderStoreBenchmark [ordens] [ordensPorOwner]
+ * </pre>
+ */
+public final class OffHeapOrderStoreBenchmark {
+
+    private static final char[] BASE32 = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567".toCharArray();
+
+    private OffHeapOrderStoreBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int totalOrders = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int perOwner = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int ownersCount = totalOrders / perOwner;
+
+        String[] owners = new String[ownersCount];
+        Random random = new Random(7);
+        for (int i = 0; i < ownersCount; i++) {
+            owners[i] = randomAddress(random);
+        }
+
+        long heapBefore = usedHeap();
+        OffHeapOrderStore store = new OffHeapOrderStore(1 << 16, 1 << 18);
+        long start = System.nanoTime();
+        long orderId = 0;
+        for (String owner : owners) {
+            List<Object> orders = new ArrayList<>(perOwner);
+            for (int j = 0; j < perOwner; j++) {
+                orders.add(Map.of("order_id", orderId++, "package_id", (long) (j % 4), "is_active", j == 0));
+            }
+            store.replaceOwner(owner, orders);
+        }
+        long loadMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long heapAfter = usedHeap();
+
+        System.out.printf("off-heap: %,d owners, %,d ordens carregadas em %,d ms%n",
+                store.ownerCount(), store.orderCount(), loadMs);
+        System.out.printf("  heap extra: %,d MB | fora do heap: %,d MB (%.1f bytes/ordem)%n",
+                (heapAfter - heapBefore) >> 20, store.offHeapBytes() >> 20,
+                store.offHeapBytes() / (double) store.orderCount());
+
+        long[] sink = new long[1];
+        OrderReadModel.OrderVisitor visitor = (id, pkg, active, remaining) -> sink[0] += id;
+        int lookups = 2_000_000;
+        for (int i = 0; i < lookups; i++) {
+            store.forEachOrder(owners[random.nextInt(ownersCount)], visitor);
+        }
+        start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            store.forEachOrder(owners[random.nextInt(ownersCount)], visitor);
+        }
+        long nanos = System.nanoTime() - start;
+        System.out.printf("  lookup owner -> %d ordens: %,d ns/op (sink %d)%n", perOwner, nanos / lookups, sink[0]);
+
+        // referência: HashMap<String,Object> por ordem (amostra de 1M, extrapolada)
+        int sample = Math.min(totalOrders, 1_000_000);
+        long heapMapsBefore = usedHeap();
+        Map<String, List<Map<String, Object>>> maps = new HashMap<>();
+        for (int i = 0; i < sample; i++) {
+            Map<String, Object> order = new HashMap<>();
+            order.put("order_id", (long) i);
+            order.put("package_id", (long) (i % 4));
+            order.put("is_active", i % perOwner == 0);
+            maps.computeIfAbsent(owners[(i / perOwner) % ownersCount], k -> new ArrayList<>()).add(order);
+        }
+        long perOrder = (usedHeap() - heapMapsBefore) / sample;
+        System.out.printf("heap (HashMap): ~%d bytes/ordem -> ~%,d MB para %,d ordens (%d mapas na amostra)%n",
+                perOrder, (perOrder * totalOrders) >> 20, totalOrders, maps.size());
+    }
+
+    private static String randomAddress(Random random) {
+        char[] chars = new char[OffHeapOrderStore.ADDRESS_LENGTH];
+        chars[0] = 'G';
+        for (int i = 1; i < chars.length; i++) {
+            chars[i] = BASE32[random.nextInt(BASE32.length)];
+        }
+        return new String(chars);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,135 @@
+package com.conectabrasil.infrastructure.readmodel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class OffHeapOrderStoreTests {
+
+    private static final String OWNER = "GBQXJ5OUUJO4DYJ43ZT7FFU4NM4TQGBHLEN7G553WIPQMTN4LX45ZL35";
+    private static final String OTHER = "GDRXE2BQUC3AZNPVFSCEZ76NJ3WWL25FYFK6RGZGIEKWE4SOOHSUJUJ6";
+
+    private record Seen(long orderId, long packageId, boolean active, long remaining) {
+    }
+
+    private final OffHeapOrderStore store = new OffHeapOrderStore(16, 16);
+
+    @Test
+    void unknownOwnerIsNotServed() {
+        assertEquals(OrderReadModel.UNKNOWN, store.syncedAtMillis(OWNER));
+        assertEquals(-1, store.forEachOrder(OWNER, (o, p, a, r) -> {
+        }));
+    }
+
+    @Test
+    void keepsInsertionOrderAndUpsertsExistingOrders() {
+        store.replaceOwner(OWNER, List.of(order(1, 10, false), order(2, 20, true)));
+        store.replaceOwner(OWNER, List.of(order(1, 10, true), order(2, 20, true), order(3, 30, false)));
+
+        List<Seen> seen = read(OWNER);
+
+        assertEquals(List.of(1L, 2L, 3L), seen.stream().map(Seen::orderId).toList());
+        assertTrue(seen.get(0).active());
+        assertEquals(30, seen.get(2).packageId());
+        assertEquals(3, store.orderCount());
+        assertEquals(1, store.ownerCount());
+    }
+
+    @Test
+    void pauseFreezesRemainingAndStartResumesIt() {
+        store.replaceOwner(OWNER, List.of(order(7, 1, true)));
+        store.updateState(OWNER, 7, null, 3600L);
+        store.updateState(OWNER, 7, false, null);
+
+        Seen paused = read(OWNER).get(0);
+        assertFalse(paused.active());
+        assertTrue(paused.remaining() >= 3599 && paused.remaining() <= 3600, "restante: " + paused.remaining());
+
+        store.updateState(OWNER, 7, true, null);
+        Seen resumed = read(OWNER).get(0);
+        assertTrue(resumed.active());
+        assertTrue(resumed.remaining() >= 3598, "restante: " + resumed.remaining());
+    }
+
+    @Test
+    void growsIndicesAndKeepsOwnersApart() {
+        List<Object> many = new ArrayList<>();
+        for (long id = 0; id < 5_000; id++) {
+            many.add(order(id, id % 5, id % 2 == 0));
+        }
+        store.replaceOwner(OWNER, many);
+        store.replaceOwner(OTHER, List.of(order(1, 99, true)));
+
+        assertEquals(5_000, read(OWNER).size());
+        assertEquals(List.of(new Seen(1, 99, true, OrderReadModel.UNKNOWN)), read(OTHER));
+        assertEquals(4_999, read(OWNER).get(4_999).orderId());
+    }
+
+    @Test
+    void markStaleForcesResync() {
+        store.replaceOwner(OWNER, List.of(order(1, 1, false)));
+        assertTrue(store.syncedAtMillis(OWNER) > 0);
+
+        store.markStale(OWNER);
+
+        assertEquals(OrderReadModel.UNKNOWN, store.syncedAtMillis(OWNER));
+        assertEquals(1, read(OWNER).size());
+    }
+
+    @Test
+    void evictsLeastRecentlySyncedOwnersAtTheLimit() {
+        OffHeapOrderStore bounded = new OffHeapOrderStore(16, 16, 4, 100);
+        for (int i = 0; i < 4; i++) {
+            bounded.replaceOwner(owner(i), List.of(order(1, i, true), order(2, i, false)), 1_000L + i);
+        }
+        bounded.replaceOwner(owner(0), List.of(order(1, 0, true)), 2_000L); // owner 0 volta a ser o mais recente
+
+        bounded.replaceOwner(owner(4), List.of(order(9, 4, true)), 3_000L);
+
+        assertEquals(4, bounded.ownerCount());
+        assertEquals(1, bounded.evictedOwners());
+        assertEquals(-1, bounded.forEachOrder(owner(1), (o, p, a, r) -> {
+        }));
+        assertEquals(2, bounded.forEachOrder(owner(0), (o, p, a, r) -> {
+        }));
+        assertEquals(2_000L, bounded.syncedAtMillis(owner(0)));
+        assertEquals(1, bounded.forEachOrder(owner(4), (o, p, a, r) -> {
+        }));
+        assertEquals(7, bounded.orderCount());
+    }
+
+    @Test
+    void listingLargerThanTheLimitIsNotServed() {
+        OffHeapOrderStore bounded = new OffHeapOrderStore(16, 16, 4, 8);
+        bounded.replaceOwner(OWNER, List.of(order(1, 1, true)), 1_000L);
+        List<Object> many = new ArrayList<>();
+        for (long id = 0; id < 9; id++) {
+            many.add(order(id, 1, true));
+        }
+
+        bounded.replaceOwner(OWNER, many, 2_000L);
+
+        assertEquals(OrderReadModel.UNKNOWN, bounded.syncedAtMillis(OWNER));
+    }
+
+    private static String owner(int i) {
+        return "G" + "A".repeat(54) + i;
+    }
+
+    private List<Seen> read(String owner) {
+        List<Seen> seen = new ArrayList<>();
+        store.forEachOrder(owner, (orderId, packageId, active, remaining) -> seen
+                .add(new Seen(orderId, packageId, active, remaining)));
+        return seen;
+    }
+
+    private static Map<String, Object> order(long orderId, long packageId, boolean active) {
+        return Map.of("order_id", orderId, "package_id", packageId, "is_active", active);
+    }
+}
@@ -0,0 +1,122 @@
+package com.conectabrasil.infrastructure.recording;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.stellar.sdk.Account;
+import org.stellar.sdk.Address;
+import org.stellar.sdk.KeyPair;
+import org.stellar.sdk.Network;
+import org.stellar.sdk.TransactionBuilder;
+import org.stellar.sdk.operations.InvokeHostFunctionOperation;
+import org.stellar.sdk.scval.Scv;
+
+import com.conectabrasil.infrastructure.recording.RpcRecordingFile.Exchange;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class RpcRecordingFileTests {
+
+    private static final String CONTRACT = "CBZJGDBEDAXHWRAVE6YVZYO7SWAMTWT7SEGR7KDR3FMGS3YVUAEPLPKQ";
+    private static final String OWNER = "GBQXJ5OUUJO4DYJ43ZT7FFU4NM4TQGBHLEN7G553WIPQMTN4LX45ZL35";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsExchangesInOrder() throws IOException {
+        Path file = dir.resolve("rpc.cbrr");
+        try (RpcRecordingFile.Writer writer = RpcRecordingFile.create(file)) {
+            writer.append("getLedgerEntries", "k1", 1200, bytes("{\"a\":1}"), bytes("{\"result\":1}"));
+            writer.append("simulateTransaction", "k2", 35000, bytes("{\"b\":2}"), bytes("{\"result\":2}"));
+        }
+
+        List<Exchange> exchanges = RpcRecordingFile.readAll(file);
+
+        assertEquals(2, exchanges.size());
+        assertEquals("getLedgerEntries", exchanges.get(0).method());
+        assertEquals(1200, exchanges.get(0).latencyMicros());
+        assertEquals("k2", exchanges.get(1).key());
+        assertArrayEquals(bytes("{\"result\":2}"), exchanges.get(1).response());
+    }
+
+    @Test
+    void truncatedFileKeepsCompleteRecords() throws IOException {
+        Path file = dir.resolve("rpc.cbrr");
+        try (RpcRecordingFile.Writer writer = RpcRecordingFile.create(file)) {
+            for (int i = 0; i < 500; i++) {
+                writer.append("getLatestLedger", "k" + i, i, bytes("{}"), bytes("{\"sequence\":" + i + "}"));
+            }
+        }
+        byte[] full = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(full, full.length - 20));
+
+        List<Exchange> exchanges = RpcRecordingFile.readAll(file);
+
+        assertEquals("k0", exchanges.get(0).key());
+        assertTrue(exchanges.size() > 0 && exchanges.size() <= 500);
+    }
+
+    @Test
+    void keyIgnoresJsonRpcIdAndDependsOnParams() throws IOException {
+        String a = RpcExchangeKey.of("getLedgerEntries", objectMapper.readTree("{\"keys\":[\"AAA\"]}"));
+        String b = RpcExchangeKey.of("getLedgerEntries", objectMapper.readTree("{\"keys\":[\"AAA\"]}"));
+        String c = RpcExchangeKey.of("getLedgerEntries", objectMapper.readTree("{\"keys\":[\"BBB\"]}"));
+
+        assertEquals(a, b);
+        assertNotEquals(a, c);
+    }
+
+    @Test
+    void simulateKeyIgnoresRandomSourceSequenceAndTimeout() throws IOException {
+        String a = RpcExchangeKey.of("simulateTransaction", simulateParams(KeyPair.random(), 1, 7));
+        String b = RpcExchangeKey.of("simulateTransaction", simulateParams(KeyPair.random(), 42, 7));
+        String c = RpcExchangeKey.of("simulateTransaction", simulateParams(KeyPair.random(), 1, 8));
+
+        assertEquals(a, b);
+        assertNotEquals(a, c);
+    }
+
+    @Test
+    void sendKeyDependsOnSource() throws IOException {
+        KeyPair source = KeyPair.random();
+        String a = RpcExchangeKey.of("sendTransaction", simulateParams(source, 1, 7));
+        String b = RpcExchangeKey.of("sendTransaction", simulateParams(source, 2, 7));
+        String c = RpcExchangeKey.of("sendTransaction", simulateParams(KeyPair.random(), 1, 7));
+
+        assertEquals(a, b);
+        assertNotEquals(a, c);
+    }
+
+    /** Params de um start_order(owner, orderId) montado como o SorobanContractService monta. */
+    private JsonNode simulateParams(KeyPair source, long sequence, long orderId) {
+        InvokeHostFunctionOperation op = InvokeHostFunctionOperation
+                .invokeContractFunctionOperationBuilder(CONTRACT, "start_order",
+                        List.of(new Address(OWNER).toSCVal(), Scv.toUint32(orderId)))
+                .build();
+        String xdr = new TransactionBuilder(new Account(source.getAccountId(), sequence), Network.TESTNET)
+                .addOperation(op)
+                .setBaseFee(100)
+                .setTimeout(30)
+                .build()
+                .toEnvelopeXdrBase64();
+        return objectMapper.createObjectNode().put("transaction", xdr);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
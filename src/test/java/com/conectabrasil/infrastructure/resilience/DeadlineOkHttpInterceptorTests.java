@@ -0,0 +1,92 @@
+package com.conectabrasil.infrastructure.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+class DeadlineOkHttpInterceptorTests {
+
+    private final AtomicInteger readTimeout = new AtomicInteger(-1);
+    private final AtomicInteger connectTimeout = new AtomicInteger(-1);
+
+    @AfterEach
+    void clearDeadline() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void withoutDeadlineKeepsClientTimeouts() throws Exception {
+        call(client(10_000));
+
+        assertEquals(10_000, readTimeout.get());
+        assertEquals(10_000, connectTimeout.get());
+    }
+
+    @Test
+    void remainingDeadlineCapsTimeouts() throws Exception {
+        RequestDeadline.start(500);
+
+        call(client(10_000));
+
+        assertTrue(readTimeout.get() > 0 && readTimeout.get() <= 500, "read timeout: " + readTimeout.get());
+        assertTrue(connectTimeout.get() > 0 && connectTimeout.get() <= 500);
+    }
+
+    @Test
+    void shorterClientTimeoutIsKept() throws Exception {
+        RequestDeadline.start(5_000);
+
+        call(client(100));
+
+        assertEquals(100, readTimeout.get());
+    }
+
+    @Test
+    void expiredDeadlineFailsBeforeTheCall() {
+        RequestDeadline.start(0);
+
+        assertThrows(InterruptedIOException.class, () -> call(client(10_000)));
+        assertEquals(-1, readTimeout.get());
+    }
+
+    /** Cliente com o interceptor de prazo e, depois dele, um que registra os timeouts e responde sem rede. */
+    private OkHttpClient client(long timeoutMs) {
+        return new OkHttpClient.Builder()
+                .connectTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .readTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .writeTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .addInterceptor(new DeadlineOkHttpInterceptor())
+                .addInterceptor(chain -> {
+                    readTimeout.set(chain.readTimeoutMillis());
+                    connectTimeout.set(chain.connectTimeoutMillis());
+                    return new Response.Builder()
+                            .request(chain.request())
+                            .protocol(Protocol.HTTP_1_1)
+                            .code(200)
+                            .message("OK")
+                            .body(ResponseBody.create(new byte[0], null))
+                            .build();
+                })
+                .build();
+    }
+
+    private static void call(OkHttpClient client) throws Exception {
+        try (Response response = client.newCall(new Request.Builder().url("http://127.0.0.1:1/").build())
+                .execute()) {
+            assertEquals(200, response.code());
+        }
+    }
+}
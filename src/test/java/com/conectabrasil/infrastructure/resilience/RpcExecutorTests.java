@@ -0,0 +1,107 @@
+package com.conectabrasil.infrastructure.resilience;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RpcExecutorTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final RpcRetryConfig retryConfig = new RpcRetryConfig();
+    private final AtomicInteger attempts = new AtomicInteger();
+
+    @AfterEach
+    void clearDeadline() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void transientErrorIsRetried() throws Exception {
+        retryConfig.setBaseBackoffMs(1);
+        RpcExecutor executor = executor();
+
+        String result = executor.execute("getAccount", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new IOException("connection reset");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2.0, registry.counter("soroban.rpc.retries", "operation", "getAccount").count());
+    }
+
+    @Test
+    void businessErrorIsNotRetried() {
+        RpcExecutor executor = executor();
+
+        assertThrows(IllegalStateException.class, () -> executor.execute("simulateTransaction", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("simulação falhou");
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void operationOutsideRetryListIsNotRetried() {
+        RpcExecutor executor = executor();
+
+        assertThrows(IOException.class, () -> executor.execute("sendTransaction", () -> {
+            attempts.incrementAndGet();
+            throw new IOException("timeout");
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void noRetryWhenRemainingBudgetIsBelowMinimum() {
+        retryConfig.setBaseBackoffMs(1);
+        retryConfig.setMinAttemptBudgetMs(5_000);
+        RpcExecutor executor = executor();
+        RequestDeadline.start(1_000);
+
+        assertThrows(IOException.class, () -> executor.execute("getAccount", () -> {
+            attempts.incrementAndGet();
+            throw new IOException("timeout");
+        }));
+        assertEquals(1, attempts.get());
+        assertEquals(1.0, registry.counter("soroban.rpc.retry.budget.exhausted", "operation", "getAccount").count());
+    }
+
+    @Test
+    void expiredDeadlineFailsStepWithoutCalling() {
+        RpcExecutor executor = executor();
+        RequestDeadline.start(0);
+
+        assertThrows(DeadlineExceededException.class, () -> executor.execute("getAccount", () -> {
+            attempts.incrementAndGet();
+            return "ok";
+        }));
+        assertEquals(0, attempts.get());
+    }
+
+    @Test
+    void deadlineExpiringDuringCallFailsStep() {
+        RpcExecutor executor = executor();
+        RequestDeadline.start(20);
+
+        assertThrows(DeadlineExceededException.class, () -> executor.execute("getAccount", () -> {
+            attempts.incrementAndGet();
+            Thread.sleep(40);
+            throw new IOException("read timed out");
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    private RpcExecutor executor() {
+        return new RpcExecutor(new RpcLimiterConfig(), new BulkheadConfig(), retryConfig, registry);
+    }
+}
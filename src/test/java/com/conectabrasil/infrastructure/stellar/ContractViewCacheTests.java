@@ -0,0 +1,56 @@
+package com.conectabrasil.infrastructure.stellar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.conectabrasil.infrastructure.stellar.ContractViewCache.LedgerValue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ContractViewCacheTests {
+
+    private static final String OWNER = "GBQXJ5OUUJO4DYJ43ZT7FFU4NM4TQGBHLEN7G553WIPQMTN4LX45ZL35";
+
+    private final ContractViewCache cache = new ContractViewCache(new ViewCacheConfig(), new SimpleMeterRegistry());
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch firstLoadStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstLoad = new CountDownLatch(1);
+
+    @Test
+    void callerAfterInvalidationDoesNotJoinEarlierLoad() throws Exception {
+        CompletableFuture<String> before = CompletableFuture.supplyAsync(() -> get());
+        assertTrue(firstLoadStarted.await(5, TimeUnit.SECONDS));
+
+        cache.invalidateOwner(OWNER);
+        String after = get();
+        releaseFirstLoad.countDown();
+
+        assertEquals("v2", after);
+        assertEquals("v1", before.get(5, TimeUnit.SECONDS));
+        assertEquals(2, loads.get());
+        // a leitura antiga terminou depois da invalidação e não foi gravada
+        assertEquals("v2", get());
+    }
+
+    private String get() {
+        try {
+            return cache.get("get_user_packages", OWNER, OWNER, () -> {
+                int n = loads.incrementAndGet();
+                if (n == 1) {
+                    firstLoadStarted.countDown();
+                    releaseFirstLoad.await(5, TimeUnit.SECONDS);
+                }
+                return new LedgerValue<>("v" + n, 100);
+            });
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
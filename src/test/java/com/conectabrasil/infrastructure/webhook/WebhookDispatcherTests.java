@@ -0,0 +1,187 @@
+package com.conectabrasil.infrastructure.webhook;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.conectabrasil.domain.event.ContractEventConfirmedEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class WebhookDispatcherTests {
+
+    @TempDir
+    Path spillDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<JsonNode> received = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresToSimulate = new AtomicInteger();
+    private final AtomicInteger attempts = new AtomicInteger();
+    private CountDownLatch deliveries;
+    private volatile CountDownLatch eventsDelivered = new CountDownLatch(0);
+    private HttpServer receiver;
+    private WebhookDispatcher dispatcher;
+
+    @BeforeEach
+    void startReceiver() throws Exception {
+        deliveries = new CountDownLatch(1);
+        receiver = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        receiver.createContext("/hook", exchange -> {
+            attempts.incrementAndGet();
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            int status = failuresToSimulate.getAndDecrement() > 0 ? 500 : 200;
+            if (status == 200) {
+                JsonNode delivery = objectMapper.readTree(body);
+                received.add(delivery);
+                deliveries.countDown();
+                delivery.get("events").forEach(event -> eventsDelivered.countDown());
+            }
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        receiver.start();
+    }
+
+    @AfterEach
+    void stop() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+        receiver.stop(0);
+    }
+
+    @Test
+    void batchesEventsIntoSingleDelivery() throws Exception {
+        dispatcher = newDispatcher();
+
+        dispatcher.dispatch(event("order.started", 1));
+        dispatcher.dispatch(event("order.paused", 1));
+        dispatcher.dispatch(event("order.expired", 2));
+
+        assertTrue(deliveries.await(5, TimeUnit.SECONDS));
+        assertEquals(1, received.size());
+        JsonNode events = received.get(0).get("events");
+        assertEquals(3, events.size());
+        assertEquals("order.started", events.get(0).get("type").asText());
+        assertEquals(2, events.get(2).get("orderId").asLong());
+    }
+
+    @Test
+    void retriesFailedDeliveryWithBackoff() throws Exception {
+        failuresToSimulate.set(2);
+        dispatcher = newDispatcher();
+
+        dispatcher.dispatch(event("order.started", 7));
+
+        assertTrue(deliveries.await(5, TimeUnit.SECONDS));
+        assertEquals(3, attempts.get());
+        assertEquals(7, received.get(0).get("events").get(0).get("orderId").asLong());
+    }
+
+    @Test
+    void spilledEventsKeepDispatchOrder() throws Exception {
+        eventsDelivered = new CountDownLatch(8);
+        dispatcher = newDispatcher(2);
+
+        for (long id = 1; id <= 8; id++) {
+            dispatcher.dispatch(event("order.started", id));
+        }
+
+        assertTrue(eventsDelivered.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), deliveredOrderIds());
+    }
+
+    @Test
+    void prependedLinesAreReadBeforePendingOnes() throws Exception {
+        DiskSpillBuffer spill = new DiskSpillBuffer(spillDir.resolve("buffer.ndjson"));
+        spill.append("c");
+        spill.append("d");
+        assertEquals(List.of("c"), spill.read(1));
+
+        spill.prepend(List.of("a", "b"));
+
+        assertEquals(3, spill.size());
+        assertEquals(List.of("a", "b", "d"), spill.read(10));
+        assertEquals(0, spill.size());
+    }
+
+    @Test
+    void spillReadsUtf8LinesWrittenInOneGo() throws Exception {
+        DiskSpillBuffer spill = new DiskSpillBuffer(spillDir.resolve("utf8.ndjson"));
+        spill.append("{\"nome\":\"Conexão São João\"}");
+        spill.append("ação");
+
+        assertEquals(List.of("{\"nome\":\"Conexão São João\"}", "ação"), spill.read(10));
+        assertEquals(0, spill.size());
+    }
+
+    @Test
+    void confirmedContractEventsBecomeOrderWebhooks() throws Exception {
+        dispatcher = newDispatcher();
+        String owner = "GBQXJ5OUUJO4DYJ43ZT7FFU4NM4TQGBHLEN7G553WIPQMTN4LX45ZL35";
+
+        dispatcher.onContractEvent(new ContractEventConfirmedEvent("0001-1", 10, "abc", "set_price",
+                List.of(), List.of("set_price", 3L), 100L, Instant.now()));
+        dispatcher.onContractEvent(new ContractEventConfirmedEvent("0002-1", 11, "def", "start_order",
+                List.of(owner), List.of("start_order", owner, 42L), null, Instant.now()));
+
+        assertTrue(deliveries.await(5, TimeUnit.SECONDS));
+        JsonNode events = received.get(0).get("events");
+        assertEquals(1, events.size());
+        assertEquals("order.started", events.get(0).get("type").asText());
+        assertEquals("0002-1", events.get(0).get("id").asText());
+        assertEquals(42, events.get(0).get("orderId").asLong());
+        assertEquals("def", events.get(0).get("transactionHash").asText());
+    }
+
+    private List<Long> deliveredOrderIds() {
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode delivery : received) {
+            delivery.get("events").forEach(event -> ids.add(event.get("orderId").asLong()));
+        }
+        return ids;
+    }
+
+    private WebhookDispatcher newDispatcher() throws Exception {
+        return newDispatcher(10_000);
+    }
+
+    private WebhookDispatcher newDispatcher(int queueCapacity) throws Exception {
+        WebhookConfig.Subscriber subscriber = new WebhookConfig.Subscriber();
+        subscriber.setId("test");
+        subscriber.setUrl("http://127.0.0.1:" + receiver.getAddress().getPort() + "/hook");
+        subscriber.setSecret("s3cr3t");
+
+        WebhookConfig config = new WebhookConfig();
+        config.setEnabled(true);
+        config.setSubscribers(List.of(subscriber));
+        config.setQueueCapacity(queueCapacity);
+        config.setBatchSize(10);
+        config.setLingerMs(300);
+        config.setInitialBackoffMs(20);
+        config.setSpillDirectory(spillDir.toString());
+        return new WebhookDispatcher(config, objectMapper, new SimpleMeterRegistry());
+    }
+
+    private static WebhookEvent event(String type, long orderId) {
+        return new WebhookEvent("evt-" + type + "-" + orderId, type, Instant.now(),
+                "GBQXJ5OUUJO4DYJ43ZT7FFU4NM4TQGBHLEN7G553WIPQMTN4LX45ZL35", orderId, null, null, null);
+    }
+}